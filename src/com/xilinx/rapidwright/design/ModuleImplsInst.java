@@ -99,7 +99,7 @@ public class ModuleImplsInst extends AbstractModuleInst<ModuleImpls, ModulePlace
     public RelocatableTileRectangle getBoundingBox() {
         if (boundingBox == null) {
             this.boundingBox = getCurrentModuleImplementation().getBoundingBox()
-                    .getCorresponding(placement.placement.getTile(), getCurrentModuleImplementation().getAnchor().getTile());
+                    .getCorrespondingShared(placement.placement.getTile(), getCurrentModuleImplementation().getAnchor().getTile());
         }
         return boundingBox;
     }
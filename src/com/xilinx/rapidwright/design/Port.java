@@ -341,12 +341,15 @@ public class Port implements Serializable, Cloneable{
 
     RelocatableTileRectangle boundingBox = null;
     public RelocatableTileRectangle getBoundingBox() {
-        if (boundingBox == null) {
-            boundingBox = new RelocatableTileRectangle();
+        RelocatableTileRectangle res = boundingBox;
+        if (res == null) {
+            // Only publish the Rectangle once it is complete, as placers may query it concurrently
+            res = new RelocatableTileRectangle();
             for (SitePinInst sitePinInst : getSitePinInsts()) {
-                boundingBox.extendTo(sitePinInst.getTile());
+                res.extendTo(sitePinInst.getTile());
             }
+            boundingBox = res;
         }
-        return boundingBox;
+        return res;
     }
 }
@@ -26,7 +26,9 @@ package com.xilinx.rapidwright.design;
 import com.xilinx.rapidwright.device.Site;
 import com.xilinx.rapidwright.device.Tile;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collector;
 
 /**
@@ -107,13 +109,47 @@ public class RelocatableTileRectangle extends TileRectangle {
         return Objects.hash(minColumn.getColumn(), maxColumn.getColumn(), minRow.getRow(), maxRow.getRow());
     }
 
-    private Tile[][] minColumnArr;
-    private Tile[][] maxColumnArr;
-    private Tile[][] minRowArr;
-    private Tile[][] maxRowArr;
+    /**
+     * Tiles with the same root name as each border tile, used for relocation. Relocation may happen
+     * concurrently, so all four are published at once.
+     */
+    private volatile Tile[][][] rootNameTiles;
 
+    /**
+     * Maximum number of Rectangles kept by {@link #getCorrespondingShared(Tile, Tile)}. Once reached, the cache is
+     * started over, so that it does not keep a Rectangle for every anchor ever tried.
+     */
+    public static int MAX_SHARED_CORRESPONDING = 4096;
 
-    private String failedReloc(Tile template, Tile newAnchor, Tile originalAnchor, Tile[][] arr) {
+    /**
+     * Rectangles returned by {@link #getCorrespondingShared(Tile, Tile)}, by new anchor
+     */
+    private volatile CorrespondingCache correspondingCache;
+
+    private static class CorrespondingCache {
+        private final Tile originalAnchor;
+        private final Map<Tile, RelocatableTileRectangle> byNewAnchor = new ConcurrentHashMap<>();
+
+        private CorrespondingCache(Tile originalAnchor) {
+            this.originalAnchor = originalAnchor;
+        }
+    }
+
+    private Tile[][][] getRootNameTiles(Tile anchor) {
+        Tile[][][] res = rootNameTiles;
+        if (res == null) {
+            res = new Tile[][][]{
+                    anchor.getDevice().getTilesByRootName(minColumn.getRootName()),
+                    anchor.getDevice().getTilesByRootName(maxColumn.getRootName()),
+                    anchor.getDevice().getTilesByRootName(minRow.getRootName()),
+                    anchor.getDevice().getTilesByRootName(maxRow.getRootName())
+            };
+            rootNameTiles = res;
+        }
+        return res;
+    }
+
+    private String failedReloc(Tile template, Tile newAnchor, Tile originalAnchor) {
         //We try to find the name the new tile would have
         int tileXOffset = template.getTileXCoordinate() - originalAnchor.getTileXCoordinate();
         int tileYOffset = template.getTileYCoordinate() - originalAnchor.getTileYCoordinate();
@@ -126,28 +162,75 @@ public class RelocatableTileRectangle extends TileRectangle {
         return "Failed to find corresponding tile \""+newName+"\" for "+template+" when relocating from "+originalAnchor+" to "+newAnchor+". Rect: "+ this;
     }
 
-    public RelocatableTileRectangle getCorresponding(Tile newAnchor, Tile originalAnchor) {
-        if (minColumnArr == null) {
-            minColumnArr = newAnchor.getDevice().getTilesByRootName(minColumn.getRootName());
-            maxColumnArr = newAnchor.getDevice().getTilesByRootName(maxColumn.getRootName());
-            minRowArr = newAnchor.getDevice().getTilesByRootName(minRow.getRootName());
-            maxRowArr = newAnchor.getDevice().getTilesByRootName(maxRow.getRootName());
+    private Tile relocate(Tile template, Tile newAnchor, Tile originalAnchor, Tile[][] arr) {
+        Tile res = Module.getCorrespondingTile(template, newAnchor, originalAnchor, arr);
+        if (res == null) {
+            throw new NullPointerException(failedReloc(template, newAnchor, originalAnchor));
         }
+        return res;
+    }
 
+    public RelocatableTileRectangle getCorresponding(Tile newAnchor, Tile originalAnchor) {
+        Tile[][][] arrs = getRootNameTiles(newAnchor);
         return new RelocatableTileRectangle(
-                Objects.requireNonNull(Module.getCorrespondingTile(minColumn, newAnchor, originalAnchor, minColumnArr), ()->failedReloc(minColumn, newAnchor, originalAnchor, minColumnArr)),
-                Objects.requireNonNull(Module.getCorrespondingTile(maxColumn, newAnchor, originalAnchor, maxColumnArr), ()->failedReloc(maxColumn, newAnchor, originalAnchor, maxColumnArr)),
-                Objects.requireNonNull(Module.getCorrespondingTile(minRow, newAnchor, originalAnchor, minRowArr), ()->failedReloc(minRow, newAnchor, originalAnchor, minRowArr)),
-                Objects.requireNonNull(Module.getCorrespondingTile(maxRow, newAnchor, originalAnchor, maxRowArr), ()->failedReloc(maxRow, newAnchor, originalAnchor, maxRowArr))
+                relocate(minColumn, newAnchor, originalAnchor, arrs[0]),
+                relocate(maxColumn, newAnchor, originalAnchor, arrs[1]),
+                relocate(minRow, newAnchor, originalAnchor, arrs[2]),
+                relocate(maxRow, newAnchor, originalAnchor, arrs[3])
         );
     }
 
+    /**
+     * Same as {@link #getCorresponding(Tile, Tile)}, but store the result in an existing Rectangle instead of
+     * allocating a new one.
+     *
+     * @param newAnchor      target anchor
+     * @param originalAnchor source anchor
+     * @param dest           Rectangle to overwrite with the corresponding extent
+     */
+    public void getCorresponding(Tile newAnchor, Tile originalAnchor, SimpleTileRectangle dest) {
+        if (empty) {
+            dest.clear();
+            return;
+        }
+        Tile[][][] arrs = getRootNameTiles(newAnchor);
+        dest.set(
+                relocate(minColumn, newAnchor, originalAnchor, arrs[0]).getColumn(),
+                relocate(maxColumn, newAnchor, originalAnchor, arrs[1]).getColumn(),
+                relocate(minRow, newAnchor, originalAnchor, arrs[2]).getRow(),
+                relocate(maxRow, newAnchor, originalAnchor, arrs[3]).getRow()
+        );
+    }
+
+    /**
+     * Same as {@link #getCorresponding(Tile, Tile)}, but return the same Rectangle every time this is called with
+     * the same anchors, as long as no more than {@link #MAX_SHARED_CORRESPONDING} different anchors are used. Used by
+     * placers that move instances back and forth between the same placements. The result is shared and must not be
+     * modified.
+     *
+     * @param newAnchor      target anchor
+     * @param originalAnchor source anchor
+     * @return the corresponding Rectangle
+     */
+    public RelocatableTileRectangle getCorrespondingShared(Tile newAnchor, Tile originalAnchor) {
+        CorrespondingCache cache = correspondingCache;
+        if (cache == null || cache.originalAnchor != originalAnchor
+                || cache.byNewAnchor.size() >= MAX_SHARED_CORRESPONDING) {
+            cache = new CorrespondingCache(originalAnchor);
+            correspondingCache = cache;
+        }
+        RelocatableTileRectangle res = cache.byNewAnchor.get(newAnchor);
+        if (res == null) {
+            // Only reached on a miss, so that hits do not allocate a lambda
+            res = cache.byNewAnchor.computeIfAbsent(newAnchor, (a) -> getCorresponding(a, originalAnchor));
+        }
+        return res;
+    }
+
 
     private void extendToRect(Tile otherMinX, Tile otherMaxX, Tile otherMinY, Tile otherMaxY) {
-        minColumnArr = null;
-        maxColumnArr = null;
-        minRowArr = null;
-        maxRowArr = null;
+        rootNameTiles = null;
+        correspondingCache = null;
         if (empty) {
             minColumn = otherMinX;
             maxColumn = otherMaxX;
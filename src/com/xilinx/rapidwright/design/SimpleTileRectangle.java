@@ -58,6 +58,40 @@ public class SimpleTileRectangle extends TileRectangle {
         this.empty = rect.empty;
     }
 
+    /**
+     * Make this Rectangle empty again, so that it can be reused without allocating a new one
+     */
+    public void clear() {
+        empty = true;
+    }
+
+    /**
+     * Copy the extent of another Rectangle into this one
+     * @param rect The Rectangle to copy
+     */
+    public void set(SimpleTileRectangle rect) {
+        this.minColumn = rect.minColumn;
+        this.maxColumn = rect.maxColumn;
+        this.minRow = rect.minRow;
+        this.maxRow = rect.maxRow;
+        this.empty = rect.empty;
+    }
+
+    /**
+     * Set the extent of this Rectangle
+     * @param minColumn the minimum column
+     * @param maxColumn the maximum column
+     * @param minRow the minimum row
+     * @param maxRow the maximum row
+     */
+    public void set(int minColumn, int maxColumn, int minRow, int maxRow) {
+        this.minColumn = minColumn;
+        this.maxColumn = maxColumn;
+        this.minRow = minRow;
+        this.maxRow = maxRow;
+        this.empty = false;
+    }
+
     public static Collector<Tile, ?, SimpleTileRectangle> collector() {
         return TileRectangle.collector(SimpleTileRectangle::new, SimpleTileRectangle::extendTo);
     }
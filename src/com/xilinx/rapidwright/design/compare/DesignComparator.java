@@ -30,6 +30,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 import com.xilinx.rapidwright.design.Cell;
@@ -41,19 +42,35 @@ import com.xilinx.rapidwright.device.PIP;
 import com.xilinx.rapidwright.device.SitePIP;
 import com.xilinx.rapidwright.edif.EDIFNetlist;
 import com.xilinx.rapidwright.edif.compare.EDIFNetlistComparator;
+import com.xilinx.rapidwright.util.HashTools;
+import com.xilinx.rapidwright.util.ParallelismTools;
 
 /**
  * A physical design comparison helper class that will compare two designs'
  * placement and routing information and keep track of the differences. Please
  * see {@link EDIFNetlistComparator} to compare logical netlists
  * ({@link EDIFNetlist}).
+ *
+ * Site instances and nets are compared in parallel (see {@link ParallelismTools}), so the order of
+ * differences within each type is not deterministic. Nets whose PIP fingerprints (see
+ * {@link #getPIPFingerprint(Net)}) match are assumed to be routed identically without comparing their
+ * PIPs one by one.
  */
 public class DesignComparator {
 
+    /** Number of site instances or nets compared by each parallel task */
+    private static final int ELEMENTS_PER_TASK = 256;
+
     /** Stored map of design differences detected and their specific instances */
     private Map<DesignDiffType, List<DesignDiff>> diffMap;
+    /** Count of differences found for each type */
+    private int[] diffTypeCounts;
     /** Total running count of differences found */
-    private int diffCount;
+    private volatile int diffCount;
+    /** If set, receives each difference found instead of it being stored in {@link #diffMap} */
+    private Consumer<DesignDiff> diffSink;
+    /** Maximum number of differences to find before stopping a comparison (default: no limit) */
+    private int diffLimit = Integer.MAX_VALUE;
     /** Flag indicating if PIP flags should be compared (default: false) */
     private boolean comparePIPFlags = false;
     /** Predicate indicating if routing (PIPs) should be compared for given Net (default: true) */
@@ -85,46 +102,93 @@ public class DesignComparator {
      */
     public int compareDesigns(Design gold, Design test) {
         resetDiffCount();
+        List<DesignDiff> diffs = new ArrayList<>();
         if (!gold.getPartName().equals(test.getPartName())) {
-            addDiff(DesignDiffType.DESIGN_PARTNAME, gold, test, null, "");
+            if (addPairingDiff(diffs, DesignDiffType.DESIGN_PARTNAME, gold, test, null)) {
+                return getDiffCount();
+            }
         }
-        
+
+        List<Runnable> tasks = new ArrayList<>();
         if (comparePlacement) {
             Map<String, SiteInst> goldMap = getSiteInstMap(gold);
             Map<String, SiteInst> testMap = getSiteInstMap(test);
 
+            List<SiteInst> goldSiteInsts = new ArrayList<>();
+            List<SiteInst> testSiteInsts = new ArrayList<>();
             for (Entry<String, SiteInst> e : goldMap.entrySet()) {
                 SiteInst testSiteInst = testMap.remove(e.getKey());
                 if (testSiteInst == null) {
-                    addDiff(DesignDiffType.SITEINST_MISSING, e.getValue(), null, gold, "");
+                    if (addPairingDiff(diffs, DesignDiffType.SITEINST_MISSING, e.getValue(), null, gold)) {
+                        return getDiffCount();
+                    }
                     continue;
                 }
-                compareSiteInsts(e.getValue(), testSiteInst);
+                goldSiteInsts.add(e.getValue());
+                testSiteInsts.add(testSiteInst);
             }
 
             for (Entry<String, SiteInst> e : testMap.entrySet()) {
-                addDiff(DesignDiffType.SITEINST_EXTRA, null, e.getValue(), test, "");
+                if (addPairingDiff(diffs, DesignDiffType.SITEINST_EXTRA, null, e.getValue(), test)) {
+                    return getDiffCount();
+                }
             }
+            addTasks(tasks, goldSiteInsts, testSiteInsts, this::compareSiteInsts);
         }
 
         Map<String, Net> goldNetMap = getNetMap(gold);
         Map<String, Net> testNetMap = getNetMap(test);
 
+        List<Net> goldNets = new ArrayList<>();
+        List<Net> testNets = new ArrayList<>();
         for (Entry<String, Net> e : goldNetMap.entrySet()) {
             Net testNet = testNetMap.remove(e.getKey());
             if (testNet == null) {
-                addDiff(DesignDiffType.NET_MISSING, e.getValue(), null, gold, "");
+                if (addPairingDiff(diffs, DesignDiffType.NET_MISSING, e.getValue(), null, gold)) {
+                    return getDiffCount();
+                }
                 continue;
             }
-            compareNets(e.getValue(), testNet);
+            goldNets.add(e.getValue());
+            testNets.add(testNet);
         }
 
         for (Entry<String, Net> e : testNetMap.entrySet()) {
-            addDiff(DesignDiffType.NET_EXTRA, null, e.getValue(), test, "");
+            if (addPairingDiff(diffs, DesignDiffType.NET_EXTRA, null, e.getValue(), test)) {
+                return getDiffCount();
+            }
         }
 
+        // Fingerprints identify PIPs by tile address, which is only meaningful within the same device
+        boolean useFingerprints = !comparePIPFlags && gold.getDevice() == test.getDevice();
+        addTasks(tasks, goldNets, testNets, (g, t, d) -> compareNets(g, t, d, useFingerprints));
+
+        ParallelismTools.invokeAll(tasks.toArray(new Runnable[0]));
         return getDiffCount();
     }
+
+    private interface ElementComparison<T> {
+        void compare(T gold, T test, List<DesignDiff> diffs);
+    }
+
+    /**
+     * Splits the comparison of matching elements into tasks, each of which forwards its differences as
+     * soon as they are found and stops early once the difference limit has been reached.
+     */
+    private <T> void addTasks(List<Runnable> tasks, List<T> golds, List<T> tests,
+                              ElementComparison<T> comparison) {
+        for (int i = 0; i < golds.size(); i += ELEMENTS_PER_TASK) {
+            final int start = i;
+            final int end = Math.min(i + ELEMENTS_PER_TASK, golds.size());
+            tasks.add(() -> {
+                List<DesignDiff> diffs = new ArrayList<>();
+                for (int j = start; j < end && !isDiffLimitReached(); j++) {
+                    comparison.compare(golds.get(j), tests.get(j), diffs);
+                    flushDiffs(diffs);
+                }
+            });
+        }
+    }
     
     private Map<String,SiteInst> getSiteInstMap(Design design) {
         Map<String,SiteInst> map = new HashMap<>();
@@ -157,11 +221,49 @@ public class DesignComparator {
         return diffCount;
     }
 
+    /**
+     * Gets the number of differences of the given type encountered since the last call of
+     * {@link #compareDesigns(Design, Design)}.
+     *
+     * @param type The type of difference.
+     * @return Number of design differences of the given type found.
+     */
+    public int getDiffCount(DesignDiffType type) {
+        return diffTypeCounts[type.ordinal()];
+    }
+
     public void resetDiffCount() {
         diffCount = 0;
+        diffTypeCounts = new int[DesignDiffType.values().length];
         diffMap = new EnumMap<>(DesignDiffType.class);
     }
 
+    /**
+     * Sets a consumer that receives each difference as it is found, instead of all differences being
+     * stored for {@link #getDiffMap()}, {@link #getDiffList(DesignDiffType)} and
+     * {@link #printDiffReport(PrintStream)}. This keeps memory bounded when comparing designs with many
+     * differences. The sink is never called concurrently.
+     *
+     * @param diffSink The consumer of differences, or null to store them (default: null).
+     */
+    public void setDiffSink(Consumer<DesignDiff> diffSink) {
+        this.diffSink = diffSink;
+    }
+
+    /**
+     * Sets the number of differences after which comparing stops. Useful when only checking if two
+     * designs are equivalent, by setting a limit of 1.
+     *
+     * @param diffLimit Maximum number of differences to find (default: no limit).
+     */
+    public void setDiffLimit(int diffLimit) {
+        this.diffLimit = diffLimit;
+    }
+
+    private boolean isDiffLimitReached() {
+        return diffCount >= diffLimit;
+    }
+
     /**
      * Gets the comparePIPFlags flag indicating if the routing flags on a design's
      * PIPs should be compared by DesignComparator.
@@ -228,10 +330,46 @@ public class DesignComparator {
         return diffMap.getOrDefault(type, Collections.emptyList());
     }
 
-    private void addDiff(DesignDiffType type, Object gold, Object test, Object context, String notEqualString) {
-        List<DesignDiff> diffs = diffMap.computeIfAbsent(type, l -> new ArrayList<>());
+    private static void addDiff(List<DesignDiff> diffs, DesignDiffType type, Object gold, Object test,
+                                Object context, String notEqualString) {
         diffs.add(new DesignDiff(type, gold, test, context, notEqualString));
-        diffCount++;
+    }
+
+    /**
+     * Records a difference found while pairing up the elements of both designs. It is flushed right away,
+     * so that differences are not held back until pairing completes and pairing can stop as soon as the
+     * difference limit is reached.
+     * @return True if the difference limit has been reached.
+     */
+    private boolean addPairingDiff(List<DesignDiff> diffs, DesignDiffType type, Object gold, Object test,
+                                   Object context) {
+        addDiff(diffs, type, gold, test, context, "");
+        flushDiffs(diffs);
+        return isDiffLimitReached();
+    }
+
+    /**
+     * Records the provided differences (up to the difference limit) and clears the list.
+     */
+    private void flushDiffs(List<DesignDiff> diffs) {
+        if (diffs.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            for (DesignDiff diff : diffs) {
+                if (isDiffLimitReached()) {
+                    break;
+                }
+                if (diffSink != null) {
+                    diffSink.accept(diff);
+                } else {
+                    diffMap.computeIfAbsent(diff.getType(), l -> new ArrayList<>()).add(diff);
+                }
+                diffTypeCounts[diff.getType().ordinal()]++;
+                diffCount++;
+            }
+        }
+        diffs.clear();
     }
 
     /**
@@ -247,9 +385,15 @@ public class DesignComparator {
      */
     public int compareSiteInsts(SiteInst gold, SiteInst test) {
         int init = getDiffCount();
+        List<DesignDiff> diffs = new ArrayList<>();
+        compareSiteInsts(gold, test, diffs);
+        flushDiffs(diffs);
+        return getDiffCount() - init;
+    }
 
+    private void compareSiteInsts(SiteInst gold, SiteInst test, List<DesignDiff> diffs) {
         if (!gold.getName().equals(test.getName())) {
-            addDiff(DesignDiffType.SITEINST_NAME, gold, test, null, "");
+            addDiff(diffs, DesignDiffType.SITEINST_NAME, gold, test, null, "");
         }
 
         Map<String, Cell> goldMap = gold.getCellMap();
@@ -259,21 +403,21 @@ public class DesignComparator {
         for (Entry<String, Cell> e : goldMap.entrySet()) {
             Cell testCell = testMap.remove(e.getKey());
             if (testCell == null) {
-                addDiff(DesignDiffType.PLACED_CELL_MISSING, e.getValue(), null, gold, "");
+                addDiff(diffs, DesignDiffType.PLACED_CELL_MISSING, e.getValue(), null, gold, "");
                 continue;
             }
 
             if (!Objects.equals(e.getValue().getName(), testCell.getName())) {
-                addDiff(DesignDiffType.PLACED_CELL_NAME, e.getValue(), testCell, gold, "");
+                addDiff(diffs, DesignDiffType.PLACED_CELL_NAME, e.getValue(), testCell, gold, "");
             }
 
             if (!Objects.equals(e.getValue().getType(), testCell.getType())) {
-                addDiff(DesignDiffType.PLACED_CELL_TYPE, e.getValue(), testCell, gold, "");
+                addDiff(diffs, DesignDiffType.PLACED_CELL_TYPE, e.getValue(), testCell, gold, "");
             }
         }
         for (Entry<String, Cell> e : testMap.entrySet()) {
             Cell extraCell = e.getValue();
-            addDiff(DesignDiffType.PLACED_CELL_EXTRA, null, extraCell, test, "");
+            addDiff(diffs, DesignDiffType.PLACED_CELL_EXTRA, null, extraCell, test, "");
         }
 
         
@@ -284,16 +428,16 @@ public class DesignComparator {
         for (Entry<String, Net> e : goldSiteWireMap.entrySet()) {
             Net testNet = testSiteWireMap.remove(e.getKey());
             if (testNet == null) {
-                addDiff(DesignDiffType.SITEWIRE_NET_MISSING, e.getKey(), null, gold, "should be Net " + e.getValue());
+                addDiff(diffs, DesignDiffType.SITEWIRE_NET_MISSING, e.getKey(), null, gold, "should be Net " + e.getValue());
                 continue;
             }
             if (!e.getValue().getName().equals(testNet.getName())) {
-                addDiff(DesignDiffType.SITEWIRE_NET_NAME, e.getKey(), testNet, gold , "");
+                addDiff(diffs, DesignDiffType.SITEWIRE_NET_NAME, e.getKey(), testNet, gold , "");
             }
         }
         for (Entry<String, Net> e : testSiteWireMap.entrySet()) {
             Net extraNet = e.getValue();
-            addDiff(DesignDiffType.SITEWIRE_NET_EXTRA, null, e.getKey(), test, " extra Net " + extraNet);
+            addDiff(diffs, DesignDiffType.SITEWIRE_NET_EXTRA, null, e.getKey(), test, " extra Net " + extraNet);
         }
         
         // Active SitePIPs
@@ -303,18 +447,16 @@ public class DesignComparator {
         for (Entry<BEL, SitePIP> e : goldSitePIPs.entrySet()) {
             SitePIP testPIP = testSitePIPs.remove(e.getKey());
             if (testPIP == null) {
-                addDiff(DesignDiffType.SITEPIP_MISSING, e.getValue(), null, gold, "");
+                addDiff(diffs, DesignDiffType.SITEPIP_MISSING, e.getValue(), null, gold, "");
                 continue;
             }
             if (!e.getValue().getInputPinName().equals(testPIP.getInputPinName())) {
-                addDiff(DesignDiffType.SITEPIP_INPIN_NAME, e.getValue(), testPIP, gold, "");
+                addDiff(diffs, DesignDiffType.SITEPIP_INPIN_NAME, e.getValue(), testPIP, gold, "");
             }
         }
         for (Entry<BEL, SitePIP> e : testSitePIPs.entrySet()) {
-            addDiff(DesignDiffType.SITEPIP_EXTRA, null, e.getValue(), test, "");
+            addDiff(diffs, DesignDiffType.SITEPIP_EXTRA, null, e.getValue(), test, "");
         }
-
-        return getDiffCount() - init;
     }
     
     private Map<BEL, SitePIP> getSitePIPMap(SiteInst siteInst) {
@@ -350,9 +492,20 @@ public class DesignComparator {
      */
     public int compareNets(Net gold, Net test) {
         int init = getDiffCount();
+        List<DesignDiff> diffs = new ArrayList<>();
+        compareNets(gold, test, diffs, false);
+        flushDiffs(diffs);
+        return getDiffCount() - init;
+    }
 
+    private void compareNets(Net gold, Net test, List<DesignDiff> diffs, boolean useFingerprints) {
         if (!comparePIPs.test(gold) && !comparePIPs.test(test)) {
-            return getDiffCount() - init;
+            return;
+        }
+
+        if (useFingerprints && gold.getPIPs().size() == test.getPIPs().size()
+                && getPIPFingerprint(gold) == getPIPFingerprint(test)) {
+            return;
         }
 
         Map<String, PIP> goldMap = getPIPMap(gold);
@@ -361,20 +514,39 @@ public class DesignComparator {
         for (Entry<String, PIP> e : goldMap.entrySet()) {
             PIP testPIP = testMap.remove(e.getKey());
             if (testPIP == null) {
-                addDiff(DesignDiffType.PIP_MISSING, e.getValue(), null, gold, "");
+                addDiff(diffs, DesignDiffType.PIP_MISSING, e.getValue(), null, gold, "");
                 continue;
             }
 
             if (comparePIPFlags && !e.getValue().deepEquals(testPIP)) {
-                addDiff(DesignDiffType.PIP_FLAGS, e.getValue(), testPIP, gold, "");
+                addDiff(diffs, DesignDiffType.PIP_FLAGS, e.getValue(), testPIP, gold, "");
             }
         }
 
         for (Entry<String, PIP> e : testMap.entrySet()) {
-            addDiff(DesignDiffType.PIP_EXTRA, null, e.getValue(), test, "");
+            addDiff(diffs, DesignDiffType.PIP_EXTRA, null, e.getValue(), test, "");
         }
-        
-        return getDiffCount() - init;
+    }
+
+    /**
+     * Computes a 64-bit fingerprint of a net's routing that is independent of the order of its PIPs.
+     * Each PIP is identified by its tile's unique address, its start and end wire indices and its
+     * direction, so fingerprints are only comparable between nets of the same device. PIP flags other
+     * than the direction are not covered.
+     *
+     * @param net The net.
+     * @return The fingerprint of the net's PIPs.
+     */
+    public static long getPIPFingerprint(Net net) {
+        long fingerprint = 0;
+        for (PIP p : net.getPIPs()) {
+            long h = HashTools.mix(p.getTile().getUniqueAddress());
+            h = HashTools.mix(h ^ p.getStartWireIndex());
+            h = HashTools.mix(h ^ p.getEndWireIndex());
+            h = HashTools.mix(h ^ (p.isReversed() ? 1 : 0));
+            fingerprint += h;
+        }
+        return fingerprint;
     }
 
     /**
@@ -390,7 +562,7 @@ public class DesignComparator {
         ps.println("=============================================================================");
         int totalSanity = 0;
         for (DesignDiffType type : DesignDiffType.values()) {
-            int typeDiffCount = diffMap.getOrDefault(type, Collections.emptyList()).size();
+            int typeDiffCount = getDiffCount(type);
             totalSanity += typeDiffCount;
             ps.printf("%9d %s Diffs\n", typeDiffCount, type.name());
         }
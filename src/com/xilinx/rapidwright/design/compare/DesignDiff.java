@@ -49,6 +49,10 @@ public class DesignDiff {
         this.notEqualString = notEqualString;
     }
 
+    public DesignDiffType getType() {
+        return type;
+    }
+
     public String getClassName() {
         if (gold != null)
             return gold.getClass().getSimpleName();
@@ -117,8 +117,10 @@ public class ECOTools {
     public static void disconnectNet(Design design,
                                      List<EDIFHierPortInst> pins,
                                      Map<Net, Set<SitePinInst>> deferredRemovals) {
+        List<EDIFHierNet> modifiedNets = new ArrayList<>(pins.size());
         for (EDIFHierPortInst ehpi : pins) {
             EDIFHierNet ehn = ehpi.getHierarchicalNet();
+            modifiedNets.add(ehn);
             List<EDIFHierPortInst> leafPortInsts;
             EDIFHierNet internalEhn = ehpi.getInternalNet();
             if (internalEhn == null) {
@@ -188,6 +190,9 @@ public class ECOTools {
             // typically we would want to connect it to another net
             en.removePortInst(ehpi.getPortInst());
         }
+
+        // Patch only the parent nets affected by the disconnections
+        design.getNetlist().updateParentNetMap(modifiedNets);
     }
 
     /**
@@ -300,12 +305,17 @@ public class ECOTools {
         }
 
         // Modify the logical netlist
+        List<EDIFHierNet> modifiedNets = new ArrayList<>(netToPortInsts.keySet());
         for (Map.Entry<EDIFHierNet,List<EDIFHierPortInst>> e : netToPortInsts.entrySet()) {
             EDIFHierNet ehn = e.getKey();
             EDIFNet en = ehn.getNet();
             List<EDIFHierPortInst> portInsts = e.getValue();
 
             for (EDIFHierPortInst ehpi : portInsts) {
+                EDIFHierNet oldEhn = ehpi.getHierarchicalNet();
+                if (oldEhn != null) {
+                    modifiedNets.add(oldEhn);
+                }
                 if (ehpi.isOutput()) {
                     for (EDIFHierPortInst src : ehn.getLeafHierPortInsts(true, false)) {
                         System.err.println("WARNING: Net '" + ehn.getHierarchicalNetName() + "' already has an output pin '" +
@@ -337,7 +347,7 @@ public class ECOTools {
         }
 
         final EDIFNetlist netlist = design.getNetlist();
-        netlist.resetParentNetMap();
+        netlist.updateParentNetMap(modifiedNets);
 
         // Modify the physical netlist
         EDIFCell ecGnd = netlist.getHDIPrimitive(Unisim.GND);
@@ -499,12 +509,17 @@ public class ECOTools {
     private static void connectNetSource(Design design,
                                          Map<EDIFHierNet, EDIFHierPortInst> netToSourcePortInst,
                                          Map<Net, Set<SitePinInst>> deferredRemovals) {
+        List<EDIFHierNet> modifiedNets = new ArrayList<>(netToSourcePortInst.keySet());
         for (Map.Entry<EDIFHierNet,EDIFHierPortInst> e : netToSourcePortInst.entrySet()) {
             EDIFHierPortInst ehpi = e.getValue();
             assert(ehpi.isOutput());
 
             EDIFHierNet ehn = e.getKey();
             EDIFNet en = ehn.getNet();
+            EDIFHierNet oldEhn = ehpi.getHierarchicalNet();
+            if (oldEhn != null) {
+                modifiedNets.add(oldEhn);
+            }
 
             // Modify the logical netlist
             for (EDIFHierPortInst src : ehn.getLeafHierPortInsts(true, false)) {
@@ -539,9 +554,9 @@ public class ECOTools {
             }
         }
 
-        // Since we have changed source pins, regenerate the parent net map
+        // Since we have changed source pins, update the parent net map
         final EDIFNetlist netlist = design.getNetlist();
-        netlist.resetParentNetMap();
+        netlist.updateParentNetMap(modifiedNets);
 
         // Modify the physical netlist
         EDIFCell ecGnd = netlist.getHDIPrimitive(Unisim.GND);
@@ -87,6 +87,12 @@ public abstract class AbstractEDIFParserWorker {
         this.tokenizer = new EDIFTokenizer(fileName, in, uniquifier, maxTokenLength);
     }
 
+    protected AbstractEDIFParserWorker(EDIFTokenizer tokenizer, InputStream in, EDIFReadLegalNameCache cache) {
+        this.in = in;
+        this.cache = cache;
+        this.tokenizer = tokenizer;
+    }
+
     public AbstractEDIFParserWorker(Path fileName, InputStream in, StringPool uniquifier, EDIFReadLegalNameCache cache) {
         this(fileName, in, uniquifier, EDIFTokenizer.DEFAULT_MAX_TOKEN_LENGTH, cache);
     }
@@ -28,13 +28,26 @@ package com.xilinx.rapidwright.edif;
 
 import static com.xilinx.rapidwright.edif.BinaryEDIFWriter.EDIF_HAS_OWNER;
 
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
 import com.xilinx.rapidwright.util.FileTools;
+import com.xilinx.rapidwright.util.ParallelismTools;
 
 /**
  * A Reader for the RapidWright Binary EDIF Format
@@ -141,6 +154,31 @@ public class BinaryEDIFReader {
      * @see BinaryEDIFWriter#writeEDIFCell(EDIFCell, Output, Map)
      */
     public static EDIFCell readEDIFCell(Input is, String[] strings, EDIFLibrary lib, EDIFNetlist netlist) {
+        EDIFCell c = readEDIFCellInterface(is, strings, lib);
+        readEDIFCellContents(is, strings, c, netlist, null);
+        return c;
+    }
+
+    /**
+     * Reads and creates a new EDIFCell from the Kryo-based input stream, but only scans its instances
+     * and nets. These are created once they are first accessed.
+     * @param is Kryo-based input stream
+     * @param strings Indexed string lookup
+     * @param lib Parent library for which this EDIFCell should become a member
+     * @param netlist The current netlist being read
+     * @return The newly read and created EDIFCell
+     */
+    static EDIFCell readEDIFCellLazily(Input is, String[] strings, EDIFLibrary lib, EDIFNetlist netlist) {
+        EDIFCell c = readEDIFCellInterface(is, strings, lib);
+        c.setLazyContents(scanEDIFCellContents(is, strings, lib, netlist));
+        return c;
+    }
+
+    /**
+     * Reads and creates a new EDIFCell with its ports (but no contents) from the Kryo-based input stream
+     * @see BinaryEDIFWriter#writeEDIFCell(EDIFCell, Output, Map)
+     */
+    private static EDIFCell readEDIFCellInterface(Input is, String[] strings, EDIFLibrary lib) {
         EDIFCell c = new EDIFCell();
         readEDIFObject(c, is, strings);
         lib.addCell(c);
@@ -172,12 +210,34 @@ public class BinaryEDIFReader {
             port.setIsLittleEndian();
             c.addPort(port);
         }
+        return c;
+    }
+
+    /**
+     * Reads the instances and nets of an EDIFCell and adds them to it.
+     * @param is Kryo-based input stream
+     * @param strings Indexed string lookup
+     * @param c The cell to populate
+     * @param netlist The current netlist being read
+     * @param instTypes The already resolved cell types of all instances, or null if the cell references
+     * are to be read from the stream.
+     * @see BinaryEDIFWriter#writeEDIFCell(EDIFCell, Output, Map)
+     */
+    private static void readEDIFCellContents(Input is, String[] strings, EDIFCell c, EDIFNetlist netlist,
+                                             EDIFCell[] instTypes) {
         int instCount = is.readInt();
         for (int i=0; i < instCount; i++) {
             EDIFCellInst inst = new EDIFCellInst();
             readEDIFObject(inst, is, strings);
-            inst.setCellType(readEDIFCellRef(is, strings, netlist, lib));
-            c.addCellInst(inst);
+            if (instTypes == null) {
+                inst.setCellType(readEDIFCellRef(is, strings, netlist, c.getLibrary()));
+                c.addCellInst(inst);
+            } else {
+                inst.setCellType(instTypes[i]);
+                c.addCellInst(inst);
+                // Already counted when the contents were scanned
+                instTypes[i].decrementNonHierInstantiationCount();
+            }
         }
         int netCount = is.readInt();
         for (int i=0; i < netCount; i++) {
@@ -198,7 +258,111 @@ public class BinaryEDIFReader {
                 }
             }
         }
-        return c;
+    }
+
+    /**
+     * The contents (instances and nets) of an EDIFCell that was read lazily, kept in their binary
+     * encoding until first accessed. The cell references of all instances are resolved when scanning, so
+     * that the instantiation counts of all cells are correct before any contents are materialized.
+     */
+    static class LazyCellContents {
+        private final byte[] data;
+        private final String[] strings;
+        private final EDIFCell[] instTypes;
+        private boolean loading;
+
+        private LazyCellContents(byte[] data, String[] strings, EDIFCell[] instTypes) {
+            this.data = data;
+            this.strings = strings;
+            this.instTypes = instTypes;
+        }
+
+        boolean isLoading() {
+            return loading;
+        }
+
+        /**
+         * Creates all instances and nets of the provided cell. The caller needs to hold the lock of the
+         * cell.
+         * @param c The cell these contents belong to
+         */
+        void load(EDIFCell c) {
+            loading = true;
+            EDIFNetlist netlist = c.getNetlist();
+            boolean tracking = netlist != null && netlist.isTrackingCellChanges();
+            // Materializing contents is not a change to the netlist
+            if (tracking) {
+                netlist.setTrackCellChanges(false);
+            }
+            try (Input is = new Input(data)) {
+                readEDIFCellContents(is, strings, c, netlist, instTypes);
+            } finally {
+                if (tracking) {
+                    netlist.setTrackCellChanges(true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the ints of an EDIFPropertyObject from the input stream and copies them to the output stream.
+     * @see #readEDIFObject(EDIFPropertyObject, Input, String[])
+     */
+    private static void copyEDIFObject(Input is, Output os) {
+        int nameIdx = copyInt(is, os);
+        if ((nameIdx & BinaryEDIFWriter.EDIF_PROP_FLAG) == BinaryEDIFWriter.EDIF_PROP_FLAG) {
+            int numProps = copyInt(is, os);
+            for (int i=0; i < numProps; i++) {
+                int ownerAndKeyIdx = copyInt(is, os);
+                copyInt(is, os);
+                if ((ownerAndKeyIdx & EDIF_HAS_OWNER) == EDIF_HAS_OWNER) {
+                    copyInt(is, os);
+                }
+            }
+        }
+    }
+
+    private static int copyInt(Input is, Output os) {
+        int value = is.readInt();
+        os.writeInt(value);
+        return value;
+    }
+
+    /**
+     * Scans the instances and nets of an EDIFCell from the input stream without creating them. Only
+     * the cell references of the instances are resolved.
+     * @param is Kryo-based input stream
+     * @param strings Indexed string lookup
+     * @param lib Library of the cell
+     * @param netlist The current netlist being read
+     * @return The contents, or null if the cell has neither instances nor nets.
+     * @see #readEDIFCellContents(Input, String[], EDIFCell, EDIFNetlist, EDIFCell[])
+     */
+    private static LazyCellContents scanEDIFCellContents(Input is, String[] strings, EDIFLibrary lib,
+                                                         EDIFNetlist netlist) {
+        try (Output os = new Output(256, -1)) {
+            int instCount = copyInt(is, os);
+            EDIFCell[] instTypes = new EDIFCell[instCount];
+            for (int i=0; i < instCount; i++) {
+                copyEDIFObject(is, os);
+                instTypes[i] = readEDIFCellRef(is, strings, netlist, lib);
+                instTypes[i].incrementNonHierInstantiationCount();
+            }
+            int netCount = copyInt(is, os);
+            for (int i=0; i < netCount; i++) {
+                copyEDIFObject(is, os);
+                int portRefCount = copyInt(is, os);
+                for (int j=0; j < portRefCount; j++) {
+                    copyInt(is, os); // name
+                    copyInt(is, os); // index
+                    copyInt(is, os); // instance
+                }
+            }
+            if (instCount == 0 && netCount == 0) {
+                return null;
+            }
+            return new LazyCellContents(os.toBytes(), strings, instTypes);
+        }
     }
 
     /**
@@ -218,33 +382,219 @@ public class BinaryEDIFReader {
      * @see BinaryEDIFWriter#writeBinaryEDIF(Path, EDIFNetlist)
      */
     public static EDIFNetlist readBinaryEDIF(Path path) {
+        return readBinaryEDIF(path, false);
+    }
+
+    /**
+     * Reads a binary EDIF (.bedf) file and creates a new EDIFNetlist object, optionally in lazy mode.
+     * In lazy mode, all libraries, cells and their ports are created, but the instances and nets of each
+     * cell are only kept in their compact binary encoding until the cell's contents are first accessed.
+     * This makes reading faster and uses less memory for tools that only visit parts of a netlist.
+     * @param path Name of the file to read
+     * @param lazy Flag to materialize the contents of each cell on first access only
+     * @return The newly created netlist populated from the binary EDIF file
+     * @see BinaryEDIFWriter#writeBinaryEDIF(Path, EDIFNetlist)
+     */
+    public static EDIFNetlist readBinaryEDIF(Path path, boolean lazy) {
+        return readBinaryEDIF(path, lazy, null);
+    }
+
+    /**
+     * Reads a binary EDIF (.bedf) file and creates a new EDIFNetlist object, optionally in lazy mode and
+     * skipping some libraries. Files of the current, indexed format are decoded in parallel: first the
+     * cell interfaces of each library, then the contents of all cells. Files of the previous, sequential
+     * format ({@link BinaryEDIFWriter#EDIF_BINARY_FILE_SEQUENTIAL_VERSION}) are still read, on a single
+     * thread.
+     * @param path Name of the file to read
+     * @param lazy Flag to materialize the contents of each cell on first access only
+     * @param libraryFilter Selects the names of the libraries to read, or null to read all of them. Any
+     * library referenced by the cells read (or by the design's top cell) must also be selected. Libraries
+     * can only be skipped in files of the indexed format; all libraries of older files are read.
+     * @return The newly created netlist populated from the binary EDIF file
+     * @see BinaryEDIFWriter#writeBinaryEDIF(Path, EDIFNetlist)
+     */
+    public static EDIFNetlist readBinaryEDIF(Path path, boolean lazy, Predicate<String> libraryFilter) {
+        String[] strings;
         try (Input is = FileTools.getKryoZstdInputStream(path.toString())) {
             if (!is.readString().equals(BinaryEDIFWriter.EDIF_BINARY_FILE_TAG)) {
                 throw new RuntimeException("ERROR: Cannot recognize EDIF Binary format");
             }
-            if (!is.readString().equals(BinaryEDIFWriter.EDIF_BINARY_FILE_VERSION)) {
+            String version = is.readString();
+            if (version.equals(BinaryEDIFWriter.EDIF_BINARY_FILE_SEQUENTIAL_VERSION)) {
+                return readSequentialBinaryEDIF(is, lazy);
+            }
+            if (!version.equals(BinaryEDIFWriter.EDIF_BINARY_FILE_VERSION)) {
                 throw new RuntimeException("ERROR: Unsupported EDIF Binary format version");
             }
-            EDIFNetlist netlist = new EDIFNetlist();
-            String[] strings = FileTools.readStringArray(is);
-            int numLibraries = is.readInt();
+            strings = FileTools.readStringArray(is);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return readIndexedBinaryEDIF(channel, strings, lazy, libraryFilter);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads the remainder of a binary EDIF file of the sequential format, after its version.
+     */
+    private static EDIFNetlist readSequentialBinaryEDIF(Input is, boolean lazy) {
+        EDIFNetlist netlist = new EDIFNetlist();
+        String[] strings = FileTools.readStringArray(is);
+        int numLibraries = is.readInt();
+        for (int i=0; i < numLibraries; i++) {
+            EDIFLibrary lib = new EDIFLibrary();
+            readEDIFName(lib, is, strings);
+            netlist.addLibrary(lib);
+            int numCells = is.readInt();
+            for (int j=0; j < numCells; j++) {
+                if (lazy) {
+                    readEDIFCellLazily(is, strings, lib, netlist);
+                } else {
+                    readEDIFCell(is, strings, lib, netlist);
+                }
+            }
+        }
+        readEDIFNetlistInfo(is, strings, netlist);
+        return netlist;
+    }
+
+    /**
+     * Reads the netlist name, comments and design, which follow all libraries.
+     * @see BinaryEDIFWriter#writeEDIFNetlistInfo(EDIFNetlist, Output, Map)
+     */
+    private static void readEDIFNetlistInfo(Input is, String[] strings, EDIFNetlist netlist) {
+        readEDIFName(netlist, is, strings);
+        int numComments = is.readInt();
+        for (int i=0; i < numComments; i++) {
+            netlist.addComment(is.readString());
+        }
+        readEDIFDesign(is, strings, netlist);
+    }
+
+    /** Location of the blocks of one library of an indexed binary EDIF file */
+    private static class LibraryBlocks {
+        private final EDIFLibrary lib;
+        private final EDIFCell[] cells;
+        private final long interfaceOffset;
+        private final int interfaceLength;
+
+        private LibraryBlocks(EDIFLibrary lib, int cellCount, long interfaceOffset, int interfaceLength) {
+            this.lib = lib;
+            this.cells = new EDIFCell[cellCount];
+            this.interfaceOffset = interfaceOffset;
+            this.interfaceLength = interfaceLength;
+        }
+    }
+
+    /** Location of a block with the contents of consecutive cells of one library */
+    private static class ContentBlock {
+        private final LibraryBlocks lib;
+        private final int firstCell;
+        private final int cellCount;
+        private final long offset;
+        private final int length;
+
+        private ContentBlock(LibraryBlocks lib, int firstCell, int cellCount, long offset, int length) {
+            this.lib = lib;
+            this.firstCell = firstCell;
+            this.cellCount = cellCount;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    /**
+     * Reads a binary EDIF file of the indexed format, using its index to decode its blocks in parallel.
+     * @see BinaryEDIFWriter#writeBinaryEDIF(OutputStream, EDIFNetlist)
+     */
+    private static EDIFNetlist readIndexedBinaryEDIF(FileChannel channel, String[] strings, boolean lazy,
+                                                     Predicate<String> libraryFilter) throws IOException {
+        long size = channel.size();
+        ByteBuffer trailer = readBlock(channel, size - BinaryEDIFWriter.EDIF_INDEX_TRAILER_SIZE,
+                BinaryEDIFWriter.EDIF_INDEX_TRAILER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        if (trailer.getInt(16) != BinaryEDIFWriter.EDIF_INDEX_TRAILER_MAGIC) {
+            throw new RuntimeException("ERROR: Couldn't find the index of the EDIF Binary file");
+        }
+        long indexOffset = trailer.getLong(8);
+        int indexLength = (int) (size - BinaryEDIFWriter.EDIF_INDEX_TRAILER_SIZE - indexOffset);
+
+        EDIFNetlist netlist = new EDIFNetlist();
+        try (Input index = getBlockInput(channel, indexOffset, indexLength)) {
+            List<LibraryBlocks> libs = new ArrayList<>();
+            List<ContentBlock> contentBlocks = new ArrayList<>();
+            int numLibraries = index.readInt();
             for (int i=0; i < numLibraries; i++) {
                 EDIFLibrary lib = new EDIFLibrary();
-                readEDIFName(lib, is, strings);
-                netlist.addLibrary(lib);
-                int numCells = is.readInt();
-                for (int j=0; j < numCells; j++) {
-                    readEDIFCell(is, strings, lib, netlist);
+                readEDIFName(lib, index, strings);
+                int numCells = index.readInt();
+                LibraryBlocks blocks = new LibraryBlocks(lib, numCells, index.readLong(), index.readInt());
+                boolean include = libraryFilter == null || libraryFilter.test(lib.getName());
+                if (include) {
+                    netlist.addLibrary(lib);
+                    libs.add(blocks);
+                }
+                int numContentBlocks = index.readInt();
+                int firstCell = 0;
+                for (int j=0; j < numContentBlocks; j++) {
+                    long offset = index.readLong();
+                    int length = index.readInt();
+                    int cellCount = index.readInt();
+                    if (include) {
+                        contentBlocks.add(new ContentBlock(blocks, firstCell, cellCount, offset, length));
+                    }
+                    firstCell += cellCount;
                 }
             }
-            readEDIFName(netlist, is, strings);
-            int numComments = is.readInt();
-            for (int i=0; i < numComments; i++) {
-                netlist.addComment(is.readString());
+
+            // All cells need to exist before any contents can reference them
+            ParallelismTools.invokeAllRunnable(libs, blocks -> {
+                try (Input is = getBlockInput(channel, blocks.interfaceOffset, blocks.interfaceLength)) {
+                    for (int i=0; i < blocks.cells.length; i++) {
+                        blocks.cells[i] = readEDIFCellInterface(is, strings, blocks.lib);
+                    }
+                }
+            });
+            ParallelismTools.invokeAllRunnable(contentBlocks, block -> {
+                EDIFLibrary lib = block.lib.lib;
+                try (Input is = getBlockInput(channel, block.offset, block.length)) {
+                    for (int i=block.firstCell; i < block.firstCell + block.cellCount; i++) {
+                        EDIFCell c = block.lib.cells[i];
+                        if (lazy) {
+                            c.setLazyContents(scanEDIFCellContents(is, strings, lib, netlist));
+                        } else {
+                            readEDIFCellContents(is, strings, c, netlist, null);
+                        }
+                    }
+                }
+            });
+
+            readEDIFNetlistInfo(index, strings, netlist);
+        }
+        return netlist;
+    }
+
+    private static ByteBuffer readBlock(FileChannel channel, long offset, int length) {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        try {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    throw new EOFException("Unexpected end of EDIF Binary file");
+                }
             }
-            readEDIFDesign(is, strings, netlist);
-            return netlist;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Reads and opens a compressed block of an indexed binary EDIF file. Safe to call concurrently.
+     */
+    private static Input getBlockInput(FileChannel channel, long offset, int length) {
+        ByteBuffer block = readBlock(channel, offset, length);
+        return FileTools.getKryoZstdInputStream(new ByteArrayInputStream(block.array()));
     }
 
 }
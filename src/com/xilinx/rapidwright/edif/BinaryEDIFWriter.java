@@ -26,18 +26,28 @@
  */
 package com.xilinx.rapidwright.edif;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
 import com.xilinx.rapidwright.util.FileTools;
+import com.xilinx.rapidwright.util.ParallelismTools;
 
 /**
  * A Writer for the RapidWright Binary EDIF Format
@@ -49,7 +59,29 @@ import com.xilinx.rapidwright.util.FileTools;
 public class BinaryEDIFWriter {
 
     public static final String EDIF_BINARY_FILE_TAG = "RAPIDWRIGHT_EDIF_BINARY";
-    public static final String EDIF_BINARY_FILE_VERSION = "0.0.2";
+    /**
+     * Current version of the format. Files of this version start with a compressed block holding the
+     * tag, version and string table, followed by a compressed block with the cell interfaces (names,
+     * properties and ports) of each library and, for each library, compressed blocks with the contents
+     * (instances and nets) of consecutive cells. An index of the locations of all blocks, the netlist name,
+     * comments and design follow in a final compressed block, located by the trailer at the very end of
+     * the file. This lets a reader decode blocks in parallel and skip libraries.
+     */
+    public static final String EDIF_BINARY_FILE_VERSION = "0.0.3";
+
+    /** Previous version of the format, a single compressed stream without an index */
+    public static final String EDIF_BINARY_FILE_SEQUENTIAL_VERSION = "0.0.2";
+
+    /**
+     * Size of the trailer. The trailer is a zstd skippable frame (so that the whole file remains a valid
+     * zstd stream) holding the offset of the index block and {@link #EDIF_INDEX_TRAILER_MAGIC}.
+     */
+    public static final int EDIF_INDEX_TRAILER_SIZE = 20;
+    public static final int EDIF_INDEX_TRAILER_MAGIC = 0x52574958; // "RWIX"
+    private static final int ZSTD_SKIPPABLE_FRAME_MAGIC = 0x184D2A50;
+
+    /** Approximate number of objects (instances, nets and port instances) per content block */
+    public static final int EDIF_CONTENT_BLOCK_OBJECTS = 1 << 16;
 
     public static final int EDIF_NAME_FLAG = 0x80000000;
     public static final int EDIF_UNIQUE_VIEW_FLAG = 0x80000000;
@@ -221,6 +253,17 @@ public class BinaryEDIFWriter {
      * @see BinaryEDIFReader#readEDIFCell(Input, String[], EDIFLibrary, EDIFNetlist)
      */
     public static void writeEDIFCell(EDIFCell c, Output os, Map<String,Integer> stringMap) {
+        writeEDIFCellInterface(c, os, stringMap);
+        writeEDIFCellContents(c, os, stringMap);
+    }
+
+    /**
+     * Writes the name, properties, view and ports of the provided EDIFCell.
+     * @param c The current cell to write
+     * @param os The Kryo-based output stream
+     * @param stringMap Map of string to integer enumerations to use to reference strings
+     */
+    static void writeEDIFCellInterface(EDIFCell c, Output os, Map<String,Integer> stringMap) {
         writeEDIFObject(c, os, stringMap);
         boolean hasUniqueView = c.getEDIFView() != EDIFCell.DEFAULT_VIEW;
         os.writeInt((hasUniqueView ? EDIF_UNIQUE_VIEW_FLAG : 0) | c.getPorts().size());
@@ -244,7 +287,15 @@ public class BinaryEDIFWriter {
             }
             os.writeInt(dirAndWidth);
         }
+    }
 
+    /**
+     * Writes the instances and nets of the provided EDIFCell.
+     * @param c The current cell to write
+     * @param os The Kryo-based output stream
+     * @param stringMap Map of string to integer enumerations to use to reference strings
+     */
+    static void writeEDIFCellContents(EDIFCell c, Output os, Map<String,Integer> stringMap) {
         os.writeInt(c.getCellInsts().size());
         for (EDIFCellInst i : c.getCellInsts()) {
             writeEDIFObject(i, os, stringMap);
@@ -309,16 +360,133 @@ public class BinaryEDIFWriter {
         }
     }
 
+    /**
+     * Writes the provided netlist as a binary EDIF stream in the current, indexed format. The libraries
+     * and cells are stored in separately compressed blocks (see {@link #EDIF_BINARY_FILE_VERSION}), which
+     * are serialized and compressed in parallel. The provided stream is closed once written.
+     * @param outputStream The stream to write to
+     * @param netlist The current netlist to write
+     * @see BinaryEDIFReader#readBinaryEDIF(Path, boolean, Predicate)
+     */
     public static void writeBinaryEDIF(OutputStream outputStream, EDIFNetlist netlist) {
+        Map<String, Integer> stringMap = createStringMap(netlist);
+        String[] strings = getStrings(stringMap);
+        List<EDIFLibrary> libs = netlist.getLibrariesInExportOrder();
+
+        // Serialize and compress all blocks in parallel
+        List<Future<byte[]>> interfaceBlocks = new ArrayList<>(libs.size());
+        List<List<Future<byte[]>>> contentBlocks = new ArrayList<>(libs.size());
+        List<List<Integer>> contentBlockCellCounts = new ArrayList<>(libs.size());
+        int[] libCellCounts = new int[libs.size()];
+        for (int l = 0; l < libs.size(); l++) {
+            List<EDIFCell> cells = libs.get(l).getValidCellExportOrder(false);
+            libCellCounts[l] = cells.size();
+            interfaceBlocks.add(ParallelismTools.submit(() -> writeBlock(os -> {
+                for (EDIFCell cell : cells) {
+                    writeEDIFCellInterface(cell, os, stringMap);
+                }
+            })));
+            List<Future<byte[]>> blocks = new ArrayList<>();
+            List<Integer> cellCounts = new ArrayList<>();
+            int start = 0;
+            int objects = 0;
+            for (int i = 0; i < cells.size(); i++) {
+                objects += getContentObjectCount(cells.get(i));
+                if (objects < EDIF_CONTENT_BLOCK_OBJECTS && i < cells.size() - 1) {
+                    continue;
+                }
+                List<EDIFCell> blockCells = cells.subList(start, i + 1);
+                blocks.add(ParallelismTools.submit(() -> writeBlock(os -> {
+                    for (EDIFCell cell : blockCells) {
+                        writeEDIFCellContents(cell, os, stringMap);
+                    }
+                })));
+                cellCounts.add(blockCells.size());
+                start = i + 1;
+                objects = 0;
+            }
+            contentBlocks.add(blocks);
+            contentBlockCellCounts.add(cellCounts);
+        }
+
+        try (OutputStream out = outputStream) {
+            long offset = 0;
+            byte[] header = writeBlock(os -> {
+                os.writeString(EDIF_BINARY_FILE_TAG);
+                os.writeString(EDIF_BINARY_FILE_VERSION);
+                FileTools.writeStringArray(os, strings);
+            });
+            out.write(header);
+            offset += header.length;
+
+            // Write all blocks in order, recording their locations for the index
+            long[] interfaceOffsets = new long[libs.size()];
+            int[] interfaceLengths = new int[libs.size()];
+            List<long[]> contentOffsets = new ArrayList<>(libs.size());
+            List<int[]> contentLengths = new ArrayList<>(libs.size());
+            for (int i = 0; i < libs.size(); i++) {
+                byte[] block = ParallelismTools.get(interfaceBlocks.get(i));
+                out.write(block);
+                interfaceOffsets[i] = offset;
+                interfaceLengths[i] = block.length;
+                offset += block.length;
+                List<Future<byte[]>> blocks = contentBlocks.get(i);
+                long[] offsets = new long[blocks.size()];
+                int[] lengths = new int[blocks.size()];
+                for (int j = 0; j < blocks.size(); j++) {
+                    block = ParallelismTools.get(blocks.get(j));
+                    out.write(block);
+                    offsets[j] = offset;
+                    lengths[j] = block.length;
+                    offset += block.length;
+                }
+                contentOffsets.add(offsets);
+                contentLengths.add(lengths);
+            }
+
+            final long indexOffset = offset;
+            out.write(writeBlock(os -> {
+                os.writeInt(libs.size());
+                for (int i = 0; i < libs.size(); i++) {
+                    EDIFLibrary lib = libs.get(i);
+                    writeEDIFName(lib, os, stringMap);
+                    os.writeInt(libCellCounts[i]);
+                    os.writeLong(interfaceOffsets[i]);
+                    os.writeInt(interfaceLengths[i]);
+                    List<Integer> cellCounts = contentBlockCellCounts.get(i);
+                    os.writeInt(cellCounts.size());
+                    for (int j = 0; j < cellCounts.size(); j++) {
+                        os.writeLong(contentOffsets.get(i)[j]);
+                        os.writeInt(contentLengths.get(i)[j]);
+                        os.writeInt(cellCounts.get(j));
+                    }
+                }
+                writeEDIFNetlistInfo(netlist, os, stringMap);
+            }));
+            ByteBuffer trailer = ByteBuffer.allocate(EDIF_INDEX_TRAILER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            trailer.putInt(ZSTD_SKIPPABLE_FRAME_MAGIC);
+            trailer.putInt(EDIF_INDEX_TRAILER_SIZE - 8);
+            trailer.putLong(indexOffset);
+            trailer.putInt(EDIF_INDEX_TRAILER_MAGIC);
+            out.write(trailer.array());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the provided netlist as a binary EDIF stream in the sequential format of version
+     * {@link #EDIF_BINARY_FILE_SEQUENTIAL_VERSION}, which has no index and is a single compressed stream.
+     * Kept to produce files for older readers.
+     * @param outputStream The stream to write to
+     * @param netlist The current netlist to write
+     */
+    public static void writeSequentialBinaryEDIF(OutputStream outputStream, EDIFNetlist netlist) {
         Map<String, Integer> stringMap = createStringMap(netlist);
         try (Output os = FileTools.getKryoZstdOutputStream(outputStream)) {
             os.writeString(EDIF_BINARY_FILE_TAG);
-            os.writeString(EDIF_BINARY_FILE_VERSION);
-            String[] strings = new String[stringMap.size()];
-            for (Entry<String,Integer> e : stringMap.entrySet()) {
-                strings[e.getValue()] = e.getKey();
-            }
-            FileTools.writeStringArray(os, strings);
+            os.writeString(EDIF_BINARY_FILE_SEQUENTIAL_VERSION);
+            FileTools.writeStringArray(os, getStrings(stringMap));
             os.writeInt(netlist.getLibraries().size());
             for (EDIFLibrary lib : netlist.getLibrariesInExportOrder()) {
                 writeEDIFName(lib, os, stringMap);
@@ -327,13 +495,53 @@ public class BinaryEDIFWriter {
                     writeEDIFCell(cell, os, stringMap);
                 }
             }
-            writeEDIFName(netlist, os, stringMap);
-            // Comments are likely to be unique
-            os.writeInt(netlist.getComments().size());
-            for (String comment : netlist.getComments()) {
-                os.writeString(comment);
-            }
-            writeEDIFDesign(netlist.getDesign(), os, stringMap);
+            writeEDIFNetlistInfo(netlist, os, stringMap);
+        }
+    }
+
+    private static String[] getStrings(Map<String, Integer> stringMap) {
+        String[] strings = new String[stringMap.size()];
+        for (Entry<String,Integer> e : stringMap.entrySet()) {
+            strings[e.getValue()] = e.getKey();
+        }
+        return strings;
+    }
+
+    /**
+     * Writes the netlist name, comments and design, which follow all libraries.
+     * @see BinaryEDIFReader#readEDIFNetlistInfo(Input, String[], EDIFNetlist)
+     */
+    private static void writeEDIFNetlistInfo(EDIFNetlist netlist, Output os, Map<String,Integer> stringMap) {
+        writeEDIFName(netlist, os, stringMap);
+        // Comments are likely to be unique
+        os.writeInt(netlist.getComments().size());
+        for (String comment : netlist.getComments()) {
+            os.writeString(comment);
+        }
+        writeEDIFDesign(netlist.getDesign(), os, stringMap);
+    }
+
+    /**
+     * @return An estimate of the amount of data of a cell's contents, in number of objects
+     */
+    private static int getContentObjectCount(EDIFCell cell) {
+        int objects = 1 + cell.getCellInsts().size();
+        for (EDIFNet net : cell.getNets()) {
+            objects += 1 + net.getPortInsts().size();
+        }
+        return objects;
+    }
+
+    /**
+     * Serializes data into a separately compressed block.
+     * @param writer Writes the data of the block
+     * @return The compressed block
+     */
+    private static byte[] writeBlock(Consumer<Output> writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Output os = FileTools.getKryoZstdOutputStream(bytes)) {
+            writer.accept(os);
         }
+        return bytes.toByteArray();
     }
 }
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2024, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.edif;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+import com.xilinx.rapidwright.util.ParallelismTools;
+
+/**
+ * Bulk edits of EDIF netlists, staged concurrently and merged at once. Adding instances, nets and port
+ * instances to a cell is not thread-safe, so tasks running in parallel (for example, each generating
+ * one copy of a replicated datapath) instead stage their additions into their own {@link Batch}, obtained
+ * from {@link #newBatch()}. Once all tasks are done, {@link #commit()} merges all batches into their
+ * target cells, in parallel across cells: first all instances and nets, then all port instances. Port
+ * instances are appended unsorted and each affected {@link EDIFPortInstList} is sorted once at the end.
+ *
+ * Name collisions are only detected at commit time, which throws the same exceptions as
+ * {@link EDIFCell#addCellInst(EDIFCellInst)} and {@link EDIFCell#addNet(EDIFNet)}.
+ */
+public class EDIFBulkEdit {
+
+    private final Queue<Batch> batches = new ConcurrentLinkedQueue<>();
+
+    /** A port instance to be created on a net */
+    private static class Connection {
+        private final EDIFNet net;
+        private final EDIFPort port;
+        private final int index;
+        private final String portInstName;
+        private final EDIFCellInst inst;
+
+        private Connection(EDIFNet net, EDIFPort port, int index, String portInstName, EDIFCellInst inst) {
+            this.net = net;
+            this.port = port;
+            this.index = index;
+            this.portInstName = portInstName;
+            this.inst = inst;
+        }
+    }
+
+    /**
+     * Additions staged by one thread. A batch is not thread-safe: each task should use its own.
+     */
+    public static class Batch {
+        private final List<EDIFCell> instParents = new ArrayList<>();
+        private final List<EDIFCellInst> insts = new ArrayList<>();
+        private final List<EDIFCell> netParents = new ArrayList<>();
+        private final List<EDIFNet> nets = new ArrayList<>();
+        private final List<Connection> connections = new ArrayList<>();
+
+        private Batch() {
+        }
+
+        /**
+         * Creates a new cell instance to be added to the provided parent cell on commit.
+         * @param parent The cell to add the instance to.
+         * @param name Name of the instance.
+         * @param cellType The cell to instantiate.
+         * @return The new instance, which has no parent cell until committed.
+         */
+        public EDIFCellInst createChildCellInst(EDIFCell parent, String name, EDIFCell cellType) {
+            EDIFCellInst inst = new EDIFCellInst(name, cellType, null);
+            instParents.add(parent);
+            insts.add(inst);
+            return inst;
+        }
+
+        /**
+         * Creates a new net to be added to the provided parent cell on commit.
+         * @param parent The cell to add the net to.
+         * @param name Name of the net.
+         * @return The new net, which has no parent cell until committed.
+         */
+        public EDIFNet createNet(EDIFCell parent, String name) {
+            EDIFNet net = new EDIFNet(name, null);
+            netParents.add(parent);
+            nets.add(net);
+            return net;
+        }
+
+        /**
+         * Stages a new port instance on the provided net.
+         * @param net The net to connect, either existing or created by a batch of the same bulk edit.
+         * @param port The port to connect to.
+         * @param index The index into the bussed port, or -1 for single bit ports.
+         * @param inst The instance to connect to, or null to connect to the port of the net's parent cell.
+         */
+        public void createPortInst(EDIFNet net, EDIFPort port, int index, EDIFCellInst inst) {
+            connections.add(new Connection(net, port, index, null, inst));
+        }
+
+        /**
+         * Stages a new port instance on the provided net.
+         * @param net The net to connect, either existing or created by a batch of the same bulk edit.
+         * @param port The single bit port to connect to.
+         * @param inst The instance to connect to, or null to connect to the port of the net's parent cell.
+         */
+        public void createPortInst(EDIFNet net, EDIFPort port, EDIFCellInst inst) {
+            createPortInst(net, port, -1, inst);
+        }
+
+        /**
+         * Stages a new port instance on the provided net, by its port instance name.
+         * @param net The net to connect, either existing or created by a batch of the same bulk edit.
+         * @param portInstName Name of the port instance, including the index if on a bussed port.
+         * @param inst The instance to connect to, or null to connect to the port of the net's parent cell.
+         * @see EDIFNet#createPortInstFromPortInstName(String, EDIFCell, EDIFCellInst)
+         */
+        public void createPortInst(EDIFNet net, String portInstName, EDIFCellInst inst) {
+            connections.add(new Connection(net, null, -1, portInstName, inst));
+        }
+    }
+
+    /**
+     * Creates a new batch to stage additions into. Safe to call concurrently.
+     * @return The new batch.
+     */
+    public Batch newBatch() {
+        Batch batch = new Batch();
+        batches.add(batch);
+        return batch;
+    }
+
+    /** Additions to one cell */
+    private static class CellEdits {
+        private final List<EDIFCellInst> insts = new ArrayList<>();
+        private final List<EDIFNet> nets = new ArrayList<>();
+        private final List<Connection> connections = new ArrayList<>();
+    }
+
+    private static void forEachCell(Map<EDIFCell, CellEdits> edits, boolean parallel,
+                                    Consumer<Map.Entry<EDIFCell, CellEdits>> task) {
+        if (parallel) {
+            ParallelismTools.invokeAllRunnable(edits.entrySet(), task);
+        } else {
+            edits.entrySet().forEach(task);
+        }
+    }
+
+    private static boolean isTrackingCellChanges(Set<EDIFCell> cells) {
+        for (EDIFCell cell : cells) {
+            EDIFNetlist netlist = cell.getNetlist();
+            if (netlist != null && netlist.isTrackingCellChanges()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Merges all batches into their target cells. All tasks staging into batches of this bulk edit must
+     * have completed. All batches are consumed, so this bulk edit can be reused afterwards.
+     */
+    public void commit() {
+        List<Batch> all = new ArrayList<>(batches);
+        batches.clear();
+
+        Map<EDIFCell, CellEdits> edits = new LinkedHashMap<>();
+        for (Batch batch : all) {
+            for (int i = 0; i < batch.insts.size(); i++) {
+                edits.computeIfAbsent(batch.instParents.get(i), k -> new CellEdits()).insts.add(batch.insts.get(i));
+            }
+            for (int i = 0; i < batch.nets.size(); i++) {
+                edits.computeIfAbsent(batch.netParents.get(i), k -> new CellEdits()).nets.add(batch.nets.get(i));
+            }
+        }
+        // Change tracking is not thread-safe
+        boolean parallel = !isTrackingCellChanges(edits.keySet());
+        forEachCell(edits, parallel, e -> {
+            EDIFCell cell = e.getKey();
+            for (EDIFCellInst inst : e.getValue().insts) {
+                cell.addCellInst(inst);
+            }
+            for (EDIFNet net : e.getValue().nets) {
+                cell.addNet(net);
+            }
+        });
+
+        // All nets now have their parent cell
+        edits.clear();
+        for (Batch batch : all) {
+            for (Connection c : batch.connections) {
+                EDIFCell cell = c.net.getParentCell();
+                if (cell == null) {
+                    throw new RuntimeException("ERROR: Net " + c.net.getName() + " is not in any cell.");
+                }
+                if (c.inst != null && c.inst.getParentCell() != cell) {
+                    throw new RuntimeException("ERROR: Instance " + c.inst.getName() + " is not in cell "
+                            + cell.getName() + " of net " + c.net.getName() + ".");
+                }
+                edits.computeIfAbsent(cell, k -> new CellEdits()).connections.add(c);
+            }
+        }
+        parallel = !isTrackingCellChanges(edits.keySet());
+        forEachCell(edits, parallel, e -> {
+            EDIFCell cell = e.getKey();
+            Set<EDIFPortInstList> modified = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Connection c : e.getValue().connections) {
+                if (c.port != null) {
+                    new EDIFPortInst(c.port, c.net, c.index, c.inst, true);
+                } else {
+                    EDIFPortInst portInst = c.net.createPortInstFromPortInstName(c.portInstName,
+                            c.inst == null ? cell : c.inst.getCellType(), c.inst, true);
+                    if (portInst == null) {
+                        throw new RuntimeException("ERROR: Couldn't find port for port instance "
+                                + c.portInstName + " on net " + c.net.getName() + ".");
+                    }
+                }
+                modified.add(c.net.getEDIFPortInstList());
+                if (c.inst != null) {
+                    modified.add(c.inst.getEDIFPortInstList());
+                }
+            }
+            for (EDIFPortInstList list : modified) {
+                list.reSortList();
+            }
+        });
+    }
+}
@@ -63,6 +63,15 @@ public class EDIFCell extends EDIFPropertyObject {
 
     private EDIFName view = DEFAULT_VIEW;
 
+    /**
+     * Instances and nets of this cell that were read lazily and have not been created yet, see
+     * {@link BinaryEDIFReader#readBinaryEDIF(java.nio.file.Path, boolean)}
+     */
+    private volatile BinaryEDIFReader.LazyCellContents lazyContents;
+
+    /** Hands out unique instance names, created on first use */
+    private volatile EDIFUniqueNamer cellInstNamer;
+
     /**
      * An atomically updated variable to track the number of `EDIFCellInst`
      * objects (attached to a parent cell) that instantiate this cell.
@@ -98,6 +107,7 @@ public class EDIFCell extends EDIFPropertyObject {
     public EDIFCell(EDIFLibrary lib, EDIFCell orig) {
         super(orig.getName());
         if (lib != null) lib.addCell(this);
+        orig.ensureContentsLoaded();
         instances = orig.instances;
         nets = orig.nets;
         ports = orig.ports;
@@ -115,6 +125,7 @@ public class EDIFCell extends EDIFPropertyObject {
     public EDIFCell(EDIFLibrary lib, EDIFCell orig, String newCellName) {
         super(newCellName);
         if (lib != null) lib.addCell(this);
+        orig.ensureContentsLoaded();
         if (orig.instances != null) {
             for (Entry<String, EDIFCellInst> e : orig.instances.entrySet()) {
                 addCellInst(new EDIFCellInst(e.getValue(), this));
@@ -157,6 +168,35 @@ public class EDIFCell extends EDIFPropertyObject {
 
     }
 
+    void setLazyContents(BinaryEDIFReader.LazyCellContents lazyContents) {
+        this.lazyContents = lazyContents;
+    }
+
+    /**
+     * Checks if the instances and nets of this cell have been created. This is only false for cells
+     * read lazily whose contents have not been accessed yet.
+     * @return True if the contents of this cell are fully loaded, false otherwise.
+     */
+    public boolean isContentsLoaded() {
+        return lazyContents == null;
+    }
+
+    private void ensureContentsLoaded() {
+        if (lazyContents != null) {
+            loadLazyContents();
+        }
+    }
+
+    private synchronized void loadLazyContents() {
+        BinaryEDIFReader.LazyCellContents contents = lazyContents;
+        // Either another thread loaded the contents already, or this thread is currently loading them
+        if (contents == null || contents.isLoading()) {
+            return;
+        }
+        contents.load(this);
+        lazyContents = null;
+    }
+
     public EDIFCellInst createChildCellInst(String name, EDIFCell reference) {
         return new EDIFCellInst(name, reference, this);
     }
@@ -175,6 +215,7 @@ public class EDIFCell extends EDIFPropertyObject {
      * @return The instance added to the cell.
      */
     public EDIFCellInst addCellInst(EDIFCellInst instance) {
+        ensureContentsLoaded();
         if (instances == null) instances = getNewMap();
         instance.setParentCell(this);
         EDIFCellInst collision = instances.put(instance.getName(), instance);
@@ -183,6 +224,7 @@ public class EDIFCell extends EDIFPropertyObject {
                     getName() + ", trying to add instance " + instance.getName() +
                     " which already exists inside this cell.");
         }
+        releaseUniqueCellInstName(instance.getName());
         return instance;
     }
 
@@ -194,16 +236,58 @@ public class EDIFCell extends EDIFPropertyObject {
      * @return The instance added to the cell.
      */
     public EDIFCellInst addCellInstUniqueName(EDIFCellInst instance) {
+        ensureContentsLoaded();
         if (instances == null) instances = getNewMap();
         instance.setParentCell(this);
-        while (instances.containsKey(instance.getName())) {
-            instance.setName(instance.getName() + "_" + getLibrary().getNetlist().nameSpaceUniqueCount++);
-        }
+        instance.setName(getUniqueCellInstName(instance.getName()));
         instances.put(instance.getName(), instance);
+        releaseUniqueCellInstName(instance.getName());
         return instance;
     }
 
+    /**
+     * Gets a name for a new instance of this cell that is not used by any instance of this cell, nor
+     * handed out by a previous call. If the suggested name is taken, the next free suffix for that name is
+     * appended (for example, "foo_3"), without probing all previously used suffixes. Safe to call
+     * concurrently, for example to name instances staged into an {@link EDIFBulkEdit}. The name stays
+     * reserved until an instance by that name is added to this cell, or until
+     * {@link #releaseUniqueCellInstName(String)} is called if it will not be used.
+     *
+     * @param suggestedName The preferred name.
+     * @return The suggested name if available, otherwise a suffixed version of it.
+     */
+    public String getUniqueCellInstName(String suggestedName) {
+        ensureContentsLoaded();
+        EDIFUniqueNamer namer = cellInstNamer;
+        if (namer == null) {
+            synchronized (this) {
+                namer = cellInstNamer;
+                if (namer == null) {
+                    namer = new EDIFUniqueNamer(n -> {
+                        Map<String, EDIFCellInst> m = instances;
+                        return m != null && m.containsKey(n);
+                    }, "_", 0);
+                    cellInstNamer = namer;
+                }
+            }
+        }
+        return namer.getUniqueName(suggestedName);
+    }
+
+    /**
+     * Releases a name handed out by {@link #getUniqueCellInstName(String)} that will not be used, so that
+     * it is no longer reserved. Names of instances added to this cell are released automatically.
+     * @param name The name to release.
+     */
+    public void releaseUniqueCellInstName(String name) {
+        EDIFUniqueNamer namer = cellInstNamer;
+        if (namer != null) {
+            namer.release(name);
+        }
+    }
+
     public EDIFCellInst getCellInst(String name) {
+        ensureContentsLoaded();
         if (instances == null) return null;
         return instances.get(name);
     }
@@ -215,6 +299,7 @@ public class EDIFCell extends EDIFPropertyObject {
      * @return The net that was added.
      */
     public EDIFNet addNet(EDIFNet net) {
+        ensureContentsLoaded();
         if (nets == null) nets = getNewMap();
         net.setParentCell(this);
         EDIFNet collision = nets.put(net.getName(), net);
@@ -231,6 +316,7 @@ public class EDIFCell extends EDIFPropertyObject {
     }
 
     public EDIFNet getNet(String name) {
+        ensureContentsLoaded();
         if (nets == null) return null;
         return nets.get(name);
     }
@@ -240,6 +326,7 @@ public class EDIFCell extends EDIFPropertyObject {
     }
 
     public EDIFNet removeNet(String name) {
+        ensureContentsLoaded();
         if (nets == null) return null;
         trackChange(EDIFChangeType.NET_REMOVE, name);
         return nets.remove(name);
@@ -312,6 +399,7 @@ public class EDIFCell extends EDIFPropertyObject {
     }
 
     public EDIFCellInst removeCellInst(String name) {
+        ensureContentsLoaded();
         if (instances == null) return null;
         EDIFCellInst removedInstance = instances.remove(name);
         if (removedInstance != null) {
@@ -417,11 +505,13 @@ public class EDIFCell extends EDIFPropertyObject {
     }
 
     public Collection<EDIFCellInst> getCellInsts() {
+        ensureContentsLoaded();
         if (instances == null) return Collections.emptyList();
         return instances.values();
     }
 
     public Collection<EDIFNet> getNets() {
+        ensureContentsLoaded();
         if (nets == null) return Collections.emptyList();
         return nets.values();
     }
@@ -433,6 +523,7 @@ public class EDIFCell extends EDIFPropertyObject {
      * @param internalNet  The net inside this cell to match with the port ref name.
      */
     public void addInternalPortMapEntry(String portInstName, EDIFNet internalNet) {
+        ensureContentsLoaded();
         if (internalPortMap == null) internalPortMap = getNewMap();
         internalPortMap.put(portInstName, internalNet);
     }
@@ -444,11 +535,13 @@ public class EDIFCell extends EDIFPropertyObject {
      * @return The net to which the removed port ref belongs, or null if none could be found.
      */
     public EDIFNet removeInternalPortMapEntry(String portInstName) {
+        ensureContentsLoaded();
         if (internalPortMap == null) return null;
         return internalPortMap.remove(portInstName);
     }
 
     public Map<String, EDIFNet> getInternalNetMap() {
+        ensureContentsLoaded();
         if (internalPortMap == null) return Collections.emptyMap();
         return internalPortMap;
     }
@@ -472,6 +565,7 @@ public class EDIFCell extends EDIFPropertyObject {
      * @return The internal connected net or null if none exists.
      */
     public EDIFNet getInternalNet(String portInstName) {
+        ensureContentsLoaded();
         if (internalPortMap == null) return null;
         return internalPortMap.get(portInstName);
     }
@@ -502,7 +596,7 @@ public class EDIFCell extends EDIFPropertyObject {
     }
 
     public boolean hasContents() {
-        return instances != null || nets != null;
+        return lazyContents != null || instances != null || nets != null;
     }
 
     public boolean isPrimitive() {
@@ -522,7 +616,7 @@ public class EDIFCell extends EDIFPropertyObject {
     }
 
     public boolean isLeafCellOrBlackBox() {
-        return (instances == null || instances.size() == 0) && (nets == null || nets.size() == 0);
+        return lazyContents == null && (instances == null || instances.size() == 0) && (nets == null || nets.size() == 0);
     }
 
     /**
@@ -582,6 +676,23 @@ public class EDIFCell extends EDIFPropertyObject {
     public static final byte[] EXPORT_CONST_PROP_INDENT = "           ".getBytes(StandardCharsets.UTF_8);
 
     public void exportEDIF(OutputStream os, EDIFWriteLegalNameCache<?> cache, boolean stable) throws IOException {
+        exportEDIFBegin(os, cache, stable);
+        if (hasContents()) {
+            for (EDIFCellInst i : EDIFTools.sortIfStable(getCellInsts(), stable)) {
+                i.exportEDIF(os, cache, stable);
+            }
+            for (EDIFNet n : EDIFTools.sortIfStable(getNets(), stable)) {
+                n.exportEDIF(os, cache, stable);
+            }
+        }
+        exportEDIFEnd(os, cache, stable);
+    }
+
+    /**
+     * Exports everything of this cell that precedes its cell instances and nets, i.e. its name, view and
+     * interface, and the start of its contents (if any).
+     */
+    void exportEDIFBegin(OutputStream os, EDIFWriteLegalNameCache<?> cache, boolean stable) throws IOException {
         os.write(EXPORT_CONST_CELL_BEGIN);
         exportEDIFName(os, cache);
         os.write(EXPORT_CONST_CELLTYPE);
@@ -593,12 +704,15 @@ public class EDIFCell extends EDIFPropertyObject {
         os.write(EXPORT_CONST_INTERFACE_END); // Interface end
         if (hasContents()) {
             os.write(EXPORT_CONST_CONTENTS);
-            for (EDIFCellInst i : EDIFTools.sortIfStable(getCellInsts(), stable)) {
-                i.exportEDIF(os, cache, stable);
-            }
-            for (EDIFNet n : EDIFTools.sortIfStable(getNets(), stable)) {
-                n.exportEDIF(os, cache, stable);
-            }
+        }
+    }
+
+    /**
+     * Exports everything of this cell that follows its cell instances and nets, i.e. the end of its
+     * contents (if any), its properties and the end of its view.
+     */
+    void exportEDIFEnd(OutputStream os, EDIFWriteLegalNameCache<?> cache, boolean stable) throws IOException {
+        if (hasContents()) {
             os.write(EXPORT_CONST_CONTENTS_END); // Contents end
         }
         if (getPropertiesMap().size() > 0) {
@@ -683,14 +797,39 @@ public class EDIFCell extends EDIFPropertyObject {
         return null;
     }
 
+    /**
+     * Re-sorts the port instance lists of all nets and cell instances of this cell, concluding a bulk load
+     * of its contents with deferred sorting. As no more additions are expected, any unused capacity of
+     * these lists is also released.
+     */
     public void sortEDIFPortInstLists() {
         for (EDIFNet net : getNets()) {
             EDIFPortInstList list = net.getEDIFPortInstList();
-            if (list != null) list.reSortList();
+            if (list != null) {
+                list.reSortList();
+                list.trimToSize();
+            }
+        }
+        for (EDIFCellInst inst : getCellInsts()) {
+            EDIFPortInstList list = inst.getEDIFPortInstList();
+            if (list != null) {
+                list.reSortList();
+                list.trimToSize();
+            }
+        }
+    }
+
+    /**
+     * Releases any unused capacity of the port instance lists of all nets and cell instances of this cell.
+     */
+    public void trimEDIFPortInstLists() {
+        for (EDIFNet net : getNets()) {
+            EDIFPortInstList list = net.getEDIFPortInstList();
+            if (list != null) list.trimToSize();
         }
         for (EDIFCellInst inst : getCellInsts()) {
             EDIFPortInstList list = inst.getEDIFPortInstList();
-            if (list != null) list.reSortList();
+            if (list != null) list.trimToSize();
         }
     }
 
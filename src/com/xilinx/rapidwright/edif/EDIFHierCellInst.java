@@ -37,21 +37,29 @@ import java.util.Map.Entry;
  * Instances of this class do not necessarily describe a complete hierarchy from the top level cell to a leaf instance.
  * They may also be used to describe a partial hierarchy starting at an arbitrary point in the design.
  *
- * Instances of this class are immutable: Once created, it cannot be changed.
+ * Instances of this class are immutable: Once created, it cannot be changed. Each instance only stores its own
+ * {@link EDIFCellInst} and a reference to its parent, so that all instances below a common ancestor share that part
+ * of the hierarchy and creating a child or parent is O(1). The hash code depends on the names of the instances,
+ * which may change, so it is not cached.
  *
  * Created on: Oct 30, 2017
  */
 public class EDIFHierCellInst {
-    private final EDIFCellInst[] cellInsts;
+    /** The hierarchical instance above this one, shared between all its children, or null at the root */
+    private final EDIFHierCellInst parent;
+    private final EDIFCellInst inst;
+    private final int depth;
 
-    private EDIFHierCellInst(EDIFCellInst[] cellInsts, int newLength, EDIFCellInst relativeChild) {
-        if (newLength == 0) {
-            throw new IllegalStateException("Cannot have a hierCellInst without any names");
-        }
-        this.cellInsts = Arrays.copyOf(cellInsts, newLength);
-        if (relativeChild != null) {
-            this.cellInsts[this.cellInsts.length-1] = relativeChild;
-        }
+    /**
+     * Create a new Instance below the provided parent.  This is O(1): the hierarchy above is shared
+     * with the parent rather than copied.
+     * @param parent The hierarchical parent, or null for the root of the hierarchy.
+     * @param inst The cell inst at this level of the hierarchy.
+     */
+    private EDIFHierCellInst(EDIFHierCellInst parent, EDIFCellInst inst) {
+        this.parent = parent;
+        this.inst = inst;
+        this.depth = (parent == null) ? 1 : parent.depth + 1;
     }
 
     private static boolean isToplevelInst(EDIFCellInst eci) {
@@ -86,7 +94,7 @@ public class EDIFHierCellInst {
     }
 
     public static EDIFHierCellInst createTopInst(EDIFCellInst topCell) {
-        return new EDIFHierCellInst(new EDIFCellInst[]{topCell});
+        return new EDIFHierCellInst(null, topCell);
     }
 
     /**
@@ -95,27 +103,52 @@ public class EDIFHierCellInst {
      * @return a new top instance
      */
     public static EDIFHierCellInst createRelative(EDIFCellInst... cellInsts) {
-        return new EDIFHierCellInst(cellInsts);
+        if (cellInsts.length == 0) {
+            throw new RuntimeException("cannot have empty cell insts");
+        }
+        EDIFHierCellInst result = null;
+        for (EDIFCellInst cellInst : cellInsts) {
+            result = new EDIFHierCellInst(result, cellInst);
+        }
+        return result;
     }
 
     private boolean hasParent() {
-        return cellInsts.length > 1;
+        return parent != null;
     }
 
     /**
-     * Create a new Instance.
-     * To guarantee Immutability, the provided array MUST NOT be changed.
-     * @param cellInsts the cells to use
+     * Gets the hierarchical instance at the provided depth above (or at) this one.
+     * @param ancestorDepth Depth of the ancestor, between 1 (the root) and {@link #getDepth()}.
+     * @return The ancestor.
      */
-    private EDIFHierCellInst(EDIFCellInst[] cellInsts) {
-        if (cellInsts.length == 0) {
-            throw new RuntimeException("cannot have empty cell insts");
+    private EDIFHierCellInst getAncestor(int ancestorDepth) {
+        EDIFHierCellInst curr = this;
+        while (curr.depth > ancestorDepth) {
+            curr = curr.parent;
+        }
+        return curr;
+    }
+
+    private EDIFHierCellInst getRoot() {
+        return getAncestor(1);
+    }
+
+    /**
+     * Gets all cell insts of this hierarchy, from the root down to this instance.
+     */
+    private EDIFCellInst[] toArray() {
+        EDIFCellInst[] cellInsts = new EDIFCellInst[depth];
+        EDIFHierCellInst curr = this;
+        for (int i = depth - 1; i >= 0; i--) {
+            cellInsts[i] = curr.inst;
+            curr = curr.parent;
         }
-        this.cellInsts = cellInsts;
+        return cellInsts;
     }
 
     public EDIFCellInst getInst() {
-        return cellInsts[cellInsts.length-1];
+        return inst;
     }
 
     @Override
@@ -123,27 +156,41 @@ public class EDIFHierCellInst {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         EDIFHierCellInst that = (EDIFHierCellInst) o;
-        return Arrays.equals(cellInsts, that.cellInsts);
+        if (depth != that.depth) return false;
+        // Walk up both hierarchies until they share a common (identical) prefix
+        EDIFHierCellInst curr = this;
+        while (curr != that) {
+            if (curr.inst != that.inst) {
+                return false;
+            }
+            curr = curr.parent;
+            that = that.parent;
+        }
+        return true;
     }
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(cellInsts);
+        // Same as Arrays.hashCode() of the full hierarchy, expanded so that it can be computed bottom up
+        int result = 0;
+        int factor = 1;
+        for (EDIFHierCellInst curr = this; curr != null; curr = curr.parent) {
+            result += factor * ((curr.inst == null) ? 0 : curr.inst.hashCode());
+            factor *= 31;
+        }
+        return result + factor;
     }
 
     public EDIFHierCellInst getParent() {
-        if (cellInsts.length == 1) {
-            return null;
-        }
-        return new EDIFHierCellInst(cellInsts, cellInsts.length-1, null);
+        return parent;
     }
 
     public EDIFHierCellInst getChild(EDIFCellInst relativeChild) {
-        return new EDIFHierCellInst(cellInsts, cellInsts.length+1, relativeChild);
+        return new EDIFHierCellInst(this, relativeChild);
     }
 
     public EDIFHierCellInst getSibling(EDIFCellInst relativeSibling) {
-        return new EDIFHierCellInst(cellInsts, cellInsts.length, relativeSibling);
+        return new EDIFHierCellInst(parent, relativeSibling);
     }
 
     /**
@@ -156,14 +203,15 @@ public class EDIFHierCellInst {
      * @return True if the provided instance is a hierarchical ancestor of this instance.
      */
     public boolean isDescendantOf(EDIFHierCellInst potentialAncestor) {
-        EDIFCellInst[] other = potentialAncestor.cellInsts;
-        if (other.length >= cellInsts.length) return false;
-        for (int i=0; i < other.length; i++) {
-            if (cellInsts.length > i) {
-                if (!cellInsts[i].getName().equals(other[i].getName())) {
-                    return false;
-                }
+        if (potentialAncestor.depth >= depth) return false;
+        EDIFHierCellInst curr = getAncestor(potentialAncestor.depth);
+        EDIFHierCellInst other = potentialAncestor;
+        while (curr != other) {
+            if (!curr.inst.getName().equals(other.inst.getName())) {
+                return false;
             }
+            curr = curr.parent;
+            other = other.parent;
         }
         return true;
     }
@@ -181,7 +229,8 @@ public class EDIFHierCellInst {
                     + "EDIFHierCellInsts. this.isAbsolute()=" + this.isAbsolute()
                     + ", o.isAbsolute()=" + o.isAbsolute());
         }
-        EDIFCellInst[] oCellInsts = o.cellInsts;
+        EDIFCellInst[] cellInsts = toArray();
+        EDIFCellInst[] oCellInsts = o.toArray();
         int min = Integer.min(cellInsts.length, oCellInsts.length);
         int idx = 0;
         for (int i=0; i< min; i++) {
@@ -191,25 +240,28 @@ public class EDIFHierCellInst {
                 break;
             }
         }
-        return new EDIFHierCellInst(oCellInsts, idx, null);
+        if (idx == 0) {
+            throw new IllegalStateException("Cannot have a hierCellInst without any names");
+        }
+        return o.getAncestor(idx);
     }
 
     public boolean isAbsolute() {
-        return isToplevelInst(cellInsts[0]);
+        return isToplevelInst(getRoot().inst);
     }
 
     public List<EDIFCellInst> getFullHierarchy() {
-        //We can't just return the internal array, as users could then change it.
-        //Return an unmodifiable list that uses the same backing array instead
-        return Collections.unmodifiableList(Arrays.asList(cellInsts));
+        //The returned array is a fresh copy, so wrapping it is enough to guarantee immutability
+        return Collections.unmodifiableList(Arrays.asList(toArray()));
     }
 
     public int getDepth() {
-        return cellInsts.length;
+        return depth;
     }
 
     public boolean enterHierarchicalName(StringBuilder sb) {
-        int start = isAbsolute() ? 1 : 0;
+        EDIFCellInst[] cellInsts = toArray();
+        int start = isToplevelInst(cellInsts[0]) ? 1 : 0;
         for (int i = start; i < cellInsts.length; i++) {
             if (i>start) {
                 sb.append(EDIFTools.EDIF_HIER_SEP);
@@ -317,6 +369,7 @@ public class EDIFHierCellInst {
      * @return The newly created reference copy of this instance.
      */
     public EDIFHierCellInst getReferenceCopy() {
+        EDIFCellInst[] cellInsts = toArray();
         EDIFCellInst[] copyInsts = new EDIFCellInst[cellInsts.length];
         for (int i = 0; i < copyInsts.length; i++) {
             EDIFCellInst ref = cellInsts[i];
@@ -328,16 +381,16 @@ public class EDIFHierCellInst {
             }
             copyInsts[i] = copy;
         }
-        return new EDIFHierCellInst(copyInsts);
+        return createRelative(copyInsts);
     }
 
     /**
      * True if all cells on this path are the only instantiations of its cell.
      */
     public boolean isUniquified() {
-        assert(isToplevelInst(cellInsts[0]));
-        for (int i = cellInsts.length - 1; i > 0; i--) {
-            if (!cellInsts[i].isUniquified()) {
+        assert(isAbsolute());
+        for (EDIFHierCellInst curr = this; curr.parent != null; curr = curr.parent) {
+            if (!curr.inst.isUniquified()) {
                 return false;
             }
         }
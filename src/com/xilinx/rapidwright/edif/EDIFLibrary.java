@@ -31,6 +31,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -55,6 +56,9 @@ public class EDIFLibrary extends EDIFName {
 
     private Map<String,EDIFCell> cells;
 
+    /** Hands out unique cell names when renaming duplicates, created on first use */
+    private EDIFUniqueNamer cellNamer;
+
     public EDIFLibrary(String name) {
         super(name);
     }
@@ -100,14 +104,11 @@ public class EDIFLibrary extends EDIFName {
         });
     }
 
-    private String findUniqueCellName(String name) {
-        int counter = 0;
-        String counterName = name; //First try without suffix
-        while (cells.containsKey(counterName)) {
-            counter++;
-            counterName = name+"_"+counter;
+    private synchronized String findUniqueCellName(String name) {
+        if (cellNamer == null) {
+            cellNamer = new EDIFUniqueNamer(n -> cells != null && cells.containsKey(n), "_", 1);
         }
-        return counterName;
+        return cellNamer.getUniqueName(name);
     }
 
     /**
@@ -136,6 +137,9 @@ public class EDIFLibrary extends EDIFName {
         cell.setName(newName);
 
         cells.put(newName, cell);
+        synchronized (this) {
+            cellNamer.release(newName);
+        }
         return cell;
     }
 
@@ -335,6 +339,110 @@ public class EDIFLibrary extends EDIFName {
         exportEDIF(os, cache, false);
     }
 
+    /** Approximate number of cells, cell instances and nets serialized by one parallel export task */
+    private static final int EXPORT_CHUNK_WEIGHT = 16384;
+
+    /**
+     * Exports this library by submitting its cells, in export order, to the provided writer in
+     * chunks that are each serialized concurrently. Cells too large for one chunk are themselves split
+     * into ranges of cell instances and nets, so that no chunk (and thus none of the writer's buffers)
+     * grows with the size of the largest cell.
+     * @param writer The writer that stitches the chunks together in submission order.
+     * @param cache The (thread-safe) legal name cache.
+     * @param stable Flag to keep the cell export order stable.
+     */
+    void exportEDIF(OrderedParallelEDIFWriter writer, EDIFWriteLegalNameCache<?> cache, boolean stable) throws IOException {
+        List<EDIFCell> validCellOrder = getValidCellExportOrder(stable);
+        if (validCellOrder.isEmpty()) {
+            writer.submit((os) -> exportEDIF(validCellOrder, os, true, true, cache, stable));
+            return;
+        }
+        int begin = 0;
+        int weight = 0;
+        for (int i = 0; i < validCellOrder.size(); i++) {
+            EDIFCell cell = validCellOrder.get(i);
+            final boolean lastChunk = (i == validCellOrder.size() - 1);
+            int cellWeight = 1 + cell.getCellInsts().size() + cell.getNets().size();
+            if (cellWeight > EXPORT_CHUNK_WEIGHT) {
+                if (begin < i) {
+                    submitCells(writer, validCellOrder.subList(begin, i), begin == 0, false, cache, stable);
+                }
+                submitLargeCell(writer, cell, i == 0, lastChunk, cache, stable);
+                begin = i + 1;
+                weight = 0;
+                continue;
+            }
+            weight += cellWeight;
+            if (weight < EXPORT_CHUNK_WEIGHT && !lastChunk) {
+                continue;
+            }
+            submitCells(writer, validCellOrder.subList(begin, i + 1), begin == 0, lastChunk, cache, stable);
+            begin = i + 1;
+            weight = 0;
+        }
+    }
+
+    private void submitCells(OrderedParallelEDIFWriter writer, List<EDIFCell> chunk, boolean firstChunk,
+                             boolean lastChunk, EDIFWriteLegalNameCache<?> cache, boolean stable) throws IOException {
+        writer.submit((os) -> {
+            try (BufferedOutputStream bs = new BufferedOutputStream(new NoCloseOutputStream(os))) {
+                exportEDIF(chunk, bs, firstChunk, lastChunk, cache, stable);
+            }
+        });
+    }
+
+    /**
+     * Submits one cell as a sequence of chunks: its beginning, ranges of its cell instances, ranges of its
+     * nets and its end. The result is identical to that of {@link EDIFCell#exportEDIF(OutputStream,
+     * EDIFWriteLegalNameCache, boolean)}.
+     */
+    private void submitLargeCell(OrderedParallelEDIFWriter writer, EDIFCell cell, boolean firstChunk,
+                                 boolean lastChunk, EDIFWriteLegalNameCache<?> cache, boolean stable) throws IOException {
+        writer.submit((os) -> {
+            try (BufferedOutputStream bs = new BufferedOutputStream(new NoCloseOutputStream(os))) {
+                exportEDIF(Collections.emptyList(), bs, firstChunk, false, cache, stable);
+                cell.exportEDIFBegin(bs, cache, stable);
+            }
+        });
+        if (cell.hasContents()) {
+            submitRanges(writer, getExportOrder(cell.getCellInsts(), stable), (i, os) -> i.exportEDIF(os, cache, stable));
+            submitRanges(writer, getExportOrder(cell.getNets(), stable), (n, os) -> n.exportEDIF(os, cache, stable));
+        }
+        writer.submit((os) -> {
+            try (BufferedOutputStream bs = new BufferedOutputStream(new NoCloseOutputStream(os))) {
+                cell.exportEDIFEnd(bs, cache, stable);
+                exportEDIF(Collections.emptyList(), bs, false, lastChunk, cache, stable);
+            }
+        });
+    }
+
+    private static <T extends EDIFName> List<T> getExportOrder(Collection<T> objects, boolean stable) {
+        List<T> list = new ArrayList<>(objects);
+        if (stable) {
+            list.sort(Comparator.comparing(EDIFName::getName));
+        }
+        return list;
+    }
+
+    /** Exports one cell instance or net of a cell's contents */
+    private interface ContentsExporter<T> {
+        void exportEDIF(T object, OutputStream os) throws IOException;
+    }
+
+    private static <T> void submitRanges(OrderedParallelEDIFWriter writer, List<T> objects,
+                                         ContentsExporter<T> exporter) throws IOException {
+        for (int begin = 0; begin < objects.size(); begin += EXPORT_CHUNK_WEIGHT) {
+            List<T> range = objects.subList(begin, Math.min(begin + EXPORT_CHUNK_WEIGHT, objects.size()));
+            writer.submit((os) -> {
+                try (BufferedOutputStream bs = new BufferedOutputStream(new NoCloseOutputStream(os))) {
+                    for (T o : range) {
+                        exporter.exportEDIF(o, bs);
+                    }
+                }
+            });
+        }
+    }
+
     public List<Future<ParallelDCPInput>> exportEDIF(EDIFWriteLegalNameCache<?> cache) throws IOException{
         if (!ParallelismTools.getParallel()) {
             throw new RuntimeException();
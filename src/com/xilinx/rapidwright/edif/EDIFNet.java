@@ -87,7 +87,8 @@ public class EDIFNet extends EDIFPropertyObject {
      * will be added consecutively (such as parsing a netlist).
      */
     public void addPortInst(EDIFPortInst portInst, boolean deferSort) {
-        if (portInsts == null) portInsts = new EDIFPortInstList();
+        // Most nets have a single sink, so start with space for a driver and one sink
+        if (portInsts == null) portInsts = new EDIFPortInstList(2);
         boolean isParentCellNonNull = parentCell != null;
         EDIFCellInst inst = portInst.getCellInst();
         if (isParentCellNonNull && inst == null) {
@@ -57,6 +57,7 @@ import java.util.function.BiFunction;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 import com.xilinx.rapidwright.design.Design;
 import com.xilinx.rapidwright.design.Net;
@@ -92,13 +93,13 @@ public class EDIFNetlist extends EDIFName {
 
     private Map<EDIFHierNet,EDIFHierNet> parentNetMap;
     private Map<String,String> parentNetMapNames;
+    /** Reverse of parentNetMap, only built once it is incrementally updated */
+    private Map<EDIFHierNet, List<EDIFHierNet>> parentNetAliases;
 
     private Map<EDIFHierNet, List<EDIFHierPortInst>> physicalNetPinMap;
     private List<EDIFHierPortInst> physicalGndPins;
     private List<EDIFHierPortInst> physicalVccPins;
 
-    protected int nameSpaceUniqueCount = 0;
-
     private transient Device device;
 
     private Set<String> primsToRemoveOnCollapse = new HashSet<String>();
@@ -113,6 +114,9 @@ public class EDIFNetlist extends EDIFName {
 
     private boolean DEBUG = false;
 
+    /** Minimum number of drivers whose net aliases are traced by one parallel task */
+    private static final int MIN_DRIVERS_PER_TASK = 1024;
+
     /**
      * Map that stores prim to macro expansions conditional based on IOStandards
      * (Start Prim to End Macro (if set IOStandard is in set))
@@ -700,6 +704,19 @@ public class EDIFNetlist extends EDIFName {
         return libraries.values();
     }
 
+    /**
+     * Releases any unused capacity of the port instance lists of all cells in this netlist. Edits do not
+     * do this themselves, as the lists would then have to regrow on the next addition; instead, this can
+     * be called once a netlist has been built or edited in bulk to reduce its heap usage.
+     */
+    public void trimEDIFPortInstLists() {
+        for (EDIFLibrary lib : getLibraries()) {
+            for (EDIFCell cell : lib.getCells()) {
+                cell.trimEDIFPortInstLists();
+            }
+        }
+    }
+
     /**
      * Get Libraries in export order so that any cell instance appearing in a library will only
      * refer to cells in its own library or previous libraries in the list.  This is a pre-requisite
@@ -771,45 +788,102 @@ public class EDIFNetlist extends EDIFName {
     public static final byte[] EXPORT_CONST_CLOSE_EDIF = ")\n".getBytes(StandardCharsets.UTF_8);
 
 
+    /**
+     * Flag to serialize cells concurrently when exporting EDIF to a stream or file other than a DCP while
+     * {@link ParallelismTools#getParallel()} is set (exports into a DCP are always parallel then). Stable exports
+     * are always sequential.
+     */
+    public static boolean PARALLEL_EXPORT = true;
+
+    /** Number of export chunks that may be buffered at once per thread during a parallel export */
+    private static final int EXPORT_CHUNKS_PER_THREAD = 4;
+
+    private void exportEDIFHeader(OutputStream os, EDIFWriteLegalNameCache<?> cache, boolean stable) throws IOException {
+        os.write(EXPORT_CONST_EDIF_HEAD);
+        exportEDIFName(os, cache);
+        os.write(EXPORT_CONST_EDIF_VERSION);
+        if (stable) {
+            os.write("1970 01 01 00 00 00".getBytes(StandardCharsets.UTF_8));
+        } else {
+            SimpleDateFormat formatter = new SimpleDateFormat("yyyy MM dd HH mm ss");
+            os.write(formatter.format(new Date()).getBytes(StandardCharsets.UTF_8));
+        }
+        os.write(EXPORT_CONST_PROGRAM);
+        for (String comment : getComments()) {
+            os.write(EXPORT_CONST_COMMENT);
+            os.write(comment.getBytes(StandardCharsets.UTF_8));
+            os.write(EXPORT_CONST_QUOTE_CLOSE_NL);
+        }
+        for (Entry<String, EDIFPropertyValue> e : EDIFTools.sortIfStable(metax, stable)) {
+            os.write(EXPORT_CONST_META_X);
+            os.write(e.getKey().getBytes(StandardCharsets.UTF_8));
+            os.write(' ');
+            e.getValue().writeEDIFString(os);
+            os.write(EXPORT_CONST_CLOSE_NL);
+        }
+        os.write(EXPORT_CONST_DOUBLE_CLOSE);
+    }
+
+    private List<EDIFLibrary> getLibrariesToWrite(boolean stable) {
+        List<EDIFLibrary> librariesToWrite = new ArrayList<>();
+        librariesToWrite.add(getHDIPrimitivesLibrary());
+        for (EDIFLibrary lib : EDIFTools.sortIfStable(getLibrariesMap().values(), stable)) {
+            if (lib.isHDIPrimitivesLibrary()) {
+                continue;
+            }
+            librariesToWrite.add(lib);
+        }
+        return librariesToWrite;
+    }
+
+    private void exportEDIFDesign(OutputStream os, EDIFWriteLegalNameCache<?> cache, boolean stable) throws IOException {
+        os.write(EXPORT_CONST_DESIGN_START);
+        EDIFDesign design = getDesign();
+        if (design != null) {
+            design.exportEDIFName(os, cache);
+            os.write(EXPORT_CONST_CELLREF);
+            os.write(cache.getLegalEDIFName(design.getTopCell().getName()));
+            os.write(EXPORT_CONST_LIBRARYREF);
+            os.write(cache.getLegalEDIFName(design.getTopCell().getLibrary().getName()));
+            os.write(EXPORT_CONST_CLOSE_REF);
+            design.exportEDIFProperties(os, EXPORT_CONST_PROP_INDENT, cache, stable);
+            os.write(EXPORT_CONST_CLOSE_DESIGN);
+        }
+        os.write(EXPORT_CONST_CLOSE_EDIF);
+    }
+
     public void exportEDIF(OutputStream out, boolean stable) throws IOException {
-        try (BufferedOutputStream os = new BufferedOutputStream(out)) {
-            final ParallelDCPOutput dos = ParallelismTools.getParallel() ?
-                    ParallelDCPOutput.cast(out) : null;
+        exportEDIF(out, stable, false);
+    }
 
+    /**
+     * Writes this netlist as EDIF to the provided stream, closing it afterwards.
+     *
+     * If {@link ParallelismTools#getParallel()} is set and stable is not, chunks of cells are serialized
+     * concurrently into separate buffers (with at most a few chunks per thread buffered at once) that are
+     * written out in export order. The output is identical to a sequential export, except for the numbering
+     * of renames of distinct names that become the same name once made EDIF compatible, which depends on
+     * the order in which the names are seen. Stable exports are therefore always written sequentially, so
+     * that they are identical across runs.
+     * @param out The stream to write to.
+     * @param stable Flag to write the netlist in a stable order with a fixed time stamp.
+     * @param gzip Flag to gzip-compress the output. When exporting in parallel, each chunk is
+     * compressed concurrently and written as a separate member of the gzip stream.
+     */
+    public void exportEDIF(OutputStream out, boolean stable, boolean gzip) throws IOException {
+        final ParallelDCPOutput dos = ParallelismTools.getParallel() && !gzip ?
+                ParallelDCPOutput.cast(out) : null;
+        if (dos == null && ParallelismTools.getParallel() && PARALLEL_EXPORT && !stable) {
+            exportEDIFInParallel(out, stable, gzip);
+            return;
+        }
+
+        try (BufferedOutputStream os = new BufferedOutputStream(gzip ? new GZIPOutputStream(out) : out)) {
             EDIFWriteLegalNameCache<?> cache = dos!=null ? EDIFWriteLegalNameCache.multiThreaded() : EDIFWriteLegalNameCache.singleThreaded();
 
-            os.write(EXPORT_CONST_EDIF_HEAD);
-            exportEDIFName(os, cache);
-            os.write(EXPORT_CONST_EDIF_VERSION);
-            if (stable) {
-                os.write("1970 01 01 00 00 00".getBytes(StandardCharsets.UTF_8));
-            } else {
-                SimpleDateFormat formatter = new SimpleDateFormat("yyyy MM dd HH mm ss");
-                os.write(formatter.format(new Date()).getBytes(StandardCharsets.UTF_8));
-            }
-            os.write(EXPORT_CONST_PROGRAM);
-            for (String comment : getComments()) {
-                os.write(EXPORT_CONST_COMMENT);
-                os.write(comment.getBytes(StandardCharsets.UTF_8));
-                os.write(EXPORT_CONST_QUOTE_CLOSE_NL);
-            }
-            for (Entry<String, EDIFPropertyValue> e : EDIFTools.sortIfStable(metax, stable)) {
-                os.write(EXPORT_CONST_META_X);
-                os.write(e.getKey().getBytes(StandardCharsets.UTF_8));
-                os.write(' ');
-                e.getValue().writeEDIFString(os);
-                os.write(EXPORT_CONST_CLOSE_NL);
-            }
-            os.write(EXPORT_CONST_DOUBLE_CLOSE);
+            exportEDIFHeader(os, cache, stable);
 
-            List<EDIFLibrary> librariesToWrite = new ArrayList<>();
-            librariesToWrite.add(getHDIPrimitivesLibrary());
-            for (EDIFLibrary lib : EDIFTools.sortIfStable(getLibrariesMap().values(), stable)) {
-                if (lib.isHDIPrimitivesLibrary()) {
-                    continue;
-                }
-                librariesToWrite.add(lib);
-            }
+            List<EDIFLibrary> librariesToWrite = getLibrariesToWrite(stable);
 
             if (dos != null) {
                 Deque<Future<ParallelDCPInput>> streamFutures = new ArrayDeque<>();
@@ -833,28 +907,36 @@ public class EDIFNetlist extends EDIFName {
                 }
             }
 
-            os.write(EXPORT_CONST_DESIGN_START);
-            EDIFDesign design = getDesign();
-            if (design != null) {
-                design.exportEDIFName(os, cache);
-                os.write(EXPORT_CONST_CELLREF);
-                os.write(cache.getLegalEDIFName(design.getTopCell().getName()));
-                os.write(EXPORT_CONST_LIBRARYREF);
-                os.write(cache.getLegalEDIFName(design.getTopCell().getLibrary().getName()));
-                os.write(EXPORT_CONST_CLOSE_REF);
-                design.exportEDIFProperties(os, EXPORT_CONST_PROP_INDENT, cache, stable);
-                os.write(EXPORT_CONST_CLOSE_DESIGN);
+            exportEDIFDesign(os, cache, stable);
+        }
+    }
+
+    private void exportEDIFInParallel(OutputStream out, boolean stable, boolean gzip) throws IOException {
+        EDIFWriteLegalNameCache<?> cache = EDIFWriteLegalNameCache.multiThreaded();
+        int window = EXPORT_CHUNKS_PER_THREAD * ParallelismTools.maxParallelism();
+        try (OutputStream os = out;
+             OrderedParallelEDIFWriter writer = new OrderedParallelEDIFWriter(os, gzip, window)) {
+            writer.submit((segment) -> exportEDIFHeader(segment, cache, stable));
+            for (EDIFLibrary lib : getLibrariesToWrite(stable)) {
+                lib.exportEDIF(writer, cache, stable);
             }
-            os.write(EXPORT_CONST_CLOSE_EDIF);
+            writer.submit((segment) -> exportEDIFDesign(segment, cache, stable));
         }
     }
+
     public void exportEDIF(OutputStream out) throws IOException {
         exportEDIF(out, false);
     }
 
+    /**
+     * Writes this netlist as EDIF to the provided file. If the file name ends in ".gz", the file is
+     * gzip-compressed.
+     * @param fileName Name of the file to write.
+     * @param stable Flag to write the netlist in a stable order with a fixed time stamp.
+     */
     public void exportEDIF(Path fileName, boolean stable) {
         try (OutputStream out = Files.newOutputStream(fileName)) {
-            exportEDIF(out, stable);
+            exportEDIF(out, stable, fileName.toString().endsWith(".gz"));
         } catch (IOException e) {
             MessageGenerator.briefError("ERROR: Failed to export EDIF file " + fileName);
             e.printStackTrace();
@@ -1252,50 +1334,55 @@ public class EDIFNetlist extends EDIFName {
     }
 
     /**
-     * Get's all equivalent nets in the netlist from the provided net name.
-     * The returned list also includes the provided netName.
-     * @param initialNet Full hierarchical netname to use as a starting point in the search.
-     * @return A list of all electrically connected nets in the netlist that are equivalent.
-     * The list is composed of all full hierarchical net names or an empty list if netName is invalid.
+     * The result of tracing all electrically equivalent nets from one net, see
+     * {@link #traceNetAliases(EDIFHierNet)}.
      */
-    public List<EDIFHierNet> getNetAliases(EDIFHierNet initialNet) {
-        if (physicalNetPinMap == null) {
-            physicalNetPinMap = new HashMap<>();
-            physicalGndPins = new ArrayList<>();
-            physicalVccPins = new ArrayList<>();
-        }
-        ArrayList<EDIFHierPortInst> leafCellPins = new ArrayList<>();
-        List<EDIFHierNet> aliases = new ArrayList<>();
+    private static class NetAliasSet {
+        /** The driving (parent) net of this set, or null if none was found */
+        private EDIFHierNet parentNet;
+        /** The pin driving the parent net */
+        private EDIFHierPortInst source;
+        private final List<EDIFHierNet> aliases = new ArrayList<>();
+        private final List<EDIFHierPortInst> leafCellPins = new ArrayList<>();
+    }
+
+    /**
+     * Traces all nets electrically connected to the provided net and identifies its parent net.
+     * This method only reads the netlist and does not touch any of the cached maps, so it may be
+     * called concurrently from multiple threads.
+     * @param initialNet Net to start the search from.
+     * @return The set of aliases, leaf cell pins and parent net (null if none) of initialNet.
+     */
+    private static NetAliasSet traceNetAliases(EDIFHierNet initialNet) {
+        NetAliasSet result = new NetAliasSet();
         Queue<EDIFHierNet> queue = new ArrayDeque<>();
         queue.add(initialNet);
         HashSet<EDIFHierNet> visited = new HashSet<>();
 
-        EDIFHierPortInst source = null;
-        EDIFHierNet parentNet = null;
         EDIFHierNet fallbackParentNet = null;
         while (!queue.isEmpty()) {
             EDIFHierNet net = queue.poll();
             if (!visited.add(net)) {
                 continue;
             }
-            aliases.add(net);
+            result.aliases.add(net);
             for (EDIFPortInst relP : net.getNet().getPortInsts()) {
                 EDIFHierPortInst p = new EDIFHierPortInst(net.getHierarchicalInst(), relP);
 
                 boolean isCellPin = relP.getCellInst() != null && relP.getCellInst().getCellType().isLeafCellOrBlackBox();
                 if (isCellPin) {
-                    leafCellPins.add(p);
+                    result.leafCellPins.add(p);
                 }
 
 
                 boolean isTopLevelPortInst = p.getHierarchicalInst().isTopLevelInst() && relP.getCellInst() == null;
                 boolean isToplevelInput = isTopLevelPortInst && p.isInput();
                 if (isToplevelInput || (isCellPin && p.isOutput())) {
-                    if (parentNet != null) {
+                    if (result.parentNet != null) {
                         throw new RuntimeException("Multiple sources!");
                     }
-                    source = p;
-                    parentNet = net;
+                    result.source = p;
+                    result.parentNet = net;
                 }
 
                 // For top-level INOUT ports, consider the possibility that it might be an input
@@ -1304,8 +1391,8 @@ public class EDIFNetlist extends EDIFName {
                 if (isToplevelInout) {
                     if (fallbackParentNet != null) {
                         throw new RuntimeException("Multiple sources!");
-                    } else if (parentNet == null) {
-                        source = p;
+                    } else if (result.parentNet == null) {
+                        result.source = p;
                         fallbackParentNet = net;
                     }
                 }
@@ -1330,28 +1417,54 @@ public class EDIFNetlist extends EDIFName {
             }
         }
 
-        if (parentNet == null) {
+        if (result.parentNet == null) {
             // No other parent net was found, promote the fallback net
-            parentNet = fallbackParentNet;
+            result.parentNet = fallbackParentNet;
         }
+        return result;
+    }
 
-        if (parentNet != null) {
-            switch (identifyNetType(source)) {
-                case GND:
-                    physicalGndPins.addAll(leafCellPins);
-                    break;
-                case VCC:
-                    physicalVccPins.addAll(leafCellPins);
-                    break;
-            }
-            physicalNetPinMap.put(parentNet, leafCellPins);
-        } else if (initialNet.getNet().getPortInsts().size() == 0) {
-            return aliases;
-        } else {
+    private static void checkParentNetFound(NetAliasSet aliasSet, EDIFHierNet initialNet) {
+        if (aliasSet.parentNet == null && initialNet.getNet().getPortInsts().size() != 0) {
             throw new RuntimeException("ERROR: Couldn't identify parent net, no output pins (or top level output port) found.");
         }
+    }
 
-        return aliases;
+    private void initPhysicalNetPinMap() {
+        if (physicalNetPinMap == null) {
+            physicalNetPinMap = new HashMap<>();
+            physicalGndPins = new ArrayList<>();
+            physicalVccPins = new ArrayList<>();
+        }
+    }
+
+    private void addPhysicalPins(NetAliasSet aliasSet) {
+        switch (identifyNetType(aliasSet.source)) {
+            case GND:
+                physicalGndPins.addAll(aliasSet.leafCellPins);
+                break;
+            case VCC:
+                physicalVccPins.addAll(aliasSet.leafCellPins);
+                break;
+        }
+        physicalNetPinMap.put(aliasSet.parentNet, aliasSet.leafCellPins);
+    }
+
+    /**
+     * Get's all equivalent nets in the netlist from the provided net name.
+     * The returned list also includes the provided netName.
+     * @param initialNet Full hierarchical netname to use as a starting point in the search.
+     * @return A list of all electrically connected nets in the netlist that are equivalent.
+     * The list is composed of all full hierarchical net names or an empty list if netName is invalid.
+     */
+    public List<EDIFHierNet> getNetAliases(EDIFHierNet initialNet) {
+        initPhysicalNetPinMap();
+        NetAliasSet aliasSet = traceNetAliases(initialNet);
+        checkParentNetFound(aliasSet, initialNet);
+        if (aliasSet.parentNet != null) {
+            addPhysicalPins(aliasSet);
+        }
+        return aliasSet.aliases;
     }
 
     /**
@@ -1407,15 +1520,121 @@ public class EDIFNetlist extends EDIFName {
     /**
      * Resets the internal parent net map of the netlist.  This is necessary any time modifications
      * are made to the netlist (add/remove/change cells/nets, removing/adding black boxes, etc).
+     * For modifications that only connect or disconnect pins, {@link #updateParentNetMap(Collection)}
+     * avoids having to rebuild the whole map afterwards.
      */
     public void resetParentNetMap() {
         parentNetMap = null;
         parentNetMapNames = null;
+        parentNetAliases = null;
         physicalNetPinMap = null;
         physicalGndPins = null;
         physicalVccPins = null;
     }
 
+    /**
+     * Incrementally updates the internal parent net map (and physical net pin map) of the netlist
+     * after pins have been connected to or disconnected from the provided nets.  Instead of
+     * invalidating the whole map, as {@link #resetParentNetMap()} does, only the alias sets that
+     * contained any of the provided nets before the modification are removed, and alias sets are
+     * re-traced from the provided nets and from the members of those removed sets.
+     *
+     * For the result to be identical to a regenerated map, every net that had a pin connected or
+     * disconnected must be provided (nets newly created to connect through the hierarchy are found
+     * by the re-trace and need not be).  Modifications that add or remove cells or nets (other than
+     * those created to connect pins) still require {@link #resetParentNetMap()}.  If the map has not
+     * yet been generated, this method does nothing.
+     * @param modifiedNets The nets that had pins connected or disconnected.
+     */
+    public void updateParentNetMap(Collection<EDIFHierNet> modifiedNets) {
+        if (parentNetMap == null) {
+            // Will be generated from scratch on demand
+            return;
+        }
+        initPhysicalNetPinMap();
+        if (parentNetAliases == null) {
+            parentNetAliases = new HashMap<>();
+            for (Entry<EDIFHierNet, EDIFHierNet> e : parentNetMap.entrySet()) {
+                parentNetAliases.computeIfAbsent(e.getValue(), (k) -> new ArrayList<>()).add(e.getKey());
+            }
+        }
+
+        // Remove every alias set touched by a modified net, remembering its members so that they
+        // can be re-traced from their new connectivity
+        Set<EDIFHierNet> toTrace = new LinkedHashSet<>(modifiedNets);
+        Set<EDIFHierPortInst> staleGndPins = new HashSet<>();
+        Set<EDIFHierPortInst> staleVccPins = new HashSet<>();
+        for (EDIFHierNet net : modifiedNets) {
+            EDIFHierNet oldParentNet = parentNetMap.get(net);
+            if (oldParentNet == null) {
+                continue;
+            }
+            List<EDIFHierNet> oldAliases = parentNetAliases.remove(oldParentNet);
+            if (oldAliases == null) {
+                continue;
+            }
+            for (EDIFHierNet alias : oldAliases) {
+                parentNetMap.remove(alias);
+                if (parentNetMapNames != null) {
+                    parentNetMapNames.remove(alias.getHierarchicalNetName());
+                }
+                toTrace.add(alias);
+            }
+            List<EDIFHierPortInst> oldPins = physicalNetPinMap.remove(oldParentNet);
+            if (oldPins == null) {
+                continue;
+            }
+            for (EDIFHierPortInst p : oldPins) {
+                if (!p.isOutput()) {
+                    continue;
+                }
+                // Static pins are also stored in the global lists
+                switch (identifyNetType(p)) {
+                    case GND:
+                        staleGndPins.addAll(oldPins);
+                        break;
+                    case VCC:
+                        staleVccPins.addAll(oldPins);
+                        break;
+                }
+                break;
+            }
+        }
+        if (!staleGndPins.isEmpty()) {
+            physicalGndPins.removeIf(staleGndPins::contains);
+        }
+        if (!staleVccPins.isEmpty()) {
+            physicalVccPins.removeIf(staleVccPins::contains);
+        }
+
+        Set<EDIFHierNet> traced = new HashSet<>();
+        for (EDIFHierNet net : toTrace) {
+            if (traced.contains(net)) {
+                continue;
+            }
+            EDIFNet en = net.getNet();
+            if (en.getParentCell() == null || en.getParentCell().getNet(en.getName()) != en) {
+                // Net has since been removed from the netlist
+                continue;
+            }
+            NetAliasSet aliasSet = traceNetAliases(net);
+            traced.addAll(aliasSet.aliases);
+            if (aliasSet.parentNet == null) {
+                // Undriven nets are not part of the map
+                continue;
+            }
+            for (EDIFHierNet alias : aliasSet.aliases) {
+                parentNetMap.put(alias, aliasSet.parentNet);
+                if (parentNetMapNames != null) {
+                    parentNetMapNames.put(alias.getHierarchicalNetName(),
+                            aliasSet.parentNet.getHierarchicalNetName());
+                }
+            }
+            parentNetAliases.put(aliasSet.parentNet, aliasSet.aliases);
+            addPhysicalPins(aliasSet);
+        }
+    }
+
     private void generateParentNetMap() {
         long start = 0;
         if (DEBUG) {
@@ -1424,25 +1643,21 @@ public class EDIFNetlist extends EDIFName {
         if (parentNetMap == null) {
             parentNetMap = new HashMap<>();
         }
-        if (physicalNetPinMap == null) {
-            physicalNetPinMap = new HashMap<>();
-            physicalGndPins = new ArrayList<>();
-            physicalVccPins = new ArrayList<>();
-        }
+        initPhysicalNetPinMap();
         EDIFCell c = getTopCell();
         EDIFHierCellInst topCellInst = getTopHierCellInst();
-        Queue<EDIFHierPortInst> queue = new LinkedList<>();
+        List<EDIFHierPortInst> drivers = new ArrayList<>();
         // All parent nets are either top-level inputs/inouts or outputs of leaf cells
         // Here we gather all top-level inputs/inouts
         for (EDIFNet n : c.getNets()) {
             for (EDIFPortInst p : n.getPortInsts()) {
                 if (p.isTopLevelPort() && !p.isOutput()) {
-                    queue.add(new EDIFHierPortInst(topCellInst, p));
+                    drivers.add(new EDIFHierPortInst(topCellInst, p));
                 }
             }
         }
         // Here we search for all leaf cell insts
-        Queue<EDIFHierCellInst> instQueue = new LinkedList<>();
+        Queue<EDIFHierCellInst> instQueue = new ArrayDeque<>();
         instQueue.add(getTopHierCellInst());
         while (!instQueue.isEmpty()) {
             EDIFHierCellInst currInst = instQueue.poll();
@@ -1451,7 +1666,7 @@ public class EDIFNetlist extends EDIFName {
                 if (eci.getCellType().getCellInsts().size() == 0 && eci.getCellType().getNets().size() == 0) {
                     for (EDIFPortInst portInst : eci.getPortInsts()) {
                         if (portInst.isOutput() && portInst.getNet() != null) {
-                            queue.add(new EDIFHierPortInst(currInst, portInst));
+                            drivers.add(new EDIFHierPortInst(currInst, portInst));
                         }
                     }
                 } else {
@@ -1460,10 +1675,36 @@ public class EDIFNetlist extends EDIFName {
             }
         }
 
-        for (EDIFHierPortInst pr : queue) {
+        // Trace the alias set of each driver in parallel (tracing only reads the netlist) ...
+        final int driverCount = drivers.size();
+        final NetAliasSet[] aliasSets = new NetAliasSet[driverCount];
+        Runnable[] tasks = new Runnable[ParallelismTools.getParallel() && driverCount >= 2 * MIN_DRIVERS_PER_TASK ?
+                Math.min(driverCount / MIN_DRIVERS_PER_TASK, 4 * ParallelismTools.maxParallelism()) : 1];
+        for (int i = 0; i < tasks.length; i++) {
+            final int begin = (int) ((long) driverCount * i / tasks.length);
+            final int end = (int) ((long) driverCount * (i + 1) / tasks.length);
+            tasks[i] = () -> {
+                for (int j = begin; j < end; j++) {
+                    EDIFHierNet driverNet = drivers.get(j).getHierarchicalNet();
+                    NetAliasSet aliasSet = traceNetAliases(driverNet);
+                    checkParentNetFound(aliasSet, driverNet);
+                    aliasSets[j] = aliasSet;
+                }
+            };
+        }
+        ParallelismTools.invokeAll(tasks);
+
+        // ... then merge them in driver order, so that the maps are identical to a serial build
+        for (int i = 0; i < driverCount; i++) {
+            EDIFHierPortInst pr = drivers.get(i);
             assert(pr.getNet() != null);
             EDIFHierNet parentNetName = pr.getHierarchicalNet();
-            for (EDIFHierNet alias : getNetAliases(parentNetName)) {
+            NetAliasSet aliasSet = aliasSets[i];
+            aliasSets[i] = null;
+            if (aliasSet.parentNet != null) {
+                addPhysicalPins(aliasSet);
+            }
+            for (EDIFHierNet alias : aliasSet.aliases) {
                 parentNetMap.put(alias, parentNetName);
             }
         }
@@ -1956,6 +2197,15 @@ public class EDIFNetlist extends EDIFName {
         return BinaryEDIFReader.readBinaryEDIF(fileName);
     }
 
+    /**
+     * Reads a binary EDIF file, optionally creating the instances and nets of each cell only when
+     * they are first accessed.
+     * @see BinaryEDIFReader#readBinaryEDIF(Path, boolean)
+     */
+    public static EDIFNetlist readBinaryEDIF(Path path, boolean lazy) {
+        return BinaryEDIFReader.readBinaryEDIF(path, lazy);
+    }
+
     public void writeBinaryEDIF(Path path) {
         BinaryEDIFWriter.writeBinaryEDIF(path, this);
     }
@@ -48,6 +48,12 @@ public class EDIFPort extends EDIFPropertyObject {
 
     private String busName;
 
+    /**
+     * Names of the port instances of each bit of this bus, created on demand and shared by all port
+     * instances of the same bit. Only published once fully built, as it may be read concurrently.
+     */
+    private volatile String[] portInstNames;
+
     public EDIFPort(String name, EDIFDirection direction, int width) {
         super(name);
         setDirection(direction);
@@ -92,6 +98,7 @@ public class EDIFPort extends EDIFPropertyObject {
     }
 
     protected void setIsLittleEndian() {
+        portInstNames = null;
         if (width == 1) return;
         String name = getName();
         if (name.charAt(name.length()-1) != ']' || !Character.isDigit(name.charAt(name.length()-2))) {
@@ -162,6 +169,13 @@ public class EDIFPort extends EDIFPropertyObject {
 
     protected void setBusName(String name) {
         this.busName = name;
+        portInstNames = null;
+    }
+
+    @Override
+    protected void setName(String name) {
+        super.setName(name);
+        portInstNames = null;
     }
 
     public Integer getLeft() {
@@ -229,8 +243,20 @@ public class EDIFPort extends EDIFPropertyObject {
      */
     public String getPortInstNameFromPort(int index) {
         if (!isBus()) return getBusName();
-        index = getPortIndexFromNameIndex(index);
-        return getBusName(true) + index + "]";
+        String[] names = portInstNames;
+        if (names == null || names.length != width) {
+            // Racing threads may build equal arrays, either of which is fine to keep
+            String busName = getBusName(true);
+            names = new String[width];
+            for (int i = 0; i < width; i++) {
+                names[i] = busName + getPortIndexFromNameIndex(i) + "]";
+            }
+            portInstNames = names;
+        }
+        if (index < 0 || index >= names.length) {
+            return getBusName(true) + getPortIndexFromNameIndex(index) + "]";
+        }
+        return names[index];
     }
 
     /**
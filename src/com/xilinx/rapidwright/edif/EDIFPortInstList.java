@@ -38,6 +38,17 @@ public class EDIFPortInstList extends ArrayList<EDIFPortInst> {
 
     public static final EDIFPortInstList EMPTY = new EDIFPortInstList();
 
+    public EDIFPortInstList() {
+        super();
+    }
+
+    /**
+     * @param initialCapacity Number of port instances to allocate space for.
+     */
+    public EDIFPortInstList(int initialCapacity) {
+        super(initialCapacity);
+    }
+
     /**
      * Inserts the port inst into the list such that the list remains sorted.  If an identical 
      * element is already in the list, it is overwritten with the new port instance provided.
@@ -135,7 +146,7 @@ public class EDIFPortInstList extends ArrayList<EDIFPortInst> {
     }
 
     /**
-     * Invokes this list to be re sorted (it maintains a sorted list upon add).  
+     * Invokes this list to be re sorted (it maintains a sorted list upon add).
      */
     public void reSortList() {
         Collections.sort(this);
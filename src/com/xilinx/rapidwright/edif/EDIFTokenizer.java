@@ -123,6 +123,22 @@ public class EDIFTokenizer implements AutoCloseable {
         this(fileName, in, uniquifier, DEFAULT_MAX_TOKEN_LENGTH);
     }
 
+    /**
+     * Constructor for subclasses that do not read from an InputStream and thus need no internal buffer.
+     * Such subclasses need to override all public methods that read data.
+     */
+    protected EDIFTokenizer(Path fileName, StringPool uniquifier, int maxTokenLength) {
+        this.fileName = fileName;
+        this.in = null;
+        this.uniquifier = uniquifier;
+        this.maxTokenLength = maxTokenLength;
+        if ((maxTokenLength & (maxTokenLength-1)) != 0) {
+            throw new IllegalStateException("max token length must be a power of two but is "+maxTokenLength);
+        }
+        bufferAddressMask = maxTokenLength*2-1;
+        this.buffer = null;
+    }
+
 
     /**
      * Read two separate locations from a buffer, concatenating them into a single string.
@@ -241,7 +257,7 @@ public class EDIFTokenizer implements AutoCloseable {
         return res;
     }
 
-    private static final boolean[] ENDS_TOKEN = makeTokenEnderTable();
+    static final boolean[] ENDS_TOKEN = makeTokenEnderTable();
 
 
     /**
@@ -487,6 +503,19 @@ public class EDIFTokenizer implements AutoCloseable {
         }
     }
 
+    /**
+     * Declares that the InputStream does not start at the beginning of the EDIF file, but at the provided
+     * offset into it, so that token offsets are still relative to the beginning of the file. Must be called
+     * before reading any tokens.
+     * @param streamOffset Offset into the (uncompressed) file at which the InputStream starts
+     */
+    void setStreamOffset(long streamOffset) {
+        if (byteOffset != 0 || available != 0) {
+            throw new IllegalStateException("Stream offset must be set before reading");
+        }
+        byteOffset = streamOffset;
+    }
+
     public StringPool getUniquifier() {
         return uniquifier;
     }
@@ -849,7 +849,7 @@ public class EDIFTools {
         try {
             final long size = Files.size(fileName);
             if (ParallelEDIFParser.calcThreads(size, maxThreads, fileName.toString().endsWith(".gz")) > 1) {
-                try (ParallelEDIFParser p = new ParallelEDIFParser(fileName)) {
+                try (ParallelEDIFParser p = new ParallelEDIFParser(fileName, size, maxThreads)) {
                     return p.parseEDIFNetlist();
                 }
             } else {
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2024, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.edif;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Creates unique names within one namespace (such as the instances of a cell) by appending a numeric
+ * suffix to a requested name. Rather than probing suffixes from the start for every request, the next
+ * suffix to try is tracked per requested name, so that stamping out many copies with the same name costs
+ * a single lookup per copy. This class is thread-safe: names handed out are unique even among concurrent
+ * callers that have not yet added the named objects to the namespace, as long as the namespace itself
+ * is not modified concurrently (for example, when staging into an {@link EDIFBulkEdit}).
+ *
+ * To do so, each name handed out is reserved until {@link #release(String)} is called for it, which the
+ * owner of the namespace does once the named object has been added (from then on, the namespace itself
+ * marks the name as taken). A name that is released and no longer used in the namespace can be handed
+ * out again when requested directly; generated suffixes, however, keep counting up from the last one
+ * tried for each requested name until {@link #reset()}.
+ */
+public class EDIFUniqueNamer {
+
+    private final Predicate<String> isTaken;
+    private final String separator;
+    private final int firstSuffix;
+
+    /** Next suffix to try for each requested name */
+    private final Map<String, AtomicInteger> nextSuffix = new ConcurrentHashMap<>();
+
+    /** Names handed out that are not yet released */
+    private final Set<String> issued = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param isTaken Checks if a name is already used in the namespace.
+     * @param separator String between a requested name and its suffix.
+     * @param firstSuffix The first suffix to append.
+     */
+    public EDIFUniqueNamer(Predicate<String> isTaken, String separator, int firstSuffix) {
+        this.isTaken = isTaken;
+        this.separator = separator;
+        this.firstSuffix = firstSuffix;
+    }
+
+    private boolean claim(String name) {
+        return !isTaken.test(name) && issued.add(name);
+    }
+
+    /**
+     * Gets a name that is not used in the namespace nor handed out before.
+     * @param name The requested name.
+     * @return The requested name if available, otherwise the requested name with the next available
+     * suffix.
+     */
+    public String getUniqueName(String name) {
+        if (claim(name)) {
+            return name;
+        }
+        AtomicInteger next = nextSuffix.computeIfAbsent(name, k -> new AtomicInteger(firstSuffix));
+        while (true) {
+            String candidate = name + separator + next.getAndIncrement();
+            if (claim(candidate)) {
+                return candidate;
+            }
+        }
+    }
+
+    /**
+     * Releases a name handed out by {@link #getUniqueName(String)}, either because the named object has
+     * been added to the namespace or because the name will not be used.
+     * @param name The name to release.
+     */
+    public void release(String name) {
+        issued.remove(name);
+    }
+
+    /**
+     * Releases all names handed out and forgets the next suffix to try for each requested name, so that
+     * suffixes are again probed from the first one. Must not be called concurrently with
+     * {@link #getUniqueName(String)} while any name handed out is still to be added to the namespace.
+     */
+    public void reset() {
+        issued.clear();
+        nextSuffix.clear();
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2024, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.edif;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.xilinx.rapidwright.util.StringPool;
+
+/**
+ * Tokenizes an uncompressed EDIF file directly out of memory-mapped regions of that file, rather than
+ * copying it through an InputStream into an internal buffer. The mapped regions (see
+ * {@link #map(Path, int)}) are read-only and can be shared between any number of tokenizers, for
+ * example, all workers of a {@link ParallelEDIFParser}.
+ *
+ * Since a single mapping is limited to 2GB, the file is mapped as consecutive regions of
+ * {@link #REGION_SIZE} bytes, each extended to overlap the next one by twice the max token length. Any
+ * token starting inside a region can thus be read entirely out of that region.
+ */
+public class MappedEDIFTokenizer extends EDIFTokenizer {
+
+    /** Number of bytes of the file starting in each mapped region */
+    public static final int REGION_SIZE = 1 << 30;
+
+    private final ByteBuffer[] regions;
+    private final long size;
+
+    /** The region that byteOffset currently lies in */
+    private ByteBuffer region;
+    private long regionStart;
+    private long regionEnd;
+
+    private byte[] tokenBytes = new byte[256];
+
+    /**
+     * Memory-maps an EDIF file as read-only regions that can be shared between tokenizers.
+     * @param fileName The uncompressed EDIF file.
+     * @param maxTokenLength Max token length of the tokenizers reading these regions.
+     * @return The mapped regions.
+     */
+    public static ByteBuffer[] map(Path fileName, int maxTokenLength) throws IOException {
+        try (FileChannel channel = FileChannel.open(fileName, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int count = (int) ((size + REGION_SIZE - 1) / REGION_SIZE);
+            ByteBuffer[] regions = new ByteBuffer[count];
+            for (int i = 0; i < count; i++) {
+                long start = (long) i * REGION_SIZE;
+                long length = Math.min(size - start, REGION_SIZE + 2L * maxTokenLength);
+                regions[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            }
+            return regions;
+        }
+    }
+
+    /**
+     * @param fileName Name of the file, for error messages.
+     * @param regions The regions as mapped by {@link #map(Path, int)} with the same maxTokenLength.
+     * @param size Size of the file.
+     * @param uniquifier The pool to uniquify tokens with.
+     * @param maxTokenLength The max token length.
+     */
+    public MappedEDIFTokenizer(Path fileName, ByteBuffer[] regions, long size, StringPool uniquifier, int maxTokenLength) {
+        super(fileName, uniquifier, maxTokenLength);
+        // Each tokenizer reads through its own views of the shared mappings
+        this.regions = new ByteBuffer[regions.length];
+        for (int i = 0; i < regions.length; i++) {
+            this.regions[i] = regions[i].duplicate();
+        }
+        this.size = size;
+        if (size > 0) {
+            selectRegion(0);
+        }
+    }
+
+    private void selectRegion(long position) {
+        int index = (int) (position / REGION_SIZE);
+        region = regions[index];
+        regionStart = (long) index * REGION_SIZE;
+        regionEnd = Math.min(size, regionStart + REGION_SIZE);
+    }
+
+    private byte get(long position) {
+        return region.get((int) (position - regionStart));
+    }
+
+    /**
+     * @return The end (exclusive) of the data that can be read out of the current region
+     */
+    private long getReadableEnd() {
+        return regionStart + region.limit();
+    }
+
+    /**
+     * @return The end (exclusive) of the data that a token starting at the provided offset may span
+     */
+    private long getTokenEnd(long start) {
+        return Math.min(getReadableEnd(), start + maxTokenLength + 1);
+    }
+
+    private String decode(long start, int length, boolean isShortLived) {
+        if (tokenBytes.length < length) {
+            tokenBytes = new byte[Math.max(length, tokenBytes.length * 2)];
+        }
+        region.position((int) (start - regionStart));
+        region.get(tokenBytes, 0, length);
+        String token = new String(tokenBytes, 0, length, StandardCharsets.UTF_8);
+        return isShortLived ? token : uniquifier.uniquifyName(token);
+    }
+
+    private TokenTooLongException tokenTooLong(long start) {
+        int length = (int) Math.min(150, size - start);
+        return new TokenTooLongException("ERROR: String buffer overflow on byte offset " +
+                start + " parsing token starting with " + decode(start, length, true) + "...\n\t Please revisit "
+                + "why this EDIF token is so long or increase the buffer in " + EDIFTokenizer.class.getCanonicalName());
+    }
+
+    private String getQuotedToken(boolean isShortLived) {
+        long start = byteOffset + 1;
+        long end = getTokenEnd(start);
+        long current = start;
+        while (current < end && get(current) != '"') {
+            current++;
+        }
+        if (current == end) {
+            if (end == size) {
+                throw EDIFParseException.unexpectedEOF();
+            }
+            throw tokenTooLong(start);
+        }
+        String token = decode(start, (int) (current - start), isShortLived);
+        byteOffset = current + 1;
+        return token;
+    }
+
+    private String getUnquotedToken(boolean isShortLived) {
+        long start = byteOffset;
+        long end = getTokenEnd(start);
+        long current = start + 1;
+        while (current < end && !ENDS_TOKEN[get(current) & 0xFF]) {
+            current++;
+        }
+        if (current == end && end != size) {
+            throw tokenTooLong(start);
+        }
+        if (current < end && get(current) == '"') {
+            throw new EDIFParseException("Cannot have quote inside of token!");
+        }
+        String token = decode(start, (int) (current - start), isShortLived);
+        byteOffset = current;
+        return token;
+    }
+
+    @Override
+    public String getOptionalNextTokenString(boolean isShortLived) {
+        while (byteOffset < size) {
+            if (byteOffset >= regionEnd) {
+                selectRegion(byteOffset);
+            }
+            switch (get(byteOffset)) {
+                case 0:
+                    // Treated as the end of the file, same as for InputStreams
+                    return null;
+                case '"':
+                    return getQuotedToken(isShortLived);
+                case '(':
+                    byteOffset++;
+                    return "(";
+                case ')':
+                    byteOffset++;
+                    return ")";
+                case ' ':
+                case '\n':
+                case '\r':
+                case '\t':
+                    byteOffset++;
+                    break;
+                default:
+                    return getUnquotedToken(isShortLived);
+            }
+        }
+        //EOF
+        return null;
+    }
+
+    /**
+     * Skip ahead by some offset, then advance to the next token boundary. This makes the same educated guess
+     * on the same amount of data as {@link EDIFTokenizer#skip(long)} does, so both find the same boundaries.
+     * @param i offset to advance by
+     */
+    @Override
+    public void skip(long i) {
+        if (i == 0) {
+            return;
+        }
+        // The InputStream-based tokenizer inspects one full buffer and treats less data than that as EOF
+        final long window = 2L * maxTokenLength - 1;
+        if (size - byteOffset - i < window) {
+            byteOffset = size;
+            return;
+        }
+        byteOffset += i;
+        selectRegion(byteOffset);
+        advanceToEndOfQuote(window);
+        long end = getReadableEnd();
+        while (byteOffset < end && !ENDS_TOKEN[get(byteOffset) & 0xFF]) {
+            byteOffset++;
+        }
+    }
+
+    /**
+     * During advancing, we may have ended up in a quoted string. Compare the amount of token ending characters inside
+     * and outside of quotes to determine this case. The higher ratio is probably outside.
+     */
+    private void advanceToEndOfQuote(long window) {
+        boolean inQuote = false;
+        int totalInQuote = 0;
+        int tokenEndersInQuote = 0;
+        int totalOutsideQuote = 0;
+        int tokenEndersOutsideQuote = 0;
+        long firstQuoteOffset = -1;
+        for (long i = byteOffset; i < byteOffset + window; i++) {
+            int ch = get(i);
+            if (ch == 0) {
+                throw new IllegalStateException("unexpected end of file marker");
+            }
+            if (ch == '"') {
+                inQuote = !inQuote;
+                if (firstQuoteOffset == -1) {
+                    firstQuoteOffset = i;
+                }
+            } else {
+                boolean isTokenEnder = ENDS_TOKEN[ch & 0xFF];
+                if (inQuote) {
+                    totalInQuote++;
+                    if (isTokenEnder) {
+                        tokenEndersInQuote++;
+                    }
+                } else {
+                    totalOutsideQuote++;
+                    if (isTokenEnder) {
+                        tokenEndersOutsideQuote++;
+                    }
+                }
+            }
+        }
+
+        //Never saw any Quotes?
+        if (firstQuoteOffset == -1) {
+            return;
+        }
+
+        float enderRatioInside = (float) tokenEndersInQuote / totalInQuote;
+        float enderRatioOutside = (float) tokenEndersOutsideQuote / totalOutsideQuote;
+
+        if (totalOutsideQuote == 0 || enderRatioInside > enderRatioOutside) {
+            byteOffset = firstQuoteOffset + 1;
+        }
+    }
+
+    @Override
+    protected void fill() {
+        // All data is already mapped
+    }
+
+    @Override
+    public void close() {
+        // Mappings are released once no longer referenced
+    }
+}
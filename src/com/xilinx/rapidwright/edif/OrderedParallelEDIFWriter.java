@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2024, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.edif;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Future;
+
+import com.xilinx.rapidwright.util.BlockGZIP;
+import com.xilinx.rapidwright.util.ParallelismTools;
+
+/**
+ * Writes segments of an EDIF file that are serialized concurrently into their own byte buffers and
+ * stitched together in the order they were submitted, so that the output is identical to writing
+ * them sequentially.  To bound memory, at most a fixed window of segments is in flight: submitting a
+ * segment beyond that window first writes out the oldest one, waiting for it (or running it on the
+ * calling thread) if necessary.
+ *
+ * If gzip compression is requested, each segment is also compressed on its worker thread and written
+ * as a separate gzip member; a concatenation of gzip members is itself a valid gzip stream. Members are
+ * written in the block-indexed format of {@link BlockGZIP}, which lets {@link ParallelEDIFParser} split
+ * the decompression of the resulting file between its threads.
+ */
+class OrderedParallelEDIFWriter implements Closeable {
+
+    /**
+     * Serializes one segment of the EDIF file. As each segment is buffered (and compressed) whole, callers
+     * must keep segments bounded in size, e.g. by splitting large cells (see
+     * {@link EDIFLibrary#exportEDIF(OrderedParallelEDIFWriter, EDIFWriteLegalNameCache, boolean)}).
+     */
+    interface Segment {
+        void write(OutputStream os) throws IOException;
+    }
+
+    /** Initial size of each segment's buffer */
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+    private final OutputStream out;
+    private final boolean gzip;
+    private final int window;
+    private final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+
+    /**
+     * @param out The stream to write all segments to, in order.
+     * @param gzip Flag to gzip-compress each segment.
+     * @param window Maximum number of segments that may be buffered at once.
+     */
+    OrderedParallelEDIFWriter(OutputStream out, boolean gzip, int window) {
+        this.out = out;
+        this.gzip = gzip;
+        this.window = Math.max(1, window);
+    }
+
+    private byte[] serialize(Segment segment) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+        segment.write(buffer);
+        return gzip ? BlockGZIP.compressBlock(buffer.toByteArray()) : buffer.toByteArray();
+    }
+
+    /**
+     * Schedules a segment to be serialized and then written after all previously submitted segments.
+     * @param segment The segment to serialize.
+     */
+    void submit(Segment segment) throws IOException {
+        while (pending.size() >= window) {
+            writeFirst();
+        }
+        pending.addLast(ParallelismTools.submit(() -> serialize(segment)));
+    }
+
+    private void writeFirst() throws IOException {
+        out.write(ParallelismTools.joinFirst(pending));
+    }
+
+    /**
+     * Writes out all outstanding segments and flushes (but does not close) the underlying stream.
+     */
+    @Override
+    public void close() throws IOException {
+        while (!pending.isEmpty()) {
+            writeFirst();
+        }
+        out.flush();
+    }
+}
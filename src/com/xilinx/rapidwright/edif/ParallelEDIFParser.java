@@ -24,7 +24,9 @@
 package com.xilinx.rapidwright.edif;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -40,6 +42,7 @@ import java.util.stream.Collectors;
 
 import com.xilinx.rapidwright.device.Device;
 import com.xilinx.rapidwright.tests.CodePerfTracker;
+import com.xilinx.rapidwright.util.BlockGZIP;
 import com.xilinx.rapidwright.util.FileTools;
 import com.xilinx.rapidwright.util.ParallelismTools;
 import com.xilinx.rapidwright.util.Params;
@@ -61,20 +64,43 @@ public class ParallelEDIFParser implements AutoCloseable{
 
     protected final EDIFReadLegalNameCache cache;
 
+    /**
+     * Flag set if the input is read from fileName itself (rather than from an arbitrary stream), so that
+     * it may be memory-mapped or read starting at an index of a block-indexed gzip file
+     */
+    private final boolean readsFromFile;
+    /** Regions of the uncompressed input file if it is memory-mapped, null otherwise */
+    private ByteBuffer[] mappedRegions;
+    /** Index of the input file if it is a block-indexed gzip file, null otherwise */
+    private BlockGZIP.Index blockIndex;
+
+    /**
+     * Flag to memory-map uncompressed EDIF files, with all workers tokenizing straight out of the shared
+     * mapping (see {@link MappedEDIFTokenizer}). If false, each worker reads the file through its own
+     * InputStream.
+     */
+    public static boolean USE_MEMORY_MAPPING = true;
+
     /**
      * Estimated ratio of EDIF to gzipped EDIF file size, used in calculating the
      * number of thread workers for parallel EDIF parsing
      */
     public static final int EDIF_GZIP_COMPRESSION_RATIO = 16;
 
-    ParallelEDIFParser(Path fileName, long fileSize, InputStreamSupplier inputStreamSupplier,
-            int maxTokenLength, int maxThreads) {
+    private ParallelEDIFParser(Path fileName, long fileSize, InputStreamSupplier inputStreamSupplier,
+            int maxTokenLength, int maxThreads, boolean readsFromFile) {
         this.fileName = fileName;
         this.fileSize = fileSize;
         this.inputStreamSupplier = inputStreamSupplier;
         this.maxTokenLength = maxTokenLength;
         this.cache = EDIFReadLegalNameCache.createMultiThreaded();
         this.maxThreads = maxThreads;
+        this.readsFromFile = readsFromFile;
+    }
+
+    ParallelEDIFParser(Path fileName, long fileSize, InputStreamSupplier inputStreamSupplier,
+            int maxTokenLength, int maxThreads) {
+        this(fileName, fileSize, inputStreamSupplier, maxTokenLength, maxThreads, false);
     }
 
     public ParallelEDIFParser(Path fileName, long fileSize, InputStreamSupplier inputStreamSupplier) {
@@ -82,9 +108,14 @@ public class ParallelEDIFParser implements AutoCloseable{
                 Integer.MAX_VALUE);
     }
 
-    public ParallelEDIFParser(Path p, long fileSize) {
+    public ParallelEDIFParser(Path p, long fileSize, int maxThreads) {
         this(p, fileSize, InputStreamSupplier.fromPath(p,
-                p.toString().endsWith(".gz") && Params.RW_DECOMPRESS_GZIPPED_EDIF_TO_DISK));
+                p.toString().endsWith(".gz") && Params.RW_DECOMPRESS_GZIPPED_EDIF_TO_DISK),
+                EDIFTokenizer.DEFAULT_MAX_TOKEN_LENGTH, maxThreads, true);
+    }
+
+    public ParallelEDIFParser(Path p, long fileSize) {
+        this(p, fileSize, Integer.MAX_VALUE);
     }
 
     public ParallelEDIFParser(Path p) throws IOException {
@@ -92,6 +123,20 @@ public class ParallelEDIFParser implements AutoCloseable{
     }
 
     protected ParallelEDIFParserWorker makeWorker(long offset) throws IOException {
+        if (mappedRegions != null) {
+            EDIFTokenizer tokenizer = new MappedEDIFTokenizer(fileName, mappedRegions, fileSize, uniquifier,
+                    maxTokenLength);
+            return new ParallelEDIFParserWorker(tokenizer, null, offset, cache);
+        }
+        if (blockIndex != null) {
+            // Start decompressing at the block that contains the offset rather than at the file's beginning.
+            // Non-first workers need to skip at least one byte, which makes them search for a token start
+            int block = blockIndex.findBlock(Math.max(0, offset - 1));
+            InputStream in = BlockGZIP.getInputStream(fileName, blockIndex, block);
+            EDIFTokenizer tokenizer = new EDIFTokenizer(fileName, in, uniquifier, maxTokenLength);
+            tokenizer.setStreamOffset(blockIndex.getUncompressedOffset(block));
+            return new ParallelEDIFParserWorker(tokenizer, in, offset, cache);
+        }
         return new ParallelEDIFParserWorker(fileName, inputStreamSupplier.get(), offset, uniquifier, maxTokenLength, cache);
     }
 
@@ -106,9 +151,22 @@ public class ParallelEDIFParser implements AutoCloseable{
     protected void initializeWorkers() throws IOException {
         workers.clear();
         boolean isGzipped = fileName.toString().endsWith(".gz");
-        int threads = calcThreads(fileSize, maxThreads, isGzipped);
-        long offsetPerThread = (isGzipped ? (fileSize * EDIF_GZIP_COMPRESSION_RATIO) : fileSize)
-                / threads;
+        long size = isGzipped ? (fileSize * EDIF_GZIP_COMPRESSION_RATIO) : fileSize;
+        mappedRegions = null;
+        blockIndex = null;
+        if (readsFromFile && !isGzipped && USE_MEMORY_MAPPING) {
+            mappedRegions = MappedEDIFTokenizer.map(fileName, maxTokenLength);
+        } else if (readsFromFile && isGzipped && !Params.RW_DECOMPRESS_GZIPPED_EDIF_TO_DISK) {
+            blockIndex = BlockGZIP.readIndex(fileName);
+            if (blockIndex != null) {
+                // Workers decompress only from their own block onwards, so the size is exact and the
+                // number of threads is not limited by single-stream decompression
+                size = blockIndex.getUncompressedSize();
+                isGzipped = false;
+            }
+        }
+        int threads = calcThreads(isGzipped ? fileSize : size, maxThreads, isGzipped);
+        long offsetPerThread = size / threads;
         for (int i=0;i<threads;i++) {
             ParallelEDIFParserWorker worker = makeWorker(i*offsetPerThread);
             workers.add(worker);
@@ -121,7 +179,7 @@ public class ParallelEDIFParser implements AutoCloseable{
         EDIFNetlist netlist = parseEDIFNetlist(CodePerfTracker.SILENT);
         if (fileName != null && fileName.toString().endsWith(".gz")
                 && Params.RW_DECOMPRESS_GZIPPED_EDIF_TO_DISK) {
-            Files.delete(FileTools.getDecompressedGZIPFileName(fileName));
+            Files.deleteIfExists(FileTools.getDecompressedGZIPFileName(fileName));
         }
         return netlist;
     }
@@ -300,6 +358,7 @@ public class ParallelEDIFParser implements AutoCloseable{
         for (ParallelEDIFParserWorker worker : workers) {
             worker.close();
         }
+        mappedRegions = null;
     }
 
     public int getNumberOfThreads() {
@@ -71,6 +71,16 @@ public class ParallelEDIFParserWorker extends AbstractEDIFParserWorker implement
         this.cache = cache;
     }
 
+    /**
+     * Create a worker that reads through the provided tokenizer, which may not necessarily start at the
+     * beginning of the file (see {@link EDIFTokenizer#setStreamOffset(long)}).
+     */
+    ParallelEDIFParserWorker(EDIFTokenizer tokenizer, InputStream in, long offset, EDIFReadLegalNameCache cache) {
+        super(tokenizer, in, cache);
+        this.offset = offset;
+        this.cache = cache;
+    }
+
     public boolean isFirstParser() {
         return offset == 0;
     }
@@ -80,7 +90,7 @@ public class ParallelEDIFParserWorker extends AbstractEDIFParserWorker implement
      * @return true if successful
      */
     public boolean parseFirstToken() {
-        tokenizer.skip(offset);
+        tokenizer.skip(offset - tokenizer.getByteOffset());
         if (isFirstParser()) {
             parseToFirstCell();
             firstCellToken = getNextTokenWithOffset(true);
@@ -247,7 +257,7 @@ public class ParallelEDIFParserWorker extends AbstractEDIFParserWorker implement
 
     @Override
     public void close() throws IOException {
-        in.close();
+        tokenizer.close();
     }
 
     @Override
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2024, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.edif.compare;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.Future;
+
+import com.xilinx.rapidwright.edif.EDIFCell;
+import com.xilinx.rapidwright.edif.EDIFCellInst;
+import com.xilinx.rapidwright.edif.EDIFLibrary;
+import com.xilinx.rapidwright.edif.EDIFNet;
+import com.xilinx.rapidwright.edif.EDIFNetlist;
+import com.xilinx.rapidwright.edif.EDIFPort;
+import com.xilinx.rapidwright.edif.EDIFPortInst;
+import com.xilinx.rapidwright.edif.EDIFPropertyObject;
+import com.xilinx.rapidwright.edif.EDIFPropertyValue;
+import com.xilinx.rapidwright.util.HashTools;
+import com.xilinx.rapidwright.util.ParallelismTools;
+
+/**
+ * Computes a 64-bit structural hash of an {@link EDIFCell} that covers everything
+ * {@link EDIFNetlistComparator} compares on a cell: its name, view and properties, its ports, its
+ * instances (including the name and library of their cell type) and the connectivity of its nets.
+ * Collections are combined independently of their iteration order, since the comparator matches objects
+ * by name. Two cells with the same hash can thus be assumed to compare equal.
+ */
+public class EDIFCellHash {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static long add(long h, long value) {
+        return HashTools.mix(h ^ value) + FNV_PRIME;
+    }
+
+    private static long add(long h, Object o) {
+        if (o == null) {
+            return add(h, 0x5bd1e995L);
+        }
+        String s = o.toString();
+        long sh = FNV_OFFSET;
+        for (int i = 0; i < s.length(); i++) {
+            sh = (sh ^ s.charAt(i)) * FNV_PRIME;
+        }
+        return add(add(h, sh), s.length());
+    }
+
+    private static long hashProperties(EDIFPropertyObject o) {
+        long sum = 0;
+        for (Entry<String, EDIFPropertyValue> e : o.getPropertiesMap().entrySet()) {
+            EDIFPropertyValue value = e.getValue();
+            long h = add(FNV_OFFSET, e.getKey());
+            h = add(h, value.getValue());
+            h = add(h, value.getType());
+            h = add(h, value.getOwner());
+            sum += HashTools.mix(h);
+        }
+        return sum;
+    }
+
+    private static long hashPort(EDIFPort port) {
+        long h = add(FNV_OFFSET, port.getName());
+        h = add(h, port.getBusName());
+        h = add(h, port.getWidth());
+        h = add(h, port.getDirection());
+        h = add(h, port.getLeft());
+        h = add(h, port.getRight());
+        h = add(h, port.isLittleEndian() ? 1 : 0);
+        return add(h, hashProperties(port));
+    }
+
+    private static long hashPortInst(EDIFPortInst portInst) {
+        long h = add(FNV_OFFSET, portInst.getName());
+        h = add(h, portInst.getDirection());
+        h = add(h, portInst.getFullName());
+        h = add(h, portInst.getIndex());
+        h = add(h, portInst.getPort().getName());
+        return add(h, portInst.getCellInst() == null ? null : portInst.getCellInst().getName());
+    }
+
+    private static long hashNet(EDIFNet net) {
+        long portInsts = 0;
+        for (EDIFPortInst portInst : net.getPortInsts()) {
+            portInsts += HashTools.mix(hashPortInst(portInst));
+        }
+        long h = add(FNV_OFFSET, net.getName());
+        h = add(h, portInsts);
+        return add(h, hashProperties(net));
+    }
+
+    private static long hashInst(EDIFCellInst inst) {
+        long h = add(FNV_OFFSET, inst.getName());
+        h = add(h, inst.getViewref() == null ? null : inst.getViewref().getName());
+        EDIFCell type = inst.getCellType();
+        h = add(h, type == null ? null : type.getName());
+        h = add(h, type == null || type.getLibrary() == null ? null : type.getLibrary().getName());
+        return add(h, hashProperties(inst));
+    }
+
+    /**
+     * Computes the structural hash of a cell.
+     * @param cell The cell to hash.
+     * @return The hash.
+     */
+    public static long hashCell(EDIFCell cell) {
+        long ports = 0;
+        for (EDIFPort port : cell.getPorts()) {
+            ports += HashTools.mix(hashPort(port));
+        }
+        long nets = 0;
+        for (EDIFNet net : cell.getNets()) {
+            nets += HashTools.mix(hashNet(net));
+        }
+        long insts = 0;
+        for (EDIFCellInst inst : cell.getCellInsts()) {
+            insts += HashTools.mix(hashInst(inst));
+        }
+        long h = add(FNV_OFFSET, cell.getName());
+        h = add(h, cell.getView());
+        h = add(h, hashProperties(cell));
+        h = add(h, ports);
+        h = add(h, nets);
+        return add(h, insts);
+    }
+
+    /**
+     * Computes the structural hashes of all cells of a netlist in parallel.
+     * @param netlist The netlist.
+     * @return Map of each cell (by identity) to its hash.
+     */
+    public static Map<EDIFCell, Long> hashCells(EDIFNetlist netlist) {
+        List<EDIFCell> cells = new ArrayList<>();
+        for (EDIFLibrary lib : netlist.getLibraries()) {
+            cells.addAll(lib.getCells());
+        }
+        List<Future<Long>> hashes = ParallelismTools.invokeAll(cells, EDIFCellHash::hashCell);
+        Map<EDIFCell, Long> cellHashes = new IdentityHashMap<>(cells.size());
+        for (int i = 0; i < cells.size(); i++) {
+            cellHashes.put(cells.get(i), ParallelismTools.get(hashes.get(i)));
+        }
+        return cellHashes;
+    }
+}
@@ -75,11 +75,20 @@ public class EDIFNetlistComparator {
      * flag attempts to account for the majority of those changes.
      */
     public boolean filterVivadoChanges = true;
+
+    /**
+     * Setting this to true will first compute the structural hash (see {@link EDIFCellHash}) of every
+     * cell of both netlists in parallel and then only compare the cells whose hashes differ. This is
+     * much faster when most cells are identical, such as before and after an ECO.
+     */
+    public boolean useStructuralHashing = false;
     
     private Map<EDIFDiffType, List<EDIFDiff>> diffMap;
 
     private int diffCount;
 
+    private int identicalCellCount;
+
     public EDIFNetlistComparator() {
         diffMap = new HashMap<>();
         diffCount = 0;
@@ -302,6 +311,14 @@ public class EDIFNetlistComparator {
 
     public int compareNetlists(EDIFNetlist gold, EDIFNetlist test) {
         diffMap = new LinkedHashMap<>();
+        diffCount = 0;
+        identicalCellCount = 0;
+        Map<EDIFCell, Long> goldHashes = null;
+        Map<EDIFCell, Long> testHashes = null;
+        if (useStructuralHashing) {
+            goldHashes = EDIFCellHash.hashCells(gold);
+            testHashes = EDIFCellHash.hashCells(test);
+        }
 
         Map<String, EDIFLibrary> testLibs = new HashMap<>(test.getLibrariesMap());
         for (Entry<String, EDIFLibrary> e : gold.getLibrariesMap().entrySet()) {
@@ -321,8 +338,13 @@ public class EDIFNetlistComparator {
                 EDIFCell testCell = testCells.remove(e2.getKey());
                 if (testCell == null) {
                     addDiff(EDIFDiffType.CELL_MISSING, e2.getValue(), testCell, null, goldLib, "");
+                    continue;
                 }
                 EDIFCell goldCell = e2.getValue();
+                if (goldHashes != null && goldHashes.get(goldCell).equals(testHashes.get(testCell))) {
+                    identicalCellCount++;
+                    continue;
+                }
                 checkCell(goldCell, testCell);
             }
             for (Entry<String, EDIFCell> e2 : testCells.entrySet()) {
@@ -338,6 +360,14 @@ public class EDIFNetlistComparator {
         return diffCount;
     }
 
+    /**
+     * @return The number of cells the last comparison skipped since their structural hashes matched,
+     * if {@link #useStructuralHashing} was set.
+     */
+    public int getIdenticalCellCount() {
+        return identicalCellCount;
+    }
+
     private static boolean isHDUniqueified(EDIFCell cell) {
         String name = cell.getName();
         int index = name.length() - 1;
@@ -28,13 +28,16 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
@@ -55,7 +58,7 @@ public class Interchange {
 
     /** Flag indicating use of Packed Cap'n Proto Serialization */
     public static boolean IS_PACKED = false;
-    /** Flag indicating that files are gzipped on output */
+    /** Flag indicating that files are gzipped on output (on input, gzip compression is detected automatically) */
     public static boolean IS_GZIPPED = true;
     /** Standard file extension for a logical netlist in the FPGA Interchange Format */
     public static final String LOG_NETLIST_EXT = ".netlist";
@@ -250,15 +253,45 @@ public class Interchange {
     }
 
     /**
-     * Common method used to read Interchange files
+     * Checks if the given file starts with the gzip magic number.
+     * @param fileName Name of the file to check
+     * @return True if the file is gzip compressed.
+     * @throws IOException
+     */
+    public static boolean isGzipped(String fileName) throws IOException {
+        try (FileInputStream fis = new FileInputStream(fileName)) {
+            int b0 = fis.read();
+            int b1 = fis.read();
+            return b0 == (GZIPInputStream.GZIP_MAGIC & 0xff) && b1 == (GZIPInputStream.GZIP_MAGIC >>> 8);
+        }
+    }
+
+    /**
+     * Common method used to read Interchange files. Whether the file is gzip compressed is detected from
+     * its contents, regardless of {@link #IS_GZIPPED}. Uncompressed files that are not packed (see
+     * {@link #IS_PACKED}) are memory-mapped, and the returned message reads its segments directly from the
+     * mapping without copying them onto the heap.
      * @param fileName Name of the file to read
      * @param readOptions The reader options
      * @return The read message from the file
      * @throws IOException
      */
     public static MessageReader readInterchangeFile(String fileName, ReaderOptions readOptions) throws IOException {
+        boolean isGzipped = isGzipped(fileName);
+        if (!isGzipped && !IS_PACKED) {
+            try (FileChannel fc = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+                long size = fc.size();
+                // A single mapping is limited to 2GB
+                if (size <= Integer.MAX_VALUE) {
+                    // The mapping remains valid after the channel is closed
+                    MappedByteBuffer mbb = fc.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                    return Serialize.read(mbb, readOptions);
+                }
+            }
+        }
+
         ReadableByteChannel channel = null;
-        if (IS_GZIPPED) {
+        if (isGzipped) {
             GZIPInputStream gis = new GZIPInputStream(new FileInputStream(fileName));
             channel = Channels.newChannel(gis);
         } else {
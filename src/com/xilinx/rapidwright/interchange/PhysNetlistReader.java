@@ -69,6 +69,7 @@ import com.xilinx.rapidwright.interchange.PhysicalNetlist.PhysNetlist.RouteBranc
 import com.xilinx.rapidwright.interchange.PhysicalNetlist.PhysNetlist.RouteBranch.RouteSegment;
 import com.xilinx.rapidwright.interchange.PhysicalNetlist.PhysNetlist.SiteInstance;
 import com.xilinx.rapidwright.tests.CodePerfTracker;
+import com.xilinx.rapidwright.util.ParallelismTools;
 import org.capnproto.MessageReader;
 import org.capnproto.PrimitiveList;
 import org.capnproto.ReaderOptions;
@@ -80,12 +81,14 @@ import org.python.google.common.base.Optional;
 import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 public class PhysNetlistReader {
@@ -116,6 +119,17 @@ public class PhysNetlistReader {
      */
     public static boolean CHECK_AND_CREATE_LOGICAL_CELL_IF_NOT_PRESENT = false;
 
+    /**
+     * Decodes strings, site instances and the routing of nets using multiple threads (when
+     * {@link ParallelismTools#getParallel()} is also true). Site instances and nets are still added
+     * to the design, and intra-site routing applied, in file order so the resulting design is
+     * identical to that of a single-threaded read.
+     */
+    public static boolean PARALLEL_READ = true;
+
+    /** Minimum number of list elements decoded by one parallel task */
+    private static final int MIN_ITEMS_PER_TASK = 4096;
+
     protected final Design design;
     protected Device device;
 
@@ -191,15 +205,39 @@ public class PhysNetlistReader {
         return reader.read(physNetlistFileName);
     }
 
+    private interface RangeTask {
+        void run(int start, int end);
+    }
+
+    /**
+     * Runs the given task over the indices [0, count), split into contiguous chunks that are run in
+     * parallel if there are enough of them and parallel reading is enabled.
+     */
+    private static void invokeInChunks(int count, RangeTask task) {
+        if (!PARALLEL_READ || !ParallelismTools.getParallel() || count < 2 * MIN_ITEMS_PER_TASK) {
+            task.run(0, count);
+            return;
+        }
+        int numTasks = Math.min(count / MIN_ITEMS_PER_TASK, 4 * ParallelismTools.maxParallelism());
+        Runnable[] tasks = new Runnable[numTasks];
+        for (int i = 0; i < numTasks; i++) {
+            int start = (int) ((long) count * i / numTasks);
+            int end = (int) ((long) count * (i + 1) / numTasks);
+            tasks[i] = () -> task.run(start, end);
+        }
+        ParallelismTools.invokeAll(tasks);
+    }
+
     public static List<String> readAllStrings(PhysNetlist.Reader physNetlist) {
         TextList.Reader strListReader = physNetlist.getStrList();
         int strCount = strListReader.size();
-        List<String> allStrings = new ArrayList<>(strCount);
-        for (int i=0; i < strCount; i++) {
-            String str = strListReader.get(i).toString();
-            allStrings.add(str);
-        }
-        return allStrings;
+        String[] allStrings = new String[strCount];
+        invokeInChunks(strCount, (start, end) -> {
+            for (int i = start; i < end; i++) {
+                allStrings[i] = strListReader.get(i).toString();
+            }
+        });
+        return new ArrayList<>(Arrays.asList(allStrings));
     }
 
     protected void readSiteInsts(PhysNetlist.Reader physNetlist) {
@@ -211,13 +249,23 @@ public class PhysNetlistReader {
                     + "SiteInst information be specified to avoid SiteTypeEnum mismatch problems.");
         }
 
-        siteInsts = new HashMap<>(siteInstCount);
-
+        // Concurrent, as static source SiteInsts may be created while reading routing in parallel
+        siteInsts = new ConcurrentHashMap<>(siteInstCount);
+
+        // Look up sites and types in parallel, but create SiteInsts in file order
+        Site[] sites = new Site[siteInstCount];
+        SiteTypeEnum[] types = new SiteTypeEnum[siteInstCount];
+        invokeInChunks(siteInstCount, (start, end) -> {
+            for (int i = start; i < end; i++) {
+                SiteInstance.Reader r = siteInstsReader.get(i);
+                sites[i] = device.getSite(strings.get(r.getSite()));
+                types[i] = SiteTypeEnum.valueOf(strings.get(r.getType()));
+            }
+        });
         for (int i=0; i < siteInstCount; i++) {
             SiteInstance.Reader r = siteInstsReader.get(i);
             String siteName = strings.get(r.getSite());
-            SiteTypeEnum type = SiteTypeEnum.valueOf(strings.get(r.getType()));
-            SiteInst si = design.createSiteInst(siteName, type, device.getSite(siteName));
+            SiteInst si = design.createSiteInst(siteName, types[i], sites[i]);
             siteInsts.put(r.getSite(), si);
         }
     }
@@ -462,14 +510,19 @@ public class PhysNetlistReader {
     }
 
     private void readRouting(PhysNetlist.Reader physNetlist) {
-        tiles = new HashMap<>();
-        pipCache = new PIPCache(new HashMap<>(), strings);
-        belPinCache = new BELPinCache(new HashMap<>(), strings);
-
         StructList.Reader<PhysNetlist.PhysNet.Reader> nets = physNetlist.getPhysNets();
+        boolean parallel = PARALLEL_READ && ParallelismTools.getParallel() && nets.size() >= 2 * MIN_ITEMS_PER_TASK;
 
-        // For single-threaded read, add net to design object immediately
-        readRouting(nets, design::addNet);
+        tiles = parallel ? new ConcurrentHashMap<>() : new HashMap<>();
+        pipCache = new PIPCache(parallel ? new ConcurrentHashMap<>() : new HashMap<>(), strings);
+        belPinCache = new BELPinCache(parallel ? new ConcurrentHashMap<>() : new HashMap<>(), strings);
+
+        if (parallel) {
+            readRoutingInParallel(nets);
+        } else {
+            // For single-threaded read, add net to design object immediately
+            readRouting(nets, design::addNet);
+        }
 
         tiles = null;
         pipCache = null;
@@ -481,79 +534,146 @@ public class PhysNetlistReader {
         Set<Wire> stubWires = new HashSet<>();
         for (int i=0; i < netCount; i++) {
             PhysNet.Reader netReader = nets.get(i);
-            String netName = strings.get(netReader.getName());
-            Net net = new Net(netName);
-            net.setDesign(design);
-            net.setType(getNetType(netReader, netName));
+            Net net = createNet(netReader);
             addNetToDesign.accept(net);
+            readNetRouting(netReader, net, stubWires, null);
+            markLogicalDriver(net);
+        }
+    }
 
-            // Stub Nodes
-            if (netReader.hasStubNodes()) {
-                StructList.Reader<PhysNode.Reader> stubNodes = netReader.getStubNodes();
-                int stubNodeCount = stubNodes.size();
-                for (int j = 0; j < stubNodeCount; j++) {
-                    PhysNode.Reader stubNodeReader = stubNodes.get(j);
-                    Tile tile = getTile(stubNodeReader.getTile());
-                    Integer wireIdx = getWireIndex(tile, stubNodeReader.getWire());
-                    Wire wire = new Wire(tile, wireIdx);
-                    boolean added = stubWires.add(wire);
-                    assert (added);
-                }
+    /**
+     * Reads the routing of all nets using multiple threads. Each thread decodes a contiguous range of
+     * nets, creating their PIPs and recording (but not applying) the changes they make to site
+     * instances, which are not thread-safe. Nets are then added to the design and the recorded site
+     * changes applied in file order, exactly as {@link #readRouting(StructList.Reader, Consumer)} would.
+     */
+    protected void readRoutingInParallel(StructList.Reader<PhysNet.Reader> nets) {
+        int netCount = nets.size();
+        Net[] readNets = new Net[netCount];
+        List<List<Runnable>> siteChanges = new ArrayList<>(netCount);
+        for (int i = 0; i < netCount; i++) {
+            siteChanges.add(null);
+        }
+        invokeInChunks(netCount, (start, end) -> {
+            Set<Wire> stubWires = new HashSet<>();
+            for (int i = start; i < end; i++) {
+                PhysNet.Reader netReader = nets.get(i);
+                Net net = createNet(netReader);
+                List<Runnable> changes = new ArrayList<>();
+                readNetRouting(netReader, net, stubWires, changes);
+                readNets[i] = net;
+                siteChanges.set(i, changes);
             }
-
-            // Sources
-            if (netReader.hasSources()) {
-                StructList.Reader<RouteBranch.Reader> routeSrcs = netReader.getSources();
-                int routeSrcsCount = routeSrcs.size();
-                for (int j = 0; j < routeSrcsCount; j++) {
-                    RouteBranch.Reader branchReader = routeSrcs.get(j);
-                    readRouteBranch(stubWires, branchReader, net, null);
-                }
+        });
+        for (int i = 0; i < netCount; i++) {
+            Net net = readNets[i];
+            design.addNet(net);
+            for (Runnable change : siteChanges.get(i)) {
+                change.run();
             }
-            // Stubs
-            if (netReader.hasStubs()) {
-                StructList.Reader<RouteBranch.Reader> routeStubs = netReader.getStubs();
-                int routeStubsCount = routeStubs.size();
-                for (int j=0; j < routeStubsCount; j++) {
-                    RouteBranch.Reader branchReader = routeStubs.get(j);
-                    readRouteBranch(stubWires, branchReader, net, null);
-                }
+            siteChanges.set(i, null);
+            markLogicalDriver(net);
+        }
+    }
+
+    private Net createNet(PhysNet.Reader netReader) {
+        String netName = strings.get(netReader.getName());
+        Net net = new Net(netName);
+        net.setDesign(design);
+        net.setType(getNetType(netReader, netName));
+        return net;
+    }
+
+    /**
+     * Reads the stub nodes and route branches of one net.
+     * @param netReader Reader of the net.
+     * @param net The net to be populated.
+     * @param stubWires Empty set used as scratch space, which is left empty.
+     * @param siteChanges If not null, changes to site instances are appended to this list to be run
+     * later instead of being applied immediately.
+     */
+    private void readNetRouting(PhysNet.Reader netReader, Net net, Set<Wire> stubWires, List<Runnable> siteChanges) {
+        // Stub Nodes
+        if (netReader.hasStubNodes()) {
+            StructList.Reader<PhysNode.Reader> stubNodes = netReader.getStubNodes();
+            int stubNodeCount = stubNodes.size();
+            for (int j = 0; j < stubNodeCount; j++) {
+                PhysNode.Reader stubNodeReader = stubNodes.get(j);
+                Tile tile = getTile(stubNodeReader.getTile());
+                Integer wireIdx = getWireIndex(tile, stubNodeReader.getWire());
+                Wire wire = new Wire(tile, wireIdx);
+                boolean added = stubWires.add(wire);
+                assert (added);
             }
+        }
 
-            // Stub nodes that don't belong on a PIP
-            for (Wire wire : stubWires) {
-                PIP pip = new PIP(wire.getTile(), wire.getWireIndex(), PIP.NULL_END_WIRE_IDX);
-                net.addPIP(pip);
+        // Sources
+        if (netReader.hasSources()) {
+            StructList.Reader<RouteBranch.Reader> routeSrcs = netReader.getSources();
+            int routeSrcsCount = routeSrcs.size();
+            for (int j = 0; j < routeSrcsCount; j++) {
+                RouteBranch.Reader branchReader = routeSrcs.get(j);
+                readRouteBranch(stubWires, branchReader, net, null, siteChanges);
             }
-            stubWires.clear();
-
-            // Nets with more than one routed source (e.g. A_O and AMUX) should have
-            // the first PIP driven by either source marked as a logical driver
-            if (net.getType() == NetType.WIRE) {
-                SitePinInst altSource = net.getAlternateSource();
-                if (altSource != null) {
-                    assert(!net.isClockNet());
-
-                    SitePinInst source = net.getSource();
-                    assert(source.getTile() == altSource.getTile());
-
-                    DesignTools.updatePinsIsRouted(net);
-                    if (source.isRouted() && altSource.isRouted()) {
-                        Tile sourceTile = altSource.getTile();
-                        for (PIP pip : net.getPIPs()) {
-                            if (pip.getTile() != sourceTile) {
-                                continue;
-                            }
-                            if (pip.isRouteThru()) {
-                                continue;
-                            }
-                            SitePin sp = pip.getStartNode().getSitePin();
-                            if (sp.getPinName().equals(source.getName())) {
-                                pip.setIsLogicalDriver(true);
-                                break;
-                            }
-                        }
-                    }
+        }
+        // Stubs
+        if (netReader.hasStubs()) {
+            StructList.Reader<RouteBranch.Reader> routeStubs = netReader.getStubs();
+            int routeStubsCount = routeStubs.size();
+            for (int j=0; j < routeStubsCount; j++) {
+                RouteBranch.Reader branchReader = routeStubs.get(j);
+                readRouteBranch(stubWires, branchReader, net, null, siteChanges);
+            }
+        }
+
+        // Stub nodes that don't belong on a PIP
+        for (Wire wire : stubWires) {
+            PIP pip = new PIP(wire.getTile(), wire.getWireIndex(), PIP.NULL_END_WIRE_IDX);
+            net.addPIP(pip);
+        }
+        stubWires.clear();
+    }
+
+    private static void applySiteChange(List<Runnable> siteChanges, Runnable change) {
+        if (siteChanges == null) {
+            change.run();
+        } else {
+            siteChanges.add(change);
+        }
+    }
+
+    /**
+     * Nets with more than one routed source (e.g. A_O and AMUX) should have
+     * the first PIP driven by either source marked as a logical driver
+     * @param net The net, whose site pins must already have been created.
+     */
+    private static void markLogicalDriver(Net net) {
+        if (net.getType() != NetType.WIRE) {
+            return;
+        }
+        SitePinInst altSource = net.getAlternateSource();
+        if (altSource == null) {
+            return;
+        }
+        assert(!net.isClockNet());
+
+        SitePinInst source = net.getSource();
+        assert(source.getTile() == altSource.getTile());
+
+        DesignTools.updatePinsIsRouted(net);
+        if (source.isRouted() && altSource.isRouted()) {
+            Tile sourceTile = altSource.getTile();
+            for (PIP pip : net.getPIPs()) {
+                if (pip.getTile() != sourceTile) {
+                    continue;
+                }
+                if (pip.isRouteThru()) {
+                    continue;
+                }
+                SitePin sp = pip.getStartNode().getSitePin();
+                if (sp.getPinName().equals(source.getName())) {
+                    pip.setIsLogicalDriver(true);
+                    break;
                 }
             }
         }
@@ -585,7 +705,8 @@ public class PhysNetlistReader {
     private void readRouteBranch(Set<Wire> stubWires,
                                  RouteBranch.Reader branchReader,
                                  Net net,
-                                 BELPin routeThruLutInput) {
+                                 BELPin routeThruLutInput,
+                                 List<Runnable> siteChanges) {
         RouteBranch.RouteSegment.Reader segment = branchReader.getRouteSegment();
         StructList.Reader<RouteBranch.Reader> branches = null;
         int branchesCount;
@@ -637,36 +758,8 @@ public class PhysNetlistReader {
                         if (branchesCount == 0) {
                             // ... and it routed through a LUT along the way
                             if (routeThruLutInput != null) {
-                                // Check that a routethru cell exists
-
-                                String belPinName = belPin.getName();
-
-                                Cell belCell = siteInst.getCell(bel);
-                                Cell routeThruCell = siteInst.getCell(routeThruLutInput.getBEL());
-                                if (routeThruCell == null) {
-                                    // Routethru cell does not exist, create one
-
-                                    // Make sure nothing placed there already
-                                    if (siteInst.getCell(routeThruLutInput.getBEL()) != null) {
-                                        throw new RuntimeException("Routethru inferred for " + siteInst.getSiteName() + "/" + routeThruLutInput.getBELName()
-                                                + " but it is already occupied");
-                                    }
-
-                                    routeThruCell = new Cell(belCell.getName(), routeThruLutInput.getBEL());
-                                    routeThruCell.setRoutethru(true);
-                                    routeThruCell.setType(belCell.getType());
-                                    routeThruCell.setSiteInst(siteInst);
-                                    addCellToSiteInst(routeThruCell);
-                                    routeThruCell.addPinMapping(routeThruLutInput.getName(), belCell.getLogicalPinMapping(belPinName));
-                                }
-
-                                String physicalPin = routeThruLutInput.getName();
-                                String logicalPin = belCell.getLogicalPinMapping(belPinName);
-                                if (routeThruCell.getSiteInst() != siteInst ||
-                                        !routeThruCell.isRoutethru() ||
-                                        !routeThruCell.getLogicalPinMapping(physicalPin).equals(logicalPin)) {
-                                    throw new RuntimeException("Invalid routethru cell: " + routeThruCell);
-                                }
+                                BELPin lutInput = routeThruLutInput;
+                                applySiteChange(siteChanges, () -> checkOrCreateRouteThruCell(siteInst, belPin, lutInput));
                             }
                         } else {
                             assert (routeThruLutInput == null);
@@ -678,7 +771,7 @@ public class PhysNetlistReader {
                     assert(!belPin.isInput());
 
                     // Only output BEL pins affect intra-site routing
-                    addBELPinToSiteInst(belPin, siteInst, net);
+                    applySiteChange(siteChanges, () -> addBELPinToSiteInst(belPin, siteInst, net));
                 }
                 break;
             }
@@ -686,14 +779,17 @@ public class PhysNetlistReader {
                 PhysSitePIP.Reader spReader = segment.getSitePIP();
                 SiteInst siteInst = getOrCreatePlacedSiteInst(spReader.getSite(), net);
                 BELPin belPin = getBELPin(siteInst, spReader.getBel(), spReader.getPin());
-                SitePIP sitePIP = siteInst.getSitePIP(belPin);
-                addSitePIPToSiteInst(sitePIP, siteInst);
+                applySiteChange(siteChanges, () -> {
+                    SitePIP sitePIP = siteInst.getSitePIP(belPin);
+                    addSitePIPToSiteInst(sitePIP, siteInst);
+                });
                 break;
             }
             case SITE_PIN: {
                 PhysSitePin.Reader spReader = segment.getSitePin();
                 SiteInst siteInst = getOrCreatePlacedSiteInst(spReader.getSite(), net);
-                createSitePin(spReader.getPin(), siteInst, net);
+                int pinNameIdx = spReader.getPin();
+                applySiteChange(siteChanges, () -> createSitePin(pinNameIdx, siteInst, net));
                 assert(routeThruLutInput == null);
                 break;
             }
@@ -704,11 +800,50 @@ public class PhysNetlistReader {
 
         for (int j=0; j < branchesCount; j++) {
             RouteBranch.Reader bReader = branches.get(j);
-            readRouteBranch(stubWires, bReader, net, routeThruLutInput);
+            readRouteBranch(stubWires, bReader, net, routeThruLutInput, siteChanges);
         }
 
     }
 
+    /**
+     * Checks that a routethru cell exists for a route branch that passed through one LUT input and
+     * terminates on another pin of the same LUT, creating one if not.
+     * @param siteInst Site instance of the LUT.
+     * @param belPin The LUT input pin that the route branch terminates on.
+     * @param routeThruLutInput The LUT input pin that was routed through.
+     */
+    private void checkOrCreateRouteThruCell(SiteInst siteInst, BELPin belPin, BELPin routeThruLutInput) {
+        BEL bel = belPin.getBEL();
+        String belPinName = belPin.getName();
+
+        Cell belCell = siteInst.getCell(bel);
+        Cell routeThruCell = siteInst.getCell(routeThruLutInput.getBEL());
+        if (routeThruCell == null) {
+            // Routethru cell does not exist, create one
+
+            // Make sure nothing placed there already
+            if (siteInst.getCell(routeThruLutInput.getBEL()) != null) {
+                throw new RuntimeException("Routethru inferred for " + siteInst.getSiteName() + "/" + routeThruLutInput.getBELName()
+                        + " but it is already occupied");
+            }
+
+            routeThruCell = new Cell(belCell.getName(), routeThruLutInput.getBEL());
+            routeThruCell.setRoutethru(true);
+            routeThruCell.setType(belCell.getType());
+            routeThruCell.setSiteInst(siteInst);
+            addCellToSiteInst(routeThruCell);
+            routeThruCell.addPinMapping(routeThruLutInput.getName(), belCell.getLogicalPinMapping(belPinName));
+        }
+
+        String physicalPin = routeThruLutInput.getName();
+        String logicalPin = belCell.getLogicalPinMapping(belPinName);
+        if (routeThruCell.getSiteInst() != siteInst ||
+                !routeThruCell.isRoutethru() ||
+                !routeThruCell.getLogicalPinMapping(physicalPin).equals(logicalPin)) {
+            throw new RuntimeException("Invalid routethru cell: " + routeThruCell);
+        }
+    }
+
     protected void readDesignProperties(PhysNetlist.Reader physNetlist) {
         StructList.Reader<Property.Reader> props = physNetlist.getProperties();
         int propCount = props.size();
@@ -22,6 +22,7 @@
  */
 package com.xilinx.rapidwright.placer.blockplacer;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
@@ -39,7 +40,18 @@ public abstract class AbstractOverlapCache<PlacementT, ModuleInstT extends Abstr
 
     public abstract boolean isValidPlacement(ModuleInstT mii);
 
-    public abstract List<ModuleInstT> getAllOverlaps(ModuleInstT mii);
+    public List<ModuleInstT> getAllOverlaps(ModuleInstT mii) {
+        List<ModuleInstT> overlaps = new ArrayList<>();
+        getAllOverlaps(mii, overlaps);
+        return overlaps;
+    }
+
+    /**
+     * Find all instances that overlap an instance, storing them in an existing list instead of allocating a new one
+     * @param mii the instance
+     * @param overlaps list to store the overlapping instances in. Cleared first.
+     */
+    public abstract void getAllOverlaps(ModuleInstT mii, List<ModuleInstT> overlaps);
 
     protected void enterOverlaps(ModuleInstT mii, Collection<ModuleInstT> l, List<ModuleInstT> overlaps) {
         if (mii.getPlacement() == null) {
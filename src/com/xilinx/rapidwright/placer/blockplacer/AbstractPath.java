@@ -24,14 +24,21 @@ package com.xilinx.rapidwright.placer.blockplacer;
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import com.xilinx.rapidwright.design.AbstractModuleInst;
 
 /**
  * A connection (net) between ports of some kind of module instances
+ *
+ * The length of a path is based on the bounding box of all of its ports. So that a move does not rescan every
+ * port, the extent of each port is cached in a primitive array. When a module instance moves, only its own ports are looked at, and the
+ * bounding box is updated incrementally. The bounding box only needs to be recalculated from the cached ports if one
+ * of its sides may have shrunk. None of this allocates.
  * @param <PortT> Port Type
  * @param <ModuleInstT> Module Instance Type
  */
@@ -44,13 +51,55 @@ public abstract class AbstractPath<PortT, ModuleInstT extends AbstractModuleInst
 
     public int undoCount = 0;
 
+    /** Number of ints stored per port in {@link #portBoxes} */
+    private static final int BOX_SIZE = 4;
+
+    protected int length;
+
+    /**
+     * Extent of each port: min column, max column, min row and max row. Ports that do not cover any tiles have
+     * a min column that is larger than their max column.
+     */
+    private int[] portBoxes = new int[0];
+    /** Indices of the ports of each module instance */
+    private Map<ModuleInstT, int[]> portIndices;
+
+    /** Bounding box of all ports. Empty if minColumn is larger than maxColumn */
+    private int minColumn;
+    private int maxColumn;
+    private int minRow;
+    private int maxRow;
+    /** Number of ports that touch each side of the bounding box */
+    private int minColumnCount;
+    private int maxColumnCount;
+    private int minRowCount;
+    private int maxRowCount;
+
+    /** State before the current move, valid if {@link #hasUndo} is set */
+    private boolean hasUndo;
+    private int undoLength;
+    private int undoMinColumn;
+    private int undoMaxColumn;
+    private int undoMinRow;
+    private int undoMaxRow;
+    private int undoMinColumnCount;
+    private int undoMaxColumnCount;
+    private int undoMinRowCount;
+    private int undoMaxRowCount;
+    /** Ports changed by the current move, and their extent before it */
+    private int[] undoPortIndices = new int[0];
+    private int[] undoPortBoxes = new int[0];
+    private int undoPortCount;
+
     /**
      *
      */
     private static final long serialVersionUID = 4016705713685431809L;
 
 
-    public abstract int getLength();
+    public int getLength() {
+        return length;
+    }
 
     public int getSize() {
         return ports.size();
@@ -62,7 +111,188 @@ public abstract class AbstractPath<PortT, ModuleInstT extends AbstractModuleInst
         return ports.iterator();
     }
 
-    public abstract void calculateLength();
+    /**
+     * Get the module instance that a port belongs to
+     * @param port the port
+     * @return the module instance, or null if the port is not moved by the placer
+     */
+    protected abstract ModuleInstT getModuleInst(PortT port);
+
+    /**
+     * Store the current extent of a port, using {@link #setPortBox(int[], int, int, int, int, int)} or
+     * {@link #setEmptyPortBox(int[], int)}
+     * @param port the port
+     * @param dest array to store the extent in
+     * @param offset index of the extent in dest
+     */
+    protected abstract void getPortBox(PortT port, int[] dest, int offset);
+
+    protected static void setPortBox(int[] dest, int offset, int minColumn, int maxColumn, int minRow, int maxRow) {
+        dest[offset] = minColumn;
+        dest[offset + 1] = maxColumn;
+        dest[offset + 2] = minRow;
+        dest[offset + 3] = maxRow;
+    }
+
+    protected static void setEmptyPortBox(int[] dest, int offset) {
+        setPortBox(dest, offset, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE);
+    }
+
+    private void initPortBoxes() {
+        if (portBoxes.length == ports.size() * BOX_SIZE) {
+            return;
+        }
+        portBoxes = new int[ports.size() * BOX_SIZE];
+        undoPortIndices = new int[ports.size()];
+        undoPortBoxes = new int[ports.size() * BOX_SIZE];
+        Map<ModuleInstT, List<Integer>> indices = new IdentityHashMap<>();
+        for (int i = 0; i < ports.size(); i++) {
+            ModuleInstT mi = getModuleInst(ports.get(i));
+            if (mi != null) {
+                indices.computeIfAbsent(mi, k -> new ArrayList<>()).add(i);
+            }
+        }
+        portIndices = new IdentityHashMap<>();
+        indices.forEach((mi, l) -> portIndices.put(mi, l.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    /**
+     * Recalculate the length from scratch, looking at all ports
+     */
+    public void calculateLength() {
+        initPortBoxes();
+        for (int i = 0; i < ports.size(); i++) {
+            getPortBox(ports.get(i), portBoxes, i * BOX_SIZE);
+        }
+        recalculateBoundingBox();
+        updateLength();
+    }
+
+    /**
+     * Update the length after a module instance has moved, only looking at the ports of that instance. Has to be
+     * called at most once per instance between {@link #saveUndo()} and {@link #restoreUndo()}.
+     * @param mi the module instance that moved
+     */
+    public void updateLength(ModuleInstT mi) {
+        if (portIndices == null) {
+            throw new IllegalStateException("Length of " + getName() + " has never been calculated");
+        }
+        final int[] indices = portIndices.get(mi);
+        if (indices == null) {
+            return;
+        }
+        boolean recalculate = false;
+        for (int index : indices) {
+            final int offset = index * BOX_SIZE;
+            if (hasUndo) {
+                if (undoPortCount == undoPortIndices.length) {
+                    throw new IllegalStateException("Port of " + getName() + " changed more than once in a move");
+                }
+                undoPortIndices[undoPortCount] = index;
+                System.arraycopy(portBoxes, offset, undoPortBoxes, undoPortCount * BOX_SIZE, BOX_SIZE);
+                undoPortCount++;
+            }
+            final int oldMinColumn = portBoxes[offset];
+            final int oldMaxColumn = portBoxes[offset + 1];
+            final int oldMinRow = portBoxes[offset + 2];
+            final int oldMaxRow = portBoxes[offset + 3];
+            getPortBox(ports.get(index), portBoxes, offset);
+            if (!recalculate) {
+                addToBoundingBox(offset);
+                recalculate = !removeFromBoundingBox(oldMinColumn, oldMaxColumn, oldMinRow, oldMaxRow);
+            }
+        }
+        if (recalculate) {
+            recalculateBoundingBox();
+        }
+        updateLength();
+    }
+
+    private void addToBoundingBox(int offset) {
+        final int portMinColumn = portBoxes[offset];
+        if (portMinColumn > portBoxes[offset + 1]) {
+            return;
+        }
+        final int portMaxColumn = portBoxes[offset + 1];
+        final int portMinRow = portBoxes[offset + 2];
+        final int portMaxRow = portBoxes[offset + 3];
+        if (minColumn > maxColumn) {
+            minColumn = portMinColumn;
+            maxColumn = portMaxColumn;
+            minRow = portMinRow;
+            maxRow = portMaxRow;
+            minColumnCount = maxColumnCount = minRowCount = maxRowCount = 1;
+            return;
+        }
+        if (portMinColumn < minColumn) {
+            minColumn = portMinColumn;
+            minColumnCount = 1;
+        } else if (portMinColumn == minColumn) {
+            minColumnCount++;
+        }
+        if (portMaxColumn > maxColumn) {
+            maxColumn = portMaxColumn;
+            maxColumnCount = 1;
+        } else if (portMaxColumn == maxColumn) {
+            maxColumnCount++;
+        }
+        if (portMinRow < minRow) {
+            minRow = portMinRow;
+            minRowCount = 1;
+        } else if (portMinRow == minRow) {
+            minRowCount++;
+        }
+        if (portMaxRow > maxRow) {
+            maxRow = portMaxRow;
+            maxRowCount = 1;
+        } else if (portMaxRow == maxRow) {
+            maxRowCount++;
+        }
+    }
+
+    /**
+     * Remove a port's previous extent from the bounding box
+     * @return false if a side of the bounding box may have shrunk, so it needs to be recalculated
+     */
+    private boolean removeFromBoundingBox(int portMinColumn, int portMaxColumn, int portMinRow, int portMaxRow) {
+        if (portMinColumn > portMaxColumn) {
+            return true;
+        }
+        if (portMinColumn == minColumn && --minColumnCount == 0) {
+            return false;
+        }
+        if (portMaxColumn == maxColumn && --maxColumnCount == 0) {
+            return false;
+        }
+        if (portMinRow == minRow && --minRowCount == 0) {
+            return false;
+        }
+        return portMaxRow != maxRow || --maxRowCount != 0;
+    }
+
+    private void recalculateBoundingBox() {
+        minColumn = Integer.MAX_VALUE;
+        maxColumn = Integer.MIN_VALUE;
+        minRow = Integer.MAX_VALUE;
+        maxRow = Integer.MIN_VALUE;
+        minColumnCount = maxColumnCount = minRowCount = maxRowCount = 0;
+        for (int offset = 0; offset < portBoxes.length; offset += BOX_SIZE) {
+            addToBoundingBox(offset);
+        }
+    }
+
+    private void updateLength() {
+        if (minColumn > maxColumn) {
+            length = 0;
+            return;
+        }
+
+        int fanOutPenalty = 1;
+        if (getSize() > 30) {
+            fanOutPenalty = 3;
+        }
+        length = (maxColumn - minColumn + maxRow - minRow) * fanOutPenalty * weight;
+    }
 
     public abstract String getName();
 
@@ -74,12 +304,41 @@ public abstract class AbstractPath<PortT, ModuleInstT extends AbstractModuleInst
         return moduleInsts.size();
     }
 
+    /**
+     * Remember the current state, so that a following move can be undone by {@link #restoreUndo()}
+     */
     public void saveUndo() {
-
+        undoLength = length;
+        undoMinColumn = minColumn;
+        undoMaxColumn = maxColumn;
+        undoMinRow = minRow;
+        undoMaxRow = maxRow;
+        undoMinColumnCount = minColumnCount;
+        undoMaxColumnCount = maxColumnCount;
+        undoMinRowCount = minRowCount;
+        undoMaxRowCount = maxRowCount;
+        undoPortCount = 0;
+        hasUndo = true;
     }
 
     public void restoreUndo() {
-        calculateLength();
+        if (!hasUndo) {
+            throw new RuntimeException("No cached undo value present in "+getName());
+        }
+        for (int i = undoPortCount - 1; i >= 0; i--) {
+            System.arraycopy(undoPortBoxes, i * BOX_SIZE, portBoxes, undoPortIndices[i] * BOX_SIZE, BOX_SIZE);
+        }
+        length = undoLength;
+        minColumn = undoMinColumn;
+        maxColumn = undoMaxColumn;
+        minRow = undoMinRow;
+        maxRow = undoMaxRow;
+        minColumnCount = undoMinColumnCount;
+        maxColumnCount = undoMaxColumnCount;
+        minRowCount = undoMinRowCount;
+        maxRowCount = undoMaxRowCount;
+        undoPortCount = 0;
+        hasUndo = false;
     }
 
     public abstract Set<?> getPathConnections();
@@ -32,6 +32,16 @@ public abstract class AbstractValidPlacementCache<PlacementT> {
 
     public abstract List<PlacementT> getByRangeAround(int rangeLimit, PlacementT placement);
 
+    /**
+     * Get the placements within a range around a placement, without allocating a new list
+     * @param rangeLimit the range
+     * @param placement the center placement
+     * @param result range to store the placements in, overwriting its previous contents
+     */
+    public void getByRangeAround(int rangeLimit, PlacementT placement, PlacementRange<PlacementT> result) {
+        result.setList(getByRangeAround(rangeLimit, placement));
+    }
+
     public abstract boolean contains(PlacementT site0);
 
     public abstract Collection<PlacementT> getAll();
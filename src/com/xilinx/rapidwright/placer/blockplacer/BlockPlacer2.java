@@ -31,24 +31,32 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.PriorityQueue;
 import java.util.Random;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import com.xilinx.rapidwright.design.AbstractModuleInst;
 import com.xilinx.rapidwright.design.Design;
+import com.xilinx.rapidwright.design.RelocatableTileRectangle;
 import com.xilinx.rapidwright.design.SimpleTileRectangle;
 import com.xilinx.rapidwright.design.TileRectangle;
 import com.xilinx.rapidwright.device.Device;
 import com.xilinx.rapidwright.device.Site;
 import com.xilinx.rapidwright.device.SiteTypeEnum;
 import com.xilinx.rapidwright.device.Tile;
+import com.xilinx.rapidwright.util.ParallelismTools;
 
 /**
  * An alternate implementation of {@link BlockPlacer}.  This placer
@@ -69,6 +77,10 @@ public abstract class BlockPlacer2<ModuleT, ModuleInstT extends AbstractModuleIn
      * Default value for constructor parameter focusOnWorstModules
      */
     public static final boolean DEFAULT_FOCUS_ON_WORST = false;
+    /**
+     * Default value for {@link #setParallelRegionSize(int)}
+     */
+    public static final int DEFAULT_PARALLEL_REGION_SIZE = 3;
 
     /** Enable extra sanity checks? */
     protected static final boolean PARANOID = false;
@@ -87,6 +99,8 @@ public abstract class BlockPlacer2<ModuleT, ModuleInstT extends AbstractModuleIn
     protected final Device dev;
     /** A list of all the hard macros in the design */
     protected List<ModuleInstT> hardMacros;
+    /** All hard macros, including those that are not moved since they only have few placements */
+    private List<ModuleInstT> allHardMacros;
     /** A set of all the paths between hard macros in the design */
     protected Set<PathT> allPaths;
     /** The random number generator used throughout this class */
@@ -144,6 +158,9 @@ public abstract class BlockPlacer2<ModuleT, ModuleInstT extends AbstractModuleIn
 
     private Map<ModuleInstT, Site> lockedPlacements = null;
 
+    /** Side length of the regions annealed in parallel, in overlap cache regions. 0 to anneal sequentially */
+    private int parallelRegionSize = 0;
+
 
     /**
      * @param design the design
@@ -164,6 +181,9 @@ public abstract class BlockPlacer2<ModuleT, ModuleInstT extends AbstractModuleIn
         this.effort = effort;
         this.focusOnWorstModules = focusOnWorstModules;
         this.placementArea = placementArea;
+        for (int i = 0; i <= PUSH_AWAY_RECURSION_DEPTH; i++) {
+            moveScratch.add(new MoveScratch());
+        }
         alpha = 1.0;
         beta = 1.0;
         seed = 2;
@@ -181,6 +201,13 @@ public abstract class BlockPlacer2<ModuleT, ModuleInstT extends AbstractModuleIn
         this.lockedPlacements = lockedPlacements;
     }
 
+    /**
+     * @return Total number of moves evaluated by the last call to {@link #placeDesign(boolean)}
+     */
+    public int getTotalMoves() {
+        return totalMoves;
+    }
+
     /**
      * Sets the random seed to be used in this placer
      * @param seed
@@ -189,6 +216,38 @@ public abstract class BlockPlacer2<ModuleT, ModuleInstT extends AbstractModuleIn
         this.seed = seed;
     }
 
+    /**
+     * Enables parallel annealing. The fabric is partitioned into square regions made up of the given number
+     * of overlap cache regions per side. In each round, modules that lie entirely within one region and
+     * that do not share a path with modules selected in other regions are moved concurrently, each region
+     * using its own random number generator seeded from this placer's. Cost changes are combined after
+     * each round. Results only depend on the seed and region size, not on the number of threads. Moves
+     * are limited to the region of the moved module and do not push other modules away, so rounds shift
+     * the region boundaries. Requires the placer to use a {@link RegionBasedOverlapCache}, otherwise
+     * annealing remains sequential.
+     * @param parallelRegionSize Side length of the regions, in overlap cache regions, or 0 to anneal
+     *                           sequentially (default: 0)
+     */
+    public void setParallelRegionSize(int parallelRegionSize) {
+        this.parallelRegionSize = parallelRegionSize;
+    }
+
+    /**
+     * Gets the side length of the regions in which a {@link RegionBasedOverlapCache} tracks modules.
+     * @return the region size in tiles, or 0 if modules are not tracked by region
+     */
+    protected int getOverlapRegionSize() {
+        return 0;
+    }
+
+    /**
+     * Gets the bounding box that a module would have at the given placement, without placing it.
+     * @param hm the module
+     * @param placement the placement
+     * @param dest rectangle to store the bounding box in, so that checking candidate placements does not allocate
+     */
+    protected abstract void getBoundingBox(ModuleInstT hm, PlacementT placement, SimpleTileRectangle dest);
+
     abstract List<ModuleInstT> getModuleImpls(boolean debugFlow);
 
     protected abstract void ignorePath(PathT path);
@@ -211,6 +270,7 @@ public abstract class BlockPlacer2<ModuleT, ModuleInstT extends AbstractModuleIn
         totalMoves = 0;
         allPaths = new HashSet<PathT>();
         hardMacros = getModuleImpls(debugFlow);
+        allHardMacros = hardMacros;
 
         populateAllPaths();
 
@@ -311,7 +371,12 @@ public abstract class BlockPlacer2<ModuleT, ModuleInstT extends AbstractModuleIn
     protected abstract void populateAllPaths();
 
     protected abstract boolean checkValidPlacement(ModuleInstT hm);
-    protected abstract List<ModuleInstT> getAllOverlaps(ModuleInstT hm);
+    /**
+     * Find all modules that overlap a module at its current placement
+     * @param hm the module
+     * @param result list to store the overlapping modules in. Cleared first.
+     */
+    protected abstract void getAllOverlaps(ModuleInstT hm, List<ModuleInstT> result);
 
     public double calculateStartTemp(int maxInnerIteration) {
         double stdDev = 0.0;
@@ -540,6 +605,96 @@ public abstract class BlockPlacer2<ModuleT, ModuleInstT extends AbstractModuleIn
         return finalSystemCost;
     }
 
+    /**
+     * Runs one placement per seed and keeps the one with the lowest cost. The first seed is placed by this
+     * placer. All other seeds are placed by replicas, each of which must operate on its own copy of the
+     * design (including its modules), for example one created the same way as this placer's design. All
+     * runs anneal concurrently on the {@link ParallelismTools} thread pool. The placement with the lowest
+     * cost is then applied to this placer's design, matching modules by name. Ties are resolved in favor
+     * of the earlier seed, so the result does not depend on the number of threads.
+     * @param seeds the seeds to use, one per run
+     * @param replicas creates a placer, configured like this one, for each run but the first
+     * @param debugFlow as for {@link #placeDesign(boolean)}
+     * @return the cost of the best placement
+     */
+    public double placeDesignMultiStart(List<Long> seeds,
+                                        Supplier<? extends BlockPlacer2<ModuleT, ModuleInstT, PlacementT, PathT>> replicas,
+                                        boolean debugFlow) {
+        if (seeds.isEmpty()) {
+            throw new RuntimeException("ERROR: No seeds given for multi-start placement");
+        }
+        long start = System.currentTimeMillis();
+        // Replicas may not be safe to create concurrently
+        List<BlockPlacer2<ModuleT, ModuleInstT, PlacementT, PathT>> placers = new ArrayList<>();
+        placers.add(this);
+        for (int i = 1; i < seeds.size(); i++) {
+            BlockPlacer2<ModuleT, ModuleInstT, PlacementT, PathT> replica = replicas.get();
+            if (replica == this || replica.design == design) {
+                throw new RuntimeException("ERROR: Multi-start placement needs a separate design for each run");
+            }
+            replica.setParallelRegionSize(parallelRegionSize);
+            placers.add(replica);
+        }
+        for (int i = 0; i < seeds.size(); i++) {
+            placers.get(i).setSeed(seeds.get(i));
+        }
+
+        List<Future<Double>> costs = ParallelismTools.invokeAll(placers, p -> p.placeDesign(debugFlow));
+        int best = 0;
+        double bestCost = Double.MAX_VALUE;
+        for (int i = 0; i < placers.size(); i++) {
+            double cost = ParallelismTools.get(costs.get(i));
+            if (DEBUG_LEVEL > 0) System.out.println("Seed " + seeds.get(i) + ": " + cost);
+            if (cost < bestCost) {
+                bestCost = cost;
+                best = i;
+            }
+        }
+
+        if (best != 0) {
+            BlockPlacer2<ModuleT, ModuleInstT, PlacementT, PathT> bestPlacer = placers.get(best);
+            applyPlacement(bestPlacer.getPlacementsByName());
+            seed = bestPlacer.seed;
+            finalSystemCost = bestPlacer.finalSystemCost;
+            finalBestCost = bestPlacer.finalBestCost;
+        }
+        placerRuntime = ((System.currentTimeMillis()-start)/1000.0);
+        if (DEBUG_LEVEL > 0) System.out.println("Best seed: " + seeds.get(best) + ", cost: " + finalSystemCost + " Runtime: " + placerRuntime + "secs");
+        return finalSystemCost;
+    }
+
+    private Map<String, PlacementT> getPlacementsByName() {
+        Map<String, PlacementT> placements = new HashMap<>();
+        for (ModuleInstT hm : allHardMacros) {
+            placements.put(hm.getName(), getCurrentPlacement(hm));
+        }
+        return placements;
+    }
+
+    /**
+     * Replaces the placement of all hard macros with one found by another placer. Every hard macro is
+     * placed the same way as by {@link #initialPlacement()}, including those pruned from the annealed
+     * set (which {@link #doFinalPlacement()} does not place).
+     * @param placements placement of each hard macro, by name
+     */
+    private void applyPlacement(Map<String, PlacementT> placements) {
+        for (ModuleInstT hm : allHardMacros) {
+            unplaceHm(hm);
+        }
+        for (ModuleInstT hm : allHardMacros) {
+            PlacementT placement = placements.get(hm.getName());
+            if (placement == null) {
+                throw new RuntimeException("ERROR: No placement found for " + hm.getName());
+            }
+            setTempAnchorSite(hm, placement);
+            placeHm(hm, placement);
+        }
+        for (PathT path : allPaths) {
+            path.calculateLength();
+        }
+        doFinalPlacement();
+    }
+
     private List<ModuleInstT> weighByAvgConnection() {
         if (focusOnWorstModules) {
             final Map<ModuleInstT, Float> avgLength = avgConnectionLength();
@@ -563,7 +718,16 @@ public abstract class BlockPlacer2<ModuleT, ModuleInstT extends AbstractModuleIn
         int badMoveCount = 0;
         int badAcceptedMoveCount = 0;
         double totalMovesCost = 0.0;
-        for (int inner_iterate = 0; inner_iterate< maxInnerIteration; inner_iterate++) {
+        int inner_iterate = 0;
+        if (parallelRegionSize > 0 && getOverlapRegionSize() > 0) {
+            RegionWorker stats = parallelMoves(maxInnerIteration, weighted);
+            inner_iterate = stats.attempts;
+            badMoveCount = stats.badMoveCount;
+            badAcceptedMoveCount = stats.badAcceptedMoveCount;
+            totalMovesCost = stats.totalMovesCost;
+        }
+        // Sequential moves, for all of the step or those that could not be performed in parallel
+        for (; inner_iterate< maxInnerIteration; inner_iterate++) {
         //for (int inner_iterate = 0; inner_iterate< (10*rangeLimit); inner_iterate++) {
         //for (int inner_iterate = 0; inner_iterate< (dev.getColumns()*dev.getRows()); inner_iterate++) {
             //ModuleInstT selectedHD = hardMacros.get(rand.nextInt(hardMacros.size()));
@@ -698,6 +862,219 @@ public abstract class BlockPlacer2<ModuleT, ModuleInstT extends AbstractModuleIn
         if (DEBUG_LEVEL > 0) System.out.printf("MOVES:%7d/%7d COST:%7.1f AVG_COST/MOVE:%7.1f TEMP:%7.1f ACCEPTANCE_RATE:%5.1f%% BEST:%7.1f BAD:%4.1f%%\n",currentAcceptedMoveCount, moveCount, prevSystemCost, totalMovesCost/ moveCount, currentTemp, moveAcceptanceRate*100, bestSoFar, 100.0*badAcceptedMoveCount/badMoveCount);
     }
 
+    /**
+     * Moves within one region of a parallel annealing round, along with their statistics
+     */
+    private class RegionWorker implements Runnable {
+        private final int minColumn;
+        private final int maxColumn;
+        private final int minRow;
+        private final int maxRow;
+        private final List<ModuleInstT> candidates = new ArrayList<>();
+        private final Move2<ModuleInstT, PlacementT, PathT> move = new Move2<>(BlockPlacer2.this);
+        /** Reused by every move, so that moves do not allocate */
+        private final PlacementRange<PlacementT> validSiteRange = new PlacementRange<>();
+        private final LinearCongruentialGenerator iterator = new LinearCongruentialGenerator();
+        private final SimpleTileRectangle boundingBox = new SimpleTileRectangle();
+        private Random random;
+        private int budget;
+
+        private int attempts;
+        private int moveCount;
+        private int acceptedMoveCount;
+        private int badMoveCount;
+        private int badAcceptedMoveCount;
+        private double totalMovesCost;
+        private double acceptedCost;
+
+        /** The region, in overlap cache regions */
+        private RegionWorker(int minColumn, int maxColumn, int minRow, int maxRow) {
+            this.minColumn = minColumn;
+            this.maxColumn = maxColumn;
+            this.minRow = minRow;
+            this.maxRow = maxRow;
+        }
+
+        private RegionWorker() {
+            this(0, -1, 0, -1);
+        }
+
+        private boolean contains(TileRectangle bb, int cacheRegionSize) {
+            return bb.getMinColumn() / cacheRegionSize >= minColumn && bb.getMaxColumn() / cacheRegionSize <= maxColumn
+                    && bb.getMinRow() / cacheRegionSize >= minRow && bb.getMaxRow() / cacheRegionSize <= maxRow;
+        }
+
+        private boolean getNextMove(ModuleInstT selected, int cacheRegionSize) {
+            move.clear();
+            PlacementT site0 = getCurrentPlacement(selected);
+            move.addBlock(selected, site0);
+
+            // Moves cannot leave the region, so there is no point looking further
+            int rl = (int) Math.min(rangeLimit, (long) (maxColumn - minColumn + 1) * cacheRegionSize);
+            possiblePlacements.get(selected.getModule()).getByRangeAround(rl, site0, validSiteRange);
+            if (validSiteRange.isEmpty()) {
+                move.clear();
+                return false;
+            }
+            iterator.reset(validSiteRange.size(), random);
+            while (iterator.hasNext()) {
+                PlacementT site1 = validSiteRange.get(iterator.nextInt());
+                if (site0.equals(site1)) {
+                    continue;
+                }
+                getBoundingBox(selected, site1, boundingBox);
+                if (!contains(boundingBox, cacheRegionSize)) {
+                    continue;
+                }
+                setTempAnchorSite(selected, site1);
+                if (checkValidPlacement(selected)) {
+                    move.calcDeltaCost();
+                    return true;
+                }
+            }
+            move.removeLastBlock();
+            return false;
+        }
+
+        @Override
+        public void run() {
+            final int cacheRegionSize = getOverlapRegionSize();
+            for (; attempts < budget; attempts++) {
+                ModuleInstT selected = candidates.get(random.nextInt(candidates.size()));
+                if (!getNextMove(selected, cacheRegionSize)) {
+                    continue;
+                }
+                moveCount++;
+                double changeInCost = move.getDeltaCost() * alpha;
+                totalMovesCost += changeInCost;
+                double r = random.nextDouble();
+                boolean acceptMove;
+                if (currentTemp == 0.0) {
+                    acceptMove = changeInCost < 0;
+                } else {
+                    acceptMove = (r < Math.exp(-changeInCost/currentTemp));
+                }
+                if (changeInCost > 0) badMoveCount++;
+                if (acceptMove) {
+                    acceptedMoveCount++;
+                    acceptedCost += changeInCost;
+                    if (changeInCost > 0) badAcceptedMoveCount++;
+                } else {
+                    move.undoMove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Partitions the modules into regions for one round of parallel annealing. Each module that lies within
+     * a single region becomes a candidate of that region, unless it is connected to a path that is already
+     * claimed by a candidate of another region. Modules are visited in random order, so that all modules get
+     * the chance to be moved over the course of several rounds.
+     */
+    private Collection<RegionWorker> partitionRegions(int round, List<ModuleInstT> weighted) {
+        final int cacheRegionSize = getOverlapRegionSize();
+        final int side = parallelRegionSize;
+        // Shift region boundaries every round, so modules on a boundary get moved as well
+        final int offset = round % side;
+
+        List<ModuleInstT> order = new ArrayList<>(hardMacros);
+        Collections.shuffle(order, rand);
+
+        Map<Integer, RegionWorker> regions = new TreeMap<>();
+        Map<ModuleInstT, RegionWorker> moduleRegion = new IdentityHashMap<>();
+        Map<PathT, RegionWorker> pathOwner = new IdentityHashMap<>();
+        NEXT_MODULE: for (ModuleInstT hm : order) {
+            // Also computes the bounding box of modules that are not moved, before regions run concurrently
+            RelocatableTileRectangle bb = hm.getBoundingBox();
+            int column = (bb.getMinColumn() / cacheRegionSize + offset) / side;
+            int row = (bb.getMinRow() / cacheRegionSize + offset) / side;
+            if (column != (bb.getMaxColumn() / cacheRegionSize + offset) / side
+                    || row != (bb.getMaxRow() / cacheRegionSize + offset) / side) {
+                continue;
+            }
+            RegionWorker region = regions.computeIfAbsent((column << 16) | row, k -> new RegionWorker(
+                    column * side - offset, (column + 1) * side - offset - 1,
+                    row * side - offset, (row + 1) * side - offset - 1));
+            Collection<PathT> paths = getConnectedPaths(hm);
+            if (paths == null) {
+                paths = Collections.emptyList();
+            }
+            for (PathT path : paths) {
+                RegionWorker owner = pathOwner.get(path);
+                if (owner != null && owner != region) {
+                    continue NEXT_MODULE;
+                }
+            }
+            for (PathT path : paths) {
+                pathOwner.put(path, region);
+            }
+            moduleRegion.put(hm, region);
+        }
+
+        for (ModuleInstT hm : weighted) {
+            RegionWorker region = moduleRegion.get(hm);
+            if (region != null) {
+                region.candidates.add(hm);
+            }
+        }
+        regions.values().removeIf(r -> r.candidates.isEmpty());
+        for (RegionWorker region : regions.values()) {
+            region.random = new Random(rand.nextLong());
+        }
+        return regions.values();
+    }
+
+    /**
+     * Performs the moves of one temperature step in rounds of concurrent moves, see
+     * {@link #setParallelRegionSize(int)}.
+     * @return the combined statistics of all rounds
+     */
+    private RegionWorker parallelMoves(int maxInnerIteration, List<ModuleInstT> weighted) {
+        RegionWorker total = new RegionWorker();
+        int round = 0;
+        while (total.attempts < maxInnerIteration) {
+            Collection<RegionWorker> regions = partitionRegions(round++, weighted);
+            int remaining = maxInnerIteration - total.attempts;
+            List<Runnable> tasks = new ArrayList<>();
+            for (RegionWorker region : regions) {
+                region.budget = Math.min(region.candidates.size(), remaining);
+                remaining -= region.budget;
+                if (region.budget > 0) {
+                    tasks.add(region);
+                }
+            }
+            if (tasks.isEmpty()) {
+                // Nothing can be moved concurrently, leave the rest to sequential moves
+                break;
+            }
+            ParallelismTools.invokeAll(tasks.toArray(new Runnable[0]));
+
+            // Synchronization point: regions did not share any paths, so their cost changes add up
+            for (RegionWorker region : regions) {
+                total.attempts += region.attempts;
+                total.badMoveCount += region.badMoveCount;
+                total.badAcceptedMoveCount += region.badAcceptedMoveCount;
+                total.totalMovesCost += region.totalMovesCost;
+                totalMoves += region.moveCount;
+                moveCount += region.moveCount;
+                currentAcceptedMoveCount += region.acceptedMoveCount;
+                prevSystemCost += region.acceptedCost;
+            }
+            currSystemCost = prevSystemCost;
+            if (currSystemCost < bestSoFar) {
+                bestSoFar = currSystemCost;
+            }
+            if (PARANOID) {
+                double testCost = currentSystemCost();
+                if (Math.abs(testCost - prevSystemCost) > 1E-6) {
+                    throw new RuntimeException("ERROR: Improper system cost after parallel round: expected=" + prevSystemCost + " actual=" + testCost);
+                }
+            }
+        }
+        return total;
+    }
+
     protected abstract int getTileSize(ModuleInstT hm);
 
     public Collection<PathT> getPaths() {
@@ -730,6 +1107,19 @@ public abstract class BlockPlacer2<ModuleT, ModuleInstT extends AbstractModuleIn
 
     protected abstract Tile getPlacementTile(PlacementT placement);
 
+    /**
+     * Lists used while searching for a move, reused by every sequential move so that moves do not allocate. Each
+     * level of pushing away other modules needs its own, as the levels are active at the same time.
+     */
+    private class MoveScratch {
+        private final PlacementRange<PlacementT> validSiteRange = new PlacementRange<>();
+        private final LinearCongruentialGenerator iterator = new LinearCongruentialGenerator();
+        private final List<ModuleInstT> overlaps = new ArrayList<>();
+    }
+
+    /** Scratch space by push away depth */
+    private final List<MoveScratch> moveScratch = new ArrayList<>();
+
     private boolean getNextMoveRec(ModuleInstT selected, int pushAwayDepth, PlacementT center) {
         PlacementT site0 = getCurrentPlacement(selected);
         if (!currentMove.addBlock(selected, site0)) {
@@ -738,7 +1128,9 @@ public abstract class BlockPlacer2<ModuleT, ModuleInstT extends AbstractModuleIn
 
         final AbstractValidPlacementCache<PlacementT> pp = possiblePlacements.get(selected.getModule());
         int rl = pushAwayDepth == 0 ? 5 : (int) rangeLimit;
-        List<PlacementT> validSiteRange = pp.getByRangeAround(rl, center);
+        final MoveScratch scratch = moveScratch.get(pushAwayDepth);
+        final PlacementRange<PlacementT> validSiteRange = scratch.validSiteRange;
+        pp.getByRangeAround(rl, center, validSiteRange);
 
 
         int nr_valid_sites = validSiteRange.size();
@@ -746,7 +1138,8 @@ public abstract class BlockPlacer2<ModuleT, ModuleInstT extends AbstractModuleIn
             currentMove.removeLastBlock();
             return false;
         }
-        LinearCongruentialGenerator iterator = new LinearCongruentialGenerator(nr_valid_sites, rand);
+        final LinearCongruentialGenerator iterator = scratch.iterator;
+        iterator.reset(nr_valid_sites, rand);
 
         while (iterator.hasNext()) {
             int rand_site = iterator.nextInt();
@@ -760,16 +1153,20 @@ public abstract class BlockPlacer2<ModuleT, ModuleInstT extends AbstractModuleIn
             setTempAnchorSite(selected, site1);
 
 
-            final List<ModuleInstT> overlaps = getAllOverlaps(selected);
-            if (overlaps.isEmpty()) {
-                return true;
-            }
-
             if (pushAwayDepth == 0) {
                 //Not allowed to move other
+                if (checkValidPlacement(selected)) {
+                    return true;
+                }
                 continue;
             }
 
+            final List<ModuleInstT> overlaps = scratch.overlaps;
+            getAllOverlaps(selected, overlaps);
+            if (overlaps.isEmpty()) {
+                return true;
+            }
+
             if (pushAwayOthers(selected, site0, overlaps, pushAwayDepth)) {
                 return true;
             }
@@ -784,7 +1181,8 @@ public abstract class BlockPlacer2<ModuleT, ModuleInstT extends AbstractModuleIn
             return false;
         }
         int count = currentMove.countBlocks();
-        for (ModuleInstT other : overlaps) {
+        for (int i = 0; i < overlaps.size(); i++) {
+            ModuleInstT other = overlaps.get(i);
 
             PlacementT first = getCurrentPlacement(selected);
             PlacementT second = site0;
@@ -896,11 +1294,8 @@ public abstract class BlockPlacer2<ModuleT, ModuleInstT extends AbstractModuleIn
     }
 
     protected static int getDistance(Tile a, Tile b) {
-        TileRectangle rect = new SimpleTileRectangle();
-        rect.extendTo(a);
-        rect.extendTo(b);
-        final int largerDimension = rect.getLargerDimension();
-        return largerDimension;
+        // Larger dimension of the rectangle spanned by both tiles
+        return Math.max(Math.abs(a.getColumn() - b.getColumn()), Math.abs(a.getRow() - b.getRow()));
     }
 
     private Map<ModuleInstT, Float> avgConnectionLength() {
@@ -938,9 +1333,8 @@ public abstract class BlockPlacer2<ModuleT, ModuleInstT extends AbstractModuleIn
         System.out.println("after pruning: " + allPaths.size());
     }
 
-    private int undoCount = 0;
+    private final AtomicInteger undoCount = new AtomicInteger();
     public int incUndoCount() {
-        undoCount++;
-        return undoCount;
+        return undoCount.incrementAndGet();
     }
 }
@@ -39,9 +39,11 @@ import java.util.stream.Collectors;
 import com.xilinx.rapidwright.design.AbstractModuleInst;
 import com.xilinx.rapidwright.design.Cell;
 import com.xilinx.rapidwright.design.Design;
+import com.xilinx.rapidwright.design.Module;
 import com.xilinx.rapidwright.design.ModuleImpls;
 import com.xilinx.rapidwright.design.ModuleImplsInst;
 import com.xilinx.rapidwright.design.ModulePlacement;
+import com.xilinx.rapidwright.design.SimpleTileRectangle;
 import com.xilinx.rapidwright.design.SitePinInst;
 import com.xilinx.rapidwright.design.TileRectangle;
 import com.xilinx.rapidwright.device.Tile;
@@ -199,8 +201,8 @@ public class BlockPlacer2Impls extends BlockPlacer2<ModuleImpls, ModuleImplsInst
     }
 
     @Override
-    protected List<ModuleImplsInst> getAllOverlaps(ModuleImplsInst hm) {
-        return overlaps.getAllOverlaps(hm);
+    protected void getAllOverlaps(ModuleImplsInst hm, List<ModuleImplsInst> result) {
+        overlaps.getAllOverlaps(hm, result);
     }
 
     @Override
@@ -221,6 +223,20 @@ public class BlockPlacer2Impls extends BlockPlacer2<ModuleImpls, ModuleImplsInst
         return hm.getCurrentModuleImplementation().getTileFootprintSize();
     }
 
+    @Override
+    protected int getOverlapRegionSize() {
+        if (overlaps instanceof RegionBasedOverlapCache) {
+            return ((RegionBasedOverlapCache<?, ?>) overlaps).getRegionSize();
+        }
+        return 0;
+    }
+
+    @Override
+    protected void getBoundingBox(ModuleImplsInst hm, ModulePlacement placement, SimpleTileRectangle dest) {
+        Module impl = hm.getModule().get(placement.implementationIndex);
+        impl.getBoundingBox().getCorresponding(placement.placement.getTile(), impl.getAnchor().getTile(), dest);
+    }
+
     @Override
     protected boolean isInRange(ModulePlacement current, ModulePlacement newPlacement) {
         return getDistance(current.placement.getTile(), newPlacement.placement.getTile()) <= rangeLimit;
@@ -35,6 +35,7 @@ import com.xilinx.rapidwright.design.Module;
 import com.xilinx.rapidwright.design.ModuleImpls;
 import com.xilinx.rapidwright.design.ModuleInst;
 import com.xilinx.rapidwright.design.Net;
+import com.xilinx.rapidwright.design.SimpleTileRectangle;
 import com.xilinx.rapidwright.design.SiteInst;
 import com.xilinx.rapidwright.design.SitePinInst;
 import com.xilinx.rapidwright.design.TileRectangle;
@@ -151,8 +152,21 @@ public class BlockPlacer2Module extends BlockPlacer2<Module, HardMacro, Site, Pa
     }
 
     @Override
-    protected List<HardMacro> getAllOverlaps(HardMacro hm) {
-        return overlaps.getAllOverlaps(hm);
+    protected void getAllOverlaps(HardMacro hm, List<HardMacro> result) {
+        overlaps.getAllOverlaps(hm, result);
+    }
+
+    @Override
+    protected int getOverlapRegionSize() {
+        if (overlaps instanceof RegionBasedOverlapCache) {
+            return ((RegionBasedOverlapCache<?, ?>) overlaps).getRegionSize();
+        }
+        return 0;
+    }
+
+    @Override
+    protected void getBoundingBox(HardMacro hm, Site placement, SimpleTileRectangle dest) {
+        hm.getModule().getBoundingBox().getCorresponding(placement.getTile(), hm.getModule().getAnchor().getTile(), dest);
     }
 
     @Override
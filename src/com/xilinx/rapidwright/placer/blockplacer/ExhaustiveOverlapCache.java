@@ -22,7 +22,6 @@
  */
 package com.xilinx.rapidwright.placer.blockplacer;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
@@ -54,10 +53,9 @@ public class ExhaustiveOverlapCache<PlacementT, ModuleInstT extends AbstractModu
     }
 
     @Override
-    public List<ModuleInstT> getAllOverlaps(ModuleInstT mii) {
-        List<ModuleInstT> overlaps = new ArrayList<>();
+    public void getAllOverlaps(ModuleInstT mii, List<ModuleInstT> overlaps) {
+        overlaps.clear();
         enterOverlaps(mii, instances, overlaps);
-        return overlaps;
     }
 
     @Override
@@ -56,6 +56,18 @@ public class ExhaustiveValidPlacementCache<PlacementT> extends AbstractValidPlac
         return result;
     }
 
+    @Override
+    public void getByRangeAround(int rangeLimit, PlacementT placement, PlacementRange<PlacementT> result) {
+        result.items.clear();
+        for (int i = 0; i < placements.size(); i++) {
+            PlacementT s = placements.get(i);
+            if (placer.isInRange(placement, s)) {
+                result.items.add(s);
+            }
+        }
+        result.setList(result.items);
+    }
+
     @Override
     public boolean contains(PlacementT site0) {
         return placements.contains(site0);
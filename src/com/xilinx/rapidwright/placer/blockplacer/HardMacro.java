@@ -108,7 +108,7 @@ public class HardMacro extends ModuleInst implements Comparable<Object> {
         }
 
         this.tempAnchorSite = tempAnchorSite;
-        this.tempAnchorBoundingBox = getModule().getBoundingBox().getCorresponding(tempAnchorSite.getTile(), getModule().getAnchor().getTile());
+        this.tempAnchorBoundingBox = getModule().getBoundingBox().getCorrespondingShared(tempAnchorSite.getTile(), getModule().getAnchor().getTile());
     }
 
     /**
@@ -31,7 +31,6 @@ import com.xilinx.rapidwright.design.ModuleImplsInst;
 import com.xilinx.rapidwright.design.Port;
 import com.xilinx.rapidwright.design.SimpleTileRectangle;
 import com.xilinx.rapidwright.design.SitePinInst;
-import com.xilinx.rapidwright.design.TileRectangle;
 import com.xilinx.rapidwright.device.Tile;
 import com.xilinx.rapidwright.util.Pair;
 
@@ -47,7 +46,12 @@ public abstract class ImplsInstancePort {
 
     public abstract boolean isOutputPort();
 
-    public abstract void enterToRect(SimpleTileRectangle rect);
+    /**
+     * Store the current extent of the port, see {@link AbstractPath#getPortBox(Object, int[], int)}
+     * @param dest array to store the extent in
+     * @param offset index of the extent in dest
+     */
+    public abstract void getPortBox(int[] dest, int offset);
 
     public ImplsPath getPath() {
         return path;
@@ -81,8 +85,9 @@ public abstract class ImplsInstancePort {
         }
 
         @Override
-        public void enterToRect(SimpleTileRectangle rect) {
-            rect.extendTo(sitePinInst.getTile());
+        public void getPortBox(int[] dest, int offset) {
+            final Tile tile = sitePinInst.getTile();
+            AbstractPath.setPortBox(dest, offset, tile.getColumn(), tile.getColumn(), tile.getRow(), tile.getRow());
         }
 
         @Override
@@ -102,7 +107,8 @@ public abstract class ImplsInstancePort {
         private final ModuleImplsInst instance;
         private final String port;
         private boolean boundingBoxCalculated;
-        private TileRectangle boundingBox;
+        /** Extent at the current placement, reused across placements */
+        private final SimpleTileRectangle boundingBox = new SimpleTileRectangle();
 
         public InstPort(ModuleImplsInst instance, String port) {
             this.instance = instance;
@@ -111,7 +117,6 @@ public abstract class ImplsInstancePort {
 
         public void resetBoundingBox() {
             boundingBoxCalculated = false;
-            boundingBox = null;
         }
 
         @Override
@@ -125,22 +130,25 @@ public abstract class ImplsInstancePort {
         }
 
         @Override
-        public void enterToRect(SimpleTileRectangle rect) {
+        public void getPortBox(int[] dest, int offset) {
             if (!boundingBoxCalculated) {
                 boundingBoxCalculated = true;
-                if (instance.getPlacement() == null) {
-                    return;
-                }
-                Port portImpl = instance.getCurrentModuleImplementation().getPort(this.port);
-                if (portImpl == null) {
-                    throw new IllegalStateException("In "+instance.getName()+" of type "+instance.getModule().getName()+", currently mapped to impl"+instance.getCurrentModuleImplementation()+", did not find abstract port "+this.port);
-                }
-                if (!portImpl.getSitePinInsts().isEmpty()) {
-                    boundingBox = portImpl.getBoundingBox().getCorresponding(instance.getPlacement().placement.getTile(), instance.getCurrentModuleImplementation().getAnchor().getTile());
+                boundingBox.clear();
+                if (instance.getPlacement() != null) {
+                    Port portImpl = instance.getCurrentModuleImplementation().getPort(this.port);
+                    if (portImpl == null) {
+                        throw new IllegalStateException("In "+instance.getName()+" of type "+instance.getModule().getName()+", currently mapped to impl"+instance.getCurrentModuleImplementation()+", did not find abstract port "+this.port);
+                    }
+                    if (!portImpl.getSitePinInsts().isEmpty()) {
+                        portImpl.getBoundingBox().getCorresponding(instance.getPlacement().placement.getTile(), instance.getCurrentModuleImplementation().getAnchor().getTile(), boundingBox);
+                    }
                 }
             }
-            if (boundingBox != null) {
-                rect.extendTo(boundingBox);
+            if (boundingBox.isEmpty()) {
+                AbstractPath.setEmptyPortBox(dest, offset);
+            } else {
+                AbstractPath.setPortBox(dest, offset, boundingBox.getMinColumn(), boundingBox.getMaxColumn(),
+                        boundingBox.getMinRow(), boundingBox.getMaxRow());
             }
         }
 
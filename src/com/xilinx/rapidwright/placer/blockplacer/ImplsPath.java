@@ -28,18 +28,11 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import com.xilinx.rapidwright.design.ModuleImplsInst;
-import com.xilinx.rapidwright.design.SimpleTileRectangle;
 
 /**
  * Net between Ports of {@link ModuleImplsInst}s
  */
 public class ImplsPath extends AbstractPath<ImplsInstancePort, ModuleImplsInst>{
-    int length;
-    int undoLength;
-
-    SimpleTileRectangle current;
-    SimpleTileRectangle undoCache;
-
     public ImplsPath(String name) {
         this.name = Objects.requireNonNull(name);
     }
@@ -57,28 +50,16 @@ public class ImplsPath extends AbstractPath<ImplsInstancePort, ModuleImplsInst>{
 
 
     @Override
-    public int getLength() {
-        return length;
-    }
-
-    public void calculateLength() {
-
-        current = new SimpleTileRectangle();
-        for (ImplsInstancePort port : ports) {
-            port.enterToRect(current);
-        }
-
-        if (current.isEmpty()) {
-            length = 0;
-            return;
-        }
-
-        int fanOutPenalty = 1;
-        if (getSize() > 30) {
-            fanOutPenalty = 3;
+    protected ModuleImplsInst getModuleInst(ImplsInstancePort port) {
+        if (port instanceof ImplsInstancePort.InstPort) {
+            return ((ImplsInstancePort.InstPort) port).getInstance();
         }
+        return null;
+    }
 
-        length = current.hpwl() * fanOutPenalty * weight;
+    @Override
+    protected void getPortBox(ImplsInstancePort port, int[] dest, int offset) {
+        port.getPortBox(dest, offset);
     }
 
     public String getName() {
@@ -101,22 +82,4 @@ public class ImplsPath extends AbstractPath<ImplsInstancePort, ModuleImplsInst>{
         }
         return sources.get(0);
     }
-
-    @Override
-    public void saveUndo() {
-        undoCache = current;
-        undoLength = length;
-    }
-
-    @Override
-    public void restoreUndo() {
-        if (undoCache == null) {
-            throw new RuntimeException("No cached undo value present in "+getName());
-        }
-
-        current = undoCache;
-        length = undoLength;
-
-        undoCache = null;
-    }
 }
@@ -38,11 +38,11 @@ import java.util.Spliterators;
  * It implements a linear congruential generator and achieves O(N) in runtime, O(1) in memory.
  */
 public class LinearCongruentialGenerator implements PrimitiveIterator.OfInt {
-    private final int max;
+    private int max;
     private int value;
-    private final int offset;
-    private final int multiplier;
-    private final int modulus;
+    private int offset;
+    private int multiplier;
+    private int modulus;
     private int outputCount;
 
     public static int nextPowerOf2(int i) {
@@ -65,6 +65,22 @@ public class LinearCongruentialGenerator implements PrimitiveIterator.OfInt {
     }
 
     public LinearCongruentialGenerator(int max, Random random) {
+        reset(max, random);
+    }
+
+    /**
+     * Create a generator that has no values. Call {@link #reset(int, Random)} before use.
+     */
+    public LinearCongruentialGenerator() {
+    }
+
+    /**
+     * Start a new permutation, so that a generator can be reused instead of allocating a new one for every
+     * permutation
+     * @param max maximum value (exclusive)
+     * @param random source of randomness
+     */
+    public void reset(int max, Random random) {
         this.max = max;
         value = random.nextInt(max);
 
@@ -73,6 +89,7 @@ public class LinearCongruentialGenerator implements PrimitiveIterator.OfInt {
         offset = random.nextInt(max) * 2 + 1;
         multiplier = 4*(max/4)+1;
         modulus = nextPowerOf2(max);
+        outputCount = 0;
     }
 
 
@@ -24,9 +24,7 @@
 package com.xilinx.rapidwright.placer.blockplacer;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -43,10 +41,12 @@ public class Move2<ModuleInstT extends AbstractModuleInst<?,?,?>, PlacementT, Pa
 
 
     List<ModuleInstT> blocks = new ArrayList<>();
-    Set<ModuleInstT> blocksSet = new HashSet<>();
     List<PlacementT> placements = new ArrayList<>();
 
-    List<PathT> paths = null;
+    /** Paths changed by the last {@link #calcDeltaCost()}, reused across moves */
+    final List<PathT> paths = new ArrayList<>();
+    /** Have the paths been changed since the last undo? */
+    private boolean pathsChanged;
 
     private int deltaCost;
 
@@ -62,8 +62,9 @@ public class Move2<ModuleInstT extends AbstractModuleInst<?,?,?>, PlacementT, Pa
         }
 
         //Have we even changed the paths?
-        if (paths != null) {
-            for (PathT path : paths) {
+        if (pathsChanged) {
+            for (int i = 0; i < paths.size(); i++) {
+                final PathT path = paths.get(i);
                 path.restoreUndo();
                 if (BlockPlacer2.PARANOID) {
                     final int length = path.getLength();
@@ -73,7 +74,8 @@ public class Move2<ModuleInstT extends AbstractModuleInst<?,?,?>, PlacementT, Pa
                     }
                 }
             }
-            paths = null;
+            paths.clear();
+            pathsChanged = false;
         }
 
     }
@@ -81,7 +83,6 @@ public class Move2<ModuleInstT extends AbstractModuleInst<?,?,?>, PlacementT, Pa
     public void clear() {
         blocks.clear();
         placements.clear();
-        blocksSet.clear();
     }
 
     public int getDeltaCost() {
@@ -89,7 +90,8 @@ public class Move2<ModuleInstT extends AbstractModuleInst<?,?,?>, PlacementT, Pa
     }
 
     public boolean addBlock(ModuleInstT block, PlacementT placement) {
-        if (!blocksSet.add(block)) {
+        // Moves only contain a handful of blocks, so a linear search does not need to allocate set entries
+        if (blocks.contains(block)) {
             return false;
         }
         blocks.add(block);
@@ -98,24 +100,26 @@ public class Move2<ModuleInstT extends AbstractModuleInst<?,?,?>, PlacementT, Pa
     }
 
     public void calcDeltaCost() {
-        paths = new ArrayList<>();
+        paths.clear();
+        pathsChanged = true;
 
         deltaCost = 0;
         int undoCount = placer.incUndoCount();
-        for (ModuleInstT block : blocks) {
+        for (int i = 0; i < blocks.size(); i++) {
+            final ModuleInstT block = blocks.get(i);
             for (PathT path : placer.getConnectedPaths(block)) {
-                if (path.undoCount==undoCount) {
-                    continue;
+                if (path.undoCount!=undoCount) {
+                    path.undoCount = undoCount;
+                    path.saveUndo();
+                    deltaCost -= path.getLength();
+                    paths.add(path);
                 }
-                path.undoCount = undoCount;
-
-                path.saveUndo();
-                deltaCost -= path.getLength();
-                path.calculateLength();
-                deltaCost += path.getLength();
-                paths.add(path);
+                // Only the ports of this block have moved
+                path.updateLength(block);
             }
-
+        }
+        for (int i = 0; i < paths.size(); i++) {
+            deltaCost += paths.get(i).getLength();
         }
     }
 
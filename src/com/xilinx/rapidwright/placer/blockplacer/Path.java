@@ -30,7 +30,6 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import com.xilinx.rapidwright.design.ModuleInst;
-import com.xilinx.rapidwright.design.SimpleTileRectangle;
 import com.xilinx.rapidwright.design.SitePinInst;
 import com.xilinx.rapidwright.device.Tile;
 
@@ -42,11 +41,6 @@ import com.xilinx.rapidwright.device.Tile;
 public class Path extends AbstractPath<PathPort, HardMacro>{
     private final String name;
 
-    protected int hpwl;
-    protected SimpleTileRectangle current;
-    protected SimpleTileRectangle undoCache;
-    protected int undoHpwl;
-
     protected ArrayList<Integer> delay;
     protected int maxDelay;
 
@@ -58,12 +52,8 @@ public class Path extends AbstractPath<PathPort, HardMacro>{
         this.name = null;
     }
 
-    public int getLength() {
-        return hpwl;
-    }
-
     public int getHPWL() {
-        return hpwl;
+        return getLength();
     }
 
     public ArrayList<Integer> getDelay() {
@@ -83,49 +73,25 @@ public class Path extends AbstractPath<PathPort, HardMacro>{
         maxDelay = pathMaxDelay;
     }
 
-    public void calculateLength() {
-        calculateHPWL();
-    }
 
     @Override
     public String getName() {
         return name;
     }
 
-    private void rectToHpwl() {
-
-
-        int fanOutPenalty  = 1;
-        if (getSize() > 30) {
-            fanOutPenalty = 3;
-        }
-        hpwl = current.hpwl()*fanOutPenalty*weight;
-    }
-
     public void calculateHPWL() {
-
-        current = new SimpleTileRectangle();
-        for (PathPort port : ports) {
-            current.extendTo(port.getPortTile());
-        }
-        rectToHpwl();
+        calculateLength();
     }
 
-    public void saveUndo() {
-        undoCache = current;
-        undoHpwl = hpwl;
+    @Override
+    protected HardMacro getModuleInst(PathPort port) {
+        return port.getBlock();
     }
 
-
-    public void restoreUndo() {
-
-        if (undoCache == null) {
-            throw new RuntimeException("No cached undo value present");
-        }
-
-        hpwl = undoHpwl;
-        current = undoCache;
-        undoCache = null;
+    @Override
+    protected void getPortBox(PathPort port, int[] dest, int offset) {
+        final Tile tile = port.getPortTile();
+        setPortBox(dest, offset, tile.getColumn(), tile.getColumn(), tile.getRow(), tile.getRow());
     }
 
     /**
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2024, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.xilinx.rapidwright.placer.blockplacer;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Placements within a range around a center placement, see
+ * {@link AbstractValidPlacementCache#getByRangeAround(int, Object, PlacementRange)}.
+ *
+ * A range is owned by a single caller and refilled by every query, so that the placer does not allocate a new
+ * list for every move. Its contents are only valid until the next query.
+ * @param <PlacementT> The placement class
+ */
+public class PlacementRange<PlacementT> extends AbstractList<PlacementT> {
+    /** Storage for caches that list the placements explicitly */
+    final ArrayList<PlacementT> items = new ArrayList<>();
+    /** The placements, if they are listed explicitly */
+    List<PlacementT> list;
+
+    /** Cache that looks up placements by index, if they are not listed explicitly */
+    SortedValidPlacementCache<PlacementT> lazySource;
+    int rangeLimit;
+    PlacementT center;
+    int size;
+    /** Index of the first column in range */
+    int minColumn;
+    /** Number of columns in range */
+    int columns;
+    /** Number of placements in range up to and including each column */
+    int[] columnCounts = new int[0];
+    /** Index of the first row in range, for each column */
+    int[] minRows = new int[0];
+
+    /**
+     * Fill the range with the given placements
+     * @param list the placements
+     */
+    void setList(List<PlacementT> list) {
+        this.list = list;
+        lazySource = null;
+    }
+
+    /**
+     * Prepare the range for lazy lookup of placements
+     * @param source the cache to look up placements in
+     * @param columns number of columns in range
+     */
+    void setLazy(SortedValidPlacementCache<PlacementT> source, int rangeLimit, PlacementT center, int minColumn, int columns) {
+        list = null;
+        lazySource = source;
+        this.rangeLimit = rangeLimit;
+        this.center = center;
+        this.minColumn = minColumn;
+        this.columns = columns;
+        if (columnCounts.length < columns) {
+            columnCounts = new int[columns];
+            minRows = new int[columns];
+        }
+    }
+
+    @Override
+    public PlacementT get(int index) {
+        if (lazySource != null) {
+            return lazySource.getInRange(this, index);
+        }
+        return list.get(index);
+    }
+
+    @Override
+    public int size() {
+        if (lazySource != null) {
+            return size;
+        }
+        return list.size();
+    }
+}
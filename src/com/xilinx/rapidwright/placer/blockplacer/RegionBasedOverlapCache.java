@@ -22,7 +22,6 @@
  */
 package com.xilinx.rapidwright.placer.blockplacer;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
@@ -95,7 +94,14 @@ public class RegionBasedOverlapCache<PlacementT, ModuleInstT extends AbstractMod
      */
     @Override
     public void unplace(ModuleInstT mii) {
-        allTouchedRegionsMatch(mii,l->{l.remove(mii); return true;});
+        final RelocatableTileRectangle bb = mii.getBoundingBox();
+        final int crMaxCol = getColumn(bb.getMaxColumn());
+        final int crMaxRow = getRow(bb.getMaxRow());
+        for (int col = getColumn(bb.getMinColumn()); col <= crMaxCol; col++) {
+            for (int row = getRow(bb.getMinRow()); row <= crMaxRow; row++) {
+                modulesInArea[col][row].remove(mii);
+            }
+        }
     }
 
     /**
@@ -104,7 +110,14 @@ public class RegionBasedOverlapCache<PlacementT, ModuleInstT extends AbstractMod
      */
     @Override
     public void place(ModuleInstT mii) {
-        allTouchedRegionsMatch(mii,l->{l.add(mii); return true;});
+        final RelocatableTileRectangle bb = mii.getBoundingBox();
+        final int crMaxCol = getColumn(bb.getMaxColumn());
+        final int crMaxRow = getRow(bb.getMaxRow());
+        for (int col = getColumn(bb.getMinColumn()); col <= crMaxCol; col++) {
+            for (int row = getRow(bb.getMinRow()); row <= crMaxRow; row++) {
+                modulesInArea[col][row].add(mii);
+            }
+        }
     }
 
     public RegionBasedOverlapCache(Device device, List<? extends ModuleInstT> instances, int regionSize) {
@@ -130,9 +143,28 @@ public class RegionBasedOverlapCache<PlacementT, ModuleInstT extends AbstractMod
         this(device, instances, DEFAULT_REGION_SIZE);
     }
 
+    /**
+     * Get the side length of the square regions, in tiles. Modules whose bounding boxes only touch distinct
+     * regions can be moved concurrently without interfering in this cache.
+     * @return the region size
+     */
+    public int getRegionSize() {
+        return columnDivider;
+    }
+
     @Override
     public boolean isValidPlacement(ModuleInstT mii) {
-        return allTouchedRegionsMatch(mii, l -> doesNotOverlapAny(mii, l));
+        final RelocatableTileRectangle bb = mii.getBoundingBox();
+        final int crMaxCol = getColumn(bb.getMaxColumn());
+        final int crMaxRow = getRow(bb.getMaxRow());
+        for (int col = getColumn(bb.getMinColumn()); col <= crMaxCol; col++) {
+            for (int row = getRow(bb.getMinRow()); row <= crMaxRow; row++) {
+                if (!doesNotOverlapAny(mii, modulesInArea[col][row])) {
+                    return false;
+                }
+            }
+        }
+        return true;
     }
 
     private void checkCorrectness() {
@@ -219,12 +251,15 @@ public class RegionBasedOverlapCache<PlacementT, ModuleInstT extends AbstractMod
     }
 
     @Override
-    public List<ModuleInstT> getAllOverlaps(ModuleInstT mii) {
-        List<ModuleInstT> overlaps = new ArrayList<>();
-        allTouchedRegionsMatch(mii, l -> {
-            enterOverlaps(mii, l, overlaps);
-            return true;
-        });
-        return overlaps;
+    public void getAllOverlaps(ModuleInstT mii, List<ModuleInstT> overlaps) {
+        overlaps.clear();
+        final RelocatableTileRectangle bb = mii.getBoundingBox();
+        final int crMaxCol = getColumn(bb.getMaxColumn());
+        final int crMaxRow = getRow(bb.getMaxRow());
+        for (int col = getColumn(bb.getMinColumn()); col <= crMaxCol; col++) {
+            for (int row = getRow(bb.getMinRow()); row <= crMaxRow; row++) {
+                enterOverlaps(mii, modulesInArea[col][row], overlaps);
+            }
+        }
     }
 }
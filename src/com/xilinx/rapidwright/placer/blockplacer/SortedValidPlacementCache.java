@@ -25,8 +25,6 @@ package com.xilinx.rapidwright.placer.blockplacer;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.nio.file.Files;
-import java.util.AbstractList;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
@@ -197,15 +195,16 @@ public abstract class SortedValidPlacementCache<PlacementT> extends AbstractVali
                 );
     }
 
-    @FunctionalInterface
-    interface ArrayIndexToPlacement<PlacementT> {
-        PlacementT apply(int index, int innerIndex);
-    }
-
-
-    private static <PlacementT> PlacementT findInnerArrayIndex(int targetIndex, int[] itemCounts, ArrayIndexToPlacement<PlacementT> f) {
+    /**
+     * Find the entry that contains an item
+     * @param targetIndex index of the item
+     * @param itemCounts number of items up to and including each entry
+     * @param length number of valid entries in itemCounts
+     * @return index of the entry
+     */
+    private static int findOuterIndex(int targetIndex, int[] itemCounts, int length) {
         //We are storing counts but are looking up by index -> add one
-        int index = Arrays.binarySearch(itemCounts, targetIndex+1);
+        int index = Arrays.binarySearch(itemCounts, 0, length, targetIndex+1);
         if (index<0) {
             index = -index - 1;
         } else {
@@ -216,9 +215,27 @@ public abstract class SortedValidPlacementCache<PlacementT> extends AbstractVali
                 index--;
             }
         }
-        int itemsBefore = index == 0 ? 0 : itemCounts[index-1];
-        int innerIndex = targetIndex - itemsBefore;
-        return f.apply(index, innerIndex);
+        return index;
+    }
+
+    /**
+     * Look up a placement in a range filled lazily by {@link SparseSortedValidPlacementCache}
+     * @param range the range
+     * @param index index of the placement within the range
+     * @return the placement
+     */
+    PlacementT getInRange(PlacementRange<PlacementT> range, int index) {
+        if (index<0 || index>=range.size) {
+            throw new IndexOutOfBoundsException("index "+index+" out of bounds for svp result of size "+range.size+" for range "+range.rangeLimit+" around "+range.center);
+        }
+        final int colIdx = findOuterIndex(index, range.columnCounts, range.columns);
+        final int inColumnIdx = index - (colIdx == 0 ? 0 : range.columnCounts[colIdx - 1]);
+        final SortedValidPlacementCache1D<List<PlacementT>> column = collection.get(colIdx + range.minColumn);
+
+        final int inColumnIdxShift = inColumnIdx + column.getEntryCountUpTo(range.minRows[colIdx] - 1);
+        final int rowIdx = findOuterIndex(inColumnIdxShift, column.itemCounts, column.itemCounts.length);
+        final int listIdx = inColumnIdxShift - (rowIdx == 0 ? 0 : column.itemCounts[rowIdx - 1]);
+        return column.get(rowIdx).get(listIdx);
     }
 
 
@@ -268,21 +285,22 @@ public abstract class SortedValidPlacementCache<PlacementT> extends AbstractVali
 
         @Override
         public List<PlacementT> getByRangeAround(int rangeLimit, PlacementT centerPlacement) {
+            PlacementRange<PlacementT> res = new PlacementRange<>();
+            getByRangeAround(rangeLimit, centerPlacement, res);
+            return res;
+        }
 
-            /*if (rangeLimit>= placer.getMaxRangeLimit()) {
-                return allData;
-            }*/
+        @Override
+        public void getByRangeAround(int rangeLimit, PlacementT centerPlacement, PlacementRange<PlacementT> result) {
             Tile center = placer.getPlacementTile(centerPlacement);
 
             final int maxColumn = collection.getMaxIdx(center.getColumn()+ rangeLimit);
             final int minColumn = collection.getMinIdx(center.getColumn() - rangeLimit);
+            result.setLazy(this, rangeLimit, centerPlacement, minColumn, Math.max(0, maxColumn - minColumn + 1));
             //This stores how many matching entries are in each column
-            int[] columnCounts = new int[maxColumn-minColumn+1];
+            final int[] columnCounts = result.columnCounts;
             //This stores the first matching row for each column
-            int[] minRows = new int[maxColumn-minColumn+1];
-            //This stores the last matching row for each column
-            int[] maxRows = new int[maxColumn-minColumn+1];
-
+            final int[] minRows = result.minRows;
 
             int count = 0;
             for (int col = minColumn; col <= maxColumn; col++) {
@@ -290,59 +308,17 @@ public abstract class SortedValidPlacementCache<PlacementT> extends AbstractVali
 
                 final int arrIdx = col - minColumn;
                 minRows[arrIdx] = currentCol.getMinIdx(center.getRow() - rangeLimit);
-                maxRows[arrIdx] = currentCol.getMaxIdx(center.getRow() + rangeLimit);
+                final int maxRow = currentCol.getMaxIdx(center.getRow() + rangeLimit);
 
                 int thisColCount =
-                        currentCol.getEntryCountUpTo(maxRows[arrIdx])
+                        currentCol.getEntryCountUpTo(maxRow)
                                 - currentCol.getEntryCountUpTo(minRows[arrIdx]-1);
 
                 count += thisColCount;
                 columnCounts[arrIdx] = count;
 
             }
-            int totalCount = count;
-            final AbstractList<PlacementT> res = new AbstractList<PlacementT>() {
-                @Override
-                public int size() {
-                    return totalCount;
-                }
-
-                @Override
-                public PlacementT get(int index) {
-                    if (index<0 || index>=size()) {
-                        throw new IndexOutOfBoundsException("index "+index+" out of bounds for svp result of size "+totalCount+" for range "+rangeLimit+" around "+centerPlacement);
-                    }
-
-
-                    return findInnerArrayIndex(index, columnCounts, (colIdx, inColumnIdx) -> {
-                        final SortedValidPlacementCache1D<List<PlacementT>> column = collection.get(colIdx + minColumn);
-
-                        int inColumnIdxShift = inColumnIdx + column.getEntryCountUpTo(minRows[colIdx] - 1);
-
-                        return findInnerArrayIndex(inColumnIdxShift, column.itemCounts,
-                                (rowIdx, listIdx) -> {
-                                    return column.get(rowIdx).get(listIdx);
-                                }
-                        );
-                    });
-                }
-            };
-
-            /*if (rangeLimit>= placer.getMaxRangeLimit()) {
-
-                final VerifySameLists<PlacementT> verifySameLists = new VerifySameLists<>("svp return " + rangeLimit + " around " + centerPlacement, allData, res);
-                / *try {
-                    for (PlacementT verifySameList : verifySameLists) {
-
-                    }
-                } catch (RuntimeException e) {
-                    SortedValidPlacementCache.writeList(allData, Paths.get("/tmp/vpl_all.txt"), rangeLimit, centerPlacement, placer);
-                    SortedValidPlacementCache.writeList(res, Paths.get("/tmp/vpl_res.txt"), rangeLimit, centerPlacement, placer);
-                    throw e;
-                }* /
-                return verifySameLists;
-            }*/
-            return res;
+            result.size = count;
         }
 
     }
@@ -353,12 +329,20 @@ public abstract class SortedValidPlacementCache<PlacementT> extends AbstractVali
 
         @Override
         public List<PlacementT> getByRangeAround(int rangeLimit, PlacementT centerPlacement) {
+            PlacementRange<PlacementT> res = new PlacementRange<>();
+            getByRangeAround(rangeLimit, centerPlacement, res);
+            return res.list;
+        }
+
+        @Override
+        public void getByRangeAround(int rangeLimit, PlacementT centerPlacement, PlacementRange<PlacementT> result) {
             if (rangeLimit>= placer.getMaxRangeLimit()) {
-                return allData;
+                result.setList(allData);
+                return;
             }
             Tile center = placer.getPlacementTile(centerPlacement);
 
-            List<PlacementT> result = new ArrayList<>();
+            result.items.clear();
 
             final int maxColumn = collection.getMaxIdx(center.getColumn()+ rangeLimit);
             for (int col = collection.getMinIdx(center.getColumn() - rangeLimit); col <= maxColumn; col++) {
@@ -366,11 +350,13 @@ public abstract class SortedValidPlacementCache<PlacementT> extends AbstractVali
 
                 final int maxRow = currentCol.getMaxIdx(center.getRow()+ rangeLimit);
                 for (int row = currentCol.getMinIdx(center.getRow()- rangeLimit); row <= maxRow; row++) {
-                    result.addAll(currentCol.items.get(row));
+                    final List<PlacementT> placements = currentCol.items.get(row);
+                    for (int i = 0; i < placements.size(); i++) {
+                        result.items.add(placements.get(i));
+                    }
                 }
             }
-
-            return result;
+            result.setList(result.items);
         }
     }
 
@@ -113,7 +113,14 @@ public class CUFR extends RWRoute {
 
     @Override
     protected ConnectionState getConnectionState() {
-        return connectionState.computeIfAbsent(Thread.currentThread(), (k) -> new ConnectionState());
+        return connectionState.computeIfAbsent(Thread.currentThread(), (k) -> createConnectionState());
+    }
+
+    // Speculative routing is not supported: the partition tree already routes
+    // connections in parallel
+    @Override
+    protected boolean isSpeculative() {
+        return false;
     }
 
     @Override
@@ -132,6 +139,10 @@ public class CUFR extends RWRoute {
 
     /**
      * Parallel route a partition tree.
+     * The shape of the tree depends only on the sorted connections being routed (and not on the number
+     * of threads available), and the connections of the left and right subtrees have disjoint bounding
+     * boxes, so each subtree is routed identically no matter which thread it is scheduled on.
+     * Combined with {@link RWRouteConfig#isDeterministic()}, this produces reproducible results.
      */
     private void routePartitionTree(CUFRpartitionTree.PartitionTreeNode node) {
         assert(node != null);
@@ -93,7 +93,7 @@ public class PartialCUFR extends PartialRouter {
 
     @Override
     protected ConnectionState getConnectionState() {
-        return connectionState.computeIfAbsent(Thread.currentThread(), (k) -> new ConnectionState());
+        return connectionState.computeIfAbsent(Thread.currentThread(), (k) -> createConnectionState());
     }
 
     @Override
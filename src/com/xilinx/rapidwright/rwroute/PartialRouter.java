@@ -112,6 +112,13 @@ public class PartialRouter extends RWRoute {
         this(design, config, pinsToRoute, false);
     }
 
+    // Speculative routing is not supported: preserved routing is encoded in the
+    // routing graph's copy of the rnode expansion state (see isPartOfExistingRoute())
+    @Override
+    protected boolean isSpeculative() {
+        return false;
+    }
+
     @Override
     protected void preprocess() {
         // By default, preprocessing is expected to be performed manually and added to pinsToRoute
@@ -54,6 +54,7 @@ import com.xilinx.rapidwright.timing.delayestimator.DelayEstimatorBase;
 import com.xilinx.rapidwright.timing.delayestimator.InterconnectInfo;
 import com.xilinx.rapidwright.util.MessageGenerator;
 import com.xilinx.rapidwright.util.Pair;
+import com.xilinx.rapidwright.util.ParallelismTools;
 import com.xilinx.rapidwright.util.RuntimeTracker;
 import com.xilinx.rapidwright.util.RuntimeTrackerTree;
 import com.xilinx.rapidwright.util.Utils;
@@ -68,11 +69,12 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
@@ -146,6 +148,14 @@ public class RWRoute {
     protected long rnodesCreatedThisIteration;
     /** State necessary to route the included connection */
     private ConnectionState connectionState;
+    /** ConnectionState instances used by each thread for speculative routing
+     *  (not ThreadLocal, for the same reasons as in {@link CUFR}) */
+    private final Map<Thread,ConnectionState> speculativeConnectionState;
+    /** Number of speculative batches routed so far, used to version rnodes whose users were changed by a commit */
+    private int speculativeBatch;
+    /** Number of speculatively routed connections that were committed, or rerouted due to a conflict */
+    private long speculativeCommits;
+    private long speculativeConflicts;
 
     /** Total wirelength of the routed design */
     private int totalWL;
@@ -195,6 +205,7 @@ public class RWRoute {
         connectionsRoutedThisIteration = new AtomicInteger();
         nodesPushed = new AtomicLong();
         nodesPopped = new AtomicLong();
+        speculativeConnectionState = new ConcurrentHashMap<>();
 
         if (design.getSeries() == Series.Versal) {
             if (config.isLutPinSwapping()) {
@@ -244,8 +255,11 @@ public class RWRoute {
         minRerouteCriticality = config.getMinRerouteCriticality();
         criticalConnections = new ArrayList<>();
 
-        connectionState = new ConnectionState();
         routingGraph = createRouteNodeGraph();
+        connectionState = createConnectionState();
+        if (config.getSpeculativeBatchSize() > 0 && !isSpeculative()) {
+            System.err.println("WARNING: Speculative routing is not supported by " + getClass().getSimpleName() + ", routing sequentially.");
+        }
         if (config.isTimingDriven()) {
             nodesDelays = new HashMap<>();
         }
@@ -270,6 +284,9 @@ public class RWRoute {
         connectionsRoutedThisIteration.set(0);
         nodesPushed.set(0);
         nodesPopped.set(0);
+        speculativeBatch = 0;
+        speculativeCommits = 0;
+        speculativeConflicts = 0;
         overUsedRnodes = new HashSet<>();
 
         hus = config.isHus();
@@ -765,6 +782,43 @@ public class RWRoute {
         return connectionState;
     }
 
+    /**
+     * Creates a new ConnectionState object, with the queue implementation selected by
+     * {@link RWRouteConfig#getHeapArity()}, breaking ties between equal-cost rnodes when
+     * {@link RWRouteConfig#isDeterministic()} is set.
+     * @return New ConnectionState object.
+     */
+    protected ConnectionState createConnectionState() {
+        int heapArity = config.getHeapArity();
+        boolean tieBreak = config.isDeterministic();
+        RouteNodeQueue queue = (heapArity == 0) ? new RouteNodePriorityQueue(tieBreak)
+                : new RouteNodeHeap(routingGraph, heapArity, tieBreak);
+        return new ConnectionState(queue, routingGraph.nodeStore, false);
+    }
+
+    /**
+     * Creates a new ConnectionState object for routing speculatively, with its own copy of the
+     * per-rnode expansion state. Since {@link RouteNode#compareTo(RouteNode)} can only read the
+     * routing graph's copy, a {@link RouteNodeHeap} is always used as its queue (binary, unless
+     * {@link RWRouteConfig#getHeapArity()} specifies otherwise).
+     * @return New ConnectionState object.
+     */
+    private ConnectionState createSpeculativeConnectionState() {
+        RouteNodeStore store = new RouteNodeStore(routingGraph.nodeStore);
+        int heapArity = Math.max(config.getHeapArity(), 2);
+        RouteNodeQueue queue = new RouteNodeHeap(store, heapArity, config.isDeterministic());
+        return new ConnectionState(queue, store, true);
+    }
+
+    /**
+     * Checks if connections are to be routed speculatively, as configured by
+     * {@link RWRouteConfig#getSpeculativeBatchSize()}.
+     * @return true, if routing speculatively.
+     */
+    protected boolean isSpeculative() {
+        return config.getSpeculativeBatchSize() > 0;
+    }
+
     /**
      * Initializes routing.
      */
@@ -850,6 +904,7 @@ public class RWRoute {
         postRouteProcess();
         // Assigns net PIPs based on lists of connections
         setPIPsOfNets();
+        routingGraph.writeCache();
         routerTimer.getRuntimeTracker("finalize routes").stop();
 
         routerTimer.getRuntimeTracker("Routing").stop();
@@ -915,6 +970,10 @@ public class RWRoute {
     }
 
     protected void routeIndirectConnections(Collection<Connection> connections) {
+        if (isSpeculative()) {
+            routeIndirectConnectionsSpeculatively(connections);
+            return;
+        }
         for (Connection connection : connections) {
             if (shouldRoute(connection)) {
                 routeIndirectConnection(connection);
@@ -922,6 +981,144 @@ public class RWRoute {
         }
     }
 
+    /**
+     * Routes indirect connections in batches of up to {@link RWRouteConfig#getSpeculativeBatchSize()} nets.
+     * @param connections The connections to route, in routing order.
+     */
+    private void routeIndirectConnectionsSpeculatively(Collection<Connection> connections) {
+        final int batchSize = config.getSpeculativeBatchSize();
+        List<Connection> batch = new ArrayList<>();
+        Map<NetWrapper, List<Connection>> batchNets = new LinkedHashMap<>();
+        for (Connection connection : connections) {
+            if (!shouldRoute(connection)) {
+                continue;
+            }
+            NetWrapper netWrapper = connection.getNetWrapper();
+            if (batchNets.size() == batchSize && !batchNets.containsKey(netWrapper)) {
+                routeSpeculativeBatch(batch, batchNets.values());
+                batch.clear();
+                batchNets.clear();
+            }
+            batch.add(connection);
+            batchNets.computeIfAbsent(netWrapper, (k) -> new ArrayList<>()).add(connection);
+        }
+        if (!batch.isEmpty()) {
+            routeSpeculativeBatch(batch, batchNets.values());
+        }
+    }
+
+    /**
+     * Routes a batch of connections speculatively.
+     * All connections in the batch are first ripped up, before the connections of each net are routed on
+     * a separate thread against the (unchanging) congestion costs that remain, keeping their expansion
+     * state private to each thread. The resulting paths are then committed in routing order: any connection
+     * whose path uses a rnode that an earlier commit of this batch (as indicated by its version) has made
+     * unavailable, or that could not be routed speculatively, is ripped up and rerouted sequentially instead.
+     * Connections that cross SLRs are always routed sequentially, since super long lines require the routing
+     * graph's copy of the expansion state (see {@link RouteNode#getEndTileYCoordinate()}).
+     * @param batch The connections to route, in routing order.
+     * @param batchNets The same connections, grouped by net.
+     */
+    private void routeSpeculativeBatch(List<Connection> batch, Collection<List<Connection>> batchNets) {
+        final int version = ++speculativeBatch;
+        for (Connection connection : batch) {
+            ripUp(connection);
+            connection.resetRoute();
+            connection.setRouted(false);
+        }
+
+        ParallelismTools.invokeAllRunnable(batchNets, (netConnections) -> {
+            ConnectionState state = speculativeConnectionState.computeIfAbsent(Thread.currentThread(),
+                    (k) -> createSpeculativeConnectionState());
+            state.speculativeNetUses.clear();
+            for (Connection connection : netConnections) {
+                if (connection.isCrossSLR()) {
+                    continue;
+                }
+                RouteNode rnode = searchIndirectConnection(state, connection);
+                if (rnode != null) {
+                    state.queue.clear();
+                    if (saveSpeculativeRouting(state, connection, rnode)) {
+                        // Let the net's remaining connections share this (yet uncommitted) path
+                        for (RouteNode used : connection.getRnodes()) {
+                            state.speculativeNetUses.merge(used, 1, Integer::sum);
+                        }
+                    } else {
+                        connection.resetRoute();
+                    }
+                }
+                state.targets.clear();
+            }
+        });
+
+        RouteNodeStore nodeStore = routingGraph.nodeStore;
+        for (Connection connection : batch) {
+            if (connection.getRnodes().isEmpty() || hasSpeculativeConflict(connection, version)) {
+                if (!connection.getRnodes().isEmpty()) {
+                    speculativeConflicts++;
+                    connection.resetRoute();
+                }
+                routeIndirectConnection(connection);
+            } else {
+                speculativeCommits++;
+                connectionsRoutedThisIteration.incrementAndGet();
+                connection.setRouted(true);
+                updateUsersAndPresentCongestionCost(connection);
+                if (config.isTimingDriven()) {
+                    connection.updateRouteDelay();
+                }
+            }
+            for (RouteNode rnode : connection.getRnodes()) {
+                nodeStore.setVersion(rnode.getId(), version);
+            }
+        }
+    }
+
+    /**
+     * Traces back a speculatively routed connection using its thread's copy of the expansion state.
+     * The resulting path is not committed.
+     * @param state State from the connection that was routed.
+     * @param connection The connection that was routed.
+     * @param rnode The target rnode reached.
+     * @return True if backtracking reached the connection's source.
+     */
+    private boolean saveSpeculativeRouting(ConnectionState state, Connection connection, RouteNode rnode) {
+        RouteNodeStore store = state.store;
+        connection.resetRoute();
+        int id = rnode.getId();
+        do {
+            connection.addRnode(store.get(id));
+        } while ((id = store.getPrev(id)) >= 0);
+
+        List<RouteNode> rnodes = connection.getRnodes();
+        return rnodes.get(rnodes.size() - 1) == connection.getSourceRnode();
+    }
+
+    /**
+     * Checks if the uncommitted path of a speculatively routed connection conflicts with the commits
+     * already made in its batch. A conflict exists if the path uses a rnode whose users have changed since
+     * the batch was routed and that would now become (more) overused, or if its sink has since been taken.
+     * @param connection The speculatively routed connection.
+     * @param version The version of rnodes changed by commits of this batch.
+     * @return True if the connection must be rerouted.
+     */
+    private boolean hasSpeculativeConflict(Connection connection, int version) {
+        RouteNodeStore nodeStore = routingGraph.nodeStore;
+        NetWrapper netWrapper = connection.getNetWrapper();
+        List<RouteNode> rnodes = connection.getRnodes();
+        for (int i = 0; i < rnodes.size(); i++) {
+            RouteNode rnode = rnodes.get(i);
+            if (nodeStore.getVersion(rnode.getId()) != version) {
+                // Unchanged since this connection was routed
+                continue;
+            }
+            if (i == 0 || rnode.willOverUse(netWrapper)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Routes indirect connections iteratively.
      */
@@ -985,6 +1182,8 @@ public class RWRoute {
             lastIterationRnodeCount = routingGraph.numNodes();
             lastIterationRnodeTime = rnodesTimer.getTime();
         }
+        // Release the private expansion state held for speculative routing
+        speculativeConnectionState.clear();
         if (routeIteration == config.getMaxIterations()) {
             System.out.println("\nERROR: Routing terminated after " + (routeIteration -1 ) + " iterations.");
             System.out.println("       Unroutable connections: " + getUnroutableConnections().size());
@@ -1637,9 +1836,18 @@ public class RWRoute {
      */
     protected static class ConnectionState {
         /** Priority queue of all candidate nodes to be considered for routing this connection */
-        protected final PriorityQueue<RouteNode> queue;
+        protected final RouteNodeQueue queue;
         /** The list of nodes marked as a target for this connection */
         protected final List<RouteNode> targets;
+        /** Storage of the per-rnode expansion state, which is the routing graph's own unless speculative */
+        protected final RouteNodeStore store;
+        /** True if used for speculative routing, in which case targets are not marked on the rnodes themselves */
+        protected final boolean speculative;
+        /**
+         * When speculative, the number of uncommitted connections of the net being routed that use each rnode,
+         * so that its later connections can share with the earlier ones; null otherwise
+         */
+        protected final Map<RouteNode, Integer> speculativeNetUses;
 
         /** Connection to be routed */
         protected Connection connection;
@@ -1654,9 +1862,12 @@ public class RWRoute {
         protected float dlyWeight;
         protected float estDlyWeight;
 
-        protected ConnectionState() {
-            this.queue = new PriorityQueue<>();
+        protected ConnectionState(RouteNodeQueue queue, RouteNodeStore store, boolean speculative) {
+            this.queue = queue;
             this.targets = new ArrayList<>();
+            this.store = store;
+            this.speculative = speculative;
+            this.speculativeNetUses = speculative ? new IdentityHashMap<>() : null;
         }
     }
 
@@ -1666,35 +1877,11 @@ public class RWRoute {
      */
     protected void routeIndirectConnection(Connection connection) {
         ConnectionState state = getConnectionState();
-        state.connection = connection;
-        state.sequence = connectionsRouted.incrementAndGet();
         connectionsRoutedThisIteration.incrementAndGet();
-        state.rnodeCostWeight = 1 - connection.getCriticality();
-        state.shareWeight = (float) (Math.pow(state.rnodeCostWeight, config.getShareExponent()));
-        state.rnodeWLWeight = state.rnodeCostWeight * oneMinusWlWeight;
-        state.estWlWeight = state.rnodeCostWeight * wlWeight;
-        state.dlyWeight = connection.getCriticality() * oneMinusTimingWeight / 100f;
-        state.estDlyWeight = connection.getCriticality() * timingWeight;
-
-        PriorityQueue<RouteNode> queue = state.queue;
-        assert(queue.isEmpty());
-
-        prepareRouteConnection(state);
-
-        int nodesPoppedThisConnection = 0;
-        RouteNode rnode;
-        while ((rnode = queue.poll()) != null) {
-            nodesPoppedThisConnection++;
-            if (rnode.isTarget()) {
-                break;
-            }
-            exploreAndExpand(state, rnode);
-        }
-        nodesPushed.addAndGet(nodesPoppedThisConnection + queue.size());
-        nodesPopped.addAndGet(nodesPoppedThisConnection);
 
+        RouteNode rnode = searchIndirectConnection(state, connection);
         if (rnode != null) {
-            queue.clear();
+            state.queue.clear();
             finishRouteConnection(connection, rnode);
             if (!connection.isRouted()) {
                 List<RouteNode> rnodes = connection.getRnodes();
@@ -1706,7 +1893,7 @@ public class RWRoute {
             }
             assert(connection.isRouted());
         } else {
-            assert(queue.isEmpty());
+            assert(state.queue.isEmpty());
             // Clears previous route of the connection
             connection.resetRoute();
             connection.setRouted(false);
@@ -1721,6 +1908,53 @@ public class RWRoute {
         targets.clear();
     }
 
+    /**
+     * Searches for the lowest-cost path of a connection without saving it, leaving the
+     * expansion state of that path in the given state.
+     * @param state State to be used for routing the connection.
+     * @param connection The connection to route.
+     * @return The target rnode that was reached, or null if none could be reached.
+     */
+    private RouteNode searchIndirectConnection(ConnectionState state, Connection connection) {
+        state.connection = connection;
+        state.sequence = connectionsRouted.incrementAndGet();
+        state.rnodeCostWeight = 1 - connection.getCriticality();
+        state.shareWeight = (float) (Math.pow(state.rnodeCostWeight, config.getShareExponent()));
+        state.rnodeWLWeight = state.rnodeCostWeight * oneMinusWlWeight;
+        state.estWlWeight = state.rnodeCostWeight * wlWeight;
+        state.dlyWeight = connection.getCriticality() * oneMinusTimingWeight / 100f;
+        state.estDlyWeight = connection.getCriticality() * timingWeight;
+
+        RouteNodeQueue queue = state.queue;
+        assert(queue.isEmpty());
+
+        prepareRouteConnection(state);
+
+        int nodesPoppedThisConnection = 0;
+        RouteNode rnode;
+        while ((rnode = queue.poll()) != null) {
+            nodesPoppedThisConnection++;
+            if (isTarget(state, rnode)) {
+                break;
+            }
+            exploreAndExpand(state, rnode);
+        }
+        nodesPushed.addAndGet(nodesPoppedThisConnection + queue.size());
+        nodesPopped.addAndGet(nodesPoppedThisConnection);
+        return rnode;
+    }
+
+    /**
+     * Checks if a rnode is a target of the connection being routed.
+     * @param state State from the connection that is being routed.
+     * @param rnode The rnode in question.
+     * @return true, if rnode is a target.
+     */
+    private static boolean isTarget(ConnectionState state, RouteNode rnode) {
+        // When routing speculatively, target marks are not kept on the (shared) rnodes themselves
+        return state.speculative ? state.targets.contains(rnode) : rnode.isTarget();
+    }
+
     protected void enlargeBoundingBox(Connection connection) {
         if (!config.isEnlargeBoundingBox()) {
             return;
@@ -1834,26 +2068,29 @@ public class RWRoute {
         final boolean longParent = config.isTimingDriven() && DelayEstimatorBase.isLong(rnode);
         final Connection connection = state.connection;
         final int sequence = state.sequence;
-        final PriorityQueue<RouteNode> queue = state.queue;
+        final RouteNodeQueue queue = state.queue;
+        final RouteNodeStore store = state.store;
         for (RouteNode childRNode : rnode.getChildren(routingGraph)) {
+            final int childId = childRNode.getId();
+            final boolean childIsTarget = isTarget(state, childRNode);
             // Targets that are visited more than once must be overused
-            assert(!childRNode.isTarget() || !childRNode.isVisited(sequence) || childRNode.willOverUse(connection.getNetWrapper()));
+            assert(!childIsTarget || store.getVisited(childId) != sequence || childRNode.willOverUse(connection.getNetWrapper()));
 
             // If childRnode is preserved, then it must be preserved for the current net we're routing
             Net preservedNet;
             assert((preservedNet = routingGraph.getPreservedNet(childRNode)) == null ||
                     preservedNet == connection.getNet());
 
-            if (childRNode.isVisited(sequence)) {
+            if (store.getVisited(childId) == sequence) {
                 // Node must be in queue already.
 
                 // Note: it is possible this is a cheaper path to childRNode; however, because the
-                // PriorityQueue class does not support (efficiently) reducing the cost of nodes
+                // RouteNodeQueue does not support (efficiently) reducing the cost of nodes
                 // already in the queue, this opportunity is discarded
                 continue;
             }
 
-            if (childRNode.isTarget()) {
+            if (childIsTarget) {
                 boolean earlyTermination;
                 if (childRNode == connection.getSinkRnode() && !connection.hasAltSinks()) {
                     // This sink must be exclusively reserved for this connection already
@@ -1867,7 +2104,7 @@ public class RWRoute {
                 }
 
                 if (earlyTermination) {
-                    assert(!childRNode.isVisited(sequence));
+                    assert(store.getVisited(childId) != sequence);
                     nodesPushed.addAndGet(queue.size());
                     queue.clear();
                 }
@@ -1935,7 +2172,7 @@ public class RWRoute {
             }
 
             evaluateCostAndPush(state, rnode, longParent, childRNode);
-            if (childRNode.isTarget() && queue.size() == 1) {
+            if (childIsTarget && queue.size() == 1) {
                 // Target is uncongested and the only thing in the (previously cleared) queue, abandon immediately
                 break;
             }
@@ -1984,15 +2221,18 @@ public class RWRoute {
      */
     protected void evaluateCostAndPush(ConnectionState state, RouteNode rnode, boolean longParent, RouteNode childRnode) {
         final Connection connection = state.connection;
-        final int countSourceUses = childRnode.countConnectionsOfUser(connection.getNetWrapper());
+        final int countCommittedSourceUses = childRnode.countConnectionsOfUser(connection.getNetWrapper());
+        final int countSourceUses = state.speculative ?
+                countCommittedSourceUses + state.speculativeNetUses.getOrDefault(childRnode, 0) :
+                countCommittedSourceUses;
         final float sharingFactor = 1 + state.shareWeight * countSourceUses;
 
         // Set the prev pointer, as RouteNode.getEndTileYCoordinate() and
         // RouteNode.getSLRIndex() require this
-        childRnode.setPrev(rnode);
+        state.store.setPrev(childRnode.getId(), rnode.getId());
 
-        float newPartialPathCost = rnode.getUpstreamPathCost();
-        newPartialPathCost += state.rnodeCostWeight * getNodeCost(childRnode, connection, countSourceUses, sharingFactor);
+        float newPartialPathCost = state.store.getUpstreamPathCost(rnode.getId());
+        newPartialPathCost += state.rnodeCostWeight * getNodeCost(state, childRnode, countSourceUses, countCommittedSourceUses != 0, sharingFactor);
         newPartialPathCost += state.rnodeWLWeight * childRnode.getLength() / sharingFactor;
         if (config.isTimingDriven()) {
             newPartialPathCost += state.dlyWeight * (childRnode.getDelay() + DelayEstimatorBase.getExtraDelay(childRnode, longParent));
@@ -2046,19 +2286,22 @@ public class RWRoute {
 
     /**
      * Gets the congestion cost and bias cost of a rnode.
+     * @param state State from the connection that is being routed.
      * @param rnode The rnode in question.
-     * @param connection The connection being routed.
      * @param countSameSourceUsers The number of connections from the same net that are using rnode.
      * Note: a net is represented by its source {@link SitePinInst} Object.
+     * @param isOccupiedByThisNet True if the same net is already counted in the rnode's occupancy, which is not
+     * the case when all its same-net users are uncommitted speculative connections.
      * @param sharingFactor The sharing factor.
      * @return The sum of the congestion cost and the bias cost of rnode.
      */
-    private float getNodeCost(RouteNode rnode, Connection connection, int countSameSourceUsers, float sharingFactor) {
+    private float getNodeCost(ConnectionState state, RouteNode rnode, int countSameSourceUsers, boolean isOccupiedByThisNet,
+                              float sharingFactor) {
         boolean hasSameSourceUsers = (countSameSourceUsers != 0);
         float presentCongestionCost;
 
         if (hasSameSourceUsers) {// the rnode is used by other connection(s) from the same net
-            int occupancyWithoutThisNet = rnode.getOccupancy() - 1;
+            int occupancyWithoutThisNet = rnode.getOccupancy() - (isOccupiedByThisNet ? 1 : 0);
             // make the congestion cost less for the current connection
             presentCongestionCost = routingGraph.getPresentCongestionCost(occupancyWithoutThisNet);
         } else {
@@ -2067,8 +2310,8 @@ public class RWRoute {
 
         float baseCost = rnode.getBaseCost();
         float biasCost = 0;
-        if (!rnode.isTarget() && rnode.getType() != RouteNodeType.SUPER_LONG_LINE) {
-            NetWrapper net = connection.getNetWrapper();
+        if (!isTarget(state, rnode) && rnode.getType() != RouteNodeType.SUPER_LONG_LINE) {
+            NetWrapper net = state.connection.getNetWrapper();
             float distToCenter = Math.abs(rnode.getEndTileXCoordinate() - net.getXCenter()) +
                     Math.abs(rnode.getEndTileYCoordinate() - net.getYCenter());
             biasCost = baseCost / net.getConnections().size() * distToCenter / net.getDoubleHpwl();
@@ -2085,13 +2328,15 @@ public class RWRoute {
      * @param newTotalPathCost Total path cost of childRnode.
      */
     protected void push(ConnectionState state, RouteNode childRnode, float newPartialPathCost, float newTotalPathCost) {
+        final RouteNodeStore store = state.store;
+        final int childId = childRnode.getId();
         // Pushed node must have a prev pointer, unless it is a source (with no upstream path cost)
-        assert(childRnode.getPrev() != null || newPartialPathCost == 0);
-        childRnode.setLowerBoundTotalPathCost(newTotalPathCost);
-        childRnode.setUpstreamPathCost(newPartialPathCost);
+        assert(store.getPrev(childId) >= 0 || newPartialPathCost == 0);
+        store.setLowerBoundTotalPathCost(childId, newTotalPathCost);
+        store.setUpstreamPathCost(childId, newPartialPathCost);
         // Use the number-of-connections-routed-so-far as the identifier for whether a rnode
         // has been visited by this connection before
-        childRnode.setVisited(state.sequence);
+        store.setVisited(childId, state.sequence);
         state.queue.add(childRnode);
     }
 
@@ -2114,7 +2359,7 @@ public class RWRoute {
 
         // Adds the source rnode to the queue
         RouteNode sourceRnode = connection.getSourceRnode();
-        assert(sourceRnode.getPrev() == null);
+        assert(state.store.getPrev(sourceRnode.getId()) < 0);
         push(state, sourceRnode, 0, 0);
     }
 
@@ -2232,9 +2477,17 @@ public class RWRoute {
             printFormattedString("Num iterations:", routeIteration);
             printFormattedString("Connections routed:", connectionsRouted.get());
             printFormattedString("Nodes pushed:", nodesPushed.get());
+            if (isSpeculative()) {
+                printFormattedString("Speculative commits:", speculativeCommits);
+                printFormattedString("Speculative conflicts:", speculativeConflicts);
+            }
         }
         printFormattedString("Nodes popped:", nodesPopped.get());
         if (config.isVerbose()) {
+            RuntimeTracker routeConnections = routerTimer.getRuntimeTracker("route connections");
+            if (routeConnections.getTime() > 0) {
+                printFormattedString("Nodes popped per second:", Math.round(nodesPopped.get() / (routeConnections.getTime() * 1e-9)));
+            }
             System.out.printf("------------------------------------------------------------------------------\n");
         }
 
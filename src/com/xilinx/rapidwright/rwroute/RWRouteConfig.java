@@ -104,6 +104,14 @@ public class RWRouteConfig {
     private float husInitialCongestedThreshold;
     /* The threshold for determining whether to start using historical-centric updating in HUS */
     private float husActivateThreshold;
+    /* The arity of the heap used as the routing queue, or 0 to use java.util.PriorityQueue */
+    private int heapArity;
+    /* The directory containing persistent routing graph cache files, or null to disable caching */
+    private String routingGraphCacheDir;
+    /* true to produce routing results that are reproducible regardless of the number of threads */
+    private boolean deterministic;
+    /* The number of nets routed speculatively in parallel in each batch, or 0 to route sequentially */
+    private int speculativeBatchSize;
 
     /** Constructs a Configuration Object */
     public RWRouteConfig(String[] arguments) {
@@ -140,6 +148,10 @@ public class RWRouteConfig {
         husBeta = 2f;
         husInitialCongestedThreshold = 0.5f;
         husActivateThreshold = 0.4f;
+        heapArity = 0;
+        routingGraphCacheDir = null;
+        deterministic = false;
+        speculativeBatchSize = 0;
         if (arguments != null) {
             parseArguments(arguments);
         }
@@ -263,6 +275,18 @@ public class RWRouteConfig {
             case "--husActivateThreshold":
                 setHusActivateThreshold(Float.parseFloat(arguments[++i]));
                 break;
+            case "--heapArity":
+                setHeapArity(Integer.parseInt(arguments[++i]));
+                break;
+            case "--routingGraphCacheDir":
+                setRoutingGraphCacheDir(arguments[++i]);
+                break;
+            case "--deterministic":
+                setDeterministic(true);
+                break;
+            case "--speculativeBatchSize":
+                setSpeculativeBatchSize(Integer.parseInt(arguments[++i]));
+                break;
             default:
                 throw new IllegalArgumentException("ERROR: RWRoute argument '" + arg + "' not recognized.");
             }
@@ -1012,6 +1036,104 @@ public class RWRouteConfig {
         this.husActivateThreshold = husActivateThreshold;
     }
 
+    /**
+     * Gets the arity of the heap used as the routing queue.
+     * A value of 0 indicates that java.util.PriorityQueue is used instead.
+     * Default: 0. Can be modified by using the "--heapArity" option, e.g. "--heapArity 4".
+     * @return The arity of the heap used as the routing queue.
+     */
+    public int getHeapArity() {
+        return heapArity;
+    }
+
+    /**
+     * Sets the arity of the heap used as the routing queue.
+     * A value of 2 or more selects a {@link RouteNodeHeap} over primitive costs and rnode ids with that
+     * many children per entry, whereas 0 selects a {@link RouteNodePriorityQueue}.
+     * Default: 0. Can be modified by using the "--heapArity" option, e.g. "--heapArity 4".
+     * @param heapArity The arity of the heap, or 0 to use java.util.PriorityQueue.
+     */
+    public void setHeapArity(int heapArity) {
+        if (heapArity != 0 && heapArity < 2) {
+            throw new IllegalArgumentException("ERROR: RWRoute heap arity must be 0 or at least 2, got " + heapArity + ".");
+        }
+        this.heapArity = heapArity;
+    }
+
+    /**
+     * Gets the directory containing persistent routing graph cache files.
+     * Default: null (disabled). Can be modified by using the "--routingGraphCacheDir" option,
+     * e.g. "--routingGraphCacheDir /tmp/rwroute".
+     * @return The directory containing routing graph cache files, or null if caching is disabled.
+     */
+    public String getRoutingGraphCacheDir() {
+        return routingGraphCacheDir;
+    }
+
+    /**
+     * Sets the directory containing persistent routing graph cache files.
+     * When set, device-level node information computed while lazily building the routing resource
+     * graph is loaded from (and any new information saved to) a per-device {@link RouteNodeGraphCache}
+     * file in this directory so that it can be reused by subsequent runs on the same device.
+     * Default: null (disabled). Can be modified by using the "--routingGraphCacheDir" option,
+     * e.g. "--routingGraphCacheDir /tmp/rwroute".
+     * @param routingGraphCacheDir The directory containing routing graph cache files, or null to disable caching.
+     */
+    public void setRoutingGraphCacheDir(String routingGraphCacheDir) {
+        this.routingGraphCacheDir = routingGraphCacheDir;
+    }
+
+    /**
+     * Checks if deterministic routing is enabled.
+     * Default: false. Can be enabled by using the "--deterministic" option.
+     * @return true, if deterministic routing is enabled.
+     */
+    public boolean isDeterministic() {
+        return deterministic;
+    }
+
+    /**
+     * Sets whether routing results must be reproducible.
+     * When enabled, routing queue ties are broken on a key derived from each rnode's tile and wire
+     * (rather than on the order in which they were pushed), and rnode creation is serialized per tile so that multi-threaded
+     * routers (e.g. {@link CUFR}) produce identical PIPs regardless of the number of threads used.
+     * Default: false. Can be enabled by using the "--deterministic" option.
+     * @param deterministic true to enable deterministic routing.
+     */
+    public void setDeterministic(boolean deterministic) {
+        this.deterministic = deterministic;
+    }
+
+    /**
+     * Gets the number of nets routed speculatively in parallel in each batch.
+     * A value of 0 indicates that connections are routed sequentially.
+     * Default: 0. Can be modified by using the "--speculativeBatchSize" option, e.g. "--speculativeBatchSize 256".
+     * @return The number of nets in each speculative batch.
+     */
+    public int getSpeculativeBatchSize() {
+        return speculativeBatchSize;
+    }
+
+    /**
+     * Sets the number of nets routed speculatively in parallel in each batch.
+     * When non-zero, {@link RWRoute} takes batches of this many nets (in routing order), rips up all their
+     * connections and routes each net on a separate thread against the congestion costs present at the
+     * start of the batch. Paths are then committed in routing order, and any connection whose path uses
+     * a rnode that an earlier commit of the same batch caused to become overused is rerouted sequentially.
+     * Since each thread keeps its own copy of the per-rnode expansion state, memory usage grows with
+     * the number of threads. Whether this is faster than routing sequentially depends on how many
+     * connections conflict and are rerouted; measure it with ReportSpeculativeRoutingScaling.
+     * Not supported by {@link PartialRouter} or {@link CUFR}.
+     * Default: 0. Can be modified by using the "--speculativeBatchSize" option, e.g. "--speculativeBatchSize 256".
+     * @param speculativeBatchSize The number of nets in each speculative batch, or 0 to route sequentially.
+     */
+    public void setSpeculativeBatchSize(int speculativeBatchSize) {
+        if (speculativeBatchSize < 0) {
+            throw new IllegalArgumentException("ERROR: RWRoute speculative batch size must not be negative, got " + speculativeBatchSize + ".");
+        }
+        this.speculativeBatchSize = speculativeBatchSize;
+    }
+
     @Override
     public String toString() {
         StringBuilder s = new StringBuilder();
@@ -1048,6 +1170,18 @@ public class RWRouteConfig {
         s.append(MessageGenerator.formatString("Historical congestion factor: ", historicalCongestionFactor));
         s.append(MessageGenerator.formatString("LUT pin swapping: ", isLutPinSwapping()));
         s.append(MessageGenerator.formatString("LUT routethrus: ", isLutRoutethru()));
+        if (routingGraphCacheDir != null) {
+            s.append(MessageGenerator.formatString("Routing graph cache directory: " + routingGraphCacheDir));
+        }
+        if (heapArity != 0) {
+            s.append(MessageGenerator.formatString("Routing queue heap arity: ", heapArity));
+        }
+        if (deterministic) {
+            s.append(MessageGenerator.formatString("Deterministic: ", deterministic));
+        }
+        if (speculativeBatchSize != 0) {
+            s.append(MessageGenerator.formatString("Speculative batch size: ", speculativeBatchSize));
+        }
         s.append(MessageGenerator.formatString("Use Hybrid Updating Strategy: ", isHus()));
         if (isHus()) {
             s.append(MessageGenerator.formatString("HUS alpha: ", husAlpha));
@@ -62,30 +62,36 @@ public class RouteNode extends Node implements Comparable<RouteNode> {
     private float baseCost;
     /** A flag to indicate if this rnode is the target */
     private boolean isTarget;
-    /** The children (downhill rnodes) of this rnode */
-    protected RouteNode[] children;
+    /** The children (downhill rnodes) of this rnode, only ever published once fully built */
+    protected volatile RouteNode[] children;
 
     /** Historical congestion cost */
     private float historicalCongestionCost;
-    /** Upstream path cost */
-    private float upstreamPathCost;
-    /** Lower bound of the total path cost */
-    private float lowerBoundTotalPathCost;
-    /** A variable indicating which id this rnode was last visited by during the expansion */
-    private int visited;
-    /** A variable that stores the parent of a rnode during expansion to facilitate tracing back */
-    private RouteNode prev;
-    /**
-     * A map that records users of a rnode based on all routed connections.
+    /**
+     * Storage holding the per-expansion state (path costs, visited and parent) of this rnode,
+     * indexed by its dense id
+     */
+    private final RouteNodeStore store;
+    /** Dense id of this rnode within its {@link RouteNodeGraph} */
+    private final int id;
+    /**
+     * The users of a rnode based on all routed connections.
      * Each user is a {@link NetWrapper} instance that corresponds to a {@link Net} instance.
      * It is often the case that multiple connections of the user are using a same rnode.
      * We count the number of connections from the net.
      * The number is used for the sharing mechanism of RWRoute.
+     * Only an overused rnode has more than one user, so the first user and its connection count
+     * are stored inline, with any additional users stored in a lazily-allocated overflow table.
      */
-    private Map<NetWrapper, Integer> usersConnectionCounts;
+    private NetWrapper user;
+    private int userConnectionCount;
+    private RouteNodeUsers otherUsers;
 
     protected RouteNode(RouteNodeGraph routingGraph, Node node, RouteNodeType type) {
         super(node);
+        store = routingGraph.nodeStore;
+        // Only reserve an id here: this rnode is registered with the store once fully constructed
+        id = store.nextId();
         RouteNodeInfo nodeInfo = RouteNodeInfo.get(node, routingGraph);
         this.type = (byte) ((type == null) ? nodeInfo.type : type).ordinal();
         endTileXCoordinate = nodeInfo.endTileXCoordinate;
@@ -94,9 +100,10 @@ public class RouteNode extends Node implements Comparable<RouteNode> {
         children = null;
         setBaseCost(routingGraph.design.getSeries());
         historicalCongestionCost = initialHistoricalCongestionCost;
-        usersConnectionCounts = null;
-        visited = 0;
-        assert(prev == null);
+        user = null;
+        otherUsers = null;
+        assert(getVisited() == 0);
+        assert(getPrev() == null);
         assert(!isTarget);
     }
 
@@ -104,7 +111,7 @@ public class RouteNode extends Node implements Comparable<RouteNode> {
     public int compareTo(RouteNode that) {
         // Do not use Float.compare() since it also compares NaN, which we'll assume is unreachable
         // return Float.compare(this.lowerBoundTotalPathCost, that.lowerBoundTotalPathCost);
-        return (int) Math.signum(this.lowerBoundTotalPathCost - that.lowerBoundTotalPathCost);
+        return (int) Math.signum(this.getLowerBoundTotalPathCost() - that.getLowerBoundTotalPathCost());
     }
 
     private void setBaseCost(Series series) {
@@ -345,10 +352,14 @@ public class RouteNode extends Node implements Comparable<RouteNode> {
 
     /**
      * Marks this node as a target, and adds it to state's targets list.
+     * When routing speculatively, only the latter is performed since other threads
+     * may be routing to the same node concurrently.
      * @param state State from the connection that is being routed.
      */
     public void markTarget(RWRoute.ConnectionState state) {
-        isTarget = true;
+        if (!state.speculative) {
+            isTarget = true;
+        }
         state.targets.add(this);
     }
 
@@ -421,8 +432,9 @@ public class RouteNode extends Node implements Comparable<RouteNode> {
      * @return The tileYCoordinate of the INT tile that the associated {@link Node} instance stops at.
      */
     public short getEndTileYCoordinate() {
+        RouteNode prev;
         boolean reverseSLL = (getType() == RouteNodeType.SUPER_LONG_LINE &&
-                prev != null &&
+                (prev = getPrev()) != null &&
                 prev.endTileYCoordinate == endTileYCoordinate);
         return reverseSLL ? (short) getTile().getTileYCoordinate() : endTileYCoordinate;
     }
@@ -437,22 +449,27 @@ public class RouteNode extends Node implements Comparable<RouteNode> {
     }
 
     /**
-     * Gets the children of a RouteNode Object.
+     * Gets the children of a RouteNode Object. Safe to call from multiple threads when speculatively
+     * routing: racing threads may each build the children, but all build the same array and only
+     * a complete array is ever seen.
      * @return A list of RouteNode Objects.
      */
     public RouteNode[] getChildren(RouteNodeGraph routingGraph) {
+        RouteNode[] children = this.children;
         if (children == null) {
             long start = RuntimeTracker.now();
-            List<Node> allDownHillNodes = getAllDownhillNodes();
-            List<RouteNode> childrenList = new ArrayList<>(allDownHillNodes.size());
-            for (Node downhill : allDownHillNodes) {
-                if (isExcluded(routingGraph, downhill)) {
-                    continue;
+            List<RouteNode> childrenList;
+            int[] downhillTileWires = routingGraph.getAllDownhillTileWires(this);
+            if (downhillTileWires != null) {
+                childrenList = new ArrayList<>(downhillTileWires.length / 2);
+                for (int i = 0; i < downhillTileWires.length; i += 2) {
+                    addChild(routingGraph, routingGraph.getDownhillNode(downhillTileWires[i], downhillTileWires[i + 1]), childrenList);
                 }
-
-                RouteNode child = routingGraph.getOrCreate(downhill);
-                if (child.getType() != RouteNodeType.INACCESSIBLE) {
-                    childrenList.add(child);
+            } else {
+                List<Node> allDownHillNodes = getAllDownhillNodes();
+                childrenList = new ArrayList<>(allDownHillNodes.size());
+                for (Node downhill : allDownHillNodes) {
+                    addChild(routingGraph, downhill, childrenList);
                 }
             }
             if (!childrenList.isEmpty()) {
@@ -460,6 +477,7 @@ public class RouteNode extends Node implements Comparable<RouteNode> {
             } else {
                 children = EMPTY_ARRAY;
             }
+            this.children = children;
             long time = RuntimeTracker.elapsed(start);
             routingGraph.addCreateRnodeTime(time);
         }
@@ -467,6 +485,17 @@ public class RouteNode extends Node implements Comparable<RouteNode> {
 
     }
 
+    private void addChild(RouteNodeGraph routingGraph, Node downhill, List<RouteNode> childrenList) {
+        if (isExcluded(routingGraph, downhill)) {
+            return;
+        }
+
+        RouteNode child = routingGraph.getOrCreate(downhill);
+        if (child.getType() != RouteNodeType.INACCESSIBLE) {
+            childrenList.add(child);
+        }
+    }
+
     /**
      * Clears the children of this node so that it can be regenerated.
      */
@@ -487,7 +516,7 @@ public class RouteNode extends Node implements Comparable<RouteNode> {
      * @param totalPathCost The cost value to be set.
      */
     public void setLowerBoundTotalPathCost(float totalPathCost) {
-        lowerBoundTotalPathCost = totalPathCost;
+        store.setLowerBoundTotalPathCost(id, totalPathCost);
     }
 
     /**
@@ -495,7 +524,7 @@ public class RouteNode extends Node implements Comparable<RouteNode> {
      * @param newPartialPathCost The new value to be set.
      */
     public void setUpstreamPathCost(float newPartialPathCost) {
-        this.upstreamPathCost = newPartialPathCost;
+        store.setUpstreamPathCost(id, newPartialPathCost);
     }
 
     /**
@@ -503,7 +532,7 @@ public class RouteNode extends Node implements Comparable<RouteNode> {
      * @return The lower bound total path cost.
      */
     public float getLowerBoundTotalPathCost() {
-        return lowerBoundTotalPathCost;
+        return store.getLowerBoundTotalPathCost(id);
     }
 
     /**
@@ -511,7 +540,7 @@ public class RouteNode extends Node implements Comparable<RouteNode> {
      * @return The upstream path cost.
      */
     public float getUpstreamPathCost() {
-        return upstreamPathCost;
+        return store.getUpstreamPathCost(id);
     }
 
     /**
@@ -519,47 +548,82 @@ public class RouteNode extends Node implements Comparable<RouteNode> {
      * Each user is a {@link NetWrapper} instance representing a {@link Net} instance.
      * It is often the case that multiple connections of a net are using a same rnode.
      * So we count connections of each user to facilitate the sharing mechanism of RWRoute.
+     * Note that the returned map is a snapshot and is built on every call.
      * @return A map between users, i.e., {@link NetWrapper} instances representing by {@link Net} instances,
-     *  and numbers of connections from different users.
+     *  and numbers of connections from different users, or null if this rnode has no users.
      */
     public Map<NetWrapper, Integer> getUsersConnectionCounts() {
+        if (uniqueUserCount() == 0) {
+            return null;
+        }
+        Map<NetWrapper, Integer> usersConnectionCounts = new IdentityHashMap<>();
+        if (user != null) {
+            usersConnectionCounts.put(user, userConnectionCount);
+        }
+        if (otherUsers != null) {
+            otherUsers.putAllInto(usersConnectionCounts);
+        }
         return usersConnectionCounts;
     }
 
     /**
-     * Adds an user {@link NetWrapper} instance to the user map, of which a key is a {@link NetWrapper} instance and
-     * the value is the number of connections that are using a rnode.
-     * If the user is already stored in the map, increment the connection count of the user by 1. Otherwise, put the user
-     * into the map and initialize the connection count as 1.
+     * Adds an user {@link NetWrapper} instance to the users of this rnode, with the number
+     * of connections that are using this rnode.
+     * If the user is already present, increment the connection count of the user by 1. Otherwise,
+     * add the user and initialize the connection count as 1.
      * @param user The user net in question.
      */
     public void incrementUser(NetWrapper user) {
-        if (usersConnectionCounts == null) {
-            usersConnectionCounts = new IdentityHashMap<>();
+        if (this.user == user) {
+            userConnectionCount++;
+            return;
+        }
+        if (otherUsers != null && otherUsers.get(user) > 0) {
+            otherUsers.increment(user, 1);
+            return;
+        }
+        if (this.user == null) {
+            this.user = user;
+            userConnectionCount = 1;
+            return;
+        }
+        if (otherUsers == null) {
+            otherUsers = new RouteNodeUsers();
         }
-        usersConnectionCounts.merge(user, 1, Integer::sum);
+        otherUsers.increment(user, 1);
     }
 
     /**
      * Gets the number of unique users.
-     * @return The number of unique {@link NetWrapper} instances in the user map, i.e, the key set size of the user map.
+     * @return The number of unique {@link NetWrapper} instances using this rnode.
      */
     public int uniqueUserCount() {
-        if (usersConnectionCounts == null) {
-            return 0;
+        int count = (user != null) ? 1 : 0;
+        if (otherUsers != null) {
+            count += otherUsers.size();
         }
-        return usersConnectionCounts.size();
+        return count;
     }
 
     /**
      * Decrements the connection count of a user that is represented by a
      * {@link NetWrapper} instance corresponding to a {@link Net} instance.
-     * If there is only one connection of the user that is using a RouteNode instance, remove the user from the map.
+     * If there is only one connection of the user that is using a RouteNode instance, remove the user.
      * Otherwise, decrement the connection count by 1.
-     * @param user The user to be decremented from the user map.
+     * @param user The user to be decremented.
      */
     public void decrementUser(NetWrapper user) {
-        usersConnectionCounts.compute(user, (k,v) -> (v == 1) ? null : v - 1);
+        if (this.user == user) {
+            if (--userConnectionCount == 0) {
+                this.user = null;
+            }
+            return;
+        }
+        otherUsers.decrement(user);
+        if (otherUsers.isEmpty()) {
+            // Release the overflow table once congestion on this rnode is resolved
+            otherUsers = null;
+        }
     }
 
     /**
@@ -568,10 +632,13 @@ public class RouteNode extends Node implements Comparable<RouteNode> {
      * @return The total number of connections of the user.
      */
     public int countConnectionsOfUser(NetWrapper user) {
-        if (usersConnectionCounts == null) {
+        if (this.user == user) {
+            return userConnectionCount;
+        }
+        if (otherUsers == null) {
             return 0;
         }
-        return usersConnectionCounts.getOrDefault(user, 0);
+        return otherUsers.get(user);
     }
 
     /**
@@ -587,7 +654,8 @@ public class RouteNode extends Node implements Comparable<RouteNode> {
      * @return The driving RouteNode instance.
      */
     public RouteNode getPrev() {
-        return prev;
+        int prevId = store.getPrev(id);
+        return (prevId < 0) ? null : store.get(prevId);
     }
 
     /**
@@ -596,7 +664,7 @@ public class RouteNode extends Node implements Comparable<RouteNode> {
      */
     public void setPrev(RouteNode prev) {
         assert(prev != null);
-        this.prev = prev;
+        store.setPrev(id, prev.id);
     }
 
     /**
@@ -628,6 +696,7 @@ public class RouteNode extends Node implements Comparable<RouteNode> {
      * @return Number of children on this node.
      */
     public int numChildren() {
+        RouteNode[] children = this.children;
         return children != null ? children.length : 0;
     }
 
@@ -637,7 +706,7 @@ public class RouteNode extends Node implements Comparable<RouteNode> {
      * @return true, if a RouteNode instance has been visited before.
      */
     public boolean isVisited(int seq) {
-        return visited == seq;
+        return store.getVisited(id) == seq;
     }
 
     /**
@@ -645,7 +714,7 @@ public class RouteNode extends Node implements Comparable<RouteNode> {
      * @return Connection sequence int.
      */
     public int getVisited() {
-        return visited;
+        return store.getVisited(id);
     }
 
     /**
@@ -654,7 +723,7 @@ public class RouteNode extends Node implements Comparable<RouteNode> {
      */
     public void setVisited(int seq) {
         assert(seq > 0);
-        visited = seq;
+        store.setVisited(id, seq);
     }
 
     /**
@@ -691,6 +760,37 @@ public class RouteNode extends Node implements Comparable<RouteNode> {
         return routingGraph.isExcluded(this, child);
     }
 
+    /**
+     * Gets the dense id of this rnode, which is unique within its {@link RouteNodeGraph}.
+     * @return The id of this rnode.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets a key that uniquely identifies the node underlying this rnode, formed from the unique
+     * address of its base tile and its base wire index.
+     * Unlike {@link #getId()}, this key does not depend on the order in which rnodes were created
+     * and is thus suitable for breaking ties reproducibly.
+     * @return The tile/wire key of this rnode.
+     */
+    public long getTileWireKey() {
+        return ((long) getTile().getUniqueAddress() << 32) | getWireIndex();
+    }
+
+    /**
+     * Compares two rnodes by their lower bound total path cost as per {@link #compareTo(RouteNode)},
+     * breaking ties on {@link #getTileWireKey()} so that no two distinct rnodes compare as equal.
+     * @param that The rnode to compare against.
+     * @return A negative, zero or positive integer as this rnode is to be routed before, is the same as,
+     * or is to be routed after that rnode.
+     */
+    public int compareToWithTieBreak(RouteNode that) {
+        int cmp = compareTo(that);
+        return (cmp != 0) ? cmp : Long.compare(this.getTileWireKey(), that.getTileWireKey());
+    }
+
     public int getSLRIndex(RouteNodeGraph routingGraph) {
         return routingGraph.intYToSLRIndex[getEndTileYCoordinate()];
     }
@@ -23,6 +23,7 @@
 
 package com.xilinx.rapidwright.rwroute;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.EnumMap;
@@ -35,6 +36,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiConsumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -70,6 +72,19 @@ public class RouteNodeGraph {
     protected final RouteNode[][] nodesMap;
     private final AtomicInteger nodesMapSize;
 
+    /**
+     * Striped locks serializing rnode creation within each tile, for when the above
+     * single-thread-per-tile assumption cannot be relied upon (e.g. when a node expanded by
+     * one CUFR partition has children whose base tile lies within a concurrently routed
+     * partition) but results must be reproducible, or when nets are being routed
+     * speculatively in parallel. Null if not needed.
+     */
+    private final Object[] createLocks;
+    private static final int CREATE_LOCK_COUNT = 1024;
+
+    /** Primitive storage of per-rnode expansion state, indexed by dense rnode id */
+    protected final RouteNodeStore nodeStore;
+
     /**
      * A map of preserved nodes to their nets
      */
@@ -82,7 +97,11 @@ public class RouteNodeGraph {
      */
     private final CountUpDownLatch asyncPreserveOutstanding;
 
-    private long createRnodeTime;
+    /** Accumulated by concurrent (e.g. speculative) routing threads */
+    private final LongAdder createRnodeTime;
+
+    /** Persistent cache of device-level node information, or null if not enabled */
+    protected final RouteNodeGraphCache cache;
 
     public static final short SUPER_LONG_LINE_LENGTH_IN_TILES = 60;
 
@@ -133,11 +152,20 @@ public class RouteNodeGraph {
 
         this.nodesMap = new RouteNode[getTileCount(design)][];
         nodesMapSize = new AtomicInteger();
+        nodeStore = new RouteNodeStore();
+        if (config.isDeterministic() || config.getSpeculativeBatchSize() > 0) {
+            createLocks = new Object[CREATE_LOCK_COUNT];
+            Arrays.setAll(createLocks, (i) -> new Object());
+        } else {
+            createLocks = null;
+        }
         preservedMap = new AtomicReferenceArray<>(getTileCount(design));
         preservedMapSize = new AtomicInteger();
         asyncPreserveOutstanding = new CountUpDownLatch();
-        createRnodeTime = 0;
+        createRnodeTime = new LongAdder();
         baseWireCounts = new ConcurrentHashMap<>();
+        cache = (config.getRoutingGraphCacheDir() != null) ?
+                RouteNodeGraphCache.load(design, config.getRoutingGraphCacheDir()) : null;
 
         Device device = design.getDevice();
         intYToSLRIndex = new int[device.getRows()];
@@ -419,6 +447,18 @@ public class RouteNodeGraph {
      * Return the maximum base wire index across all Nodes in this tile
      */
     protected int getBaseWireCount(Tile tile, int startWireIndex) {
+        return getBaseWireCount(baseWireCounts, tile, startWireIndex);
+    }
+
+    /**
+     * Return one more than the maximum base wire index across all Nodes in this tile, i.e. the size of
+     * an array indexed by the wire index of every Node based in this tile.
+     * @param baseWireCounts Cache of previous results, by tile type.
+     * @param tile The tile.
+     * @param startWireIndex Wire index of a Node based in this tile.
+     * @return The number of base wires in this tile.
+     */
+    public static int getBaseWireCount(Map<TileTypeEnum, Integer> baseWireCounts, Tile tile, int startWireIndex) {
         return baseWireCounts.computeIfAbsent(tile.getTileTypeEnum(), (e) -> {
             // Check all wires in tile to find the index of the last base wire
             int lastBaseWire = startWireIndex;
@@ -620,12 +660,57 @@ public class RouteNodeGraph {
         return false;
     }
 
+    /**
+     * Gets all downhill nodes of the given node from the persistent cache, computing and recording
+     * them if not yet cached.
+     * @param node The node in question.
+     * @return Pairs of tile address and base wire index of each downhill node (see
+     * {@link #getDownhillNode(int, int)}), or null if the cache is not enabled.
+     */
+    protected int[] getAllDownhillTileWires(Node node) {
+        if (cache == null) {
+            return null;
+        }
+        int[] downhill = cache.getDownhill(node);
+        if (downhill == null) {
+            downhill = cache.putDownhillNodes(node, node.getAllDownhillNodes());
+        }
+        return downhill;
+    }
+
+    /**
+     * Gets a downhill node returned by {@link #getAllDownhillTileWires(Node)}. If a rnode already exists
+     * for it, that is returned so that no {@link Node} object needs to be created.
+     * @param tileAddress Unique address of the base tile of the node.
+     * @param wireIndex Base wire index of the node.
+     * @return The existing rnode, or a new Node object.
+     */
+    protected Node getDownhillNode(int tileAddress, int wireIndex) {
+        Tile tile = cache.getTile(tileAddress);
+        RouteNode rnode = getNode(tile, wireIndex);
+        return (rnode != null) ? rnode : Node.getNode(tile, wireIndex);
+    }
+
+    /**
+     * Writes any newly computed node information to the persistent cache, if enabled.
+     */
+    public void writeCache() {
+        if (cache == null || cache.getNumPendingEntries() == 0) {
+            return;
+        }
+        try {
+            cache.write();
+        } catch (IOException e) {
+            System.err.println("WARNING: Unable to write routing graph cache: " + e.getMessage());
+        }
+    }
+
     protected void addCreateRnodeTime(long time) {
-        createRnodeTime += time;
+        createRnodeTime.add(time);
     }
 
     protected long getCreateRnodeTime() {
-        return createRnodeTime;
+        return createRnodeTime.sum();
     }
 
     public Net getPreservedNet(Node node) {
@@ -718,6 +803,15 @@ public class RouteNodeGraph {
         return nodesMapSize.get();
     }
 
+    /**
+     * Gets the rnode with the given dense id.
+     * @param id Id as returned by {@link RouteNode#getId()}.
+     * @return The RouteNode object.
+     */
+    public RouteNode getNode(int id) {
+        return nodeStore.get(id);
+    }
+
     protected RouteNode create(Node node, RouteNodeType type) {
         return new RouteNode(this, node, type);
     }
@@ -727,6 +821,16 @@ public class RouteNodeGraph {
     }
 
     public RouteNode getOrCreate(Node node, RouteNodeType type) {
+        if (createLocks != null) {
+            int tileAddress = node.getTile().getUniqueAddress();
+            synchronized (createLocks[tileAddress & (CREATE_LOCK_COUNT - 1)]) {
+                return getOrCreateInTile(node, type);
+            }
+        }
+        return getOrCreateInTile(node, type);
+    }
+
+    private RouteNode getOrCreateInTile(Node node, RouteNodeType type) {
         Tile tile = node.getTile();
         int wireIndex = node.getWireIndex();
         int tileAddress = tile.getUniqueAddress();
@@ -739,6 +843,7 @@ public class RouteNodeGraph {
         RouteNode rnode = rnodes[wireIndex];
         if (rnode == null) {
             rnode = create(node, type);
+            nodeStore.put(rnode);
             rnodes[wireIndex] = rnode;
             nodesMapSize.incrementAndGet();
         }
@@ -0,0 +1,627 @@
+/*
+ * Copyright (c) 2024, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.rwroute;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import com.xilinx.rapidwright.design.Design;
+import com.xilinx.rapidwright.device.Device;
+import com.xilinx.rapidwright.device.Node;
+import com.xilinx.rapidwright.device.Tile;
+import com.xilinx.rapidwright.util.CountingOutputStream;
+import com.xilinx.rapidwright.util.FileTools;
+import com.xilinx.rapidwright.util.ParallelismTools;
+
+/**
+ * A persistent, per-device cache of the {@link RouteNodeInfo} and downhill nodes of the
+ * nodes visited by RWRoute, so that repeated routing runs on the same device do not have to
+ * recompute them when lazily building the routing resource graph.
+ *
+ * The cache is a single file per device that is memory-mapped when loaded, and consulted
+ * directly out of the mapping without being deserialized. Downhill nodes are returned as
+ * primitive pairs of tile address and base wire index, so that {@link RouteNodeGraph} can look up
+ * existing rnodes without creating any {@link Node} objects.
+ *
+ * A complete cache for a device can be generated once ahead of time with
+ * {@link #build(Design, RWRouteConfig)}. Otherwise, entries computed during a run that
+ * are missing from the cache are collected and merged into a new version of the file by
+ * {@link #write()}, so that the cache grows to cover the set of nodes used by a flow.
+ * Writers hold an exclusive lock on a companion lock file and merge with the latest file on disk
+ * (not the possibly older one they loaded), so that concurrent runs do not lose each other's entries.
+ * A new version of the file is written to a temporary file first and then atomically renamed into place.
+ * The downhill nodes recorded are those returned by {@link Node#getAllDownhillNodes()},
+ * i.e. before any design-specific exclusions are applied.
+ *
+ * A cache file is only used if its format version, device name and RapidWright data version
+ * of the device file (see {@link com.xilinx.rapidwright.util.DataVersions}) match the current
+ * environment; otherwise it is ignored and replaced on the next write.
+ *
+ * File layout: a header (magic, format version, data version, device name, tile count), followed
+ * by one block per tile containing the number of entries and then fixed-size entries sorted by
+ * wire index ({@link #ENTRY_SIZE} bytes: wire, type, end tile X and Y, length, offset of its
+ * downhill nodes), followed by that tile's downhill node lists (count, then tile address and
+ * wire index pairs). The file ends with a table of block offsets indexed by tile address and
+ * the offset of that table. All offsets are 64-bit, so that files may exceed 2GB.
+ */
+public class RouteNodeGraphCache {
+
+    public static final String CACHE_FILE_SUFFIX = "_rwroute.cache";
+    public static final String LOCK_FILE_SUFFIX = ".lock";
+
+    private static final String MAGIC = "RWROUTE_GRAPH_CACHE";
+    /** Version of the file layout and of the semantics of RouteNodeInfo, bump when either changes */
+    private static final int FORMAT_VERSION = 2;
+    /** Size in bytes of each entry: int wire, byte type, short x, short y, short length, long downhill offset */
+    private static final int ENTRY_SIZE = 4 + 1 + 2 + 2 + 2 + 8;
+    private static final byte NO_INFO = -1;
+    private static final long NO_OFFSET = -1;
+    /** Number of tiles whose entries are computed concurrently by {@link #build(Design, RWRouteConfig)} */
+    private static final int BUILD_TILES_PER_TASK = 64;
+
+    private final Device device;
+    private final Path path;
+    private final String header;
+    private final int numTiles;
+
+    /** Memory-mapped contents of an existing and valid cache file, or null */
+    private volatile MappedFile mapped;
+
+    /** Map of tile address to tile, built on first use */
+    private volatile Tile[] tiles;
+
+    /** Entries computed during this run that are not present in the loaded cache */
+    private final Map<Long, Entry> pending;
+
+    private static class Entry {
+        RouteNodeInfo info;
+        int[] downhill;
+    }
+
+    /**
+     * A read-only memory mapping of a file of any size, as a sequence of overlapping segments
+     * (a single {@link MappedByteBuffer} is limited to 2GB).
+     */
+    private static class MappedFile {
+        private static final int SEGMENT_BITS = 30;
+        private static final long SEGMENT_MASK = (1L << SEGMENT_BITS) - 1;
+        /** Each segment extends this far into the next, so that no value read straddles two segments */
+        private static final int SEGMENT_OVERLAP = 8;
+
+        private final long size;
+        private final MappedByteBuffer[] segments;
+
+        private MappedFile(FileChannel channel) throws IOException {
+            size = channel.size();
+            segments = new MappedByteBuffer[(int) ((size + SEGMENT_MASK) >>> SEGMENT_BITS)];
+            for (int i = 0; i < segments.length; i++) {
+                long start = (long) i << SEGMENT_BITS;
+                long length = Math.min(SEGMENT_MASK + 1 + SEGMENT_OVERLAP, size - start);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            }
+        }
+
+        private MappedByteBuffer segment(long offset) {
+            return segments[(int) (offset >>> SEGMENT_BITS)];
+        }
+
+        private byte get(long offset) {
+            return segment(offset).get((int) (offset & SEGMENT_MASK));
+        }
+
+        private short getShort(long offset) {
+            return segment(offset).getShort((int) (offset & SEGMENT_MASK));
+        }
+
+        private int getInt(long offset) {
+            return segment(offset).getInt((int) (offset & SEGMENT_MASK));
+        }
+
+        private long getLong(long offset) {
+            return segment(offset).getLong((int) (offset & SEGMENT_MASK));
+        }
+    }
+
+    private RouteNodeGraphCache(Design design, Path path) {
+        this.device = design.getDevice();
+        this.path = path;
+        String dataVersion = FileTools.getCurrentDataVersion(FileTools.getDeviceResourceName(design.getPart()));
+        header = MAGIC + " " + FORMAT_VERSION + " " + device.getName() + " " + dataVersion;
+        numTiles = device.getColumns() * device.getRows();
+        pending = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Gets the path of the cache file for the device of the given design.
+     * @param design The design whose device is to be cached.
+     * @param cacheDir Directory containing cache files.
+     * @return Path to the cache file.
+     */
+    public static Path getCachePath(Design design, String cacheDir) {
+        return Paths.get(cacheDir, design.getDevice().getName() + CACHE_FILE_SUFFIX);
+    }
+
+    /**
+     * Opens the routing graph cache of the given design's device from the given directory,
+     * memory-mapping an existing cache file if one exists and is valid.
+     * @param design The design being routed.
+     * @param cacheDir Directory containing cache files.
+     * @return A cache object, which may be empty.
+     */
+    public static RouteNodeGraphCache load(Design design, String cacheDir) {
+        RouteNodeGraphCache cache = new RouteNodeGraphCache(design, getCachePath(design, cacheDir));
+        cache.mapped = cache.map();
+        return cache;
+    }
+
+    /**
+     * Memory-maps the cache file, if it exists and is valid.
+     * @return The mapped file, or null.
+     */
+    private MappedFile map() {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedFile file = new MappedFile(channel);
+            byte[] expected = header.getBytes(StandardCharsets.UTF_8);
+            if (file.size < 4 + expected.length + 4 + 8 || file.getInt(0) != expected.length) {
+                return null;
+            }
+            for (int i = 0; i < expected.length; i++) {
+                if (file.get(4 + i) != expected[i]) {
+                    // Stale or foreign cache file, will be overwritten by write()
+                    return null;
+                }
+            }
+            if (file.getInt(4 + expected.length) != numTiles) {
+                return null;
+            }
+            return file;
+        } catch (IOException e) {
+            System.err.println("WARNING: Unable to read routing graph cache " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether a valid cache file was loaded.
+     * @return true, if a cache file was memory-mapped.
+     */
+    public boolean isLoaded() {
+        return mapped != null;
+    }
+
+    /**
+     * Gets the number of entries computed during this run that were not present in the cache.
+     * @return Number of new entries.
+     */
+    public int getNumPendingEntries() {
+        return pending.size();
+    }
+
+    private static long getKey(Tile tile, int wireIndex) {
+        return (((long) tile.getUniqueAddress()) << 32) | wireIndex;
+    }
+
+    private static long getBlockOffset(MappedFile file, int tileAddress) {
+        long tableOffset = file.getLong(file.size - 8);
+        return file.getLong(tableOffset + tileAddress * 8L);
+    }
+
+    /**
+     * Finds the offset of the entry for the given base wire in a mapped cache.
+     * @return Offset of the entry, or -1 if not present.
+     */
+    private static long findEntry(MappedFile file, int tileAddress, int wireIndex) {
+        if (file == null) {
+            return -1;
+        }
+        long blockOffset = getBlockOffset(file, tileAddress);
+        if (blockOffset == NO_OFFSET) {
+            return -1;
+        }
+        long base = blockOffset + 4;
+        int lo = 0;
+        int hi = file.getInt(blockOffset) - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            long entryOffset = base + (long) mid * ENTRY_SIZE;
+            int wire = file.getInt(entryOffset);
+            if (wire < wireIndex) {
+                lo = mid + 1;
+            } else if (wire > wireIndex) {
+                hi = mid - 1;
+            } else {
+                return entryOffset;
+            }
+        }
+        return -1;
+    }
+
+    private static RouteNodeInfo readInfo(MappedFile file, long entryOffset) {
+        byte type = file.get(entryOffset + 4);
+        if (type == NO_INFO) {
+            return null;
+        }
+        return new RouteNodeInfo(RouteNodeType.values[type],
+                file.getShort(entryOffset + 5),
+                file.getShort(entryOffset + 7),
+                file.getShort(entryOffset + 9));
+    }
+
+    private static int[] readDownhill(MappedFile file, long entryOffset) {
+        long offset = file.getLong(entryOffset + 11);
+        if (offset == NO_OFFSET) {
+            return null;
+        }
+        int count = file.getInt(offset);
+        int[] downhill = new int[count * 2];
+        for (int i = 0; i < downhill.length; i++) {
+            downhill[i] = file.getInt(offset + 4 + i * 4L);
+        }
+        return downhill;
+    }
+
+    /**
+     * Gets the cached RouteNodeInfo for the given node.
+     * @param node The node in question.
+     * @return The cached info, or null if not cached.
+     */
+    public RouteNodeInfo getInfo(Node node) {
+        Tile tile = node.getTile();
+        long entryOffset = findEntry(mapped, tile.getUniqueAddress(), node.getWireIndex());
+        if (entryOffset >= 0) {
+            RouteNodeInfo info = readInfo(mapped, entryOffset);
+            if (info != null) {
+                return info;
+            }
+        }
+        Entry entry = pending.get(getKey(tile, node.getWireIndex()));
+        return entry != null ? entry.info : null;
+    }
+
+    /**
+     * Records the RouteNodeInfo computed for the given node so that it will be written to the cache.
+     * @param node The node in question.
+     * @param info Its computed info.
+     */
+    public void putInfo(Node node, RouteNodeInfo info) {
+        pending.computeIfAbsent(getKey(node.getTile(), node.getWireIndex()), (k) -> new Entry()).info = info;
+    }
+
+    /**
+     * Gets the tile with the given unique address, as used by {@link #getDownhill(Node)}.
+     * @param tileAddress Unique address of the tile.
+     * @return The tile.
+     */
+    public Tile getTile(int tileAddress) {
+        if (tiles == null) {
+            synchronized (this) {
+                if (tiles == null) {
+                    Tile[] tiles = new Tile[numTiles];
+                    for (int row = 0; row < device.getRows(); row++) {
+                        for (int col = 0; col < device.getColumns(); col++) {
+                            Tile tile = device.getTile(row, col);
+                            if (tile != null) {
+                                tiles[tile.getUniqueAddress()] = tile;
+                            }
+                        }
+                    }
+                    this.tiles = tiles;
+                }
+            }
+        }
+        return tiles[tileAddress];
+    }
+
+    /**
+     * Gets the cached downhill nodes of the given node.
+     * @param node The node in question.
+     * @return Pairs of tile address (see {@link #getTile(int)}) and base wire index of each downhill node,
+     * or null if not cached.
+     */
+    public int[] getDownhill(Node node) {
+        Tile tile = node.getTile();
+        long entryOffset = findEntry(mapped, tile.getUniqueAddress(), node.getWireIndex());
+        if (entryOffset >= 0) {
+            int[] downhill = readDownhill(mapped, entryOffset);
+            if (downhill != null) {
+                return downhill;
+            }
+        }
+        Entry entry = pending.get(getKey(tile, node.getWireIndex()));
+        return entry != null ? entry.downhill : null;
+    }
+
+    private static int[] toDownhill(List<Node> downhillNodes) {
+        int[] downhill = new int[downhillNodes.size() * 2];
+        int i = 0;
+        for (Node downhillNode : downhillNodes) {
+            downhill[i++] = downhillNode.getTile().getUniqueAddress();
+            downhill[i++] = downhillNode.getWireIndex();
+        }
+        return downhill;
+    }
+
+    /**
+     * Records the downhill nodes computed for the given node so that they will be written to the cache.
+     * @param node The node in question.
+     * @param downhillNodes Result of {@link Node#getAllDownhillNodes()}.
+     * @return The downhill nodes in the form returned by {@link #getDownhill(Node)}.
+     */
+    public int[] putDownhillNodes(Node node, List<Node> downhillNodes) {
+        int[] downhill = toDownhill(downhillNodes);
+        pending.computeIfAbsent(getKey(node.getTile(), node.getWireIndex()), (k) -> new Entry()).downhill = downhill;
+        return downhill;
+    }
+
+    private Path getLockPath() {
+        return path.resolveSibling(path.getFileName() + LOCK_FILE_SUFFIX);
+    }
+
+    /**
+     * Writes a new version of the cache file, with the entries of each tile supplied by the given function.
+     * Must be called while holding the lock on the cache file.
+     */
+    private void writeFile(IntFunction<TreeMap<Integer, Entry>> tileEntries) throws IOException {
+        File parent = path.toAbsolutePath().getParent().toFile();
+        Path tmpPath = Files.createTempFile(parent.toPath(), path.getFileName().toString(), ".tmp");
+        long[] blockOffsets = new long[numTiles];
+        try (OutputStream os = Files.newOutputStream(tmpPath)) {
+            CountingOutputStream cos = new CountingOutputStream(new BufferedOutputStream(os));
+            DataOutputStream dos = new DataOutputStream(cos);
+            byte[] headerBytes = header.getBytes(StandardCharsets.UTF_8);
+            dos.writeInt(headerBytes.length);
+            dos.write(headerBytes);
+            dos.writeInt(numTiles);
+
+            for (int tileAddress = 0; tileAddress < numTiles; tileAddress++) {
+                TreeMap<Integer, Entry> entries = tileEntries.apply(tileAddress);
+                if (entries == null || entries.isEmpty()) {
+                    blockOffsets[tileAddress] = NO_OFFSET;
+                    continue;
+                }
+
+                long blockOffset = cos.getBytesWritten();
+                blockOffsets[tileAddress] = blockOffset;
+                long downhillOffset = blockOffset + 4 + (long) entries.size() * ENTRY_SIZE;
+                ByteArrayOutputStream downhillBytes = new ByteArrayOutputStream();
+                DataOutputStream downhillDos = new DataOutputStream(downhillBytes);
+
+                dos.writeInt(entries.size());
+                for (Map.Entry<Integer, Entry> e : entries.entrySet()) {
+                    Entry entry = e.getValue();
+                    dos.writeInt(e.getKey());
+                    if (entry.info != null) {
+                        dos.writeByte(entry.info.type.ordinal());
+                        dos.writeShort(entry.info.endTileXCoordinate);
+                        dos.writeShort(entry.info.endTileYCoordinate);
+                        dos.writeShort(entry.info.length);
+                    } else {
+                        dos.writeByte(NO_INFO);
+                        dos.writeShort(0);
+                        dos.writeShort(0);
+                        dos.writeShort(0);
+                    }
+                    if (entry.downhill != null) {
+                        dos.writeLong(downhillOffset + downhillDos.size());
+                        downhillDos.writeInt(entry.downhill.length / 2);
+                        for (int value : entry.downhill) {
+                            downhillDos.writeInt(value);
+                        }
+                    } else {
+                        dos.writeLong(NO_OFFSET);
+                    }
+                }
+                downhillBytes.writeTo(dos);
+            }
+
+            long tableOffset = cos.getBytesWritten();
+            for (long blockOffset : blockOffsets) {
+                dos.writeLong(blockOffset);
+            }
+            dos.writeLong(tableOffset);
+            dos.flush();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmpPath);
+            throw e;
+        }
+        Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Runs the given action while holding an exclusive lock on the cache file, which is shared
+     * with other processes (through a lock file) and with other threads of this process.
+     */
+    private void withLock(IOAction action) throws IOException {
+        File parent = path.toAbsolutePath().getParent().toFile();
+        if (!parent.exists()) {
+            parent.mkdirs();
+        }
+        // File locks are held by the whole process, so also serialize writers within this process
+        synchronized (RouteNodeGraphCache.class) {
+            try (FileChannel lockChannel = FileChannel.open(getLockPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock lock = lockChannel.lock()) {
+                action.run();
+            }
+        }
+    }
+
+    private interface IOAction {
+        void run() throws IOException;
+    }
+
+    /**
+     * Writes a new version of the cache file containing all entries from the current cache file on
+     * disk (which may have been updated by another run since this cache was loaded) merged with all
+     * pending entries computed during this run. Nothing is written if there are no pending entries.
+     * @throws IOException If the cache file could not be written.
+     */
+    public void write() throws IOException {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // Group pending entries by tile
+        Map<Integer, TreeMap<Integer, Entry>> pendingByTile = new HashMap<>();
+        for (Map.Entry<Long, Entry> e : pending.entrySet()) {
+            long key = e.getKey();
+            pendingByTile.computeIfAbsent((int) (key >>> 32), (k) -> new TreeMap<>())
+                    .put((int) key, e.getValue());
+        }
+
+        withLock(() -> {
+            MappedFile current = map();
+            writeFile((tileAddress) -> {
+                TreeMap<Integer, Entry> entries = pendingByTile.get(tileAddress);
+                if (entries == null) {
+                    entries = new TreeMap<>();
+                }
+                mergeMappedEntries(current, tileAddress, entries);
+                return entries;
+            });
+            // All pending entries are now in the file
+            mapped = map();
+            pending.clear();
+        });
+    }
+
+    private static void mergeMappedEntries(MappedFile file, int tileAddress, TreeMap<Integer, Entry> entries) {
+        if (file == null) {
+            return;
+        }
+        long blockOffset = getBlockOffset(file, tileAddress);
+        if (blockOffset == NO_OFFSET) {
+            return;
+        }
+        int count = file.getInt(blockOffset);
+        for (int i = 0; i < count; i++) {
+            long entryOffset = blockOffset + 4 + (long) i * ENTRY_SIZE;
+            Entry entry = entries.computeIfAbsent(file.getInt(entryOffset), (k) -> new Entry());
+            if (entry.info == null) {
+                entry.info = readInfo(file, entryOffset);
+            }
+            if (entry.downhill == null) {
+                entry.downhill = readDownhill(file, entryOffset);
+            }
+        }
+    }
+
+    /**
+     * Computes the entries of all base wires of a tile in the routing graph.
+     * @return Entries by wire index, or null if the tile is excluded from the routing graph.
+     */
+    private static TreeMap<Integer, Entry> computeTileEntries(RouteNodeGraph routingGraph, Tile tile) {
+        TreeMap<Integer, Entry> entries = new TreeMap<>();
+        for (int wireIndex = 0; wireIndex < tile.getWireCount(); wireIndex++) {
+            Node node = Node.getNode(tile, wireIndex);
+            if (node == null || node.getTile() != tile || node.getWireIndex() != wireIndex) {
+                // Not a base wire
+                continue;
+            }
+            if (RouteNodeGraph.isExcludedTile(node)) {
+                return null;
+            }
+            Entry entry = new Entry();
+            entry.info = RouteNodeInfo.compute(node, routingGraph);
+            entry.downhill = toDownhill(node.getAllDownhillNodes());
+            entries.put(wireIndex, entry);
+        }
+        return entries;
+    }
+
+    /**
+     * Generates the complete routing graph cache for the device of the given design, covering all nodes
+     * in tiles that are part of RWRoute's routing graph, and writes it to the cache directory of the
+     * given configuration. Entries of an existing cache file are kept. Tiles are processed in parallel
+     * (see {@link ParallelismTools}), a bounded number at a time.
+     * @param design A design targeting the device to be cached.
+     * @param config The router configuration, which must specify the cache directory.
+     * @throws IOException If the cache file could not be written.
+     */
+    public static void build(Design design, RWRouteConfig config) throws IOException {
+        if (config.getRoutingGraphCacheDir() == null) {
+            throw new RuntimeException("ERROR: No routing graph cache directory specified");
+        }
+        RouteNodeGraph routingGraph = new RouteNodeGraph(design, config);
+        RouteNodeGraphCache cache = routingGraph.cache;
+        int chunkSize = BUILD_TILES_PER_TASK * Math.max(1, Runtime.getRuntime().availableProcessors());
+        cache.withLock(() -> {
+            MappedFile current = cache.map();
+            List<Future<TreeMap<Integer, Entry>>> chunk = new ArrayList<>();
+            int[] chunkStart = {0};
+            cache.writeFile((tileAddress) -> {
+                if (tileAddress - chunkStart[0] >= chunk.size()) {
+                    // Compute the next chunk of tiles in parallel
+                    chunkStart[0] = tileAddress;
+                    chunk.clear();
+                    List<Integer> addresses = new ArrayList<>();
+                    for (int i = tileAddress; i < Math.min(tileAddress + chunkSize, cache.numTiles); i++) {
+                        addresses.add(i);
+                    }
+                    chunk.addAll(ParallelismTools.invokeAll(addresses, (address) -> {
+                        Tile tile = cache.getTile(address);
+                        return tile == null ? null : computeTileEntries(routingGraph, tile);
+                    }));
+                }
+                TreeMap<Integer, Entry> entries = ParallelismTools.get(chunk.get(tileAddress - chunkStart[0]));
+                if (entries == null) {
+                    entries = new TreeMap<>();
+                }
+                mergeMappedEntries(current, tileAddress, entries);
+                return entries;
+            });
+        });
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.out.println("USAGE: <part> <cache dir>");
+            System.out.println("   Generates the complete routing graph cache for the given part.");
+            return;
+        }
+        RWRouteConfig config = new RWRouteConfig(new String[] {"--routingGraphCacheDir", args[1]});
+        build(new Design("cache", args[0]), config);
+    }
+}
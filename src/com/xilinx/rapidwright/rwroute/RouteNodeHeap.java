@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2024, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.rwroute;
+
+import java.util.Arrays;
+
+/**
+ * {@link RouteNodeQueue} implemented as a d-ary min-heap over parallel primitive arrays of
+ * float costs and int rnode ids (see {@link RouteNode#getId()}).
+ * Comparisons are performed directly on the cost array without dereferencing any rnode, and
+ * no objects are allocated once the arrays have grown to the largest queue size encountered.
+ * A wider heap is shallower, trading more comparisons per level for fewer levels when sifting
+ * down on every poll. Which arity routes fastest depends on the design; the 'Nodes popped per
+ * second' verbose statistic of {@link RWRoute} can be used to compare them.
+ * Since {@link RWRoute} never pushes the same rnode twice when routing a connection, no
+ * decrease-key operation (and thus no position index) is necessary.
+ * Optionally, ties between equal costs are broken on {@link RouteNode#getTileWireKey()}, kept
+ * in a third parallel array, so that the order in which rnodes are polled depends only on the
+ * contents of the heap and not on the order in which they were added.
+ */
+public class RouteNodeHeap implements RouteNodeQueue {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /** Store holding the rnodes and lower bound total path costs of all entries */
+    private final RouteNodeStore store;
+    /** Number of children of each heap entry */
+    private final int arity;
+    private float[] costs;
+    private int[] ids;
+    /** Tie-breaking key of each heap entry, or null if ties are not broken */
+    private long[] keys;
+    private int size;
+
+    public RouteNodeHeap(RouteNodeGraph routingGraph, int arity) {
+        this(routingGraph, arity, false);
+    }
+
+    /**
+     * Constructs a heap, optionally breaking ties between equal-cost rnodes.
+     * @param routingGraph The routing graph that owns all rnodes to be added.
+     * @param arity Number of children of each heap entry.
+     * @param tieBreak true to break ties on {@link RouteNode#getTileWireKey()}.
+     */
+    public RouteNodeHeap(RouteNodeGraph routingGraph, int arity, boolean tieBreak) {
+        this(routingGraph.nodeStore, arity, tieBreak);
+    }
+
+    /**
+     * Constructs a heap over rnodes whose lower bound total path costs are held by the given store,
+     * which may shadow that of the routing graph (see {@link RouteNodeStore#RouteNodeStore(RouteNodeStore)}).
+     * @param store The store holding the lower bound total path cost of each rnode to be added.
+     * @param arity Number of children of each heap entry.
+     * @param tieBreak true to break ties on {@link RouteNode#getTileWireKey()}.
+     */
+    public RouteNodeHeap(RouteNodeStore store, int arity, boolean tieBreak) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("ERROR: Heap arity must be at least 2, got " + arity);
+        }
+        this.store = store;
+        this.arity = arity;
+        costs = new float[INITIAL_CAPACITY];
+        ids = new int[INITIAL_CAPACITY];
+        keys = tieBreak ? new long[INITIAL_CAPACITY] : null;
+        size = 0;
+    }
+
+    /**
+     * Checks if an entry with the first cost and key is to be polled no later than one with the second.
+     */
+    private boolean precedes(float cost, long key, float otherCost, long otherKey) {
+        if (cost != otherCost) {
+            return cost < otherCost;
+        }
+        return keys == null || key <= otherKey;
+    }
+
+    @Override
+    public void add(RouteNode rnode) {
+        if (size == costs.length) {
+            costs = Arrays.copyOf(costs, size * 2);
+            ids = Arrays.copyOf(ids, size * 2);
+            if (keys != null) {
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+        }
+        int id = rnode.getId();
+        float cost = store.getLowerBoundTotalPathCost(id);
+        long key = (keys != null) ? rnode.getTileWireKey() : 0;
+        // Sift up
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) / arity;
+            float parentCost = costs[parent];
+            if (precedes(parentCost, (keys != null) ? keys[parent] : 0, cost, key)) {
+                break;
+            }
+            move(parent, i);
+            i = parent;
+        }
+        set(i, cost, id, key);
+    }
+
+    private void move(int from, int to) {
+        costs[to] = costs[from];
+        ids[to] = ids[from];
+        if (keys != null) {
+            keys[to] = keys[from];
+        }
+    }
+
+    private void set(int i, float cost, int id, long key) {
+        costs[i] = cost;
+        ids[i] = id;
+        if (keys != null) {
+            keys[i] = key;
+        }
+    }
+
+    @Override
+    public RouteNode poll() {
+        if (size == 0) {
+            return null;
+        }
+        RouteNode rnode = store.get(ids[0]);
+        if (--size > 0) {
+            float cost = costs[size];
+            int id = ids[size];
+            long key = (keys != null) ? keys[size] : 0;
+            // Sift down the last entry from the root
+            int i = 0;
+            while (true) {
+                int first = i * arity + 1;
+                if (first >= size) {
+                    break;
+                }
+                int last = Math.min(first + arity, size);
+                int min = first;
+                float minCost = costs[first];
+                if (keys == null) {
+                    for (int c = first + 1; c < last; c++) {
+                        if (costs[c] < minCost) {
+                            min = c;
+                            minCost = costs[c];
+                        }
+                    }
+                } else {
+                    for (int c = first + 1; c < last; c++) {
+                        if (!precedes(minCost, keys[min], costs[c], keys[c])) {
+                            min = c;
+                            minCost = costs[c];
+                        }
+                    }
+                }
+                if (precedes(cost, key, minCost, (keys != null) ? keys[min] : 0)) {
+                    break;
+                }
+                move(min, i);
+                i = min;
+            }
+            set(i, cost, id, key);
+        }
+        return rnode;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+    }
+}
@@ -36,10 +36,10 @@ public class RouteNodeInfo {
     public final short endTileYCoordinate;
     public final short length;
 
-    private RouteNodeInfo(RouteNodeType type,
-                          short endTileXCoordinate,
-                          short endTileYCoordinate,
-                          short length) {
+    RouteNodeInfo(RouteNodeType type,
+                  short endTileXCoordinate,
+                  short endTileYCoordinate,
+                  short length) {
         this.type = type;
         this.endTileXCoordinate = endTileXCoordinate;
         this.endTileYCoordinate = endTileYCoordinate;
@@ -47,6 +47,19 @@ public class RouteNodeInfo {
     }
 
     public static RouteNodeInfo get(Node node, RouteNodeGraph routingGraph) {
+        RouteNodeGraphCache cache = (routingGraph != null) ? routingGraph.cache : null;
+        if (cache == null) {
+            return compute(node, routingGraph);
+        }
+        RouteNodeInfo info = cache.getInfo(node);
+        if (info == null) {
+            info = compute(node, routingGraph);
+            cache.putInfo(node, info);
+        }
+        return info;
+    }
+
+    static RouteNodeInfo compute(Node node, RouteNodeGraph routingGraph) {
         Wire[] wires = node.getAllWiresInNode();
         Tile baseTile = node.getTile();
         TileTypeEnum baseTileType = baseTile.getTileTypeEnum();
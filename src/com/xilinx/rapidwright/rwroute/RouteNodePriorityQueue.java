@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2024, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.rwroute;
+
+import java.util.PriorityQueue;
+
+/**
+ * {@link RouteNodeQueue} backed by a {@link PriorityQueue}, ordering rnodes using
+ * {@link RouteNode#compareTo(RouteNode)}, or {@link RouteNode#compareToWithTieBreak(RouteNode)}
+ * when a reproducible order between equal-cost rnodes is required.
+ */
+public class RouteNodePriorityQueue implements RouteNodeQueue {
+
+    private final PriorityQueue<RouteNode> queue;
+
+    public RouteNodePriorityQueue() {
+        this(false);
+    }
+
+    /**
+     * Constructs a queue, optionally breaking ties between equal-cost rnodes.
+     * @param tieBreak true to break ties on {@link RouteNode#getTileWireKey()}.
+     */
+    public RouteNodePriorityQueue(boolean tieBreak) {
+        queue = tieBreak ? new PriorityQueue<>(RouteNode::compareToWithTieBreak) : new PriorityQueue<>();
+    }
+
+    @Override
+    public void add(RouteNode rnode) {
+        queue.add(rnode);
+    }
+
+    @Override
+    public RouteNode poll() {
+        return queue.poll();
+    }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        queue.clear();
+    }
+}
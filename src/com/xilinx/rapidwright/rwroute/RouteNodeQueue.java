@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2024, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.rwroute;
+
+/**
+ * A min-priority queue of {@link RouteNode} objects, ordered by their lower bound total path cost,
+ * used by {@link RWRoute} to expand the routing resource graph when routing a connection.
+ * The cost of a rnode is sampled when it is added and must not change while it remains queued.
+ */
+public interface RouteNodeQueue {
+
+    /**
+     * Adds a rnode to the queue, using its current lower bound total path cost as its priority.
+     * @param rnode The rnode to be added.
+     */
+    void add(RouteNode rnode);
+
+    /**
+     * Removes and returns the rnode with the lowest cost.
+     * @return The rnode with the lowest cost, or null if the queue is empty.
+     */
+    RouteNode poll();
+
+    /**
+     * Gets the number of rnodes in the queue.
+     * @return The number of rnodes in the queue.
+     */
+    int size();
+
+    /**
+     * Checks if the queue is empty.
+     * @return true, if the queue contains no rnodes.
+     */
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Removes all rnodes from the queue.
+     */
+    void clear();
+}
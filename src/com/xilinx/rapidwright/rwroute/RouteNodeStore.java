@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2024, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.rwroute;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Structure-of-arrays storage for the per-rnode state that is read and written
+ * during the expansion of every connection (path costs, parent and visited stamp).
+ * Each {@link RouteNode} is assigned a dense integer id upon creation that indexes
+ * into a set of paged primitive arrays, so that the router's inner loop
+ * touches contiguous memory instead of chasing fields across the object graph.
+ * Pages are allocated on demand so that storage grows with the number of rnodes
+ * created, and allocation is safe from multiple threads (e.g. CUFR): all arrays of a page
+ * are held by final fields of a single object, which is published through an
+ * {@link AtomicReferenceArray} once fully constructed.
+ * A store may also shadow another in order to hold a private copy of the expansion state
+ * of the other's rnodes, so that a thread can route speculatively (see
+ * {@link RWRouteConfig#getSpeculativeBatchSize()}) without disturbing any other thread;
+ * the pages of such a store are allocated when first written.
+ *
+ * This store improves locality only; it does not reduce heap use. {@link RouteNode} objects and their
+ * children arrays remain, as RouteNode extends {@link com.xilinx.rapidwright.device.Node}. Per rnode (with
+ * compressed references), RouteNode drops 16 bytes of fields (two path costs, the visited stamp and the
+ * parent) but gains 8 (a reference to this store and its id), while this store adds 20 (16 bytes of
+ * primitive state and the id-to-rnode slot), i.e. about 12 bytes more than before.
+ */
+public class RouteNodeStore {
+
+    /** Number of rnodes held by each page, as a power of two */
+    private static final int PAGE_BITS = 16;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    private static final int MAX_PAGES = (Integer.MAX_VALUE >>> PAGE_BITS) + 1;
+
+    /** The state of {@link #PAGE_SIZE} consecutive rnode ids */
+    private static final class Page {
+        /** Map of dense id to rnode, or null if this page belongs to a store that shadows another */
+        private final RouteNode[] rnodes;
+        /** Upstream path cost of each rnode */
+        private final float[] upstreamPathCosts;
+        /** Lower bound of the total path cost of each rnode */
+        private final float[] lowerBoundTotalPathCosts;
+        /** Connection sequence that each rnode was last visited by */
+        private final int[] visited;
+        /** Id of the parent of each rnode, offset by one so that zero (the default) indicates no parent */
+        private final int[] prevs;
+
+        private Page(boolean holdsRnodes) {
+            rnodes = holdsRnodes ? new RouteNode[PAGE_SIZE] : null;
+            upstreamPathCosts = new float[PAGE_SIZE];
+            lowerBoundTotalPathCosts = new float[PAGE_SIZE];
+            visited = new int[PAGE_SIZE];
+            prevs = new int[PAGE_SIZE];
+        }
+    }
+
+    /** Store that assigns ids and holds the rnodes indexed by them, which is this store unless shadowing another */
+    private final RouteNodeStore shared;
+
+    /** Number of ids handed out so far */
+    private final AtomicInteger size;
+
+    private final AtomicReferenceArray<Page> pages;
+
+    /**
+     * Speculative batch in which the users of each rnode were last changed (only held by the shared store).
+     * Only accessed while committing speculative batches, which happens on a single thread, and only
+     * allocated once such a commit happens.
+     */
+    private final int[][] versions;
+
+    public RouteNodeStore() {
+        shared = this;
+        size = new AtomicInteger();
+        pages = new AtomicReferenceArray<>(MAX_PAGES);
+        versions = new int[MAX_PAGES][];
+    }
+
+    /**
+     * Constructs a store holding a private copy of the expansion state of the rnodes of another store.
+     * Rnodes continue to be assigned ids (and looked up) by the other store.
+     * @param shared The store to be shadowed.
+     */
+    public RouteNodeStore(RouteNodeStore shared) {
+        this.shared = shared;
+        size = null;
+        pages = new AtomicReferenceArray<>(MAX_PAGES);
+        versions = null;
+    }
+
+    /**
+     * Assigns the next dense id, allocating a new page if necessary. The rnode constructed with this id
+     * must then be registered using {@link #put(RouteNode)} before the id can be looked up.
+     * @return The id to be used by a new rnode.
+     */
+    protected int nextId() {
+        assert(shared == this);
+        int id = size.getAndIncrement();
+        if (id < 0) {
+            throw new RuntimeException("ERROR: Number of rnodes exceeds " + Integer.MAX_VALUE);
+        }
+        int page = id >>> PAGE_BITS;
+        if (pages.get(page) == null) {
+            allocatePage(page);
+        }
+        return id;
+    }
+
+    private synchronized void allocatePage(int page) {
+        // Another thread may have beaten us to it
+        if (pages.get(page) == null) {
+            pages.set(page, new Page(true));
+        }
+    }
+
+    /**
+     * Registers a fully constructed rnode under the id it obtained from {@link #nextId()}.
+     * @param rnode The newly created rnode.
+     */
+    protected void put(RouteNode rnode) {
+        assert(shared == this);
+        int id = rnode.getId();
+        pages.get(id >>> PAGE_BITS).rnodes[id & PAGE_MASK] = rnode;
+    }
+
+    /**
+     * Gets the number of ids assigned by this store.
+     * @return The number of rnodes.
+     */
+    public int size() {
+        return shared.size.get();
+    }
+
+    /**
+     * Gets the rnode corresponding to the given id.
+     * @param id Dense rnode id.
+     * @return The RouteNode object.
+     */
+    public RouteNode get(int id) {
+        return shared.pages.get(id >>> PAGE_BITS).rnodes[id & PAGE_MASK];
+    }
+
+    // Pages of the shared store are always allocated by nextId(), so a null page
+    // is only ever encountered by a store that shadows another (and is used by a single thread)
+
+    private Page getPageForWrite(int id) {
+        Page page = pages.get(id >>> PAGE_BITS);
+        if (page == null) {
+            page = new Page(false);
+            pages.set(id >>> PAGE_BITS, page);
+        }
+        return page;
+    }
+
+    public float getUpstreamPathCost(int id) {
+        Page page = pages.get(id >>> PAGE_BITS);
+        return (page == null) ? 0 : page.upstreamPathCosts[id & PAGE_MASK];
+    }
+
+    public void setUpstreamPathCost(int id, float cost) {
+        getPageForWrite(id).upstreamPathCosts[id & PAGE_MASK] = cost;
+    }
+
+    public float getLowerBoundTotalPathCost(int id) {
+        Page page = pages.get(id >>> PAGE_BITS);
+        return (page == null) ? 0 : page.lowerBoundTotalPathCosts[id & PAGE_MASK];
+    }
+
+    public void setLowerBoundTotalPathCost(int id, float cost) {
+        getPageForWrite(id).lowerBoundTotalPathCosts[id & PAGE_MASK] = cost;
+    }
+
+    public int getVisited(int id) {
+        Page page = pages.get(id >>> PAGE_BITS);
+        return (page == null) ? 0 : page.visited[id & PAGE_MASK];
+    }
+
+    public void setVisited(int id, int seq) {
+        getPageForWrite(id).visited[id & PAGE_MASK] = seq;
+    }
+
+    /**
+     * Gets the id of the parent of the given rnode.
+     * @param id Dense rnode id.
+     * @return Id of the parent rnode, or -1 if none has been set.
+     */
+    public int getPrev(int id) {
+        Page page = pages.get(id >>> PAGE_BITS);
+        return (page == null) ? -1 : page.prevs[id & PAGE_MASK] - 1;
+    }
+
+    public void setPrev(int id, int prevId) {
+        assert(prevId >= 0);
+        getPageForWrite(id).prevs[id & PAGE_MASK] = prevId + 1;
+    }
+
+    /**
+     * Gets the speculative batch in which the users of the given rnode were last changed.
+     * @param id Dense rnode id.
+     * @return Batch number, or zero if never changed by a speculative commit.
+     */
+    public int getVersion(int id) {
+        int[] page = shared.versions[id >>> PAGE_BITS];
+        return (page == null) ? 0 : page[id & PAGE_MASK];
+    }
+
+    public void setVersion(int id, int batch) {
+        int[] page = shared.versions[id >>> PAGE_BITS];
+        if (page == null) {
+            page = shared.versions[id >>> PAGE_BITS] = new int[PAGE_SIZE];
+        }
+        page[id & PAGE_MASK] = batch;
+    }
+}
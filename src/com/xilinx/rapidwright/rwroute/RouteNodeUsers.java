@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2024, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.rwroute;
+
+import java.util.Map;
+
+/**
+ * Open-addressing table counting the number of connections of each {@link NetWrapper}
+ * that use a {@link RouteNode}. Keys are hashed on their integer id (see
+ * {@link NetWrapper#hashCode()}) and compared by identity, and counts are kept as
+ * primitives so that incrementing and decrementing never allocates or boxes.
+ * Used by {@link RouteNode} as overflow storage once more than one user is present.
+ */
+class RouteNodeUsers {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private NetWrapper[] users;
+    private int[] counts;
+    private int size;
+
+    RouteNodeUsers() {
+        users = new NetWrapper[INITIAL_CAPACITY];
+        counts = new int[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    /**
+     * Gets the number of unique users in this table.
+     * @return Number of users with a non-zero connection count.
+     */
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    private int indexOf(NetWrapper user) {
+        int mask = users.length - 1;
+        int i = user.hashCode() & mask;
+        NetWrapper u;
+        while ((u = users[i]) != null) {
+            if (u == user) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the number of connections of the given user.
+     * @param user The user in question.
+     * @return Connection count, or zero if not present.
+     */
+    int get(NetWrapper user) {
+        int i = indexOf(user);
+        return (i < 0) ? 0 : counts[i];
+    }
+
+    /**
+     * Increments the connection count of the given user, inserting it if not present.
+     * @param user The user in question.
+     * @param count Number of connections to add.
+     */
+    void increment(NetWrapper user, int count) {
+        int mask = users.length - 1;
+        int i = user.hashCode() & mask;
+        NetWrapper u;
+        while ((u = users[i]) != null) {
+            if (u == user) {
+                counts[i] += count;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        users[i] = user;
+        counts[i] = count;
+        // Keep the load factor at or below one half
+        if (++size * 2 > users.length) {
+            rehash(users.length * 2);
+        }
+    }
+
+    /**
+     * Decrements the connection count of the given user, removing it once its count reaches zero.
+     * @param user The user in question, which must be present.
+     */
+    void decrement(NetWrapper user) {
+        int i = indexOf(user);
+        assert(i >= 0);
+        if (--counts[i] > 0) {
+            return;
+        }
+        size--;
+        // Backward-shift deletion to keep probe sequences unbroken without tombstones
+        int mask = users.length - 1;
+        int hole = i;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            NetWrapper u = users[j];
+            if (u == null) {
+                break;
+            }
+            int home = u.hashCode() & mask;
+            // Move entry j into the hole if its home slot does not lie cyclically within (hole, j]
+            boolean movable = (hole <= j) ? (home <= hole || home > j) : (home <= hole && home > j);
+            if (movable) {
+                users[hole] = u;
+                counts[hole] = counts[j];
+                hole = j;
+            }
+        }
+        users[hole] = null;
+        counts[hole] = 0;
+    }
+
+    private void rehash(int capacity) {
+        NetWrapper[] oldUsers = users;
+        int[] oldCounts = counts;
+        users = new NetWrapper[capacity];
+        counts = new int[capacity];
+        int mask = capacity - 1;
+        for (int j = 0; j < oldUsers.length; j++) {
+            NetWrapper u = oldUsers[j];
+            if (u == null) {
+                continue;
+            }
+            int i = u.hashCode() & mask;
+            while (users[i] != null) {
+                i = (i + 1) & mask;
+            }
+            users[i] = u;
+            counts[i] = oldCounts[j];
+        }
+    }
+
+    /**
+     * Adds all users and their connection counts to the given map.
+     * @param map Map to be populated.
+     */
+    void putAllInto(Map<NetWrapper, Integer> map) {
+        for (int i = 0; i < users.length; i++) {
+            if (users[i] != null) {
+                map.put(users[i], counts[i]);
+            }
+        }
+    }
+}
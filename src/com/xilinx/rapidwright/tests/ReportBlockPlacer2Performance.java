@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2024, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.tests;
+
+import java.io.File;
+
+import com.xilinx.rapidwright.design.Design;
+import com.xilinx.rapidwright.examples.PicoBlazeArray;
+import com.xilinx.rapidwright.placer.blockplacer.BlockPlacer2;
+
+/**
+ * Benchmark of the move evaluation performed by {@link BlockPlacer2}. Places an array of replicated
+ * PicoBlaze modules (see {@link PicoBlazeArray}) a number of times with different seeds and reports the
+ * number of moves evaluated per second and the memory allocated while placing. Region-parallel annealing
+ * is disabled so that only the sequential cost evaluation is measured.
+ */
+public class ReportBlockPlacer2Performance {
+
+    public static void main(String[] args) {
+        if (args.length < 2 || args.length > 4) {
+            System.out.println("USAGE: <PicoBlazeArray input dir> <part> [impls|modules] [runs]");
+            return;
+        }
+        File srcDir = new File(args[0]);
+        String part = args[1];
+        boolean useImpls = args.length < 3 || args[2].equals("impls");
+        int runs = args.length > 3 ? Integer.parseInt(args[3]) : 3;
+
+        PicoBlazeArray.PicoBlazeArrayCreator<?> creator = useImpls ? PicoBlazeArray.makeImplsCreator()
+                : PicoBlazeArray.makeModuleCreator();
+        CodePerfTracker t = new CodePerfTracker(ReportBlockPlacer2Performance.class.getSimpleName(), false);
+        t.useGCToTrackMemory(true);
+        long moves = 0;
+        double seconds = 0;
+        for (int run = 0; run < runs; run++) {
+            // Start each run from an unplaced design
+            Design design = creator.createDesign(srcDir, part, t);
+            t.stop();
+            BlockPlacer2<?, ?, ?, ?> placer = creator.createPlacer(design, null);
+            placer.setParallelRegionSize(0);
+            placer.setSeed(run);
+            String segmentName = "Place (seed " + run + ")";
+            t.start(segmentName);
+            double cost = placer.placeDesign(false);
+            t.stop();
+            double runSeconds = t.getRuntime(segmentName) / 1e9;
+            moves += placer.getTotalMoves();
+            seconds += runSeconds;
+            System.out.printf("%s: %2.3fs, %d moves, %.0f moves/s, %7.3fMBs, cost %.1f\n",
+                    segmentName,
+                    runSeconds,
+                    placer.getTotalMoves(),
+                    placer.getTotalMoves() / runSeconds,
+                    t.getMemUsage(segmentName) / (1024.0 * 1024.0),
+                    cost);
+        }
+        System.out.printf("Total: %2.3fs, %d moves, %.0f moves/s\n", seconds, moves, moves / seconds);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2024, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.tests;
+
+import java.lang.management.ManagementFactory;
+
+import com.xilinx.rapidwright.design.Design;
+import com.xilinx.rapidwright.edif.EDIFHierCellInst;
+import com.xilinx.rapidwright.edif.EDIFNetlist;
+import com.xilinx.rapidwright.edif.EDIFTools;
+import com.xilinx.rapidwright.util.ParallelismTools;
+
+/**
+ * Benchmark of the hierarchy-heavy traversals of {@link EDIFNetlist}: collecting all leaf
+ * {@link EDIFHierCellInst}s and generating the parent net map. For each, the runtime per iteration and
+ * the number of bytes allocated per iteration are reported. Traversals run single-threaded so that the
+ * allocations of the calling thread cover all of the work. Only the current build is measured: comparing
+ * hierarchical representations needs a run of each build on the same input.
+ */
+public class ReportEDIFHierarchyPerformance {
+
+    private static final com.sun.management.ThreadMXBean threadMXBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static long getAllocatedBytes() {
+        return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static void report(String segmentName, long runtime, long allocated, int iterations) {
+        System.out.printf("%-40s: %8.3fms per iteration, %9.3fMBs allocated per iteration\n",
+                segmentName,
+                runtime / 1e6 / iterations,
+                allocated / (1024.0 * 1024.0) / iterations);
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1 || args.length > 2) {
+            System.out.println("USAGE: <input.dcp|input.edf> [iterations]");
+            return;
+        }
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        EDIFNetlist netlist = args[0].endsWith(".dcp") ?
+                Design.readCheckpoint(args[0], CodePerfTracker.SILENT).getNetlist() :
+                EDIFTools.readEdifFile(args[0]);
+        boolean parallel = ParallelismTools.getParallel();
+        ParallelismTools.setParallel(false);
+
+        int leaves = 0;
+        long start = System.nanoTime();
+        long allocStart = getAllocatedBytes();
+        for (int i = 0; i < iterations; i++) {
+            leaves = netlist.getAllLeafHierCellInstances().size();
+        }
+        report("getAllLeafHierCellInstances()", System.nanoTime() - start, getAllocatedBytes() - allocStart,
+                iterations);
+
+        int aliases = 0;
+        start = System.nanoTime();
+        allocStart = getAllocatedBytes();
+        for (int i = 0; i < iterations; i++) {
+            netlist.resetParentNetMap();
+            aliases = netlist.getParentNetMap().size();
+        }
+        report("Generate parent net map", System.nanoTime() - start, getAllocatedBytes() - allocStart,
+                iterations);
+
+        ParallelismTools.setParallel(parallel);
+        System.out.println("Leaf cell instances: " + leaves + ", net aliases: " + aliases);
+    }
+}
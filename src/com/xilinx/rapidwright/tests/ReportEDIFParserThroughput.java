@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2024, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.tests;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import com.xilinx.rapidwright.edif.EDIFNetlist;
+import com.xilinx.rapidwright.edif.ParallelEDIFParser;
+import com.xilinx.rapidwright.util.BlockGZIP;
+import com.xilinx.rapidwright.util.ParallelismTools;
+
+/**
+ * Benchmark of the throughput of {@link ParallelEDIFParser} for an increasing number of threads. For
+ * each thread count, reports the uncompressed EDIF megabytes parsed per second, both in total and per
+ * thread. Gzipped inputs written in the block-indexed format of {@link BlockGZIP} (as exported by
+ * {@link EDIFNetlist#exportEDIF(Path)} with a '.gz' extension) can use all threads; other gzipped inputs
+ * use an estimated size for their thread count. Uncompressed inputs are memory-mapped unless disabled
+ * (see {@link ParallelEDIFParser#USE_MEMORY_MAPPING}), so that both readers can be measured with the
+ * same build.
+ */
+public class ReportEDIFParserThroughput {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 4) {
+            System.out.println("USAGE: <input.edf|input.edf.gz> [max threads] [iterations] [memory map (true|false)]");
+            return;
+        }
+        Path input = Paths.get(args[0]);
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : ParallelismTools.maxParallelism();
+        int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        if (args.length > 3) {
+            ParallelEDIFParser.USE_MEMORY_MAPPING = Boolean.parseBoolean(args[3]);
+        }
+
+        long fileSize = Files.size(input);
+        long edifSize = fileSize;
+        if (input.toString().endsWith(".gz")) {
+            BlockGZIP.Index index = BlockGZIP.readIndex(input);
+            edifSize = index != null ? index.getUncompressedSize()
+                    : fileSize * ParallelEDIFParser.EDIF_GZIP_COMPRESSION_RATIO;
+            System.out.println(index != null ? "Block-indexed gzip file with " + index.getBlockCount() + " blocks"
+                    : "Gzip file without block index, size estimated");
+        } else {
+            System.out.println("Memory mapping: " + ParallelEDIFParser.USE_MEMORY_MAPPING);
+        }
+        double megabytes = edifSize / (1024.0 * 1024.0);
+        System.out.printf("EDIF size: %.3fMBs\n", megabytes);
+
+        for (int threads = 1; ; threads = Math.min(threads * 2, maxThreads)) {
+            long best = Long.MAX_VALUE;
+            int actualThreads = 0;
+            for (int i = 0; i < iterations; i++) {
+                long start = System.nanoTime();
+                try (ParallelEDIFParser parser = new ParallelEDIFParser(input, fileSize, threads)) {
+                    parser.parseEDIFNetlist();
+                    actualThreads = parser.getNumberOfThreads();
+                }
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            double throughput = megabytes / (best / 1e9);
+            System.out.printf("%3d threads (%3d used): %9.3fs, %9.3fMB/s, %9.3fMB/s per thread\n",
+                    threads, actualThreads, best / 1e9, throughput, throughput / actualThreads);
+            if (threads >= maxThreads) {
+                break;
+            }
+        }
+    }
+}
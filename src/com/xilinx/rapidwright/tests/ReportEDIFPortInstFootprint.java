@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2024, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.tests;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import com.xilinx.rapidwright.design.Design;
+import com.xilinx.rapidwright.edif.EDIFCell;
+import com.xilinx.rapidwright.edif.EDIFCellInst;
+import com.xilinx.rapidwright.edif.EDIFLibrary;
+import com.xilinx.rapidwright.edif.EDIFNet;
+import com.xilinx.rapidwright.edif.EDIFNetlist;
+import com.xilinx.rapidwright.edif.EDIFPortInst;
+import com.xilinx.rapidwright.edif.EDIFTools;
+
+/**
+ * Reports the heap used by a netlist along with its number of {@link EDIFPortInst}s and the number of
+ * distinct port instance name strings they hold, and times looking up every port instance by name on
+ * its cell instance and on its net. Running this before and after a change to the port instance
+ * storage gives its heap and lookup time comparison; the heap is also reported after releasing the unused
+ * capacity of all port instance lists.
+ */
+public class ReportEDIFPortInstFootprint {
+
+    private static long getUsedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1 || args.length > 2) {
+            System.out.println("USAGE: <input.dcp|input.edf> [iterations]");
+            return;
+        }
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        long heapStart = getUsedHeap();
+        EDIFNetlist netlist = args[0].endsWith(".dcp") ?
+                Design.readCheckpoint(args[0], CodePerfTracker.SILENT).getNetlist() :
+                EDIFTools.readEdifFile(args[0]);
+        long heapUsed = getUsedHeap() - heapStart;
+        netlist.trimEDIFPortInstLists();
+        long heapTrimmed = getUsedHeap() - heapStart;
+
+        long portInsts = 0;
+        Set<String> names = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (EDIFLibrary lib : netlist.getLibraries()) {
+            for (EDIFCell cell : lib.getCells()) {
+                for (EDIFNet net : cell.getNets()) {
+                    for (EDIFPortInst portInst : net.getPortInsts()) {
+                        portInsts++;
+                        names.add(portInst.getName());
+                    }
+                }
+            }
+        }
+        System.out.printf("Netlist heap: %.3fMBs (%.3fMBs after EDIFNetlist.trimEDIFPortInstLists()), " +
+                "%d port instances, %d distinct name strings\n", heapUsed / (1024.0 * 1024.0),
+                heapTrimmed / (1024.0 * 1024.0), portInsts, names.size());
+        names = null;
+
+        long found = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            for (EDIFLibrary lib : netlist.getLibraries()) {
+                for (EDIFCell cell : lib.getCells()) {
+                    for (EDIFCellInst inst : cell.getCellInsts()) {
+                        for (EDIFPortInst portInst : inst.getPortInsts()) {
+                            if (inst.getPortInst(portInst.getName()) == portInst) {
+                                found++;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        long instLookups = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            for (EDIFLibrary lib : netlist.getLibraries()) {
+                for (EDIFCell cell : lib.getCells()) {
+                    for (EDIFNet net : cell.getNets()) {
+                        for (EDIFPortInst portInst : net.getPortInsts()) {
+                            if (net.getPortInst(portInst.getCellInst(), portInst.getName()) == portInst) {
+                                found++;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        long netLookups = System.nanoTime() - start;
+
+        long lookups = portInsts * iterations;
+        System.out.printf("EDIFCellInst.getPortInst(): %8.3fns per lookup\n", (double) instLookups / lookups);
+        System.out.printf("EDIFNet.getPortInst():      %8.3fns per lookup\n", (double) netLookups / lookups);
+        System.out.println("Port instances found: " + found);
+    }
+}
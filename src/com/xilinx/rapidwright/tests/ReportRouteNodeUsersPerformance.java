@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2024, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.tests;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.xilinx.rapidwright.design.Design;
+import com.xilinx.rapidwright.design.Net;
+import com.xilinx.rapidwright.device.Node;
+import com.xilinx.rapidwright.device.PIP;
+import com.xilinx.rapidwright.rwroute.NetWrapper;
+import com.xilinx.rapidwright.rwroute.RWRouteConfig;
+import com.xilinx.rapidwright.rwroute.RouteNode;
+import com.xilinx.rapidwright.rwroute.RouteNodeGraph;
+
+/**
+ * Micro-benchmark of the rnode user tracking performed by RWRoute when ripping up
+ * and rerouting connections. All routed nodes of a design are turned into rnodes and used by
+ * their net; a fraction of them are additionally used by a neighbouring net to emulate the
+ * overuse present in a congested design. Reports the number of increment/count/decrement
+ * operations per second and the memory retained.
+ */
+public class ReportRouteNodeUsersPerformance {
+
+    public static void main(String[] args) {
+        if (args.length < 1 || args.length > 3) {
+            System.out.println("USAGE: <input.dcp> [iterations] [percent of rnodes overused]");
+            return;
+        }
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int overusePercent = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+        Design design = Design.readCheckpoint(args[0], CodePerfTracker.SILENT);
+        RouteNodeGraph routingGraph = new RouteNodeGraph(design, new RWRouteConfig(new String[0]));
+
+        List<RouteNode> rnodes = new ArrayList<>();
+        List<NetWrapper> users = new ArrayList<>();
+        List<NetWrapper> netWrappers = new ArrayList<>();
+        for (Net net : design.getNets()) {
+            if (net.isStaticNet() || net.isClockNet() || !net.hasPIPs()) {
+                continue;
+            }
+            NetWrapper netWrapper = new NetWrapper(netWrappers.size(), net);
+            netWrappers.add(netWrapper);
+            for (PIP pip : net.getPIPs()) {
+                Node node = pip.getEndNode();
+                if (node == null || RouteNodeGraph.isExcludedTile(node)) {
+                    continue;
+                }
+                rnodes.add(routingGraph.getOrCreate(node));
+                users.add(netWrapper);
+            }
+        }
+        // Add a second user onto a fraction of all rnodes
+        int numUsages = rnodes.size();
+        for (int i = 0; i < numUsages; i++) {
+            if (i % 100 < overusePercent) {
+                rnodes.add(rnodes.get(i));
+                users.add(netWrappers.get((users.get(i).hashCode() + 1) % netWrappers.size()));
+            }
+        }
+        System.out.println("Nets: " + netWrappers.size() + ", rnodes: " + routingGraph.numNodes() +
+                ", usages: " + rnodes.size());
+
+        String segmentName = "Rip-up and reroute";
+        CodePerfTracker t = new CodePerfTracker(ReportRouteNodeUsersPerformance.class.getSimpleName(), false);
+        t.useGCToTrackMemory(true);
+        t.start(segmentName);
+        long checksum = 0;
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            for (int i = 0; i < rnodes.size(); i++) {
+                rnodes.get(i).incrementUser(users.get(i));
+            }
+            for (int i = 0; i < rnodes.size(); i++) {
+                RouteNode rnode = rnodes.get(i);
+                checksum += rnode.countConnectionsOfUser(users.get(i)) + rnode.getOccupancy();
+            }
+            for (int i = 0; i < rnodes.size(); i++) {
+                rnodes.get(i).decrementUser(users.get(i));
+            }
+        }
+        t.stop();
+
+        long operations = 3L * iterations * rnodes.size();
+        double seconds = t.getRuntime(segmentName) / 1e9;
+        System.out.printf("%s: %2.3fs, %.3f Mops/s, %7.3fMBs (checksum %d)\n",
+                segmentName,
+                seconds,
+                operations / seconds / 1e6,
+                t.getMemUsage(segmentName) / (1024.0 * 1024.0),
+                checksum);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2024, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.tests;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.xilinx.rapidwright.design.Design;
+import com.xilinx.rapidwright.design.Net;
+import com.xilinx.rapidwright.rwroute.RWRoute;
+import com.xilinx.rapidwright.util.ParallelismTools;
+
+/**
+ * Reports the scaling of RWRoute's speculative routing mode (see
+ * {@link com.xilinx.rapidwright.rwroute.RWRouteConfig#getSpeculativeBatchSize()}) by routing the same
+ * design sequentially, then speculatively with 1, 2, 4, ... threads up to the given maximum.
+ * For each run, the wall-clock routing runtime, speedup over the sequential run and total number of
+ * PIPs are printed as one row of a table that can be plotted as a scaling curve.
+ */
+public class ReportSpeculativeRoutingScaling {
+
+    private static long[] route(String dcp, int threads, int batchSize, boolean timingDriven) {
+        Design design = Design.readCheckpoint(dcp, CodePerfTracker.SILENT);
+        ParallelismTools.setMaxThreads(threads);
+        List<String> args = new ArrayList<>();
+        args.add(timingDriven ? "--timingDriven" : "--nonTimingDriven");
+        args.add("--speculativeBatchSize");
+        args.add(String.valueOf(batchSize));
+        long start = System.nanoTime();
+        RWRoute.routeDesignWithUserDefinedArguments(design, args.toArray(new String[0]));
+        long elapsed = System.nanoTime() - start;
+        long pips = 0;
+        for (Net net : design.getNets()) {
+            pips += net.getPIPs().size();
+        }
+        return new long[] {elapsed, pips};
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1 || args.length > 4) {
+            System.out.println("USAGE: <input.dcp> [speculative batch size] [max threads] [timing driven (true|false)]");
+            return;
+        }
+        String dcp = args[0];
+        int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : 256;
+        int maxThreads = args.length > 2 ? Integer.parseInt(args[2]) : 32;
+        boolean timingDriven = args.length > 3 && Boolean.parseBoolean(args[3]);
+
+        List<String> rows = new ArrayList<>();
+        long[] sequential = route(dcp, 1, 0, timingDriven);
+        rows.add(String.format("%11s %8s %12.3f %8.2f %12d", "sequential", 1, sequential[0] / 1e9, 1.0, sequential[1]));
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            long[] result = route(dcp, threads, batchSize, timingDriven);
+            rows.add(String.format("%11s %8d %12.3f %8.2f %12d", "speculative", threads, result[0] / 1e9,
+                    (double) sequential[0] / result[0], result[1]));
+        }
+        ParallelismTools.setMaxThreads(ParallelismTools.maxParallelism());
+
+        System.out.println();
+        System.out.println("Speculative batch size: " + batchSize);
+        System.out.printf("%11s %8s %12s %8s %12s\n", "mode", "threads", "runtime (s)", "speedup", "PIPs");
+        for (String row : rows) {
+            System.out.println(row);
+        }
+    }
+}
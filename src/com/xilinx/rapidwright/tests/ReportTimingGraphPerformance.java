@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2024, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.tests;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.xilinx.rapidwright.design.Design;
+import com.xilinx.rapidwright.timing.CompactTimingGraph;
+import com.xilinx.rapidwright.timing.TimingEdge;
+import com.xilinx.rapidwright.timing.TimingGraph;
+import com.xilinx.rapidwright.timing.TimingManager;
+
+/**
+ * Benchmark of static timing analysis on the JGraphT-based {@link TimingGraph} against its
+ * {@link CompactTimingGraph} snapshot. The snapshot is a read-only copy kept in addition to the graph, so
+ * its build time and memory are reported as an overhead on top of those of the graph, followed by the
+ * runtime of full arrival/required time computations on each and of incremental updates after changing
+ * the delay of a small fraction of edges.
+ */
+public class ReportTimingGraphPerformance {
+
+    private static void report(CodePerfTracker t, String segmentName, int iterations) {
+        System.out.printf("%-40s: %8.3fms per iteration, %9.3fMBs\n",
+                segmentName,
+                t.getRuntime(segmentName) / 1e6 / iterations,
+                t.getMemUsage(segmentName) / (1024.0 * 1024.0));
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1 || args.length > 3) {
+            System.out.println("USAGE: <input.dcp> [iterations] [edges changed per incremental update]");
+            return;
+        }
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int numChanged = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+
+        Design design = Design.readCheckpoint(args[0], CodePerfTracker.SILENT);
+        CodePerfTracker t = new CodePerfTracker(ReportTimingGraphPerformance.class.getSimpleName(), false);
+        t.useGCToTrackMemory(true);
+
+        String buildGraph = "Build TimingGraph";
+        t.start(buildGraph);
+        TimingManager timingManager = new TimingManager(design);
+        t.stop();
+        TimingGraph timingGraph = timingManager.getTimingGraph();
+
+        // Ordering the graph also rebuilds its compact snapshot
+        String buildCompact = "Order and build CompactTimingGraph";
+        t.start(buildCompact);
+        timingGraph.setOrderedTimingVertexLists();
+        t.stop();
+        CompactTimingGraph compact = timingGraph.getCompactTimingGraph();
+        System.out.println("Vertices: " + compact.getVertexCount() + ", edges: " + compact.getEdgeCount() +
+                ", compact arrays: " + compact.getHeapSizeInBytes() / 1024 + "KBs");
+
+        float requirement = timingManager.getTimingRequirementPs();
+        String jgraphtSTA = "Full STA (TimingGraph)";
+        t.start(jgraphtSTA);
+        float jgraphtMax = 0;
+        for (int i = 0; i < iterations; i++) {
+            timingGraph.resetRequiredAndArrivalTime();
+            timingGraph.computeArrivalTimesTopologicalOrder();
+            jgraphtMax = timingGraph.getMaxDelay().getFirst();
+            timingGraph.setTimingRequirementTopologicalOrder(Float.max(jgraphtMax, requirement));
+        }
+        t.stop();
+
+        String compactSTA = "Full STA (CompactTimingGraph)";
+        t.start(compactSTA);
+        float compactMax = 0;
+        for (int i = 0; i < iterations; i++) {
+            compactMax = timingManager.calculateArrivalRequiredTimes(false).getFirst();
+        }
+        t.stop();
+
+        List<TimingEdge> edges = new ArrayList<>(timingGraph.edgeSet());
+        int stride = Math.max(1, edges.size() / Math.max(1, numChanged));
+        String incrementalSTA = "Incremental STA (CompactTimingGraph)";
+        t.start(incrementalSTA);
+        for (int i = 0; i < iterations; i++) {
+            for (int j = i % stride; j < edges.size(); j += stride) {
+                TimingEdge e = edges.get(j);
+                e.setNetDelay(e.getNetDelay() + 1);
+            }
+            timingManager.calculateArrivalRequiredTimes();
+        }
+        t.stop();
+
+        System.out.println("Max arrival time (ps): " + jgraphtMax + " (TimingGraph), " + compactMax +
+                " (CompactTimingGraph)");
+        report(t, buildGraph, 1);
+        report(t, buildCompact, 1);
+        System.out.printf("%-40s: %8.1f%% build time, %8.1f%% memory\n", "Snapshot overhead over TimingGraph",
+                100.0 * t.getRuntime(buildCompact) / t.getRuntime(buildGraph),
+                100.0 * t.getMemUsage(buildCompact) / t.getMemUsage(buildGraph));
+        report(t, jgraphtSTA, iterations);
+        report(t, compactSTA, iterations);
+        report(t, incrementalSTA, iterations);
+    }
+}
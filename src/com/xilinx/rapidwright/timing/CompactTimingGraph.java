@@ -0,0 +1,375 @@
+/*
+ * Copyright (c) 2024, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.timing;
+
+import java.util.BitSet;
+import java.util.List;
+
+import com.xilinx.rapidwright.util.ParallelismTools;
+
+/**
+ * Compressed sparse row (CSR) snapshot of the structure of a {@link TimingGraph}, used for static timing
+ * analysis once the graph has been built. Vertices are identified by their position in topological order
+ * (see {@link TimingVertex#getTopologicalIndex()}) and edges by an index into the fanin arrays, so that the
+ * arrival and required time passes are linear scans over primitive arrays rather than traversals of the
+ * hash-based containers of the JGraphT graph.
+ * The arrival time, required time and previous vertex computed here are written back to each
+ * {@link TimingVertex} (only where changed) so that existing callers continue to work unmodified.
+ * Vertices are also grouped into levels, each a contiguous range of ids whose fanin (fanout) lies
+ * entirely in earlier (later) levels, so that full passes propagate all vertices of one level in parallel.
+ * Each vertex is computed by the same sequential reduction over its fanin or fanout regardless of
+ * threading, so results are identical to those of a serial pass.
+ * Any structural change to the TimingGraph discards its snapshot, which is recreated on the next analysis.
+ * The snapshot is kept in addition to the JGraphT graph, which remains the backing store of the TimingGraph's
+ * structure for building and path queries, so it adds to (rather than replaces) the heap used by that graph.
+ */
+public class CompactTimingGraph {
+    /** Minimum number of vertices propagated by one parallel task */
+    private static final int MIN_VERTICES_PER_TASK = 1024;
+
+    /** Vertices indexed by id, in topological order */
+    private final TimingVertex[] vertices;
+    /** Edges indexed by id, sorted by destination id then source id */
+    private final TimingEdge[] edges;
+    /** Fanin edges of vertex v are the edge ids [faninStart[v], faninStart[v+1]) */
+    private final int[] faninStart;
+    /** Fanout edges of vertex v are the edge ids fanoutEdges[fanoutStart[v] .. fanoutStart[v+1]-1] */
+    private final int[] fanoutStart;
+    private final int[] fanoutEdges;
+    private final int[] edgeSrc;
+    private final int[] edgeDst;
+    private final float[] delays;
+    private final float[] arrivals;
+    private final float[] requireds;
+    private final int[] prevs;
+    private final int superSinkId;
+    /** Vertices of level l are the ids [levelStart[l], levelStart[l+1]) */
+    private final int[] levelStart;
+    /** Reusable worklists for incremental updates */
+    private final BitSet pending;
+
+    CompactTimingGraph(TimingGraph graph, List<TimingVertex> orderedVertices, TimingVertex superSink) {
+        int numVertices = orderedVertices.size();
+        vertices = orderedVertices.toArray(new TimingVertex[0]);
+        for (int v = 0; v < numVertices; v++) {
+            assert(vertices[v].getTopologicalIndex() == v);
+        }
+
+        faninStart = new int[numVertices + 1];
+        fanoutStart = new int[numVertices + 1];
+        for (int v = 0; v < numVertices; v++) {
+            faninStart[v + 1] = faninStart[v] + graph.inDegreeOf(vertices[v]);
+            fanoutStart[v + 1] = fanoutStart[v] + graph.outDegreeOf(vertices[v]);
+        }
+        int numEdges = faninStart[numVertices];
+        edges = new TimingEdge[numEdges];
+        edgeSrc = new int[numEdges];
+        edgeDst = new int[numEdges];
+        delays = new float[numEdges];
+        fanoutEdges = new int[numEdges];
+        int[] fanoutSize = new int[numVertices];
+        for (int v = 0; v < numVertices; v++) {
+            int start = faninStart[v];
+            int end = start;
+            for (TimingEdge e : graph.incomingEdgesOf(vertices[v])) {
+                // Insertion sort on source id, so that ties in arrival time are broken in topological
+                // order, exactly as TimingGraph.computeArrivalTimesTopologicalOrder() does
+                int src = e.getSrc().getTopologicalIndex();
+                int i = end++;
+                while (i > start && edgeSrc[i - 1] > src) {
+                    edges[i] = edges[i - 1];
+                    edgeSrc[i] = edgeSrc[i - 1];
+                    i--;
+                }
+                edges[i] = e;
+                edgeSrc[i] = src;
+            }
+            for (int i = start; i < end; i++) {
+                int src = edgeSrc[i];
+                edges[i].setId(i);
+                edgeDst[i] = v;
+                delays[i] = edges[i].getDelay();
+                fanoutEdges[fanoutStart[src] + fanoutSize[src]++] = i;
+            }
+        }
+
+        arrivals = new float[numVertices];
+        requireds = new float[numVertices];
+        prevs = new int[numVertices];
+        for (int v = 0; v < numVertices; v++) {
+            TimingVertex vertex = vertices[v];
+            arrivals[v] = vertex.getArrivalTime();
+            requireds[v] = vertex.getRequiredTime();
+            TimingVertex prev = vertex.getPrev();
+            prevs[v] = (prev == null) ? -1 : prev.getTopologicalIndex();
+        }
+        superSinkId = (superSink == null) ? -1 : superSink.getTopologicalIndex();
+        pending = new BitSet(numVertices);
+
+        int[] levels = new int[numVertices];
+        int numLevels = 0;
+        for (int v = 0; v < numVertices; v++) {
+            int level = 0;
+            for (int e = faninStart[v]; e < faninStart[v + 1]; e++) {
+                level = Math.max(level, levels[edgeSrc[e]] + 1);
+            }
+            // Vertices must have been ordered by level, see TimingGraph.setOrderedTimingVertexLists()
+            assert(v == 0 || level >= levels[v - 1]);
+            levels[v] = level;
+            numLevels = level + 1;
+        }
+        levelStart = new int[numLevels + 1];
+        for (int v = 0; v < numVertices; v++) {
+            levelStart[levels[v] + 1] = v + 1;
+        }
+        for (int level = 1; level <= numLevels; level++) {
+            levelStart[level] = Math.max(levelStart[level], levelStart[level - 1]);
+        }
+    }
+
+    private interface RangeTask {
+        void run(int start, int end);
+    }
+
+    /**
+     * Runs the given task over the ids of one level, split into chunks that are run in parallel if the
+     * level is large enough and parallelism is enabled.
+     */
+    private static void runLevel(int start, int end, RangeTask task) {
+        int size = end - start;
+        if (!ParallelismTools.getParallel() || size < 2 * MIN_VERTICES_PER_TASK) {
+            task.run(start, end);
+            return;
+        }
+        int numTasks = Math.min(size / MIN_VERTICES_PER_TASK, 4 * ParallelismTools.maxParallelism());
+        Runnable[] tasks = new Runnable[numTasks];
+        for (int i = 0; i < numTasks; i++) {
+            int chunkStart = start + (int) ((long) size * i / numTasks);
+            int chunkEnd = start + (int) ((long) size * (i + 1) / numTasks);
+            tasks[i] = () -> task.run(chunkStart, chunkEnd);
+        }
+        ParallelismTools.invokeAll(tasks);
+    }
+
+    /**
+     * Gets the number of levels in this graph.
+     * @return Number of levels, i.e. one more than the largest number of edges on any path.
+     */
+    public int getLevelCount() {
+        return levelStart.length - 1;
+    }
+
+    /**
+     * Gets the number of vertices in this graph.
+     * @return Number of vertices.
+     */
+    public int getVertexCount() {
+        return vertices.length;
+    }
+
+    /**
+     * Gets the number of edges in this graph.
+     * @return Number of edges.
+     */
+    public int getEdgeCount() {
+        return edges.length;
+    }
+
+    /**
+     * Estimates the number of bytes occupied by the arrays of this graph, excluding the
+     * {@link TimingVertex} and {@link TimingEdge} objects themselves.
+     * @return Estimated heap usage in bytes.
+     */
+    public long getHeapSizeInBytes() {
+        // Per vertex: 2 starts, arrival, required, prev and a vertex reference
+        // Per edge: fanout, src, dst, delay and an edge reference
+        int refSize = 8;
+        return (long) vertices.length * (4 * 5 + refSize) + (long) edges.length * (4 * 4 + refSize);
+    }
+
+    /**
+     * Refreshes the delay of all edges from their {@link TimingEdge} objects.
+     */
+    void updateAllDelays() {
+        for (int e = 0; e < edges.length; e++) {
+            delays[e] = edges[e].getDelay();
+        }
+    }
+
+    /**
+     * Refreshes the delay of the given edges from their {@link TimingEdge} objects.
+     * @param dirtyEdges Edges whose delay may have changed.
+     */
+    void updateDelays(Iterable<TimingEdge> dirtyEdges) {
+        for (TimingEdge e : dirtyEdges) {
+            // Ids of edges added since this snapshot are unassigned, but any such change discards the snapshot
+            assert(e.getId() >= 0 && edges[e.getId()] == e);
+            delays[e.getId()] = e.getDelay();
+        }
+    }
+
+    private void syncArrival(int v) {
+        TimingVertex vertex = vertices[v];
+        vertex.setArrivalTime(arrivals[v]);
+        vertex.setPrev(prevs[v] < 0 ? null : vertices[prevs[v]]);
+    }
+
+    private void syncRequired(int v) {
+        TimingVertex vertex = vertices[v];
+        vertex.resetRequiredTime();
+        vertex.setMinRequiredTime(requireds[v]);
+    }
+
+    /**
+     * Computes the arrival time of one vertex from those of its fanin, keeping the first of multiple equal
+     * maximums in topological order, and stores it along with the previous vertex.
+     * @return True if the arrival time or previous vertex changed.
+     */
+    private boolean computeArrival(int v) {
+        int start = faninStart[v];
+        int end = faninStart[v + 1];
+        float arrival = 0;
+        int prev = -1;
+        for (int e = start; e < end; e++) {
+            float candidate = arrivals[edgeSrc[e]] + delays[e];
+            if (prev == -1 || candidate > arrival) {
+                arrival = candidate;
+                prev = edgeSrc[e];
+            }
+        }
+        boolean changed = arrivals[v] != arrival || prevs[v] != prev;
+        arrivals[v] = arrival;
+        prevs[v] = prev;
+        return changed;
+    }
+
+    private boolean computeRequired(int v, float requirement) {
+        int start = fanoutStart[v];
+        int end = fanoutStart[v + 1];
+        float required;
+        if (start == end) {
+            //NOTE: there are dangling timing vertices not connected to super sink
+            required = (v == superSinkId) ? requirement : Short.MAX_VALUE;
+        } else {
+            required = Float.MAX_VALUE;
+            for (int i = start; i < end; i++) {
+                int e = fanoutEdges[i];
+                required = Math.min(required, requireds[edgeDst[e]] - delays[e]);
+            }
+        }
+        boolean changed = requireds[v] != required;
+        requireds[v] = required;
+        return changed;
+    }
+
+    /**
+     * Computes the arrival time of every vertex in a single pass over all levels in increasing order.
+     * @param syncAll Whether to write back to every {@link TimingVertex}, rather than only those whose
+     * arrival time changed since the last computation.
+     */
+    void computeArrivalTimes(boolean syncAll) {
+        RangeTask task = (start, end) -> {
+            for (int v = start; v < end; v++) {
+                if (computeArrival(v) || syncAll) {
+                    syncArrival(v);
+                }
+            }
+        };
+        for (int level = 0; level < getLevelCount(); level++) {
+            runLevel(levelStart[level], levelStart[level + 1], task);
+        }
+    }
+
+    /**
+     * Computes the required time of every vertex in a single pass over all levels in decreasing order.
+     * @param requirement The required time at the super sink.
+     * @param syncAll Whether to write back to every {@link TimingVertex}, rather than only those whose
+     * required time changed since the last computation.
+     */
+    void computeRequiredTimes(float requirement, boolean syncAll) {
+        RangeTask task = (start, end) -> {
+            for (int v = start; v < end; v++) {
+                if (computeRequired(v, requirement) || syncAll) {
+                    syncRequired(v);
+                }
+            }
+        };
+        for (int level = getLevelCount() - 1; level >= 0; level--) {
+            runLevel(levelStart[level], levelStart[level + 1], task);
+        }
+    }
+
+    /**
+     * Updates the arrival time of only the vertices in the fanout cones of the given edges. As vertex ids
+     * are in topological order, the worklist is a bit set scanned in increasing id order.
+     * @param dirtyEdges Edges whose delay has changed since the last computation.
+     */
+    void updateArrivalTimes(Iterable<TimingEdge> dirtyEdges) {
+        for (TimingEdge e : dirtyEdges) {
+            pending.set(edgeDst[e.getId()]);
+        }
+        for (int v = pending.nextSetBit(0); v >= 0; v = pending.nextSetBit(v + 1)) {
+            pending.clear(v);
+            float oldArrival = arrivals[v];
+            if (!computeArrival(v)) {
+                continue;
+            }
+            syncArrival(v);
+            if (arrivals[v] == oldArrival) {
+                continue;
+            }
+            for (int i = fanoutStart[v]; i < fanoutStart[v + 1]; i++) {
+                pending.set(edgeDst[fanoutEdges[i]]);
+            }
+        }
+    }
+
+    /**
+     * Updates the required time of only the vertices in the fanin cones of the given edges, scanning the
+     * worklist in decreasing id order.
+     * @param dirtyEdges Edges whose delay has changed since the last computation.
+     * @param requirement The required time at the super sink, which must be unchanged since the last
+     * computation.
+     */
+    void updateRequiredTimes(Iterable<TimingEdge> dirtyEdges, float requirement) {
+        for (TimingEdge e : dirtyEdges) {
+            pending.set(edgeSrc[e.getId()]);
+        }
+        for (int v = pending.previousSetBit(vertices.length - 1); v >= 0; v = pending.previousSetBit(v - 1)) {
+            pending.clear(v);
+            if (!computeRequired(v, requirement)) {
+                continue;
+            }
+            syncRequired(v);
+            for (int e = faninStart[v]; e < faninStart[v + 1]; e++) {
+                pending.set(edgeSrc[e]);
+            }
+        }
+    }
+
+    /**
+     * Gets the required time at the super sink as of the last computation.
+     * @return Required time in picoseconds, or NaN if there is no super sink.
+     */
+    float getSuperSinkRequiredTime() {
+        return superSinkId < 0 ? Float.NaN : requireds[superSinkId];
+    }
+}
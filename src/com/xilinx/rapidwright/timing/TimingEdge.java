@@ -55,6 +55,13 @@ public class TimingEdge extends DefaultEdge {
      * because intra-site delay does not change during routing and needs to be stored separately
      */
     private float intraSiteDelay = 0.0f;
+    /**
+     * Whether the delay of this edge has changed since the last timing analysis,
+     * see {@link TimingGraph#updateArrivalTimesIncrementally()}
+     */
+    private boolean dirty = false;
+    /** Index of this edge in the {@link CompactTimingGraph} of its TimingGraph, or -1 if not (or no longer) assigned */
+    private int id = -1;
 
     private SitePinInst first;
     private SitePinInst second;
@@ -271,7 +278,7 @@ public class TimingEdge extends DefaultEdge {
 
     public void setRouteDelay(float routeDelay) {
         this.netDelay = this.intraSiteDelay + routeDelay;
-        this.delay = logicDelay + this.netDelay;
+        updateDelay(logicDelay + this.netDelay);
         if (timingGraph.containsEdge(this))
             timingGraph.setEdgeWeight(this, this.delay);
         else
@@ -284,7 +291,7 @@ public class TimingEdge extends DefaultEdge {
      */
     public void setNetDelay(float netDelay) {
         this.netDelay = netDelay;
-        this.delay = logicDelay + netDelay;
+        updateDelay(logicDelay + netDelay);
         if (timingGraph.containsEdge(this))
             timingGraph.setEdgeWeight(this, this.delay);
     }
@@ -295,11 +302,45 @@ public class TimingEdge extends DefaultEdge {
      */
     public void setLogicDelay(float logicDelay) {
         this.logicDelay = logicDelay;
-        this.delay = logicDelay+netDelay;
+        updateDelay(logicDelay+netDelay);
         if (timingGraph.containsEdge(this))
             timingGraph.setEdgeWeight(this, this.delay);
     }
 
+    /**
+     * Sets the total delay of this edge, marking it dirty in its TimingGraph if the delay changed.
+     * The delay of any one edge must not be updated by multiple threads at the same time.
+     * @param delay Total delay in picoseconds.
+     */
+    private void updateDelay(float delay) {
+        if (this.delay != delay && !dirty && timingGraph != null) {
+            dirty = true;
+            timingGraph.addDirtyTimingEdge(this);
+        }
+        this.delay = delay;
+    }
+
+    /**
+     * Checks if the delay of this edge has changed since the arrival and required times of its
+     * TimingGraph were last computed.
+     * @return True if this edge is dirty.
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    void clearDirty() {
+        dirty = false;
+    }
+
+    int getId() {
+        return id;
+    }
+
+    void setId(int id) {
+        this.id = id;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
@@ -28,6 +28,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
@@ -35,6 +36,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import com.xilinx.rapidwright.design.Cell;
 import com.xilinx.rapidwright.design.Design;
@@ -69,6 +71,7 @@ import org.jgrapht.traverse.TopologicalOrderIterator;
 /**
  * A TimingGraph is an acyclic weighted-directed graph representing logic delays and physical net 
  * delays based on analyzing the circuits within {@link Design} objects.
+ * Once built and ordered, static timing analysis is performed on a {@link CompactTimingGraph} snapshot.
  */
 public class TimingGraph extends DefaultDirectedWeightedGraph<TimingVertex, TimingEdge> {
 
@@ -98,6 +101,20 @@ public class TimingGraph extends DefaultDirectedWeightedGraph<TimingVertex, Timi
     private List<TimingVertex> reversedOrderedTimingVertices = new ArrayList<>();
     private ClkRouteTiming clkRouteTiming = null;
     private RuntimeTrackerTree routerTimer;
+    /** Edges whose delay has changed since arrival and required times were last computed */
+    private Queue<TimingEdge> dirtyTimingEdges = new ConcurrentLinkedQueue<>();
+    /** Whether arrival and required times are up to date for all edges other than the dirty ones */
+    private boolean incrementalTimingValid = false;
+    /**
+     * Snapshot of the structure of this graph for static timing analysis, created when it is ordered and
+     * discarded by any subsequent addition or removal of a vertex or edge
+     */
+    private CompactTimingGraph compactTimingGraph;
+    /**
+     * Largest fraction of all edges that may be dirty for an incremental timing update to be used
+     * instead of a full one
+     */
+    public static final float MAX_INCREMENTAL_DIRTY_FRACTION = 0.1f;
     
     /** DSP timing data related variables */
     private String dspTimingDataFolder;
@@ -260,6 +277,7 @@ public class TimingGraph extends DefaultDirectedWeightedGraph<TimingVertex, Timi
      * @param requirement The required time in picoseconds at the sink of the path.
      */
     public void setTimingRequirement(float requirement) {
+        incrementalTimingValid = false;
         for (GraphPath<TimingVertex, TimingEdge> path : getGraphPaths()) {
             setTimingRequirement(requirement, path);
         }
@@ -267,21 +285,51 @@ public class TimingGraph extends DefaultDirectedWeightedGraph<TimingVertex, Timi
     }
     
     /**
-     * Creates and Sets the lists of ordered TimingVertices
+     * Creates and Sets the lists of ordered TimingVertices, in a topological order that groups vertices
+     * by level, and the {@link CompactTimingGraph} snapshot based on it
      */
     public void setOrderedTimingVertexLists() {
+        incrementalTimingValid = false;
+        orderedTimingVertices.clear();
+        List<TimingVertex> order = new ArrayList<>(vertexSet().size());
         TopologicalOrderIterator<TimingVertex, TimingEdge> orderIterator = new TopologicalOrderIterator<>(this);
         while (orderIterator.hasNext()) {
             TimingVertex v = orderIterator.next();
+            v.setTopologicalIndex(order.size());
+            order.add(v);
+        }
+        // Stable sort by level (the longest number of edges from any start point) so that each level is a
+        // contiguous range of the topological order, within which vertices can be propagated in parallel
+        int[] levels = new int[order.size()];
+        int[] levelSizes = new int[order.size() + 1];
+        for (TimingVertex v : order) {
+            int level = 0;
+            for (TimingEdge e : incomingEdgesOf(v)) {
+                level = Math.max(level, levels[e.getSrc().getTopologicalIndex()] + 1);
+            }
+            levels[v.getTopologicalIndex()] = level;
+            levelSizes[level + 1]++;
+        }
+        for (int level = 1; level < levelSizes.length; level++) {
+            levelSizes[level] += levelSizes[level - 1];
+        }
+        TimingVertex[] levelized = new TimingVertex[order.size()];
+        for (TimingVertex v : order) {
+            levelized[levelSizes[levels[v.getTopologicalIndex()]]++] = v;
+        }
+        for (TimingVertex v : levelized) {
+            v.setTopologicalIndex(orderedTimingVertices.size());
             orderedTimingVertices.add(v);
         }
         reversedOrderedTimingVertices = getReversedOrder();
+        compactTimingGraph = new CompactTimingGraph(this, orderedTimingVertices, superSink);
     }
     
     /**
      * Computes/recomputes the arrival time stored at each vertex of the graph using TopologicalOrderIterator
      */
     public void computeArrivalTimesTopologicalOrder() {
+        incrementalTimingValid = false;
         if (orderedTimingVertices.isEmpty()) {
             setOrderedTimingVertexLists();
         }
@@ -317,6 +365,7 @@ public class TimingGraph extends DefaultDirectedWeightedGraph<TimingVertex, Timi
      * @param requirement, the required time of the design
      */
     public void setTimingRequirementTopologicalOrder(float requirement) {
+        incrementalTimingValid = false;
         if (reversedOrderedTimingVertices.isEmpty()) {
             reversedOrderedTimingVertices = getReversedOrder();
         }
@@ -341,6 +390,7 @@ public class TimingGraph extends DefaultDirectedWeightedGraph<TimingVertex, Timi
      * Reset the required and arrival time to be null
      */
     public void resetRequiredAndArrivalTime() {
+        incrementalTimingValid = false;
         for (TimingVertex v : vertexSet()) {
             v.resetArrivalTime();
             v.resetRequiredTime();
@@ -348,6 +398,181 @@ public class TimingGraph extends DefaultDirectedWeightedGraph<TimingVertex, Timi
         }
     }
     
+    /**
+     * Records an edge whose delay has changed, so that its fanout and fanin cones are revisited by the
+     * next incremental timing update. Safe to call from multiple threads.
+     * @param e The dirty edge.
+     */
+    void addDirtyTimingEdge(TimingEdge e) {
+        dirtyTimingEdges.add(e);
+    }
+
+    /**
+     * Discards the {@link CompactTimingGraph} snapshot after a structural change, so that it is recreated
+     * (assigning ids to all current edges) before the next static timing analysis, and invalidates any
+     * incremental timing update until then.
+     */
+    private void invalidateCompactTimingGraph() {
+        compactTimingGraph = null;
+        incrementalTimingValid = false;
+    }
+
+    @Override
+    public boolean addVertex(TimingVertex v) {
+        boolean added = super.addVertex(v);
+        if (added) {
+            invalidateCompactTimingGraph();
+        }
+        return added;
+    }
+
+    @Override
+    public boolean removeVertex(TimingVertex v) {
+        boolean removed = super.removeVertex(v);
+        if (removed) {
+            invalidateCompactTimingGraph();
+        }
+        return removed;
+    }
+
+    @Override
+    public TimingEdge addEdge(TimingVertex sourceVertex, TimingVertex targetVertex) {
+        TimingEdge e = super.addEdge(sourceVertex, targetVertex);
+        if (e != null) {
+            invalidateCompactTimingGraph();
+        }
+        return e;
+    }
+
+    @Override
+    public boolean addEdge(TimingVertex sourceVertex, TimingVertex targetVertex, TimingEdge e) {
+        boolean added = super.addEdge(sourceVertex, targetVertex, e);
+        if (added) {
+            e.setId(-1);
+            invalidateCompactTimingGraph();
+        }
+        return added;
+    }
+
+    @Override
+    public TimingEdge removeEdge(TimingVertex sourceVertex, TimingVertex targetVertex) {
+        TimingEdge e = super.removeEdge(sourceVertex, targetVertex);
+        if (e != null) {
+            e.setId(-1);
+            invalidateCompactTimingGraph();
+        }
+        return e;
+    }
+
+    @Override
+    public boolean removeEdge(TimingEdge e) {
+        boolean removed = super.removeEdge(e);
+        if (removed) {
+            e.setId(-1);
+            invalidateCompactTimingGraph();
+        }
+        return removed;
+    }
+
+    /**
+     * Gets the compact snapshot of this graph used for static timing analysis, creating it if necessary.
+     * @return The CompactTimingGraph corresponding to the current structure of this graph.
+     */
+    public CompactTimingGraph getCompactTimingGraph() {
+        if (compactTimingGraph == null) {
+            setOrderedTimingVertexLists();
+        }
+        return compactTimingGraph;
+    }
+
+    /**
+     * Checks if the arrival and required times can be brought up to date by
+     * {@link #updateArrivalTimesIncrementally()} and {@link #updateRequiredTimesIncrementally(float)},
+     * i.e. if a full timing analysis has been completed (see {@link #finishTimingUpdate()}) since the
+     * graph was last ordered, its structure has not changed since and only a small fraction of edges have
+     * changed delay since.
+     * @return True if an incremental timing update should be used.
+     */
+    public boolean canUpdateTimingIncrementally() {
+        if (!incrementalTimingValid || compactTimingGraph == null) {
+            return false;
+        }
+        int numDirty = 0;
+        int maxDirty = (int) (compactTimingGraph.getEdgeCount() * MAX_INCREMENTAL_DIRTY_FRACTION);
+        for (Iterator<TimingEdge> it = dirtyTimingEdges.iterator(); it.hasNext(); it.next()) {
+            if (++numDirty > maxDirty) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Marks the arrival and required times as up to date with all edge delays, clearing all dirty edges.
+     * To be called after either a full or an incremental timing update has computed both.
+     */
+    public void finishTimingUpdate() {
+        TimingEdge e;
+        while ((e = dirtyTimingEdges.poll()) != null) {
+            e.clearDirty();
+        }
+        incrementalTimingValid = true;
+    }
+
+    /**
+     * Computes the arrival time of every vertex on the {@link CompactTimingGraph}. The result is identical
+     * to that of {@link #resetRequiredAndArrivalTime()} followed by
+     * {@link #computeArrivalTimesTopologicalOrder()}, including the choice of previous vertex on ties.
+     */
+    public void computeArrivalTimesCompact() {
+        CompactTimingGraph compact = getCompactTimingGraph();
+        compact.updateAllDelays();
+        compact.computeArrivalTimes(!incrementalTimingValid);
+    }
+
+    /**
+     * Computes the required time of every vertex on the {@link CompactTimingGraph}. The result is
+     * identical to that of {@link #setTimingRequirementTopologicalOrder(float)} on reset required times.
+     * @param requirement The required time of the design.
+     */
+    public void computeRequiredTimesCompact(float requirement) {
+        getCompactTimingGraph().computeRequiredTimes(requirement, !incrementalTimingValid);
+    }
+
+    /**
+     * Updates the arrival time of only those vertices in the fanout cones of dirty edges, visiting them
+     * in topological order and stopping wherever an arrival time is unchanged. The result is identical
+     * to that of {@link #computeArrivalTimesCompact()}.
+     */
+    public void updateArrivalTimesIncrementally() {
+        if (compactTimingGraph == null || !incrementalTimingValid) {
+            // Structure changed since the last full timing update
+            computeArrivalTimesCompact();
+            return;
+        }
+        compactTimingGraph.updateDelays(dirtyTimingEdges);
+        compactTimingGraph.updateArrivalTimes(dirtyTimingEdges);
+    }
+
+    /**
+     * Updates the required time of only those vertices in the fanin cones of dirty edges, visiting them
+     * in reverse topological order and stopping wherever a required time is unchanged. If the given
+     * requirement differs from that used previously, all required times change and a full update is
+     * performed instead. The result is identical to that of {@link #computeRequiredTimesCompact(float)}.
+     * @param requirement The required time of the design.
+     */
+    public void updateRequiredTimesIncrementally(float requirement) {
+        if (compactTimingGraph == null || !incrementalTimingValid) {
+            computeRequiredTimesCompact(requirement);
+            return;
+        }
+        if (compactTimingGraph.getSuperSinkRequiredTime() != requirement) {
+            compactTimingGraph.computeRequiredTimes(requirement, false);
+            return;
+        }
+        compactTimingGraph.updateRequiredTimes(dirtyTimingEdges, requirement);
+    }
+
     /**
      * Get the maximum delay, i.e., the maximum arrival time, and corresponding timing path sink of the design
      */
@@ -850,6 +1075,7 @@ public class TimingGraph extends DefaultDirectedWeightedGraph<TimingVertex, Timi
      * Computes/recomputes the arrival times stored at the vertices of the graph based on the edges
      */
     public void computeArrivalTimes() {
+        incrementalTimingValid = false;
         for (GraphPath<TimingVertex, TimingEdge> p : graphPathHashSet) {
             float arrival = 0;
             for (TimingEdge e : (List<TimingEdge>) p.getEdgeList()) {
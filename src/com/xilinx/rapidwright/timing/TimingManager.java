@@ -146,13 +146,30 @@ public class TimingManager {
     }
     
     /**
-     * Calculates and returns the maximum arrival time and the associated TimingVertex
+     * Calculates and returns the maximum arrival time and the associated TimingVertex.
+     * Analysis is performed on the {@link CompactTimingGraph} snapshot of the TimingGraph.
+     * When only a small fraction of timing edges have changed delay since the last call
+     * (see {@link TimingGraph#canUpdateTimingIncrementally()}), only the fanout and fanin cones
+     * of those edges are revisited; the result is identical to a full recomputation.
      */
     public Pair<Float,TimingVertex> calculateArrivalRequiredTimes() {
+        return calculateArrivalRequiredTimes(true);
+    }
+
+    /**
+     * Calculates and returns the maximum arrival time and the associated TimingVertex.
+     * @param allowIncremental Whether an incremental update may be used when possible, otherwise
+     * arrival and required times of the entire TimingGraph are recomputed.
+     */
+    public Pair<Float,TimingVertex> calculateArrivalRequiredTimes(boolean allowIncremental) {
         Pair<Float, TimingVertex> maxs;
 
-        timingGraph.resetRequiredAndArrivalTime();
-        timingGraph.computeArrivalTimesTopologicalOrder();
+        boolean incremental = allowIncremental && timingGraph.canUpdateTimingIncrementally();
+        if (incremental) {
+            timingGraph.updateArrivalTimesIncrementally();
+        } else {
+            timingGraph.computeArrivalTimesCompact();
+        }
 
         maxs = timingGraph.getMaxDelay();
         float maxArrival = maxs.getFirst();
@@ -163,8 +180,13 @@ public class TimingManager {
         // If timingRequirement > maxArrival, setting it to maxArrival would mean that
         // minimum slack is zero leading to unnecessary router effort.
         float normalizedRequired = Float.max(maxArrival, timingRequirement);
-        timingGraph.setTimingRequirementTopologicalOrder(normalizedRequired);
-        
+        if (incremental) {
+            timingGraph.updateRequiredTimesIncrementally(normalizedRequired);
+        } else {
+            timingGraph.computeRequiredTimesCompact(normalizedRequired);
+        }
+        timingGraph.finishTimingUpdate();
+
         return maxs;
     }
     
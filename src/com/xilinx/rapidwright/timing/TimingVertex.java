@@ -37,6 +37,11 @@ public class TimingVertex {
     private boolean printed;
     /** The parent TimingVertex that leads to the maximum arrival time of this one*/
     private TimingVertex prev;
+    /**
+     * Position of this vertex in the topological order of its TimingGraph, which is also its id in the
+     * {@link CompactTimingGraph}, or -1 if not yet ordered
+     */
+    private int topologicalIndex = -1;
 
     /**
      * Creates a vertex for insertion into the TimingGraph.
@@ -296,4 +301,12 @@ public class TimingVertex {
     public void setPrev(TimingVertex prev) {
         this.prev = prev;
     }
+
+    int getTopologicalIndex() {
+        return topologicalIndex;
+    }
+
+    void setTopologicalIndex(int topologicalIndex) {
+        this.topologicalIndex = topologicalIndex;
+    }
 }
@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2024, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.util;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Block-indexed gzip files, in the spirit of bgzip: the file is a concatenation of independent gzip
+ * members, each of which records its own compressed size in an extra header field. Any gzip reader can
+ * decompress such a file as usual (a concatenation of gzip members is a valid gzip stream), but readers
+ * aware of the format can build an index of all members by hopping from header to header without
+ * decompressing anything, and then start decompressing at any member. This allows multiple threads to
+ * read different parts of one compressed file concurrently.
+ *
+ * Each member starts with the 10 byte gzip header with the FEXTRA flag set, followed by an extra field
+ * of 8 bytes: the subfield ID 'R','W', a subfield length of 4 and the total size of the member in bytes
+ * (little endian).
+ */
+public class BlockGZIP {
+
+    private static final int HEADER_SIZE = 18;
+    private static final int TRAILER_SIZE = 8;
+    private static final byte SUBFIELD_ID1 = 'R';
+    private static final byte SUBFIELD_ID2 = 'W';
+    private static final int INPUT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Compresses the provided data as a single gzip member of the block-indexed format.
+     * @param data The uncompressed data.
+     * @param off Start offset of the data.
+     * @param len Length of the data.
+     * @return The compressed member.
+     */
+    public static byte[] compressBlock(byte[] data, int off, int len) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(HEADER_SIZE + len / 4 + TRAILER_SIZE);
+        // Header placeholder, filled in below once the member size is known
+        buffer.write(new byte[HEADER_SIZE]);
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try (DeflaterOutputStream dos = new DeflaterOutputStream(buffer, deflater)) {
+            dos.write(data, off, len);
+        } finally {
+            deflater.end();
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data, off, len);
+        ByteBuffer trailer = ByteBuffer.allocate(TRAILER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        trailer.putInt((int) crc.getValue());
+        trailer.putInt(len);
+        buffer.write(trailer.array());
+
+        byte[] member = buffer.toByteArray();
+        ByteBuffer header = ByteBuffer.wrap(member, 0, HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.put((byte) 0x1f).put((byte) 0x8b);  // Magic
+        header.put((byte) 8);                      // CM: deflate
+        header.put((byte) 0x04);                   // FLG: FEXTRA
+        header.putInt(0);                          // MTIME
+        header.put((byte) 0);                      // XFL
+        header.put((byte) 0xff);                   // OS: unknown
+        header.putShort((short) 8);                // XLEN
+        header.put(SUBFIELD_ID1).put(SUBFIELD_ID2);
+        header.putShort((short) 4);
+        header.putInt(member.length);
+        return member;
+    }
+
+    public static byte[] compressBlock(byte[] data) throws IOException {
+        return compressBlock(data, 0, data.length);
+    }
+
+    /**
+     * Location of all members of a block-indexed gzip file, in both the compressed and the uncompressed
+     * data.
+     */
+    public static class Index {
+        private final long[] compressedOffsets;
+        private final long[] uncompressedOffsets;
+        private final long uncompressedSize;
+
+        private Index(long[] compressedOffsets, long[] uncompressedOffsets, long uncompressedSize) {
+            this.compressedOffsets = compressedOffsets;
+            this.uncompressedOffsets = uncompressedOffsets;
+            this.uncompressedSize = uncompressedSize;
+        }
+
+        public int getBlockCount() {
+            return compressedOffsets.length;
+        }
+
+        public long getCompressedOffset(int block) {
+            return compressedOffsets[block];
+        }
+
+        public long getUncompressedOffset(int block) {
+            return uncompressedOffsets[block];
+        }
+
+        public long getUncompressedSize() {
+            return uncompressedSize;
+        }
+
+        /**
+         * @param uncompressedOffset An offset into the uncompressed data.
+         * @return The index of the block containing that offset.
+         */
+        public int findBlock(long uncompressedOffset) {
+            int idx = Arrays.binarySearch(uncompressedOffsets, uncompressedOffset);
+            if (idx < 0) {
+                idx = -idx - 2;
+            } else {
+                // Skip over empty blocks
+                while (idx + 1 < uncompressedOffsets.length && uncompressedOffsets[idx + 1] == uncompressedOffset) {
+                    idx++;
+                }
+            }
+            return Math.max(idx, 0);
+        }
+    }
+
+    /**
+     * Reads the index of a block-indexed gzip file by visiting the header and trailer of each member.
+     * @param fileName The gzip file.
+     * @return The index, or null if the file is not a block-indexed gzip file.
+     */
+    public static Index readIndex(Path fileName) throws IOException {
+        try (FileChannel channel = FileChannel.open(fileName, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long[] compressedOffsets = new long[16];
+            long[] uncompressedOffsets = new long[16];
+            int count = 0;
+            long uncompressedSize = 0;
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            ByteBuffer isize = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            long position = 0;
+            while (position < size) {
+                header.clear();
+                if (!readFully(channel, header, position)) {
+                    return null;
+                }
+                if (header.get(0) != (byte) 0x1f || header.get(1) != (byte) 0x8b || header.get(2) != 8
+                        || header.get(3) != 0x04 || header.getShort(10) != 8
+                        || header.get(12) != SUBFIELD_ID1 || header.get(13) != SUBFIELD_ID2
+                        || header.getShort(14) != 4) {
+                    return null;
+                }
+                long memberSize = header.getInt(16) & 0xffffffffL;
+                if (memberSize < HEADER_SIZE + TRAILER_SIZE || position + memberSize > size) {
+                    return null;
+                }
+                isize.clear();
+                if (!readFully(channel, isize, position + memberSize - 4)) {
+                    return null;
+                }
+                if (count == compressedOffsets.length) {
+                    compressedOffsets = Arrays.copyOf(compressedOffsets, count * 2);
+                    uncompressedOffsets = Arrays.copyOf(uncompressedOffsets, count * 2);
+                }
+                compressedOffsets[count] = position;
+                uncompressedOffsets[count] = uncompressedSize;
+                count++;
+                uncompressedSize += isize.getInt(0) & 0xffffffffL;
+                position += memberSize;
+            }
+            if (count == 0) {
+                return null;
+            }
+            return new Index(Arrays.copyOf(compressedOffsets, count), Arrays.copyOf(uncompressedOffsets, count),
+                    uncompressedSize);
+        }
+    }
+
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                return false;
+            }
+            position += read;
+        }
+        return true;
+    }
+
+    /**
+     * Opens a block-indexed gzip file for decompression starting at the provided block. The stream
+     * continues through all following blocks up to the end of the file.
+     * @param fileName The gzip file.
+     * @param index The file's index.
+     * @param block The block to start decompressing at.
+     * @return The decompressed stream, starting at {@link Index#getUncompressedOffset(int)}.
+     */
+    public static InputStream getInputStream(Path fileName, Index index, int block) throws IOException {
+        FileInputStream fis = new FileInputStream(fileName.toFile());
+        try {
+            fis.getChannel().position(index.getCompressedOffset(block));
+            return new GZIPInputStream(new BufferedInputStream(fis, INPUT_BUFFER_SIZE), INPUT_BUFFER_SIZE);
+        } catch (IOException e) {
+            fis.close();
+            throw e;
+        }
+    }
+}
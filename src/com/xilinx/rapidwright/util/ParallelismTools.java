@@ -62,8 +62,9 @@ public class ParallelismTools {
     private static final AtomicInteger threadId = new AtomicInteger(0);
 
     /** A fixed-size thread pool with as many threads as there are processors
-     * minus one, fed by a single task queue */
-    private static final ThreadPoolExecutor pool;
+     * minus one, fed by a single task queue. Only created on startup if parallel
+     * processing is enabled, or later by {@link #setMaxThreads(int)} */
+    private static volatile ThreadPoolExecutor pool;
 
     private static boolean parallel;
 
@@ -79,23 +80,27 @@ public class ParallelismTools {
         }
 
         if (parallel) {
-            pool = new ThreadPoolExecutor(
-                    maxParallelism - 1,
-                    maxParallelism - 1,
-                    0, TimeUnit.MILLISECONDS,
-                    new LinkedBlockingQueue<>(),
-                    (r) -> {
-                        Thread t = Executors.defaultThreadFactory().newThread(r);
-                        t.setDaemon(true);
-                        t.setName("RapidWright-ParallelismTools-Worker-" + threadId.getAndIncrement());
-                        return t;
-                    });
+            pool = createPool(maxParallelism - 1);
             pool.prestartAllCoreThreads();
         } else {
             pool = null;
         }
     }
 
+    private static ThreadPoolExecutor createPool(int workers) {
+        return new ThreadPoolExecutor(
+                workers,
+                workers,
+                0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                (r) -> {
+                    Thread t = Executors.defaultThreadFactory().newThread(r);
+                    t.setDaemon(true);
+                    t.setName("RapidWright-ParallelismTools-Worker-" + threadId.getAndIncrement());
+                    return t;
+                });
+    }
+
     /**
      * Global setter to control parallel processing.
      * @param parallel Enable parallel processing.
@@ -112,6 +117,39 @@ public class ParallelismTools {
         }
     }
 
+    /**
+     * Global setter to control the number of threads used for parallel processing, including the
+     * thread that submits tasks. Resizes the thread pool (which may exceed the number of available
+     * processors, and is created if parallel processing was disabled on startup) and enables
+     * parallel processing if more than one thread is requested, or disables it otherwise.
+     * @param threads Number of threads (at least 1).
+     */
+    public static synchronized void setMaxThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("ERROR: Number of threads must be at least 1, got " + threads + ".");
+        }
+        final int workers = Math.max(threads - 1, 1);
+        if (pool == null) {
+            if (threads == 1) {
+                parallel = false;
+                return;
+            }
+            pool = createPool(workers);
+        }
+        // Core pool size must never exceed maximum pool size
+        if (workers > pool.getMaximumPoolSize()) {
+            pool.setMaximumPoolSize(workers);
+            pool.setCorePoolSize(workers);
+        } else {
+            pool.setCorePoolSize(workers);
+            pool.setMaximumPoolSize(workers);
+        }
+        parallel = (threads > 1);
+        if (parallel) {
+            pool.prestartAllCoreThreads();
+        }
+    }
+
     /**
      * Global getter for current parallel processing state.
      * @return Current parallel processing state.
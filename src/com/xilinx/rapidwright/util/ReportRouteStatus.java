@@ -26,17 +26,88 @@ import com.xilinx.rapidwright.design.Design;
 import com.xilinx.rapidwright.design.DesignTools;
 import com.xilinx.rapidwright.design.Net;
 import com.xilinx.rapidwright.design.SitePinInst;
+import com.xilinx.rapidwright.device.Device;
 import com.xilinx.rapidwright.device.Node;
 import com.xilinx.rapidwright.device.PIP;
+import com.xilinx.rapidwright.device.Tile;
+import com.xilinx.rapidwright.device.TileTypeEnum;
+import com.xilinx.rapidwright.rwroute.RouteNodeGraph;
 import com.xilinx.rapidwright.rwroute.RouterHelper;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
+/**
+ * Computes the route status of a Design's physical nets, see {@link #reportRouteStatus(Design)}.
+ * Nets are checked in parallel: the net owning each used node is recorded in an array indexed by tile
+ * and wire, with node conflicts detected by a failing compare-and-set.
+ * An instance of this class keeps that state between reports so that, after a router has modified
+ * some nets, {@link #report(Collection)} only needs to re-check those.
+ */
 public class ReportRouteStatus {
+
+    /** Number of nets checked by each parallel task */
+    private static final int NETS_PER_TASK = 1024;
+
+    private static final byte NOT_NEEDING_ROUTING = 0;
+    private static final byte UNROUTED = 1;
+    private static final byte PARTIALLY_ROUTED = 2;
+    private static final byte FULLY_ROUTED = 3;
+
+    private static class NetStatus {
+        private final byte state;
+        /** Nodes owned by this net, packed as (tile address << 32 | wire index) */
+        private final long[] ownedNodes;
+
+        private NetStatus(byte state, long[] ownedNodes) {
+            this.state = state;
+            this.ownedNodes = ownedNodes;
+        }
+    }
+
+    /** Shared status of each state for when owned nodes are not kept */
+    private static final NetStatus[] STATELESS = {
+            new NetStatus(NOT_NEEDING_ROUTING, null),
+            new NetStatus(UNROUTED, null),
+            new NetStatus(PARTIALLY_ROUTED, null),
+            new NetStatus(FULLY_ROUTED, null),
+    };
+
+    private final Design design;
+
+    /** Whether owned nodes are kept for incremental reports */
+    private final boolean incremental;
+
+    /** Net owning each used node, indexed by tile address and then by base wire index */
+    private AtomicReferenceArray<AtomicReferenceArray<Net>> nodeOwners;
+
+    private final Map<TileTypeEnum, Integer> baseWireCounts = new ConcurrentHashMap<>();
+
+    private final Map<Net, NetStatus> netStatus = new ConcurrentHashMap<>();
+
+    private Set<Net> conflictingNets = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a route status report of the given design that can be updated incrementally.
+     * No nets are checked until {@link #report()} is called.
+     * @param design Design to examine.
+     */
+    public ReportRouteStatus(Design design) {
+        this(design, true);
+    }
+
+    private ReportRouteStatus(Design design, boolean incremental) {
+        this.design = design;
+        this.incremental = incremental;
+    }
+
     /**
      * Compute the route status of given Design's physical nets by examining the
      * {@link SitePinInst#isRouted()} state of each net's pins, as well as to discovering node conflicts
@@ -49,51 +120,148 @@ public class ReportRouteStatus {
      * @return ReportRouteStatusResult object.
      */
     public static ReportRouteStatusResult reportRouteStatus(Design design) {
-        ReportRouteStatusResult rrs = new ReportRouteStatusResult();
+        return new ReportRouteStatus(design, false).report();
+    }
 
-        Map<Node, Net> nodesUsedByDesign = new HashMap<>();
-        Set<Net> conflictingNets = new HashSet<>();
+    /**
+     * Checks all nets of the design, discarding the state of any previous report.
+     * @return ReportRouteStatusResult object.
+     * @see #reportRouteStatus(Design)
+     */
+    public ReportRouteStatusResult report() {
+        Device device = design.getDevice();
+        nodeOwners = new AtomicReferenceArray<>(device.getColumns() * device.getRows());
+        netStatus.clear();
+        conflictingNets = ConcurrentHashMap.newKeySet();
+        checkNets(new ArrayList<>(design.getNets()));
+        return getResult();
+    }
 
-        Collection<Net> nets = design.getNets();
-        for (Net net : nets) {
-            if (!net.isStaticNet() && !RouterHelper.isRoutableNetWithSourceSinks(net)) {
-                rrs.netsNotNeedingRouting++;
+    /**
+     * Re-checks only the given nets (and those that were in conflict at the last report), assuming all
+     * other nets are unchanged since the last report. Touched nets must include all nets whose PIPs or
+     * pins' {@link SitePinInst#isRouted()} state have changed, as well as nets that have been added to or
+     * removed from the design.
+     * @param touchedNets Nets modified since the last report.
+     * @return ReportRouteStatusResult object, the same as that of a full report.
+     */
+    public ReportRouteStatusResult report(Collection<Net> touchedNets) {
+        if (!incremental || nodeOwners == null) {
+            return report();
+        }
+        Set<Net> recheck = new HashSet<>(touchedNets);
+        recheck.addAll(conflictingNets);
+        conflictingNets = ConcurrentHashMap.newKeySet();
+
+        // Release all nodes owned by the nets to be re-checked
+        for (Net net : recheck) {
+            NetStatus status = netStatus.remove(net);
+            if (status == null) {
                 continue;
             }
-            rrs.routableNets++;
+            for (long node : status.ownedNodes) {
+                AtomicReferenceArray<Net> owners = nodeOwners.get((int) (node >>> 32));
+                owners.compareAndSet((int) node, net, null);
+            }
+        }
 
-            boolean isFullyRouted = true;
-            boolean isPartiallyRouted = false;
-            for (SitePinInst spi : net.getPins()) {
-                if (spi.isRouted()) {
-                    isPartiallyRouted = true;
-                    continue;
-                }
-                isFullyRouted = false;
+        List<Net> nets = new ArrayList<>(recheck.size());
+        for (Net net : recheck) {
+            if (design.getNet(net.getName()) == net) {
+                nets.add(net);
             }
+        }
+        checkNets(nets);
+        return getResult();
+    }
 
-            boolean isConflictFree = true;
-            for (PIP pip : net.getPIPs()) {
-                Node endNode = pip.isReversed() ? pip.getStartNode() : pip.getEndNode();
-                Net conflictingNet = nodesUsedByDesign.putIfAbsent(endNode, net);
-                if (conflictingNet != null && conflictingNet != net) {
-                    conflictingNets.add(conflictingNet);
-                    isConflictFree = false;
+    private void checkNets(List<Net> nets) {
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < nets.size(); i += NETS_PER_TASK) {
+            List<Net> shard = nets.subList(i, Math.min(i + NETS_PER_TASK, nets.size()));
+            tasks.add(() -> {
+                for (Net net : shard) {
+                    netStatus.put(net, checkNet(net));
                 }
+            });
+        }
+        ParallelismTools.invokeAll(tasks.toArray(new Runnable[0]));
+    }
+
+    private NetStatus checkNet(Net net) {
+        if (!net.isStaticNet() && !RouterHelper.isRoutableNetWithSourceSinks(net)) {
+            return STATELESS[NOT_NEEDING_ROUTING];
+        }
+
+        boolean isFullyRouted = true;
+        boolean isPartiallyRouted = false;
+        for (SitePinInst spi : net.getPins()) {
+            if (spi.isRouted()) {
+                isPartiallyRouted = true;
+                continue;
             }
+            isFullyRouted = false;
+        }
+        byte state = isFullyRouted ? FULLY_ROUTED : isPartiallyRouted ? PARTIALLY_ROUTED : UNROUTED;
 
-            if (!isConflictFree) {
-                conflictingNets.add(net);
-            } else if (!isFullyRouted) {
-                if (isPartiallyRouted) {
-                    rrs.netsWithSomeUnroutedPins++;
-                } else {
-                    rrs.unroutedNets++;
+        List<PIP> pips = net.getPIPs();
+        long[] ownedNodes = incremental ? new long[pips.size()] : null;
+        int ownedCount = 0;
+        for (PIP pip : pips) {
+            Node endNode = pip.isReversed() ? pip.getStartNode() : pip.getEndNode();
+            if (endNode == null) {
+                continue;
+            }
+            Tile tile = endNode.getTile();
+            int wireIndex = endNode.getWireIndex();
+            int tileAddress = tile.getUniqueAddress();
+            AtomicReferenceArray<Net> owners = nodeOwners.get(tileAddress);
+            if (owners == null) {
+                owners = new AtomicReferenceArray<>(RouteNodeGraph.getBaseWireCount(baseWireCounts, tile, wireIndex));
+                if (!nodeOwners.compareAndSet(tileAddress, null, owners)) {
+                    // Another thread must have beat us to a compareAndSet, use that result
+                    owners = nodeOwners.get(tileAddress);
+                }
+            }
+            if (owners.compareAndSet(wireIndex, null, net)) {
+                if (ownedNodes != null) {
+                    ownedNodes[ownedCount++] = ((long) tileAddress << 32) | wireIndex;
                 }
+                continue;
+            }
+            Net conflictingNet = owners.get(wireIndex);
+            if (conflictingNet != net) {
+                conflictingNets.add(conflictingNet);
+                conflictingNets.add(net);
+            }
+        }
+
+        if (ownedNodes == null) {
+            return STATELESS[state];
+        }
+        return new NetStatus(state, Arrays.copyOf(ownedNodes, ownedCount));
+    }
+
+    private ReportRouteStatusResult getResult() {
+        ReportRouteStatusResult rrs = new ReportRouteStatusResult();
+        for (Map.Entry<Net, NetStatus> e : netStatus.entrySet()) {
+            byte state = e.getValue().state;
+            if (state == NOT_NEEDING_ROUTING) {
+                rrs.netsNotNeedingRouting++;
+                continue;
+            }
+            rrs.routableNets++;
+            if (conflictingNets.contains(e.getKey())) {
+                continue;
+            }
+            if (state == PARTIALLY_ROUTED) {
+                rrs.netsWithSomeUnroutedPins++;
+            } else if (state == UNROUTED) {
+                rrs.unroutedNets++;
             }
         }
 
-        rrs.logicalNets = nets.size();
+        rrs.logicalNets = design.getNets().size();
         rrs.netsWithResourceConflicts = conflictingNets.size();
         rrs.netsWithRoutingErrors = rrs.netsWithSomeUnroutedPins + rrs.netsWithResourceConflicts;
         rrs.fullyRoutedNets = rrs.routableNets - rrs.unroutedNets - rrs.netsWithRoutingErrors;
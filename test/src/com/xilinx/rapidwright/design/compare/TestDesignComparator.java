@@ -21,6 +21,12 @@
  */
 package com.xilinx.rapidwright.design.compare;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -175,4 +181,84 @@ public class TestDesignComparator {
             compareDesign(25, 1, DesignDiffType.PIP_FLAGS, dc, gold, test2);
         }
     }
+
+    @Test
+    public void testDesignComparatorSinkAndLimit() {
+        Design gold = RapidWrightDCP.loadDCP("picoblaze_2022.2.dcp");
+        Design test = RapidWrightDCP.loadDCP("picoblaze_2022.2.dcp");
+
+        int unroutedPIPs = 0;
+        for (Net net : test.getNets()) {
+            if (net.isStaticNet() || !net.hasPIPs()) {
+                continue;
+            }
+            // Reversing the order of PIPs does not change the routing
+            List<PIP> reversed = new ArrayList<>(net.getPIPs());
+            Collections.reverse(reversed);
+            net.setPIPs(reversed);
+        }
+        Assertions.assertEquals(0, new DesignComparator().compareDesigns(gold, test));
+
+        for (Net net : test.getNets()) {
+            if (net.isStaticNet() || !net.hasPIPs()) {
+                continue;
+            }
+            Set<String> pips = new HashSet<>();
+            for (PIP p : net.getPIPs()) {
+                pips.add(p.toString());
+            }
+            unroutedPIPs += pips.size();
+            net.unroute();
+            if (unroutedPIPs > 100) {
+                break;
+            }
+        }
+
+        DesignComparator dc = new DesignComparator();
+        Assertions.assertEquals(unroutedPIPs, dc.compareDesigns(gold, test));
+        Assertions.assertEquals(unroutedPIPs, dc.getDiffCount(DesignDiffType.PIP_MISSING));
+
+        List<DesignDiff> streamed = new ArrayList<>();
+        dc.setDiffSink(streamed::add);
+        Assertions.assertEquals(unroutedPIPs, dc.compareDesigns(gold, test));
+        Assertions.assertEquals(unroutedPIPs, streamed.size());
+        Assertions.assertTrue(dc.getDiffList(DesignDiffType.PIP_MISSING).isEmpty());
+
+        dc.setDiffLimit(1);
+        streamed.clear();
+        Assertions.assertEquals(1, dc.compareDesigns(gold, test));
+        Assertions.assertEquals(1, streamed.size());
+        Assertions.assertEquals(DesignDiffType.PIP_MISSING, streamed.get(0).getType());
+    }
+
+    @Test
+    public void testDesignComparatorLimitWhilePairing() {
+        Design gold = RapidWrightDCP.loadDCP("picoblaze_2022.2.dcp");
+        Design test = RapidWrightDCP.loadDCP("picoblaze_2022.2.dcp");
+        List<Net> nets = new ArrayList<>(test.getNets());
+        int removed = 0;
+        for (Net net : nets) {
+            if (net.isStaticNet()) {
+                continue;
+            }
+            test.removeNet(net);
+            if (++removed == 10) {
+                break;
+            }
+        }
+
+        DesignComparator dc = new DesignComparator();
+        // Only compare nets, as removing them also affects site wires
+        dc.setComparePlacement(false);
+        Assertions.assertEquals(removed, dc.compareDesigns(gold, test));
+        Assertions.assertEquals(removed, dc.getDiffCount(DesignDiffType.NET_MISSING));
+
+        // Differences found while pairing up nets are streamed and limited too
+        List<DesignDiff> streamed = new ArrayList<>();
+        dc.setDiffSink(streamed::add);
+        dc.setDiffLimit(1);
+        Assertions.assertEquals(1, dc.compareDesigns(gold, test));
+        Assertions.assertEquals(1, streamed.size());
+        Assertions.assertEquals(DesignDiffType.NET_MISSING, streamed.get(0).getType());
+    }
 }
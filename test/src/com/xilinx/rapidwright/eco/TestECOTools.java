@@ -317,6 +317,53 @@ public class TestECOTools {
         }
     }
 
+    @Test
+    public void testConnectNetUpdatesParentNetMap() {
+        Design design = RapidWrightDCP.loadDCP("picoblaze_ooc_X10Y235.dcp");
+        EDIFNetlist netlist = design.getNetlist();
+        Map<Net, Set<SitePinInst>> deferredRemovals = new HashMap<>();
+
+        // Generate the maps up front so that they are incrementally updated below
+        netlist.getParentNetMap();
+
+        // Swap the sources of two nets
+        List<EDIFHierPortInst> disconnectPins = new ArrayList<>();
+        List<EDIFHierNet> disconnectedNets = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            EDIFHierPortInst ehpi = netlist.getHierPortInstFromName("processor/data_path_loop[" + i + "].alu_mux_lut/O");
+            disconnectPins.add(ehpi);
+            disconnectedNets.add(ehpi.getHierarchicalNet());
+        }
+        ECOTools.disconnectNet(design, disconnectPins, deferredRemovals);
+        Assertions.assertNull(netlist.getParentNet(disconnectedNets.get(0)));
+        Assertions.assertNull(netlist.getParentNet(disconnectedNets.get(1)));
+
+        Map<EDIFHierNet, List<EDIFHierPortInst>> netToPortInsts = new HashMap<>();
+        netToPortInsts.put(disconnectedNets.get(0), new ArrayList<>(Arrays.asList(disconnectPins.get(1))));
+        netToPortInsts.put(disconnectedNets.get(1), new ArrayList<>(Arrays.asList(disconnectPins.get(0))));
+        ECOTools.connectNet(design, netToPortInsts, deferredRemovals);
+
+        Map<EDIFHierNet, EDIFHierNet> incrementalMap = new HashMap<>(netlist.getParentNetMap());
+        Map<String, String> incrementalMapNames = new HashMap<>(netlist.getParentNetMapNames());
+        Map<EDIFHierNet, Set<EDIFHierPortInst>> incrementalPinMap = new HashMap<>();
+        netlist.getPhysicalNetPinMap().forEach((k, v) -> incrementalPinMap.put(k, new HashSet<>(v)));
+        Set<EDIFHierPortInst> incrementalGndPins = new HashSet<>(netlist.getPhysicalGndPins());
+        Set<EDIFHierPortInst> incrementalVccPins = new HashSet<>(netlist.getPhysicalVccPins());
+
+        // Compare against maps regenerated from scratch
+        netlist.resetParentNetMap();
+        Assertions.assertEquals(netlist.getParentNetMap(), incrementalMap);
+        Assertions.assertEquals(netlist.getParentNetMapNames(), incrementalMapNames);
+        Map<EDIFHierNet, Set<EDIFHierPortInst>> pinMap = new HashMap<>();
+        netlist.getPhysicalNetPinMap().forEach((k, v) -> pinMap.put(k, new HashSet<>(v)));
+        Assertions.assertEquals(pinMap, incrementalPinMap);
+        Assertions.assertEquals(new HashSet<>(netlist.getPhysicalGndPins()), incrementalGndPins);
+        Assertions.assertEquals(new HashSet<>(netlist.getPhysicalVccPins()), incrementalVccPins);
+
+        Assertions.assertEquals(disconnectPins.get(1).getHierarchicalNet(), netlist.getParentNet(disconnectedNets.get(0)));
+        Assertions.assertEquals(disconnectPins.get(0).getHierarchicalNet(), netlist.getParentNet(disconnectedNets.get(1)));
+    }
+
     @Test
     @Disabled("Currently, ECOTools.removeCell() does not work for hierarchical cells. Specifically, for this testcase " +
             "exclusively intra-site routes (e.g. 'processor/data_path_loop[4].small_spm.small_spm_ram.spm_ram/DOA') " +
@@ -25,6 +25,7 @@ package com.xilinx.rapidwright.edif;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
@@ -38,25 +39,37 @@ import com.xilinx.rapidwright.util.function.InputStreamSupplier;
  */
 public class ParallelEDIFParserTestSpecificOffsets extends ParallelEDIFParser{
     private final List<ParseStart>  startOffsets;
+    private final boolean memoryMapped;
 
-    ParallelEDIFParserTestSpecificOffsets(Path fileName, long fileSize, InputStreamSupplier inputStreamSupplier, int maxTokenLength, List<ParseStart>  startOffsets) throws IOException {
+    ParallelEDIFParserTestSpecificOffsets(Path fileName, long fileSize, InputStreamSupplier inputStreamSupplier, int maxTokenLength, List<ParseStart>  startOffsets, boolean memoryMapped) throws IOException {
         super(fileName, fileSize, inputStreamSupplier, maxTokenLength, Integer.MAX_VALUE);
         this.startOffsets = startOffsets;
+        this.memoryMapped = memoryMapped;
     }
 
-    ParallelEDIFParserTestSpecificOffsets(Path fileName, int maxTokenLength, List<ParseStart> startOffsets) throws IOException {
+    ParallelEDIFParserTestSpecificOffsets(Path fileName, int maxTokenLength, List<ParseStart> startOffsets, boolean memoryMapped) throws IOException {
         this(fileName, Files.size(fileName),
                 InputStreamSupplier.fromPath(fileName,
                         fileName.toString().endsWith(".gz")
                                 && Params.RW_DECOMPRESS_GZIPPED_EDIF_TO_DISK),
-                maxTokenLength, startOffsets);
+                maxTokenLength, startOffsets, memoryMapped);
+    }
+
+    ParallelEDIFParserTestSpecificOffsets(Path fileName, int maxTokenLength, List<ParseStart> startOffsets) throws IOException {
+        this(fileName, maxTokenLength, startOffsets, false);
     }
 
     @Override
     protected void initializeWorkers() throws IOException {
         workers.clear();
+        ByteBuffer[] regions = memoryMapped ? MappedEDIFTokenizer.map(fileName, maxTokenLength) : null;
         for (ParseStart  startOffset : startOffsets) {
-            workers.add(new TestingParallelEDIFParserWorker(fileName, inputStreamSupplier.get(), startOffset.offset, uniquifier, maxTokenLength, startOffset.name, cache));
+            if (memoryMapped) {
+                EDIFTokenizer tokenizer = new MappedEDIFTokenizer(fileName, regions, Files.size(fileName), uniquifier, maxTokenLength);
+                workers.add(new TestingParallelEDIFParserWorker(tokenizer, startOffset.offset, startOffset.name, cache));
+            } else {
+                workers.add(new TestingParallelEDIFParserWorker(fileName, inputStreamSupplier.get(), startOffset.offset, uniquifier, maxTokenLength, startOffset.name, cache));
+            }
         }
     }
 
@@ -73,6 +86,11 @@ public class ParallelEDIFParserTestSpecificOffsets extends ParallelEDIFParser{
             this.name = name;
         }
 
+        public TestingParallelEDIFParserWorker(EDIFTokenizer tokenizer, long offset, String name, EDIFReadLegalNameCache cache) {
+            super(tokenizer, null, offset, cache);
+            this.name = name;
+        }
+
         @Override
         public String toString() {
             return '"'+name+"\"@"+offset;
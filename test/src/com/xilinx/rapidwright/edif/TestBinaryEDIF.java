@@ -26,12 +26,17 @@
  */
 package com.xilinx.rapidwright.edif;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
 
 import com.xilinx.rapidwright.design.Design;
 import com.xilinx.rapidwright.support.RapidWrightDCP;
 import com.xilinx.rapidwright.util.FileTools;
+import com.xilinx.rapidwright.util.ParallelismTools;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.Test;
@@ -63,6 +68,105 @@ public class TestBinaryEDIF {
         FileTools.writeStringToTextFile("SUCCESS", workingDir + "/SUCCESS");
     }
 
+    @Test
+    public void testLazyBinaryEDIF(@TempDir Path tempDir) {
+        Design design = RapidWrightDCP.loadDCP("microblazeAndILA_3pblocks.dcp");
+        EDIFNetlist netlist = design.getNetlist();
+        netlist.collapseMacroUnisims(design.getDevice().getSeries());
+        Path binaryPath = tempDir.resolve("test.bedf");
+        netlist.writeBinaryEDIF(binaryPath);
+
+        EDIFNetlist eager = EDIFNetlist.readBinaryEDIF(binaryPath);
+        EDIFNetlist lazy = EDIFNetlist.readBinaryEDIF(binaryPath, true);
+        Assertions.assertFalse(lazy.getTopCell().isContentsLoaded());
+
+        // Cell interfaces and instantiation counts are available before any contents are loaded
+        int cellsWithContents = 0;
+        for (EDIFLibrary lib : eager.getLibraries()) {
+            for (EDIFCell cell : lib.getCells()) {
+                EDIFCell lazyCell = lazy.getLibrary(lib.getName()).getCell(cell.getName());
+                Assertions.assertEquals(cell.hasContents(), lazyCell.hasContents());
+                Assertions.assertEquals(cell.getPorts().size(), lazyCell.getPorts().size());
+                Assertions.assertEquals(cell.getNonHierInstantiationCount(), lazyCell.getNonHierInstantiationCount());
+                if (cell.hasContents()) {
+                    cellsWithContents++;
+                }
+            }
+        }
+
+        // Looking up one instance only loads the cells along its hierarchy
+        List<EDIFHierCellInst> leaves = eager.getAllLeafHierCellInstances();
+        EDIFHierCellInst leaf = leaves.get(leaves.size() - 1);
+        EDIFHierCellInst lazyLeaf = lazy.getHierCellInstFromName(leaf.getFullHierarchicalInstName());
+        Assertions.assertNotNull(lazyLeaf);
+        Assertions.assertEquals(leaf.getCellName(), lazyLeaf.getCellName());
+        int loaded = 0;
+        for (EDIFLibrary lib : lazy.getLibraries()) {
+            for (EDIFCell cell : lib.getCells()) {
+                if (cell.hasContents() && cell.isContentsLoaded()) {
+                    loaded++;
+                }
+            }
+        }
+        Assertions.assertTrue(loaded < cellsWithContents);
+
+        Assertions.assertTrue(EquivalentEDIF.equivalentEDIFNetlists(eager, lazy));
+        for (EDIFLibrary lib : eager.getLibraries()) {
+            for (EDIFCell cell : lib.getCells()) {
+                EDIFCell lazyCell = lazy.getLibrary(lib.getName()).getCell(cell.getName());
+                Assertions.assertTrue(lazyCell.isContentsLoaded());
+                Assertions.assertEquals(cell.getNonHierInstantiationCount(), lazyCell.getNonHierInstantiationCount());
+            }
+        }
+    }
+
+    @Test
+    public void testSequentialAndIndexedBinaryEDIF(@TempDir Path tempDir) throws IOException {
+        Design design = RapidWrightDCP.loadDCP("picoblaze_ooc_X10Y235.dcp");
+        EDIFNetlist netlist = design.getNetlist();
+        netlist.collapseMacroUnisims(design.getDevice().getSeries());
+        Path sequentialPath = tempDir.resolve("sequential.bedf");
+        try (OutputStream os = Files.newOutputStream(sequentialPath)) {
+            BinaryEDIFWriter.writeSequentialBinaryEDIF(os, netlist);
+        }
+        Path indexedPath = tempDir.resolve("indexed.bedf");
+        netlist.writeBinaryEDIF(indexedPath);
+
+        boolean parallel = ParallelismTools.getParallel();
+        try {
+            ParallelismTools.setParallel(true);
+            EDIFNetlist sequential = EDIFNetlist.readBinaryEDIF(sequentialPath);
+            EDIFNetlist indexed = EDIFNetlist.readBinaryEDIF(indexedPath);
+            EDIFNetlist indexedLazy = EDIFNetlist.readBinaryEDIF(indexedPath, true);
+            Assertions.assertFalse(indexedLazy.getTopCell().isContentsLoaded());
+            for (EDIFLibrary lib : sequential.getLibraries()) {
+                for (EDIFCell cell : lib.getCells()) {
+                    EDIFCell indexedCell = indexed.getLibrary(lib.getName()).getCell(cell.getName());
+                    Assertions.assertEquals(cell.getNonHierInstantiationCount(), indexedCell.getNonHierInstantiationCount());
+                }
+            }
+            Assertions.assertTrue(EquivalentEDIF.equivalentEDIFNetlists(sequential, indexed));
+            Assertions.assertTrue(EquivalentEDIF.equivalentEDIFNetlists(sequential, indexedLazy));
+        } finally {
+            ParallelismTools.setParallel(parallel);
+        }
+    }
+
+    @Test
+    public void testSkipLibrariesInBinaryEDIF(@TempDir Path tempDir) {
+        EDIFNetlist netlist = EDIFTools.createNewNetlist("top");
+        EDIFLibrary unused = netlist.addLibrary(new EDIFLibrary("unused"));
+        new EDIFCell(unused, "unused_cell");
+        Path binaryPath = tempDir.resolve("test.bedf");
+        netlist.writeBinaryEDIF(binaryPath);
+
+        EDIFNetlist all = BinaryEDIFReader.readBinaryEDIF(binaryPath, false, null);
+        Assertions.assertNotNull(all.getLibrary("unused").getCell("unused_cell"));
+        EDIFNetlist skipped = BinaryEDIFReader.readBinaryEDIF(binaryPath, false, (name) -> !name.equals("unused"));
+        Assertions.assertNull(skipped.getLibrary("unused"));
+        Assertions.assertEquals(netlist.getTopCell().getName(), skipped.getTopCell().getName());
+    }
+
     public void testBinaryEDIF(Path workingDir, Path dcp) {
         boolean noXdef = true;
         Design design = Design.readCheckpoint(dcp, noXdef);
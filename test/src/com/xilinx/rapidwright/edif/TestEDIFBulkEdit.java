@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2024, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.edif;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.xilinx.rapidwright.design.Design;
+import com.xilinx.rapidwright.util.ParallelismTools;
+
+public class TestEDIFBulkEdit {
+
+    @Test
+    public void testParallelBulkEdit() {
+        EDIFNetlist netlist = EDIFTools.createNewNetlist("top");
+        EDIFCell top = netlist.getTopCell();
+        EDIFCell fdre = netlist.getHDIPrimitivesLibrary().addCell(Design.getPrimitivesLibrary().getCell("FDRE"));
+        EDIFPort clkPort = top.createPort("clk", EDIFDirection.INPUT, 1);
+        EDIFNet clk = top.createNet("clk");
+        clk.createPortInst(clkPort);
+        top.createPort("out[7:0]", EDIFDirection.OUTPUT, 8);
+
+        final int copies = 8;
+        final int depth = 16;
+        EDIFBulkEdit edit = new EDIFBulkEdit();
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < copies; i++) {
+            final int copy = i;
+            tasks.add(() -> {
+                EDIFBulkEdit.Batch batch = edit.newBatch();
+                EDIFCellInst prev = null;
+                for (int j = 0; j < depth; j++) {
+                    EDIFCellInst ff = batch.createChildCellInst(top, "ff_" + copy + "_" + j, fdre);
+                    batch.createPortInst(clk, "C", ff);
+                    if (prev != null) {
+                        EDIFNet q = batch.createNet(top, "q_" + copy + "_" + (j - 1));
+                        batch.createPortInst(q, "Q", prev);
+                        batch.createPortInst(q, "D", ff);
+                    }
+                    prev = ff;
+                }
+                EDIFNet q = batch.createNet(top, "q_" + copy + "_" + (depth - 1));
+                batch.createPortInst(q, "Q", prev);
+                batch.createPortInst(q, "out[" + copy + "]", null);
+            });
+        }
+        boolean parallel = ParallelismTools.getParallel();
+        try {
+            ParallelismTools.setParallel(true);
+            ParallelismTools.invokeAll(tasks.toArray(new Runnable[0]));
+            // Nothing is visible before committing
+            Assertions.assertEquals(0, top.getCellInsts().size());
+            edit.commit();
+        } finally {
+            ParallelismTools.setParallel(parallel);
+        }
+
+        Assertions.assertEquals(copies * depth, top.getCellInsts().size());
+        Assertions.assertEquals(copies * depth + 1, top.getNets().size());
+        Assertions.assertEquals(copies * depth + 1, clk.getPortInsts().size());
+        Assertions.assertEquals(copies * depth, fdre.getNonHierInstantiationCount());
+        for (int i = 0; i < copies; i++) {
+            for (int j = 0; j < depth; j++) {
+                EDIFCellInst ff = top.getCellInst("ff_" + i + "_" + j);
+                Assertions.assertSame(clk, ff.getPortInst("C").getNet());
+                // Lookups by name rely on the lists having been sorted
+                Assertions.assertSame(ff.getPortInst("C"), clk.getPortInst(ff, "C"));
+            }
+            EDIFNet q = top.getNet("q_" + i + "_" + (depth - 1));
+            Assertions.assertSame(q, top.getInternalNet("out[" + i + "]"));
+            Assertions.assertNotNull(q.getPortInst(null, "out[" + i + "]"));
+        }
+    }
+
+    @Test
+    public void testBulkEditNameCollision() {
+        EDIFNetlist netlist = EDIFTools.createNewNetlist("top");
+        EDIFCell top = netlist.getTopCell();
+        EDIFBulkEdit edit = new EDIFBulkEdit();
+        edit.newBatch().createNet(top, "n");
+        edit.newBatch().createNet(top, "n");
+        Assertions.assertThrows(RuntimeException.class, edit::commit);
+    }
+}
@@ -22,8 +22,14 @@
 
 package com.xilinx.rapidwright.edif;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 import com.xilinx.rapidwright.design.Design;
 import com.xilinx.rapidwright.support.RapidWrightDCP;
+import com.xilinx.rapidwright.util.ParallelismTools;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -117,4 +123,64 @@ public class TestEDIFCell {
         Assertions.assertEquals(2, picoblazeTop.getNonHierInstantiationCount());
         Assertions.assertEquals(1, kcpsm6.getNonHierInstantiationCount());
     }
+
+    @Test
+    public void testAddCellInstUniqueName() {
+        EDIFNetlist netlist = EDIFTools.createNewNetlist("top");
+        EDIFCell top = netlist.getTopCell();
+        EDIFCell leaf = new EDIFCell(netlist.getWorkLibrary(), "leaf");
+        top.createChildCellInst("foo", leaf);
+        top.createChildCellInst("foo_1", leaf);
+
+        Assertions.assertEquals("bar", top.addNewCellInstUniqueName("bar", leaf).getName());
+        Assertions.assertEquals("foo_0", top.addNewCellInstUniqueName("foo", leaf).getName());
+        // Skips the suffix that is already taken
+        Assertions.assertEquals("foo_2", top.addNewCellInstUniqueName("foo", leaf).getName());
+        Assertions.assertEquals("foo_3", top.addNewCellInstUniqueName("foo", leaf).getName());
+        Assertions.assertEquals("foo_1_0", top.addNewCellInstUniqueName("foo_1", leaf).getName());
+        Assertions.assertEquals(7, top.getCellInsts().size());
+    }
+
+    @Test
+    public void testUniqueCellInstNameReuse() {
+        EDIFNetlist netlist = EDIFTools.createNewNetlist("top");
+        EDIFCell top = netlist.getTopCell();
+        EDIFCell leaf = new EDIFCell(netlist.getWorkLibrary(), "leaf");
+
+        // Names of removed instances are free again
+        top.addNewCellInstUniqueName("bar", leaf);
+        top.removeCellInst("bar");
+        Assertions.assertEquals("bar", top.addNewCellInstUniqueName("bar", leaf).getName());
+
+        // Names handed out remain reserved until used or released
+        Assertions.assertEquals("baz", top.getUniqueCellInstName("baz"));
+        Assertions.assertEquals("baz_0", top.getUniqueCellInstName("baz"));
+        top.releaseUniqueCellInstName("baz");
+        Assertions.assertEquals("baz", top.getUniqueCellInstName("baz"));
+    }
+
+    @Test
+    public void testGetUniqueCellInstNameConcurrent() {
+        EDIFNetlist netlist = EDIFTools.createNewNetlist("top");
+        EDIFCell top = netlist.getTopCell();
+        final int count = 10000;
+        Set<String> names = ConcurrentHashMap.newKeySet();
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            tasks.add(() -> {
+                for (int j = 0; j < count; j++) {
+                    names.add(top.getUniqueCellInstName("inst"));
+                }
+            });
+        }
+        boolean parallel = ParallelismTools.getParallel();
+        try {
+            ParallelismTools.setParallel(true);
+            ParallelismTools.invokeAll(tasks.toArray(new Runnable[0]));
+        } finally {
+            ParallelismTools.setParallel(parallel);
+        }
+        Assertions.assertEquals(tasks.size() * count, names.size());
+        Assertions.assertTrue(names.contains("inst"));
+    }
 }
@@ -130,4 +130,46 @@ public class TestEDIFHierCellInst {
         Assertions.assertNotNull(topCell.removeCellInst("picoblaze_1_13"));
         Assertions.assertTrue(ehci.isUniquified());
     }
+
+    @Test
+    public void testSharedHierarchy() {
+        Design d = Design.readCheckpoint(RapidWrightDCP.getPath("microblazeAndILA_3pblocks.dcp"), true);
+        EDIFNetlist netlist = d.getNetlist();
+
+        for (EDIFHierCellInst leaf : netlist.getAllLeafHierCellInstances()) {
+            // Children share (rather than copy) the hierarchy of their parent
+            EDIFHierCellInst parent = leaf.getParent();
+            Assertions.assertSame(parent, parent.getChild(leaf.getInst()).getParent());
+            Assertions.assertEquals(parent.getDepth() + 1, leaf.getDepth());
+
+            // An independently created instance is equal, with the same hash as the array-based one
+            EDIFCellInst[] cellInsts = leaf.getFullHierarchy().toArray(new EDIFCellInst[0]);
+            EDIFHierCellInst copy = EDIFHierCellInst.create(cellInsts);
+            Assertions.assertEquals(leaf, copy);
+            Assertions.assertEquals(Arrays.hashCode(cellInsts), copy.hashCode());
+            Assertions.assertEquals(leaf.getFullHierarchicalInstName(), copy.getFullHierarchicalInstName());
+            Assertions.assertNotEquals(parent, leaf);
+        }
+    }
+
+    @Test
+    public void testRenameKeepsEqualsAndHashCode() {
+        EDIFNetlist netlist = EDIFTools.createNewNetlist("top");
+        EDIFCell top = netlist.getTopCell();
+        EDIFCell sub = new EDIFCell(netlist.getWorkLibrary(), "sub");
+        EDIFCell leafType = new EDIFCell(netlist.getWorkLibrary(), "leaf");
+        sub.createChildCellInst("leaf_inst", leafType);
+        EDIFCellInst subInst = top.createChildCellInst("sub_inst", sub);
+        EDIFHierCellInst before = netlist.getHierCellInstFromName("sub_inst/leaf_inst");
+        Assertions.assertNotNull(before);
+
+        top.renameCellInst(subInst, "renamed");
+        EDIFHierCellInst after = netlist.getHierCellInstFromName("renamed/leaf_inst");
+        Assertions.assertNotNull(after);
+        Assertions.assertNotSame(before, after);
+        Assertions.assertEquals(before, after);
+        // Both refer to the same instances, so they must agree even though one was created before the rename
+        Assertions.assertEquals(before.hashCode(), after.hashCode());
+        Assertions.assertEquals(after.getFullHierarchicalInstName(), before.getFullHierarchicalInstName());
+    }
 }
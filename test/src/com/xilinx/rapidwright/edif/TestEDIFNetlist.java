@@ -23,11 +23,18 @@
 
 package com.xilinx.rapidwright.edif;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.zip.GZIPInputStream;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -45,6 +52,7 @@ import com.xilinx.rapidwright.device.PartNameTools;
 import com.xilinx.rapidwright.device.Series;
 import com.xilinx.rapidwright.edif.compare.EDIFNetlistComparator;
 import com.xilinx.rapidwright.support.RapidWrightDCP;
+import com.xilinx.rapidwright.util.ParallelismTools;
 
 class TestEDIFNetlist {
 
@@ -639,4 +647,132 @@ class TestEDIFNetlist {
             Assertions.assertEquals("[ob/P/O]", netlist.getPhysicalPins("ob/O").toString());
         }
     }
+
+    @Test
+    public void testParallelParentNetMap() {
+        Design d = RapidWrightDCP.loadDCP("microblazeAndILA_3pblocks.dcp");
+        EDIFNetlist netlist = d.getNetlist();
+        boolean parallel = ParallelismTools.getParallel();
+        try {
+            ParallelismTools.setParallel(false);
+            netlist.resetParentNetMap();
+            Map<EDIFHierNet, EDIFHierNet> serialMap = new HashMap<>(netlist.getParentNetMap());
+            Map<EDIFHierNet, List<EDIFHierPortInst>> serialPinMap = new HashMap<>(netlist.getPhysicalNetPinMap());
+            List<EDIFHierPortInst> serialGndPins = netlist.getPhysicalGndPins();
+            List<EDIFHierPortInst> serialVccPins = netlist.getPhysicalVccPins();
+
+            ParallelismTools.setParallel(true);
+            netlist.resetParentNetMap();
+            Assertions.assertEquals(serialMap, netlist.getParentNetMap());
+            Assertions.assertEquals(serialPinMap, netlist.getPhysicalNetPinMap());
+            Assertions.assertEquals(serialGndPins, netlist.getPhysicalGndPins());
+            Assertions.assertEquals(serialVccPins, netlist.getPhysicalVccPins());
+        } finally {
+            ParallelismTools.setParallel(parallel);
+        }
+    }
+
+    /**
+     * Removes the time stamp from an EDIF file, as it differs between exports that are not stable
+     */
+    private static String withoutTimeStamp(byte[] edif) {
+        return new String(edif, StandardCharsets.UTF_8).replaceFirst("\\(timeStamp [0-9 ]+\\)", "");
+    }
+
+    @Test
+    public void testParallelExportEDIF(@TempDir Path tempDir) throws IOException {
+        EDIFNetlist netlist = RapidWrightDCP.loadDCP("microblazeAndILA_3pblocks.dcp").getNetlist();
+        boolean parallel = ParallelismTools.getParallel();
+        try {
+            // Stable exports are always sequential, so compare unstable ones
+            ParallelismTools.setParallel(false);
+            ByteArrayOutputStream serial = new ByteArrayOutputStream();
+            netlist.exportEDIF(serial, false);
+
+            ParallelismTools.setParallel(true);
+            ByteArrayOutputStream parallelOut = new ByteArrayOutputStream();
+            netlist.exportEDIF(parallelOut, false);
+            Assertions.assertEquals(withoutTimeStamp(serial.toByteArray()), withoutTimeStamp(parallelOut.toByteArray()));
+
+            // Each chunk is a separate gzip member, which must decompress to the same EDIF
+            Path compressed = tempDir.resolve("test.edf.gz");
+            netlist.exportEDIF(compressed, false);
+            ByteArrayOutputStream decompressed = new ByteArrayOutputStream();
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(compressed))) {
+                byte[] buffer = new byte[8192];
+                int len;
+                while ((len = in.read(buffer)) != -1) {
+                    decompressed.write(buffer, 0, len);
+                }
+            }
+            Assertions.assertEquals(withoutTimeStamp(serial.toByteArray()), withoutTimeStamp(decompressed.toByteArray()));
+            Assertions.assertNotNull(EDIFTools.readEdifFile(compressed));
+        } finally {
+            ParallelismTools.setParallel(parallel);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    public void testParallelExportEDIFLargeCell(boolean stable) throws IOException {
+        // A flat cell with more cell instances and nets than fit into one export chunk
+        EDIFNetlist netlist = EDIFTools.createNewNetlist("top");
+        EDIFCell top = netlist.getTopCell();
+        EDIFCell fdre = netlist.getHDIPrimitivesLibrary().addCell(Design.getPrimitivesLibrary().getCell("FDRE"));
+        EDIFNet clk = top.createNet("clk");
+        clk.createPortInst(top.createPort("clk", EDIFDirection.INPUT, 1));
+        EDIFCellInst prev = null;
+        for (int i = 0; i < 40000; i++) {
+            EDIFCellInst ff = top.createChildCellInst("ff_" + i, fdre);
+            clk.createPortInst("C", ff);
+            if (prev != null) {
+                EDIFNet q = top.createNet("q_" + i);
+                q.createPortInst("Q", prev);
+                q.createPortInst("D", ff);
+            }
+            prev = ff;
+        }
+        boolean parallel = ParallelismTools.getParallel();
+        try {
+            ParallelismTools.setParallel(false);
+            ByteArrayOutputStream serial = new ByteArrayOutputStream();
+            netlist.exportEDIF(serial, stable);
+
+            ParallelismTools.setParallel(true);
+            ByteArrayOutputStream parallelOut = new ByteArrayOutputStream();
+            netlist.exportEDIF(parallelOut, stable);
+            Assertions.assertEquals(withoutTimeStamp(serial.toByteArray()), withoutTimeStamp(parallelOut.toByteArray()));
+        } finally {
+            ParallelismTools.setParallel(parallel);
+        }
+    }
+
+    @Test
+    public void testStableExportEDIFWithCollidingRenames() throws IOException {
+        // Pairs of names that only differ in characters that are illegal in EDIF, so they are renamed to the
+        // same name and numbered in the order they are seen
+        EDIFNetlist netlist = EDIFTools.createNewNetlist("top");
+        EDIFCell top = netlist.getTopCell();
+        EDIFCell fdre = netlist.getHDIPrimitivesLibrary().addCell(Design.getPrimitivesLibrary().getCell("FDRE"));
+        for (int i = 0; i < 40000; i++) {
+            top.createChildCellInst("ff.a_" + i, fdre);
+            top.createChildCellInst("ff/a_" + i, fdre);
+        }
+        boolean parallel = ParallelismTools.getParallel();
+        try {
+            ParallelismTools.setParallel(true);
+            ByteArrayOutputStream first = new ByteArrayOutputStream();
+            netlist.exportEDIF(first, true);
+            ByteArrayOutputStream second = new ByteArrayOutputStream();
+            netlist.exportEDIF(second, true);
+            Assertions.assertArrayEquals(first.toByteArray(), second.toByteArray());
+
+            ParallelismTools.setParallel(false);
+            ByteArrayOutputStream serial = new ByteArrayOutputStream();
+            netlist.exportEDIF(serial, true);
+            Assertions.assertArrayEquals(serial.toByteArray(), first.toByteArray());
+        } finally {
+            ParallelismTools.setParallel(parallel);
+        }
+    }
 }
@@ -24,8 +24,10 @@
 package com.xilinx.rapidwright.edif;
 
 import com.xilinx.rapidwright.design.Design;
+import com.xilinx.rapidwright.edif.compare.EDIFNetlistComparator;
 import com.xilinx.rapidwright.support.RapidWrightDCP;
 import com.xilinx.rapidwright.tests.CodePerfTracker;
+import com.xilinx.rapidwright.util.BlockGZIP;
 import com.xilinx.rapidwright.util.FileTools;
 import com.xilinx.rapidwright.util.ParallelismTools;
 import com.xilinx.rapidwright.util.Params;
@@ -42,6 +44,7 @@ import org.python.apache.commons.compress.compressors.gzip.GzipParameters;
 
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -93,6 +96,21 @@ public class TestEDIFParser {
         Assertions.assertTrue(netlist.getComments().contains("Here's some Unicode: àâæçéèêëœîïôùûÜüÿ"));
     }
 
+    /**
+     * Same as {@link #testParallel(String, List, int)}, but with all workers tokenizing out of a shared
+     * memory mapping of the file.
+     */
+    @ParameterizedTest(name="{0}")
+    @MethodSource("testParallelArgs")
+    public void testParallelMemoryMapped(String ignoredDescription, List<ParseStart> offsets, int expectedSuccessfulThreads) throws IOException {
+        EDIFNetlist netlist;
+        try (ParallelEDIFParserTestSpecificOffsets parser = new ParallelEDIFParserTestSpecificOffsets(input, 128, offsets, true)) {
+            netlist = parser.parseEDIFNetlist(new CodePerfTracker("parse edif"));
+            Assertions.assertEquals(expectedSuccessfulThreads, parser.getSuccessfulThreads());
+        }
+        Assertions.assertTrue(netlist.getComments().contains("Here's some Unicode: àâæçéèêëœîïôùûÜüÿ"));
+    }
+
     /**
      * Use listIndex as a bitfield to select which of the items in interestingOffsets to include in the testcase run
      */
@@ -174,4 +192,50 @@ public class TestEDIFParser {
             }
         }
     }
+
+    @Test
+    public void testMemoryMappedAndBlockGZIPParsing(@TempDir Path tempDir) throws IOException {
+        // Only parallel export writes block-indexed gzip files
+        Assumptions.assumeTrue(ParallelismTools.getParallel());
+        boolean decompressToDisk = Params.RW_DECOMPRESS_GZIPPED_EDIF_TO_DISK;
+        try {
+            Params.RW_DECOMPRESS_GZIPPED_EDIF_TO_DISK = false;
+            EDIFNetlist netlist = RapidWrightDCP.loadDCP("microblazeAndILA_3pblocks.dcp").getNetlist();
+            Path plain = tempDir.resolve("test.edf");
+            netlist.exportEDIF(plain);
+            Path compressed = tempDir.resolve("test.edf.gz");
+            netlist.exportEDIF(compressed);
+
+            BlockGZIP.Index index = BlockGZIP.readIndex(compressed);
+            Assertions.assertNotNull(index);
+            Assertions.assertTrue(index.getBlockCount() > 1);
+            Assertions.assertEquals(Files.size(plain), index.getUncompressedSize());
+            Assertions.assertNull(BlockGZIP.readIndex(plain));
+
+            // Decompressing from any block must continue the uncompressed file at that block's offset
+            byte[] expected = Files.readAllBytes(plain);
+            int block = index.getBlockCount() / 2;
+            int offset = (int) index.getUncompressedOffset(block);
+            Assertions.assertEquals(block, index.findBlock(offset));
+            try (InputStream in = BlockGZIP.getInputStream(compressed, index, block)) {
+                byte[] buffer = new byte[8192];
+                int len;
+                while ((len = in.read(buffer)) != -1) {
+                    Assertions.assertArrayEquals(Arrays.copyOfRange(expected, offset, offset + len),
+                            Arrays.copyOf(buffer, len));
+                    offset += len;
+                }
+            }
+            Assertions.assertEquals(expected.length, offset);
+
+            EDIFNetlistComparator comparer = new EDIFNetlistComparator();
+            for (Path p : Arrays.asList(plain, compressed)) {
+                try (ParallelEDIFParser parser = new ParallelEDIFParser(p)) {
+                    Assertions.assertEquals(0, comparer.compareNetlists(netlist, parser.parseEDIFNetlist()));
+                }
+            }
+        } finally {
+            Params.RW_DECOMPRESS_GZIPPED_EDIF_TO_DISK = decompressToDisk;
+        }
+    }
 }
@@ -153,4 +153,21 @@ public class TestEDIFPort {
         EDIFPort busOutput = cell.createPort(portName, EDIFDirection.OUTPUT, width);
         Assertions.assertEquals(busName, busOutput.getBusName());
     }
+
+    @Test
+    public void testPortInstNamesShared() {
+        EDIFNetlist netlist = EDIFTools.createNewNetlist("design");
+        EDIFCell leaf = new EDIFCell(netlist.getWorkLibrary(), "leaf");
+        EDIFPort bus = leaf.createPort("in[3:0]", EDIFDirection.INPUT, 4);
+        EDIFCell top = netlist.getTopCell();
+        EDIFCellInst inst0 = top.createChildCellInst("inst0", leaf);
+        EDIFCellInst inst1 = top.createChildCellInst("inst1", leaf);
+        EDIFNet net = top.createNet("net");
+        EDIFPortInst portInst0 = net.createPortInst(bus, 1, inst0);
+        EDIFPortInst portInst1 = net.createPortInst(bus, 1, inst1);
+        Assertions.assertEquals("in[2]", portInst0.getName());
+        Assertions.assertSame(portInst0.getName(), portInst1.getName());
+        Assertions.assertSame(portInst0, inst0.getPortInst("in[2]"));
+        Assertions.assertSame(portInst1, net.getPortInst(inst1, "in[2]"));
+    }
 }
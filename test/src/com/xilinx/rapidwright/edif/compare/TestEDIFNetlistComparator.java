@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2024, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+package com.xilinx.rapidwright.edif.compare;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.xilinx.rapidwright.edif.EDIFCell;
+import com.xilinx.rapidwright.edif.EDIFNetlist;
+import com.xilinx.rapidwright.support.RapidWrightDCP;
+
+public class TestEDIFNetlistComparator {
+
+    @Test
+    public void testStructuralHashing() {
+        EDIFNetlist gold = RapidWrightDCP.loadDCP("picoblaze_ooc_X10Y235.dcp").getNetlist();
+        EDIFNetlist test = RapidWrightDCP.loadDCP("picoblaze_ooc_X10Y235.dcp").getNetlist();
+
+        EDIFCell goldTop = gold.getTopCell();
+        EDIFCell testTop = test.getTopCell();
+        Assertions.assertEquals(EDIFCellHash.hashCell(goldTop), EDIFCellHash.hashCell(testTop));
+        testTop.createNet("extra_net");
+        Assertions.assertNotEquals(EDIFCellHash.hashCell(goldTop), EDIFCellHash.hashCell(testTop));
+
+        EDIFNetlistComparator comparator = new EDIFNetlistComparator();
+        int expected = comparator.compareNetlists(gold, test);
+        Assertions.assertTrue(expected > 0);
+        Assertions.assertEquals(0, comparator.getIdenticalCellCount());
+
+        comparator.useStructuralHashing = true;
+        Assertions.assertEquals(expected, comparator.compareNetlists(gold, test));
+        Assertions.assertTrue(comparator.getIdenticalCellCount() > 0);
+    }
+}
@@ -28,6 +28,7 @@ import com.xilinx.rapidwright.design.Design;
 import com.xilinx.rapidwright.design.Net;
 import com.xilinx.rapidwright.design.SiteInst;
 import com.xilinx.rapidwright.design.SitePinInst;
+import com.xilinx.rapidwright.design.compare.DesignComparator;
 import com.xilinx.rapidwright.device.Node;
 import com.xilinx.rapidwright.device.PIP;
 import com.xilinx.rapidwright.edif.EDIFNetlist;
@@ -38,6 +39,8 @@ import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 public class TestPhysNetlistReader {
     private void testRoutethruLUTsHelper(Design d) {
@@ -138,4 +141,39 @@ public class TestPhysNetlistReader {
 
         Assertions.assertNull(roundtripDesign.getCell(rtCell.getName()));
     }
+
+    private static List<String> getNetNames(Design design) {
+        List<String> names = new ArrayList<>();
+        for (Net net : design.getNets()) {
+            names.add(net.getName());
+        }
+        return names;
+    }
+
+    @Test
+    public void testReadUncompressedPhysNetlistInParallel(@TempDir Path tempDir) throws IOException {
+        Design design = RapidWrightDCP.loadDCP("optical-flow.dcp");
+
+        String interchangePath = tempDir.resolve("design.phys").toString();
+        boolean isGzipped = Interchange.IS_GZIPPED;
+        boolean parallelRead = PhysNetlistReader.PARALLEL_READ;
+        try {
+            // Uncompressed files are memory-mapped on read
+            Interchange.IS_GZIPPED = false;
+            PhysNetlistWriter.writePhysNetlist(design, interchangePath);
+            Assertions.assertFalse(Interchange.isGzipped(interchangePath));
+
+            PhysNetlistReader.PARALLEL_READ = false;
+            Design serial = PhysNetlistReader.readPhysNetlist(interchangePath, design.getNetlist());
+            PhysNetlistReader.PARALLEL_READ = true;
+            Design parallel = PhysNetlistReader.readPhysNetlist(interchangePath, design.getNetlist());
+
+            DesignComparator dc = new DesignComparator();
+            Assertions.assertEquals(0, dc.compareDesigns(serial, parallel));
+            Assertions.assertEquals(getNetNames(serial), getNetNames(parallel));
+        } finally {
+            Interchange.IS_GZIPPED = isGzipped;
+            PhysNetlistReader.PARALLEL_READ = parallelRead;
+        }
+    }
 }
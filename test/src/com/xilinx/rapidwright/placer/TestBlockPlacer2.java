@@ -24,34 +24,56 @@
 package com.xilinx.rapidwright.placer;
 
 import java.io.File;
+import java.util.Arrays;
+import java.util.function.Supplier;
 
+import com.xilinx.rapidwright.design.AbstractModuleInst;
 import com.xilinx.rapidwright.design.Design;
+import com.xilinx.rapidwright.design.ModuleInst;
 import com.xilinx.rapidwright.examples.PicoBlazeArray;
+import com.xilinx.rapidwright.placer.blockplacer.AbstractPath;
 import com.xilinx.rapidwright.placer.blockplacer.BlockPlacer2;
+import com.xilinx.rapidwright.placer.blockplacer.BlockPlacer2Impls;
+import com.xilinx.rapidwright.placer.blockplacer.BlockPlacer2Module;
 import com.xilinx.rapidwright.support.LargeTest;
 import com.xilinx.rapidwright.support.RapidWrightDCP;
 import com.xilinx.rapidwright.tests.CodePerfTracker;
+import com.xilinx.rapidwright.util.ParallelismTools;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 
 @LargeTest
 public class TestBlockPlacer2 {
 
-    private void placeSomePicoBlazeArray(PicoBlazeArray.PicoBlazeArrayCreator<?> arrayCreator) {
+    private double placeSomePicoBlazeArray(PicoBlazeArray.PicoBlazeArrayCreator<?> arrayCreator) {
+        return placeSomePicoBlazeArray(arrayCreator, 0);
+    }
+
+    private double placeSomePicoBlazeArray(PicoBlazeArray.PicoBlazeArrayCreator<?> arrayCreator, int parallelRegionSize) {
         CodePerfTracker t = new CodePerfTracker("PicoBlazeArray Test");
         File srcDir = RapidWrightDCP.getPath("PicoBlazeArray").toFile();
         Design design = arrayCreator.createDesign(srcDir, "xcvu3p-ffvc1517-2-i", t);
 
         BlockPlacer2<?, ?, ?, ?> placer = arrayCreator.createPlacer(design, null);
+        placer.setParallelRegionSize(parallelRegionSize);
         double cost = placer.placeDesign(false);
 
         Assertions.assertTrue(cost < 400000);
 
+        // Lengths that moves updated incrementally must match a full recalculation
+        for (AbstractPath<?, ?> path : placer.getPaths()) {
+            int length = path.getLength();
+            path.calculateLength();
+            Assertions.assertEquals(length, path.getLength(), path.getName());
+        }
+
         arrayCreator.lowerToModules(design, t);
 
         t.stop();
         t.printSummary();
-
+        return cost;
     }
 
     @Test
@@ -63,4 +85,74 @@ public class TestBlockPlacer2 {
     public void placePicoBlazeArrayImpls() {
         placeSomePicoBlazeArray(PicoBlazeArray.makeImplsCreator());
     }
+
+    @Test
+    public void placePicoBlazeArrayImplsParallel() {
+        boolean parallel = ParallelismTools.getParallel();
+        try {
+            ParallelismTools.setParallel(true);
+            double cost = placeSomePicoBlazeArray(PicoBlazeArray.makeImplsCreator(), BlockPlacer2.DEFAULT_PARALLEL_REGION_SIZE);
+            // Parallel annealing does not depend on the number of threads
+            ParallelismTools.setParallel(false);
+            Assertions.assertEquals(cost, placeSomePicoBlazeArray(PicoBlazeArray.makeImplsCreator(), BlockPlacer2.DEFAULT_PARALLEL_REGION_SIZE));
+        } finally {
+            ParallelismTools.setParallel(parallel);
+        }
+    }
+
+    private static <ModuleT, ModuleInstT extends AbstractModuleInst<ModuleT, ?, ?>, PlacementT, PathT extends AbstractPath<?, ModuleInstT>,
+            PlacerT extends BlockPlacer2<ModuleT, ModuleInstT, PlacementT, PathT>>
+    double placeSomePicoBlazeArrayMultiStart(Supplier<PicoBlazeArray.PicoBlazeArrayCreator<?>> creators, Class<PlacerT> placerClass,
+                                             int parallelRegionSize) {
+        CodePerfTracker t = new CodePerfTracker("PicoBlazeArray Test");
+        File srcDir = RapidWrightDCP.getPath("PicoBlazeArray").toFile();
+        String part = "xcvu3p-ffvc1517-2-i";
+        PicoBlazeArray.PicoBlazeArrayCreator<?> arrayCreator = creators.get();
+        Design design = arrayCreator.createDesign(srcDir, part, t);
+        PlacerT placer = placerClass.cast(arrayCreator.createPlacer(design, null));
+        placer.setParallelRegionSize(parallelRegionSize);
+
+        // Each run needs its own design, so use a new creator for each
+        double cost = placer.placeDesignMultiStart(Arrays.asList(2L, 3L, 4L), () -> {
+            PicoBlazeArray.PicoBlazeArrayCreator<?> replicaCreator = creators.get();
+            Design replica = replicaCreator.createDesign(srcDir, part, CodePerfTracker.SILENT);
+            return placerClass.cast(replicaCreator.createPlacer(replica, null));
+        }, false);
+
+        arrayCreator.lowerToModules(design, t);
+
+        // Including those not annealed, all module instances must end up placed
+        Assertions.assertFalse(design.getModuleInsts().isEmpty());
+        for (ModuleInst mi : design.getModuleInsts()) {
+            Assertions.assertTrue(mi.isPlaced(), mi.getName());
+        }
+
+        t.stop();
+        t.printSummary();
+        return cost;
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "false, 0",
+            "true, 0",
+            "false, " + BlockPlacer2.DEFAULT_PARALLEL_REGION_SIZE,
+            "true, " + BlockPlacer2.DEFAULT_PARALLEL_REGION_SIZE,
+    })
+    public void placePicoBlazeArrayMultiStart(boolean useImpls, int parallelRegionSize) {
+        boolean parallel = ParallelismTools.getParallel();
+        try {
+            // Replicas inherit the region size, so region-parallel annealing runs nested inside each start
+            ParallelismTools.setParallel(true);
+            double cost = useImpls
+                    ? placeSomePicoBlazeArrayMultiStart(PicoBlazeArray::makeImplsCreator, BlockPlacer2Impls.class, parallelRegionSize)
+                    : placeSomePicoBlazeArrayMultiStart(PicoBlazeArray::makeModuleCreator, BlockPlacer2Module.class, parallelRegionSize);
+
+            // The default seed is among those tried
+            PicoBlazeArray.PicoBlazeArrayCreator<?> creator = useImpls ? PicoBlazeArray.makeImplsCreator() : PicoBlazeArray.makeModuleCreator();
+            Assertions.assertTrue(cost <= placeSomePicoBlazeArray(creator, parallelRegionSize));
+        } finally {
+            ParallelismTools.setParallel(parallel);
+        }
+    }
 }
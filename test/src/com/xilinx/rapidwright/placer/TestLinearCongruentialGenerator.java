@@ -59,6 +59,17 @@ public class TestLinearCongruentialGenerator {
         }
     }
 
+    @Test
+    public void testReset() {
+        Random random = new Random(42);
+        LinearCongruentialGenerator lcg = new LinearCongruentialGenerator();
+        Assertions.assertFalse(lcg.hasNext());
+        for (int i = 1; i < 100; i++) {
+            lcg.reset(i, random);
+            verifyOutput(i, StreamSupport.intStream(lcg.spliterator(), false));
+        }
+    }
+
     @Test
     public void testLargeList() {
 
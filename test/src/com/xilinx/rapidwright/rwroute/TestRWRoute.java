@@ -60,6 +60,7 @@ import com.xilinx.rapidwright.interchange.Interchange;
 import com.xilinx.rapidwright.support.LargeTest;
 import com.xilinx.rapidwright.support.RapidWrightDCP;
 import com.xilinx.rapidwright.util.FileTools;
+import com.xilinx.rapidwright.util.ParallelismTools;
 import com.xilinx.rapidwright.util.ReportRouteStatusResult;
 import com.xilinx.rapidwright.util.VivadoTools;
 
@@ -181,6 +182,63 @@ public class TestRWRoute {
         VivadoToolsHelper.assertFullyRouted(design);
     }
 
+    /**
+     * Tests the non-timing driven full routing using a d-ary heap of primitive costs and rnode ids
+     * as the routing queue, instead of java.util.PriorityQueue.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {2, 4, 8})
+    @LargeTest
+    public void testNonTimingDrivenFullRoutingWithHeap(int arity) {
+        Design design = RapidWrightDCP.loadDCP("bnn.dcp");
+        RWRoute.routeDesignWithUserDefinedArguments(design, new String[] {"--nonTimingDriven", "--heapArity", String.valueOf(arity)});
+        assertAllSourcesRoutedFlagSet(design);
+        assertAllPinsRouted(design);
+        VivadoToolsHelper.assertFullyRouted(design);
+    }
+
+    /**
+     * Tests the full routing with nets routed speculatively in parallel batches.
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "true,1",
+            "false,64"
+    })
+    @LargeTest
+    public void testFullRoutingSpeculative(boolean timingDriven, int batchSize) {
+        Design design = RapidWrightDCP.loadDCP("bnn.dcp");
+        RWRoute.routeDesignWithUserDefinedArguments(design, new String[] {
+                timingDriven ? "--timingDriven" : "--nonTimingDriven",
+                "--speculativeBatchSize", String.valueOf(batchSize),
+                "--verbose"
+        });
+        assertAllSourcesRoutedFlagSet(design);
+        assertAllPinsRouted(design);
+        VivadoToolsHelper.assertFullyRouted(design);
+    }
+
+    /**
+     * Tests that the persistent routing graph cache is written by a first run and then
+     * loaded (and produces a fully routed design) in a second run on the same device.
+     */
+    @Test
+    @LargeTest
+    public void testNonTimingDrivenFullRoutingWithGraphCache(@TempDir Path dir) {
+        String[] args = new String[] {"--nonTimingDriven", "--routingGraphCacheDir", dir.toString()};
+        Design design = RapidWrightDCP.loadDCP("bnn.dcp");
+        RWRoute.routeDesignWithUserDefinedArguments(design, args);
+        Path cachePath = RouteNodeGraphCache.getCachePath(design, dir.toString());
+        Assertions.assertTrue(Files.exists(cachePath));
+        Assertions.assertTrue(RouteNodeGraphCache.load(design, dir.toString()).isLoaded());
+
+        design = RapidWrightDCP.loadDCP("bnn.dcp");
+        RWRoute.routeDesignWithUserDefinedArguments(design, args);
+        assertAllSourcesRoutedFlagSet(design);
+        assertAllPinsRouted(design);
+        VivadoToolsHelper.assertFullyRouted(design);
+    }
+
     @ParameterizedTest
     @CsvSource({
             "bnn.dcp,false,false",
@@ -202,6 +260,49 @@ public class TestRWRoute {
         VivadoToolsHelper.assertFullyRouted(design);
     }
 
+    /**
+     * Tests that CUFR in deterministic mode produces identical PIPs for every net regardless of
+     * the number of threads used.
+     */
+    @Test
+    @LargeTest(max_memory_gb = 8)
+    public void testDeterministicCUFRIndependentOfThreadCount() {
+        boolean parallel = ParallelismTools.getParallel();
+        Map<String, List<PIP>> expected = null;
+        try {
+            for (int threads : new int[]{1, 4, 16}) {
+                // Forces a pool of this size even with RW_PARALLEL=0 or a single processor
+                ParallelismTools.setMaxThreads(threads);
+                Assertions.assertEquals(threads > 1, ParallelismTools.getParallel());
+                Design design = RapidWrightDCP.loadDCP("bnn.dcp");
+                CUFR.routeDesignWithUserDefinedArguments(design, new String[]{
+                        "--nonTimingDriven",
+                        "--hus",
+                        "--deterministic"
+                });
+                assertAllSourcesRoutedFlagSet(design);
+                assertAllPinsRouted(design);
+
+                Map<String, List<PIP>> actual = new HashMap<>();
+                for (Net net : design.getNets()) {
+                    actual.put(net.getName(), new ArrayList<>(net.getPIPs()));
+                }
+                if (expected == null) {
+                    expected = actual;
+                } else {
+                    Assertions.assertEquals(expected.keySet(), actual.keySet());
+                    for (Map.Entry<String, List<PIP>> e : expected.entrySet()) {
+                        Assertions.assertEquals(e.getValue(), actual.get(e.getKey()),
+                                "PIPs of net " + e.getKey() + " differ with " + threads + " threads");
+                    }
+                }
+            }
+        } finally {
+            ParallelismTools.setMaxThreads(ParallelismTools.maxParallelism());
+            ParallelismTools.setParallel(parallel);
+        }
+    }
+
     @Test
     @LargeTest(max_memory_gb = 8)
     public void testNonTimingDrivenPartialCUFR() {
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2024, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.rwroute;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.xilinx.rapidwright.design.Design;
+import com.xilinx.rapidwright.device.Device;
+import com.xilinx.rapidwright.device.Node;
+
+public class TestRouteNodeGraphCache {
+
+    @Test
+    public void testConcurrentWritersMerge(@TempDir Path dir) throws IOException {
+        Design design = new Design("design", "xcvu3p");
+        Device device = design.getDevice();
+        Node first = device.getNode("INT_X52Y123/WW1_W_BEG7");
+        Node second = device.getNode("INT_X51Y123/IMUX_E15");
+
+        // Both caches are loaded before either one writes
+        RouteNodeGraphCache a = RouteNodeGraphCache.load(design, dir.toString());
+        RouteNodeGraphCache b = RouteNodeGraphCache.load(design, dir.toString());
+        Assertions.assertFalse(a.isLoaded());
+        a.putDownhillNodes(first, first.getAllDownhillNodes());
+        b.putInfo(second, new RouteNodeInfo(RouteNodeType.LOCAL_BOTH, (short) 51, (short) 123, (short) 0));
+        a.write();
+        b.write();
+
+        RouteNodeGraphCache merged = RouteNodeGraphCache.load(design, dir.toString());
+        Assertions.assertTrue(merged.isLoaded());
+        Assertions.assertEquals(0, merged.getNumPendingEntries());
+        RouteNodeInfo info = merged.getInfo(second);
+        Assertions.assertNotNull(info);
+        Assertions.assertEquals(RouteNodeType.LOCAL_BOTH, info.type);
+        Assertions.assertEquals(123, info.endTileYCoordinate);
+
+        List<Node> expected = first.getAllDownhillNodes();
+        int[] downhill = merged.getDownhill(first);
+        Assertions.assertNotNull(downhill);
+        Assertions.assertEquals(expected.size() * 2, downhill.length);
+        for (int i = 0; i < expected.size(); i++) {
+            Assertions.assertEquals(expected.get(i).getTile(), merged.getTile(downhill[2 * i]));
+            Assertions.assertEquals(expected.get(i).getWireIndex(), downhill[2 * i + 1]);
+        }
+        Assertions.assertNull(merged.getDownhill(second));
+    }
+}
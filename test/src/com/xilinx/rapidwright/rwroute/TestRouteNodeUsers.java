@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2024, Advanced Micro Devices, Inc.
+ * All rights reserved.
+ *
+ * This file is part of RapidWright.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.xilinx.rapidwright.rwroute;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class TestRouteNodeUsers {
+    @Test
+    public void testIncrementDecrement() {
+        RouteNodeUsers users = new RouteNodeUsers();
+        NetWrapper a = new NetWrapper(0, null);
+        NetWrapper b = new NetWrapper(4, null);
+        Assertions.assertTrue(users.isEmpty());
+        users.increment(a, 1);
+        users.increment(a, 1);
+        users.increment(b, 1);
+        Assertions.assertEquals(2, users.size());
+        Assertions.assertEquals(2, users.get(a));
+        Assertions.assertEquals(1, users.get(b));
+        users.decrement(a);
+        Assertions.assertEquals(1, users.get(a));
+        users.decrement(a);
+        Assertions.assertEquals(0, users.get(a));
+        Assertions.assertEquals(1, users.get(b));
+        users.decrement(b);
+        Assertions.assertTrue(users.isEmpty());
+    }
+
+    @Test
+    public void testMatchesMap() {
+        // Use colliding ids to exercise probing, growth and backward-shift deletion
+        NetWrapper[] netWrappers = new NetWrapper[50];
+        for (int i = 0; i < netWrappers.length; i++) {
+            netWrappers[i] = new NetWrapper((i % 13) + (i / 13) * 16, null);
+        }
+        Random random = new Random(0);
+        RouteNodeUsers users = new RouteNodeUsers();
+        Map<NetWrapper, Integer> golden = new IdentityHashMap<>();
+        for (int i = 0; i < 10000; i++) {
+            NetWrapper netWrapper = netWrappers[random.nextInt(netWrappers.length)];
+            if (random.nextBoolean() || !golden.containsKey(netWrapper)) {
+                users.increment(netWrapper, 1);
+                golden.merge(netWrapper, 1, Integer::sum);
+            } else {
+                users.decrement(netWrapper);
+                golden.compute(netWrapper, (k, v) -> (v == 1) ? null : v - 1);
+            }
+            Assertions.assertEquals(golden.size(), users.size());
+            for (NetWrapper nw : netWrappers) {
+                Assertions.assertEquals((int) golden.getOrDefault(nw, 0), users.get(nw));
+            }
+        }
+
+        Map<NetWrapper, Integer> map = new IdentityHashMap<>();
+        users.putAllInto(map);
+        Assertions.assertEquals(golden, map);
+    }
+}
@@ -20,11 +20,20 @@
 
 package com.xilinx.rapidwright.timing;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import com.xilinx.rapidwright.design.Design;
+import com.xilinx.rapidwright.rwroute.RWRoute;
+import com.xilinx.rapidwright.rwroute.RWRouteConfig;
+import com.xilinx.rapidwright.support.LargeTest;
 import com.xilinx.rapidwright.support.RapidWrightDCP;
+import com.xilinx.rapidwright.util.ParallelismTools;
 
 public class TestTimingManager {
 
@@ -39,4 +48,143 @@ public class TestTimingManager {
         
         Assertions.assertEquals(expectedClkPeriod, TimingManager.getDesignTimingRequirement(d));
     }
+
+    private static Map<TimingVertex, float[]> getTimes(TimingGraph graph) {
+        Map<TimingVertex, float[]> times = new HashMap<>();
+        for (TimingVertex v : graph.vertexSet()) {
+            times.put(v, new float[] {v.getArrivalTime(), v.getRequiredTime()});
+        }
+        return times;
+    }
+
+    @Test
+    @LargeTest
+    public void testIncrementalTimingUpdateMatchesFull() {
+        Design design = RapidWrightDCP.loadDCP("bnn.dcp");
+        RWRouteConfig config = new RWRouteConfig(new String[] {"--timingDriven"});
+        TimingManager timingManager = new TimingManager(design, null, config, RWRoute.createClkTimingData(config),
+                design.getNets(), false);
+        TimingGraph timingGraph = timingManager.getTimingGraph();
+        timingManager.calculateArrivalRequiredTimes();
+
+        List<TimingEdge> edges = new ArrayList<>(timingGraph.edgeSet());
+        for (int round = 1; round <= 3; round++) {
+            for (int i = round; i < edges.size(); i += 200) {
+                TimingEdge e = edges.get(i);
+                e.setNetDelay(e.getNetDelay() + 50 * round);
+                Assertions.assertTrue(e.isDirty());
+            }
+            Assertions.assertTrue(timingGraph.canUpdateTimingIncrementally());
+            float incrementalMax = timingManager.calculateArrivalRequiredTimes().getFirst();
+            Map<TimingVertex, float[]> incremental = getTimes(timingGraph);
+            Map<TimingVertex, TimingVertex> incrementalPrevs = new HashMap<>();
+            for (TimingVertex v : timingGraph.vertexSet()) {
+                incrementalPrevs.put(v, v.getPrev());
+            }
+            for (TimingEdge e : edges) {
+                Assertions.assertFalse(e.isDirty());
+            }
+
+            // Full analysis on the JGraphT graph itself
+            timingGraph.resetRequiredAndArrivalTime();
+            timingGraph.computeArrivalTimesTopologicalOrder();
+            float fullMax = timingGraph.getMaxDelay().getFirst();
+            Assertions.assertEquals(fullMax, incrementalMax);
+            timingGraph.setTimingRequirementTopologicalOrder(Float.max(fullMax, timingManager.getTimingRequirementPs()));
+            for (Map.Entry<TimingVertex, float[]> e : getTimes(timingGraph).entrySet()) {
+                TimingVertex v = e.getKey();
+                Assertions.assertArrayEquals(e.getValue(), incremental.get(v), v.toString());
+                Assertions.assertSame(v.getPrev(), incrementalPrevs.get(v), v.toString());
+            }
+
+            // Full analysis on the CompactTimingGraph
+            Assertions.assertFalse(timingGraph.canUpdateTimingIncrementally());
+            float compactMax = timingManager.calculateArrivalRequiredTimes(false).getFirst();
+            Assertions.assertEquals(fullMax, compactMax);
+            for (Map.Entry<TimingVertex, float[]> e : getTimes(timingGraph).entrySet()) {
+                TimingVertex v = e.getKey();
+                Assertions.assertArrayEquals(e.getValue(), incremental.get(v), v.toString());
+                Assertions.assertSame(v.getPrev(), incrementalPrevs.get(v), v.toString());
+            }
+        }
+    }
+
+    @Test
+    public void testStructuralChangeInvalidatesCompactTimingGraph() {
+        TimingGraph timingGraph = new TimingGraph(null);
+        TimingVertex source = new TimingVertex("source");
+        TimingVertex mid = new TimingVertex("mid");
+        TimingVertex sink = new TimingVertex("sink");
+        timingGraph.superSink = sink;
+        for (TimingVertex v : new TimingVertex[] {source, mid, sink}) {
+            timingGraph.addVertex(v);
+        }
+        TimingEdge first = new TimingEdge(timingGraph, source, mid);
+        TimingEdge second = new TimingEdge(timingGraph, mid, sink);
+        timingGraph.addEdge(source, mid, first);
+        timingGraph.addEdge(mid, sink, second);
+        first.setNetDelay(100);
+        second.setNetDelay(50);
+
+        timingGraph.computeArrivalTimesCompact();
+        timingGraph.computeRequiredTimesCompact(1000);
+        timingGraph.finishTimingUpdate();
+        Assertions.assertEquals(150, sink.getArrivalTime());
+        Assertions.assertTrue(timingGraph.canUpdateTimingIncrementally());
+
+        // Edge added after the snapshot was taken (and thus without an id)
+        TimingEdge bypass = new TimingEdge(timingGraph, source, sink);
+        timingGraph.addEdge(source, sink, bypass);
+        bypass.setNetDelay(500);
+        Assertions.assertFalse(timingGraph.canUpdateTimingIncrementally());
+        timingGraph.updateArrivalTimesIncrementally();
+        timingGraph.updateRequiredTimesIncrementally(1000);
+        timingGraph.finishTimingUpdate();
+        Assertions.assertEquals(500, sink.getArrivalTime());
+        Assertions.assertSame(source, sink.getPrev());
+        Assertions.assertEquals(1000 - 500, source.getRequiredTime());
+
+        timingGraph.removeEdge(bypass);
+        Assertions.assertFalse(timingGraph.canUpdateTimingIncrementally());
+        timingGraph.updateArrivalTimesIncrementally();
+        timingGraph.updateRequiredTimesIncrementally(1000);
+        Assertions.assertEquals(150, sink.getArrivalTime());
+        Assertions.assertSame(mid, sink.getPrev());
+        Assertions.assertEquals(1000 - 150, source.getRequiredTime());
+    }
+
+    @Test
+    @LargeTest
+    public void testParallelLevelizedTimingMatchesSerial() {
+        Design design = RapidWrightDCP.loadDCP("bnn.dcp");
+        RWRouteConfig config = new RWRouteConfig(new String[] {"--timingDriven"});
+        TimingManager timingManager = new TimingManager(design, null, config, RWRoute.createClkTimingData(config),
+                design.getNets(), false);
+        TimingGraph timingGraph = timingManager.getTimingGraph();
+        Assertions.assertTrue(timingGraph.getCompactTimingGraph().getLevelCount() > 1);
+
+        boolean parallel = ParallelismTools.getParallel();
+        try {
+            ParallelismTools.setParallel(false);
+            float serialMax = timingManager.calculateArrivalRequiredTimes(false).getFirst();
+            Map<TimingVertex, float[]> serial = getTimes(timingGraph);
+            Map<TimingVertex, TimingVertex> serialPrevs = new HashMap<>();
+            for (TimingVertex v : timingGraph.vertexSet()) {
+                serialPrevs.put(v, v.getPrev());
+            }
+
+            // Reset all vertices so that every one is written back by the parallel computation
+            timingGraph.resetRequiredAndArrivalTime();
+            ParallelismTools.setParallel(true);
+            float parallelMax = timingManager.calculateArrivalRequiredTimes(false).getFirst();
+            Assertions.assertEquals(serialMax, parallelMax);
+            for (Map.Entry<TimingVertex, float[]> e : getTimes(timingGraph).entrySet()) {
+                TimingVertex v = e.getKey();
+                Assertions.assertArrayEquals(serial.get(v), e.getValue(), v.toString());
+                Assertions.assertSame(serialPrevs.get(v), v.getPrev(), v.toString());
+            }
+        } finally {
+            ParallelismTools.setParallel(parallel);
+        }
+    }
 }
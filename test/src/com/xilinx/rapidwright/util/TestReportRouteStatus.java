@@ -24,9 +24,17 @@ package com.xilinx.rapidwright.util;
 
 import com.xilinx.rapidwright.design.Design;
 import com.xilinx.rapidwright.design.DesignTools;
+import com.xilinx.rapidwright.design.Net;
+import com.xilinx.rapidwright.device.PIP;
 import com.xilinx.rapidwright.support.RapidWrightDCP;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 public class TestReportRouteStatus {
     @Test
@@ -45,4 +53,55 @@ public class TestReportRouteStatus {
         Assertions.assertEquals(58865, rrs.unroutedNets);
         Assertions.assertEquals(0, rrs.netsWithRoutingErrors);
     }
+
+    private static void assertSameResult(ReportRouteStatusResult expected, ReportRouteStatusResult actual) {
+        Assertions.assertEquals(expected.toString(), actual.toString());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void testReportRouteStatusIncremental(boolean parallel) {
+        boolean wasParallel = ParallelismTools.getParallel();
+        try {
+            ParallelismTools.setParallel(parallel);
+            Design design = RapidWrightDCP.loadDCP("picoblaze_ooc_X10Y235.dcp");
+            DesignTools.updatePinsIsRouted(design);
+            ReportRouteStatus incremental = new ReportRouteStatus(design);
+            ReportRouteStatusResult rrs = incremental.report();
+            Assertions.assertTrue(rrs.isFullyRouted());
+            assertSameResult(ReportRouteStatus.reportRouteStatus(design), rrs);
+
+            List<Net> routedNets = new ArrayList<>();
+            for (Net net : design.getNets()) {
+                if (!net.isStaticNet() && !net.getPIPs().isEmpty()) {
+                    routedNets.add(net);
+                }
+            }
+            Net a = routedNets.get(0);
+            Net b = routedNets.get(1);
+
+            // Copy the routing of one net onto another to create conflicts
+            List<PIP> originalPIPs = new ArrayList<>(b.getPIPs());
+            List<PIP> conflictingPIPs = new ArrayList<>(originalPIPs);
+            conflictingPIPs.addAll(a.getPIPs());
+            b.setPIPs(conflictingPIPs);
+            rrs = incremental.report(Collections.singletonList(b));
+            Assertions.assertEquals(2, rrs.netsWithResourceConflicts);
+            Assertions.assertFalse(rrs.isFullyRouted());
+            assertSameResult(ReportRouteStatus.reportRouteStatus(design), rrs);
+
+            // Undo, while the conflicting net is not reported as touched
+            b.setPIPs(originalPIPs);
+            rrs = incremental.report(Collections.emptyList());
+            Assertions.assertTrue(rrs.isFullyRouted());
+            assertSameResult(ReportRouteStatus.reportRouteStatus(design), rrs);
+
+            // Unroute a net
+            a.unroute();
+            rrs = incremental.report(Collections.singletonList(a));
+            assertSameResult(ReportRouteStatus.reportRouteStatus(design), rrs);
+        } finally {
+            ParallelismTools.setParallel(wasParallel);
+        }
+    }
 }